@@ -0,0 +1,59 @@
+package pl.wsb.fitnesstracker;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import pl.wsb.FitnessTracker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Starts the application (without the web server) on a fresh in-memory H2 database seeded by the synthetic
+ * data generator, for benchmarks which need the persistence layer.
+ */
+public final class BenchmarkContext {
+
+    private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+
+    private BenchmarkContext() {
+    }
+
+    /**
+     * Starts the application context and seeds the database.
+     *
+     * @param users                number of generated users
+     * @param trainingsPerUser     number of trainings generated for each user
+     * @param healthMetricsPerUser number of health metrics readings generated for each user
+     * @return the started context, to be closed by the caller
+     */
+    public static ConfigurableApplicationContext start(int users, int trainingsPerUser, int healthMetricsPerUser) {
+        return start(users, trainingsPerUser, healthMetricsPerUser, new String[0]);
+    }
+
+    /**
+     * Starts the application context with the given command line arguments and seeds the database. The arguments
+     * take precedence over the application properties, e.g. to run on another database or with another profile.
+     *
+     * @param users                number of generated users
+     * @param trainingsPerUser     number of trainings generated for each user
+     * @param healthMetricsPerUser number of health metrics readings generated for each user
+     * @param arguments            command line arguments, e.g. {@code --spring.profiles.active=performance}
+     * @return the started context, to be closed by the caller
+     */
+    public static ConfigurableApplicationContext start(int users, int trainingsPerUser, int healthMetricsPerUser,
+                                                       String... arguments) {
+        return new SpringApplicationBuilder(FitnessTracker.class)
+                .web(WebApplicationType.NONE)
+                .profiles("loadInitialData")
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark" + DATABASE_COUNTER.incrementAndGet(),
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN",
+                        "generator.users=" + users,
+                        "generator.trainings-per-user=" + trainingsPerUser,
+                        "generator.health-metrics-per-user=" + healthMetricsPerUser)
+                .run(arguments);
+    }
+
+}
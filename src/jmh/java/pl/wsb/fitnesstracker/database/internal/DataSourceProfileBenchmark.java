@@ -0,0 +1,108 @@
+package pl.wsb.fitnesstracker.database.internal;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.wsb.fitnesstracker.BenchmarkContext;
+import pl.wsb.fitnesstracker.training.api.TrainingProvider;
+import pl.wsb.fitnesstracker.user.api.UserProvider;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the default configuration against the {@code performance} profile (connection pool sizing,
+ * prepared statement caching, batched inserts and no SQL logging) on PostgreSQL, with concurrent clients.
+ * <p>
+ * Needs a running PostgreSQL database, configured with the {@code benchmark.postgresql.url},
+ * {@code benchmark.postgresql.username} and {@code benchmark.postgresql.password} system properties (passed to the
+ * forked JVMs with {@code -jvmArgs}). Every trial runs in a schema of its own, dropped at the end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(16)
+public class DataSourceProfileBenchmark {
+
+    private static final String SESSION_INSERT = "INSERT INTO workout_session (training_id, timestamp, "
+            + "start_latitude, start_longitude) VALUES (?, ?, ?, ?)";
+
+    @Param({"default", "performance"})
+    private String profile;
+
+    @Param({"1000"})
+    private int users;
+
+    @Param({"10"})
+    private int trainingsPerUser;
+
+    @Param({"100"})
+    private int sessionsPerBatch;
+
+    private ConfigurableApplicationContext context;
+
+    private UserProvider userProvider;
+
+    private TrainingProvider trainingProvider;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private String schema;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String url = System.getProperty("benchmark.postgresql.url", "jdbc:postgresql://localhost:5432/postgres");
+        schema = "benchmark_" + profile + "_" + System.currentTimeMillis();
+        List<String> arguments = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + url + (url.contains("?") ? "&" : "?") + "currentSchema=" + schema,
+                "--spring.datasource.driver-class-name=org.postgresql.Driver",
+                "--spring.datasource.username=" + System.getProperty("benchmark.postgresql.username", "postgres"),
+                "--spring.datasource.password=" + System.getProperty("benchmark.postgresql.password", "password"),
+                "--spring.flyway.schemas=" + schema));
+        if (!"default".equals(profile)) {
+            arguments.add("--spring.profiles.active=loadInitialData," + profile);
+        }
+        context = BenchmarkContext.start(users, trainingsPerUser, 0, arguments.toArray(String[]::new));
+        userProvider = context.getBean(UserProvider.class);
+        trainingProvider = context.getBean(TrainingProvider.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP SCHEMA " + schema + " CASCADE");
+        context.close();
+    }
+
+    @Benchmark
+    public void getUser(Blackhole blackhole) {
+        blackhole.consume(userProvider.getUser(ThreadLocalRandom.current().nextLong(1, users + 1)));
+    }
+
+    @Benchmark
+    public void findUserTrainingsStartedInMonth(Blackhole blackhole) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime from = LocalDateTime.now().minusDays(random.nextInt(30, 365));
+        blackhole.consume(trainingProvider.findUserTrainingsStartedBetween(random.nextLong(1, users + 1),
+                from, from.plusMonths(1)));
+    }
+
+    @Benchmark
+    public void insertWorkoutSessionBatch(Blackhole blackhole) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long trainingId = random.nextLong(1, (long) users * trainingsPerUser + 1);
+        LocalDateTime start = LocalDateTime.now().minusDays(random.nextInt(365));
+        List<Object[]> rows = new ArrayList<>(sessionsPerBatch);
+        for (int i = 0; i < sessionsPerBatch; i++) {
+            rows.add(new Object[]{trainingId, Timestamp.valueOf(start.plusSeconds(i)),
+                    random.nextDouble(49.0, 54.8), random.nextDouble(14.1, 24.1)});
+        }
+        blackhole.consume(jdbcTemplate.batchUpdate(SESSION_INSERT, rows));
+    }
+
+}
@@ -0,0 +1,134 @@
+package pl.wsb.fitnesstracker.serialization.internal;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pl.wsb.fitnesstracker.training.api.TrainingDto;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compares JSON, gzipped JSON, CBOR and Smile for the payloads synced by the mobile clients: a page of trainings
+ * and the GPS points of a workout session. Measures the CPU time of encoding and decoding; the payload sizes are
+ * logged when a trial starts.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<List<TrainingDto>> TRAININGS = new TypeReference<>() {
+    };
+
+    private static final TypeReference<List<SessionPoint>> SESSION_POINTS = new TypeReference<>() {
+    };
+
+    @Param({"trainings", "sessionPoints"})
+    private String payload;
+
+    @Param({"1000"})
+    private int size;
+
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor().build();
+
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+
+    private List<?> values;
+
+    private TypeReference<? extends List<?>> valueType;
+
+    private byte[] json;
+
+    private byte[] cbor;
+
+    private byte[] smile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 7, 0);
+        if (payload.equals("trainings")) {
+            values = IntStream.range(0, size)
+                    .mapToObj(i -> new TrainingDto((long) i, 42L, start.plusDays(i), start.plusDays(i).plusHours(1),
+                            ActivityType.values()[i % ActivityType.values().length], 5.0 + i % 20 * 0.25, 10.5))
+                    .toList();
+            valueType = TRAININGS;
+        } else {
+            values = IntStream.range(0, size)
+                    .mapToObj(i -> new SessionPoint(start.plusSeconds(i), 52.2296756 + i * 0.0000137,
+                            21.0122287 + i * 0.0000211, 100.0 + i % 7))
+                    .toList();
+            valueType = SESSION_POINTS;
+        }
+        json = jsonMapper.writeValueAsBytes(values);
+        cbor = cborMapper.writeValueAsBytes(values);
+        smile = smileMapper.writeValueAsBytes(values);
+        log.info("{} {}: JSON {} bytes, gzipped JSON {} bytes, CBOR {} bytes, Smile {} bytes",
+                size, payload, json.length, gzip(json).length, cbor.length, smile.length);
+    }
+
+    @Benchmark
+    public byte[] encodeJson() throws IOException {
+        return jsonMapper.writeValueAsBytes(values);
+    }
+
+    @Benchmark
+    public byte[] encodeGzippedJson() throws IOException {
+        return gzip(jsonMapper.writeValueAsBytes(values));
+    }
+
+    @Benchmark
+    public byte[] encodeCbor() throws IOException {
+        return cborMapper.writeValueAsBytes(values);
+    }
+
+    @Benchmark
+    public byte[] encodeSmile() throws IOException {
+        return smileMapper.writeValueAsBytes(values);
+    }
+
+    @Benchmark
+    public List<?> decodeJson() throws IOException {
+        return jsonMapper.readValue(json, valueType);
+    }
+
+    @Benchmark
+    public List<?> decodeCbor() throws IOException {
+        return cborMapper.readValue(cbor, valueType);
+    }
+
+    @Benchmark
+    public List<?> decodeSmile() throws IOException {
+        return smileMapper.readValue(smile, valueType);
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(bytes.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(bytes);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * A GPS point of a workout session.
+     */
+    public record SessionPoint(@JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime timestamp,
+                               double latitude,
+                               double longitude,
+                               Double altitude) {
+    }
+
+}
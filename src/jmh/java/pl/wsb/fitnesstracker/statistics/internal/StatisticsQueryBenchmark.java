@@ -0,0 +1,65 @@
+package pl.wsb.fitnesstracker.statistics.internal;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import pl.wsb.fitnesstracker.BenchmarkContext;
+import pl.wsb.fitnesstracker.statistics.api.HealthIndicatorsProvider;
+import pl.wsb.fitnesstracker.statistics.api.StatisticsRepository;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statistics lookups and health indicator computations against a seeded database of the given size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatisticsQueryBenchmark {
+
+    @Param({"1000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+
+    private StatisticsRepository statisticsRepository;
+
+    private HealthIndicatorsProvider healthIndicatorsProvider;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(users, 20, 20);
+        statisticsRepository = context.getBean(StatisticsRepository.class);
+        healthIndicatorsProvider = context.getBean(HealthIndicatorsProvider.class);
+        healthIndicatorsProvider.backfillAllUsers();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void findStatisticsByUserId(Blackhole blackhole) {
+        blackhole.consume(statisticsRepository.findByUserId(randomUserId()));
+    }
+
+    @Benchmark
+    public void getHealthIndicatorsIncrementally(Blackhole blackhole) {
+        blackhole.consume(healthIndicatorsProvider.getHealthIndicators(randomUserId()));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int backfillAllUsers() {
+        return healthIndicatorsProvider.backfillAllUsers();
+    }
+
+    private long randomUserId() {
+        return random.nextLong(1, users + 1);
+    }
+
+}
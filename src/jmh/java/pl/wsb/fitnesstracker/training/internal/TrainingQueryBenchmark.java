@@ -0,0 +1,67 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import pl.wsb.fitnesstracker.BenchmarkContext;
+import pl.wsb.fitnesstracker.training.api.TrainingProvider;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Date range queries of the {@link TrainingProvider} against a seeded database of the given size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrainingQueryBenchmark {
+
+    @Param({"1000", "10000"})
+    private int users;
+
+    @Param({"10"})
+    private int trainingsPerUser;
+
+    private ConfigurableApplicationContext context;
+
+    private TrainingProvider trainingProvider;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(users, trainingsPerUser, 0);
+        trainingProvider = context.getBean(TrainingProvider.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void getTraining(Blackhole blackhole) {
+        blackhole.consume(trainingProvider.getTraining(random.nextLong(1, (long) users * trainingsPerUser + 1)));
+    }
+
+    @Benchmark
+    public void findTrainingsStartedOnDay(Blackhole blackhole) {
+        LocalDateTime from = LocalDateTime.now().minusDays(random.nextInt(365)).toLocalDate().atStartOfDay();
+        blackhole.consume(trainingProvider.findTrainingsStartedBetween(from, from.plusDays(1)));
+    }
+
+    @Benchmark
+    public void findUserTrainingsStartedInMonth(Blackhole blackhole) {
+        LocalDateTime from = LocalDateTime.now().minusDays(random.nextInt(30, 365));
+        blackhole.consume(trainingProvider.findUserTrainingsStartedBetween(random.nextLong(1, users + 1),
+                from, from.plusMonths(1)));
+    }
+
+    @Benchmark
+    public void findTrainingsFinishedInLastDay(Blackhole blackhole) {
+        blackhole.consume(trainingProvider.findTrainingsFinishedAfter(LocalDateTime.now().minusDays(1)));
+    }
+
+}
@@ -0,0 +1,89 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares training times represented as {@link java.util.Date} (the former model) with {@link LocalDateTime},
+ * both for JSON serialization with the application's Jackson setup and for parsing text timestamps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TrainingTimeSerializationBenchmark {
+
+    private static final String PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(PATTERN);
+
+    @Param({"1000"})
+    private int trainings;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<DateTimes> dateTrainings;
+
+    private List<LocalDateTimes> localDateTimeTrainings;
+
+    private List<String> texts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 8, 0);
+        localDateTimeTrainings = IntStream.range(0, trainings)
+                .mapToObj(i -> new LocalDateTimes(base.plusHours(i), base.plusHours(i).plusMinutes(90)))
+                .toList();
+        dateTrainings = localDateTimeTrainings.stream()
+                .map(times -> new DateTimes(toDate(times.startTime()), toDate(times.endTime())))
+                .toList();
+        texts = localDateTimeTrainings.stream().map(times -> FORMATTER.format(times.startTime())).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeDate() throws Exception {
+        return objectMapper.writeValueAsBytes(dateTrainings);
+    }
+
+    @Benchmark
+    public byte[] serializeLocalDateTime() throws Exception {
+        return objectMapper.writeValueAsBytes(localDateTimeTrainings);
+    }
+
+    @Benchmark
+    public List<Date> parseWithSimpleDateFormat() throws ParseException {
+        // SimpleDateFormat is not thread-safe, so shared code has to create an instance per use
+        SimpleDateFormat format = new SimpleDateFormat(PATTERN);
+        Date[] dates = new Date[texts.size()];
+        for (int i = 0; i < dates.length; i++) {
+            dates[i] = format.parse(texts.get(i));
+        }
+        return List.of(dates);
+    }
+
+    @Benchmark
+    public List<LocalDateTime> parseWithDateTimeFormatter() {
+        return texts.stream().map(text -> LocalDateTime.parse(text, FORMATTER)).toList();
+    }
+
+    private static Date toDate(LocalDateTime time) {
+        return Date.from(time.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    public record DateTimes(Date startTime, Date endTime) {
+    }
+
+    public record LocalDateTimes(LocalDateTime startTime, LocalDateTime endTime) {
+    }
+
+}
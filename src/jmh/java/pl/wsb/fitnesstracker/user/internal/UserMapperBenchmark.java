@@ -0,0 +1,72 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import pl.wsb.fitnesstracker.user.api.User;
+import pl.wsb.fitnesstracker.user.api.UserBasicDto;
+import pl.wsb.fitnesstracker.user.api.UserDto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Conversions of {@link UserMapper} and JSON serialization of the resulting DTO lists, i.e. the work done
+ * by the list endpoints of the {@link UserController} after the users are loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserMapperBenchmark {
+
+    @Param({"100", "10000"})
+    private int users;
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private List<User> userList;
+
+    private List<UserDto> userDtoList;
+
+    private List<UserBasicDto> userBasicDtoList;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userList = IntStream.range(0, users)
+                .mapToObj(i -> new User("First" + i, "Last" + i, LocalDate.of(1950, 1, 1).plusDays(i),
+                        "user%d@domain.com".formatted(i)))
+                .toList();
+        userDtoList = userList.stream().map(userMapper::toDto).toList();
+        userBasicDtoList = userList.stream().map(userMapper::toBasicDto).toList();
+    }
+
+    @Benchmark
+    public List<UserDto> mapToDto() {
+        return userList.stream().map(userMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public List<UserBasicDto> mapToBasicDto() {
+        return userList.stream().map(userMapper::toBasicDto).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeUserDtoList() throws Exception {
+        return objectMapper.writeValueAsBytes(userDtoList);
+    }
+
+    @Benchmark
+    public byte[] serializeUserBasicDtoList() throws Exception {
+        return objectMapper.writeValueAsBytes(userBasicDtoList);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeUserDtoList() throws Exception {
+        return objectMapper.writeValueAsBytes(userList.stream().map(userMapper::toDto).toList());
+    }
+
+}
@@ -0,0 +1,79 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import pl.wsb.fitnesstracker.BenchmarkContext;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of {@link UserRepository} against a seeded database of the given size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserRepositoryBenchmark {
+
+    @Param({"1000", "10000"})
+    private int users;
+
+    private ConfigurableApplicationContext context;
+
+    private UserRepository userRepository;
+
+    private List<User> sampleUsers;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(users, 0, 0);
+        userRepository = context.getBean(UserRepository.class);
+        sampleUsers = userRepository.findAll().subList(0, Math.min(users, 100));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void findById(Blackhole blackhole) {
+        blackhole.consume(userRepository.findById(randomUser().getId()));
+    }
+
+    @Benchmark
+    public void findByEmail(Blackhole blackhole) {
+        blackhole.consume(userRepository.findByEmail(randomUser().getEmail()));
+    }
+
+    @Benchmark
+    public void findByEmailContainingIgnoreCase(Blackhole blackhole) {
+        blackhole.consume(userRepository.findByEmailContainingIgnoreCase(randomUser().getLastName().toLowerCase()));
+    }
+
+    @Benchmark
+    public void findByFirstNameAndLastName(Blackhole blackhole) {
+        User user = randomUser();
+        blackhole.consume(userRepository.findByFirstNameAndLastName(user.getFirstName(), user.getLastName()));
+    }
+
+    @Benchmark
+    public void findByAgeGreaterThan(Blackhole blackhole) {
+        blackhole.consume(userRepository.findByAgeGreaterThan(random.nextInt(18, 80)));
+    }
+
+    @Benchmark
+    public void findAll(Blackhole blackhole) {
+        blackhole.consume(userRepository.findAll());
+    }
+
+    private User randomUser() {
+        return sampleUsers.get(random.nextInt(sampleUsers.size()));
+    }
+
+}
@@ -0,0 +1,89 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the default path of the user list endpoints, mapping the loaded users to DTOs serialized by Jackson,
+ * with writing the selected rows by the {@link UserRowsMessageConverter}. Run with {@code -prof gc} to compare
+ * the allocation per response as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserRowsSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    private int users;
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private final UserRowsMessageConverter converter = new UserRowsMessageConverter(objectMapper);
+
+    private List<User> userList;
+
+    private UserRows fullRows;
+
+    private UserRows basicRows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userList = IntStream.range(0, users)
+                .mapToObj(i -> {
+                    User user = new User("First" + i, "Last" + i, LocalDate.of(1950, 1, 1).plusDays(i),
+                            "user%d@domain.com".formatted(i));
+                    user.setId((long) i);
+                    return user;
+                })
+                .toList();
+        fullRows = rows(UserRowLayout.FULL, userList.stream()
+                .map(user -> new Object[]{user.getId(), user.getFirstName(), user.getLastName(),
+                        user.getBirthdate(), user.getEmail()})
+                .toList());
+        basicRows = rows(UserRowLayout.BASIC, userList.stream()
+                .map(user -> new Object[]{user.getId(), user.getFirstName(), user.getLastName()})
+                .toList());
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeUserDtoList() throws Exception {
+        return objectMapper.writeValueAsBytes(userList.stream().map(userMapper::toDto).toList());
+    }
+
+    @Benchmark
+    public byte[] writeFullRows() throws Exception {
+        return write(fullRows);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializeUserBasicDtoList() throws Exception {
+        return objectMapper.writeValueAsBytes(userList.stream().map(userMapper::toBasicDto).toList());
+    }
+
+    @Benchmark
+    public byte[] writeBasicRows() throws Exception {
+        return write(basicRows);
+    }
+
+    private static UserRows rows(UserRowLayout layout, List<Object[]> rows) {
+        return new UserRows(layout, null, consumer -> consumer.accept(rows.iterator()));
+    }
+
+    private byte[] write(UserRows rows) throws Exception {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        converter.write(rows, MediaType.APPLICATION_JSON, outputMessage);
+        return outputMessage.getBodyAsBytes();
+    }
+
+}
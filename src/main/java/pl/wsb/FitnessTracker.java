@@ -1,17 +1,30 @@
 package pl.wsb;
 
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
+import java.util.Arrays;
+
 @EntityScan(basePackages = "pl.wsb.fitnesstracker")
 @EnableJpaRepositories(basePackages = "pl.wsb.fitnesstracker")
 @SpringBootApplication
 public class FitnessTracker {
 
     public static void main(String[] args) {
-        SpringApplication.run(FitnessTracker.class, args);
+        SpringApplication application = new SpringApplication(FitnessTracker.class);
+        if (isCommandLineTransfer(args)) {
+            // Bulk export/import runs without the web server and exits once finished
+            application.setWebApplicationType(WebApplicationType.NONE);
+            System.exit(SpringApplication.exit(application.run(args)));
+        }
+        application.run(args);
+    }
+
+    private static boolean isCommandLineTransfer(String[] args) {
+        return Arrays.stream(args).anyMatch(arg -> arg.startsWith("--export=") || arg.startsWith("--import="));
     }
 
 }
@@ -0,0 +1,46 @@
+package pl.wsb.fitnesstracker.async.api;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Interface (API) for running read queries off the request threads.
+ * Queries are executed on the application's bounded task executor, so a slow query or a slow client
+ * never pins a servlet request thread.
+ */
+public interface AsyncQueryExecutor {
+
+    /**
+     * Runs the query asynchronously.
+     *
+     * @param query the (blocking) query to run
+     * @param <T>   type of the query result
+     * @return future completed with the result of the query
+     * @throws AsyncQueryRejectedException if the executor is saturated
+     */
+    <T> CompletableFuture<T> submit(Supplier<T> query);
+
+    /**
+     * Streams all records returned by the page loader as server-sent events. The number of concurrent streams is
+     * limited separately from the queries, so slow clients of the streams cannot hold up the queries.
+     * Pages are loaded one at a time and the next page is only loaded once the previous one has been written
+     * to the client, so a slow client slows down the loading instead of buffering the whole result set.
+     * Every event carries the key of its record as the event ID, which lets a reconnecting client resume
+     * the stream using the {@code Last-Event-ID} header. A final {@code complete} event marks the end of
+     * the stream.
+     *
+     * @param eventName    name of the events carrying the records
+     * @param afterKey     key after which the stream starts ({@code 0} for all records)
+     * @param pageLoader   loader of the subsequent pages of records, ordered by their keys
+     * @param keyExtractor function returning the key of the record
+     * @param <T>          type of the streamed records
+     * @return emitter to be returned from the controller
+     * @throws AsyncQueryRejectedException if the maximum number of concurrent streams is reached
+     */
+    <T> SseEmitter stream(String eventName, long afterKey, KeysetPageLoader<T> pageLoader,
+                          ToLongFunction<T> keyExtractor);
+
+}
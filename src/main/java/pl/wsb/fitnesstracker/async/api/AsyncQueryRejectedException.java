@@ -0,0 +1,17 @@
+package pl.wsb.fitnesstracker.async.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception indicating that an asynchronous query could not be started, because the executor is saturated.
+ * Will resolve to the {@link HttpStatus#SERVICE_UNAVAILABLE} if handled by the Spring's exception handler.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class AsyncQueryRejectedException extends RuntimeException {
+
+    public AsyncQueryRejectedException(Throwable cause) {
+        super("Too many concurrent queries, try again later", cause);
+    }
+
+}
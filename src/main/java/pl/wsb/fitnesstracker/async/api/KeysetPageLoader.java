@@ -0,0 +1,22 @@
+package pl.wsb.fitnesstracker.async.api;
+
+import java.util.List;
+
+/**
+ * Loader of a single page of records, using keyset pagination.
+ *
+ * @param <T> type of the loaded records
+ */
+@FunctionalInterface
+public interface KeysetPageLoader<T> {
+
+    /**
+     * Loads the records following the given key.
+     *
+     * @param afterKey key of the last record of the previous page (exclusive)
+     * @param limit    maximum number of records to load
+     * @return records ordered by their keys
+     */
+    List<T> loadPage(long afterKey, int limit);
+
+}
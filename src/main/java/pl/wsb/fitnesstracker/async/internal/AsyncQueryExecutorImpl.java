@@ -0,0 +1,123 @@
+package pl.wsb.fitnesstracker.async.internal;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pl.wsb.fitnesstracker.async.api.AsyncQueryExecutor;
+import pl.wsb.fitnesstracker.async.api.AsyncQueryRejectedException;
+import pl.wsb.fitnesstracker.async.api.KeysetPageLoader;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Implementation of the {@link AsyncQueryExecutor} running the queries on the application task executor
+ * (platform or virtual threads, depending on {@code spring.threads.virtual.enabled}).
+ * <p>
+ * A stream occupies its thread for as long as the client takes to read it, so the streams run on an executor of
+ * their own, limited to {@code async-query.max-streams} threads and without a queue. Slow clients can therefore
+ * only exhaust the streams, never the application task executor shared by the queries and the background jobs.
+ */
+@Component
+@Slf4j
+class AsyncQueryExecutorImpl implements AsyncQueryExecutor {
+
+    private static final String COMPLETE_EVENT = "complete";
+
+    private final AsyncTaskExecutor taskExecutor;
+
+    private final AsyncQueryProperties properties;
+
+    private final ThreadPoolTaskExecutor streamExecutor;
+
+    AsyncQueryExecutorImpl(AsyncTaskExecutor taskExecutor, AsyncQueryProperties properties) {
+        this.taskExecutor = taskExecutor;
+        this.properties = properties;
+        this.streamExecutor = new ThreadPoolTaskExecutor();
+        this.streamExecutor.setThreadNamePrefix("query-stream-");
+        this.streamExecutor.setCorePoolSize(properties.getMaxStreams());
+        this.streamExecutor.setMaxPoolSize(properties.getMaxStreams());
+        this.streamExecutor.setQueueCapacity(0);
+        this.streamExecutor.setAllowCoreThreadTimeOut(true);
+        this.streamExecutor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        streamExecutor.shutdown();
+    }
+
+    @Override
+    public <T> CompletableFuture<T> submit(final Supplier<T> query) {
+        try {
+            return CompletableFuture.supplyAsync(query, taskExecutor);
+        } catch (RejectedExecutionException e) {
+            throw new AsyncQueryRejectedException(e);
+        }
+    }
+
+    @Override
+    public <T> SseEmitter stream(final String eventName,
+                                 final long afterKey,
+                                 final KeysetPageLoader<T> pageLoader,
+                                 final ToLongFunction<T> keyExtractor) {
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> closed.set(true));
+        emitter.onError(e -> closed.set(true));
+
+        try {
+            streamExecutor.execute(() -> emitPages(emitter, closed, eventName, afterKey, pageLoader, keyExtractor));
+        } catch (TaskRejectedException e) {
+            throw new AsyncQueryRejectedException(e);
+        }
+        return emitter;
+    }
+
+    private <T> void emitPages(final SseEmitter emitter,
+                               final AtomicBoolean closed,
+                               final String eventName,
+                               final long afterKey,
+                               final KeysetPageLoader<T> pageLoader,
+                               final ToLongFunction<T> keyExtractor) {
+        int pageSize = properties.getStreamPageSize();
+        long key = afterKey;
+        try {
+            List<T> page;
+            do {
+                page = pageLoader.loadPage(key, pageSize);
+                for (T record : page) {
+                    if (closed.get()) {
+                        return;
+                    }
+                    key = keyExtractor.applyAsLong(record);
+                    // blocks while the client is not reading, which holds back loading of the next page
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(key))
+                            .name(eventName)
+                            .data(record, MediaType.APPLICATION_JSON));
+                }
+            } while (page.size() == pageSize);
+            emitter.send(SseEmitter.event().name(COMPLETE_EVENT).data(""));
+            emitter.complete();
+        } catch (IOException e) {
+            // the container notifies the emitter about the failure itself
+            log.debug("Client disconnected from the {} stream after key {}", eventName, key);
+        } catch (RuntimeException e) {
+            log.warn("Streaming of {} events failed after key {}", eventName, key, e);
+            emitter.completeWithError(e);
+        }
+    }
+
+}
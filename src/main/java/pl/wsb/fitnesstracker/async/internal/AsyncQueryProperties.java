@@ -0,0 +1,40 @@
+package pl.wsb.fitnesstracker.async.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the asynchronous queries. The executor of the queries is configured with the
+ * {@code spring.task.execution.*} properties, the streams run on an executor of their own.
+ */
+@ConfigurationProperties(prefix = "async-query")
+@Getter
+class AsyncQueryProperties {
+
+    /**
+     * Number of records loaded per page while streaming.
+     */
+    private final int streamPageSize;
+
+    /**
+     * Maximum duration of a single stream.
+     */
+    private final Duration streamTimeout;
+
+    /**
+     * Maximum number of concurrent streams; further streams are rejected until one of them ends.
+     */
+    private final int maxStreams;
+
+    AsyncQueryProperties(@DefaultValue("500") int streamPageSize,
+                         @DefaultValue("30m") Duration streamTimeout,
+                         @DefaultValue("16") int maxStreams) {
+        this.streamPageSize = streamPageSize;
+        this.streamTimeout = streamTimeout;
+        this.maxStreams = maxStreams;
+    }
+
+}
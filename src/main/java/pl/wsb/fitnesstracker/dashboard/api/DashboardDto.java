@@ -0,0 +1,32 @@
+package pl.wsb.fitnesstracker.dashboard.api;
+
+import jakarta.annotation.Nullable;
+import pl.wsb.fitnesstracker.event.api.UserEventDto;
+import pl.wsb.fitnesstracker.healthmetrics.HealthMetricsDto;
+import pl.wsb.fitnesstracker.statistics.api.StatisticsDto;
+import pl.wsb.fitnesstracker.training.api.TrainingDto;
+import pl.wsb.fitnesstracker.user.api.UserDto;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Data Transfer Object aggregating everything displayed on the home screen of the app.
+ * Parts which could not be loaded in time are empty and listed in {@code unavailableParts}.
+ *
+ * @param user                The user owning the dashboard
+ * @param statistics          The aggregated statistics of the user, if computed already
+ * @param recentTrainings     The most recently started trainings of the user, the latest first
+ * @param upcomingEvents      The events the user signed up for which have not started yet, the soonest first
+ * @param latestHealthMetrics The most recent health metrics reading of the user, if any
+ * @param unavailableParts    The parts which failed or timed out and were replaced by empty values
+ */
+public record DashboardDto(
+        UserDto user,
+        @Nullable StatisticsDto statistics,
+        List<TrainingDto> recentTrainings,
+        List<UserEventDto> upcomingEvents,
+        @Nullable HealthMetricsDto latestHealthMetrics,
+        Set<DashboardPart> unavailableParts
+) {
+}
@@ -0,0 +1,14 @@
+package pl.wsb.fitnesstracker.dashboard.api;
+
+/**
+ * Parts of the {@link DashboardDto}, each loaded by a separate query.
+ */
+public enum DashboardPart {
+
+    USER,
+    STATISTICS,
+    RECENT_TRAININGS,
+    UPCOMING_EVENTS,
+    LATEST_HEALTH_METRICS
+
+}
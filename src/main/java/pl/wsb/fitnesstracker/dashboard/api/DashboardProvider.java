@@ -0,0 +1,23 @@
+package pl.wsb.fitnesstracker.dashboard.api;
+
+import pl.wsb.fitnesstracker.user.api.UserNotFoundException;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface (API) for loading the {@link DashboardDto} of a user.
+ */
+public interface DashboardProvider {
+
+    /**
+     * Loads all parts of the user's dashboard concurrently.
+     * The future completes once the slowest part is loaded or timed out. Parts other than the
+     * {@link DashboardPart#USER user} itself which fail or time out are replaced by empty values.
+     *
+     * @param userId ID of the user owning the dashboard
+     * @return future completed with the dashboard, or failed with {@link UserNotFoundException} if the user
+     *         does not exist, or with {@link DashboardUnavailableException} if the user could not be loaded in time
+     */
+    CompletableFuture<DashboardDto> getDashboard(Long userId);
+
+}
@@ -0,0 +1,17 @@
+package pl.wsb.fitnesstracker.dashboard.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception indicating that the dashboard could not be loaded, because the user itself could not be loaded in time.
+ * Will resolve to the {@link HttpStatus#SERVICE_UNAVAILABLE} if handled by the Spring's exception handler.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DashboardUnavailableException extends RuntimeException {
+
+    public DashboardUnavailableException(Long userId, Throwable cause) {
+        super("Dashboard of User with ID=%s is temporarily unavailable".formatted(userId), cause);
+    }
+
+}
@@ -0,0 +1,10 @@
+package pl.wsb.fitnesstracker.dashboard.internal;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DashboardProperties.class)
+class DashboardConfig {
+
+}
@@ -0,0 +1,40 @@
+package pl.wsb.fitnesstracker.dashboard.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import pl.wsb.fitnesstracker.dashboard.api.DashboardDto;
+import pl.wsb.fitnesstracker.dashboard.api.DashboardProvider;
+import pl.wsb.fitnesstracker.dashboard.api.DashboardUnavailableException;
+import pl.wsb.fitnesstracker.user.api.UserNotFoundException;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST controller serving the home screen of the app in a single round trip.
+ * All endpoints are prefixed with /v1/dashboard.
+ */
+@RestController
+@RequestMapping("/v1/dashboard")
+@RequiredArgsConstructor
+class DashboardController {
+
+    private final DashboardProvider dashboardProvider;
+
+    /**
+     * Retrieves the dashboard of the user: the user, their statistics, recent trainings, upcoming events
+     * and the latest health metrics.
+     *
+     * @param userId the ID of the user
+     * @return future completed with the DashboardDto
+     * @throws UserNotFoundException         if user with given ID is not found
+     * @throws DashboardUnavailableException if the user could not be loaded in time
+     */
+    @GetMapping("/{userId}")
+    public CompletableFuture<DashboardDto> getDashboard(@PathVariable Long userId) {
+        return dashboardProvider.getDashboard(userId);
+    }
+
+}
@@ -0,0 +1,21 @@
+package pl.wsb.fitnesstracker.dashboard.internal;
+
+import org.springframework.stereotype.Component;
+import pl.wsb.fitnesstracker.statistics.api.Statistics;
+import pl.wsb.fitnesstracker.statistics.api.StatisticsDto;
+
+/**
+ * Mapper class for converting the entities displayed on the dashboard, which have no mapper of their own, to DTOs.
+ * Users, trainings, events and health metrics are mapped by the mappers of their modules.
+ * The mapping happens on the query threads, so only eagerly loaded associations may be accessed.
+ */
+@Component
+class DashboardMapper {
+
+    StatisticsDto toDto(Statistics statistics) {
+        return new StatisticsDto(statistics.getTotalTrainings(),
+                statistics.getTotalDistance(),
+                statistics.getTotalCaloriesBurned());
+    }
+
+}
@@ -0,0 +1,57 @@
+package pl.wsb.fitnesstracker.dashboard.internal;
+
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import pl.wsb.fitnesstracker.dashboard.api.DashboardPart;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration of the dashboard.
+ */
+@ConfigurationProperties(prefix = "dashboard")
+@Getter
+class DashboardProperties {
+
+    /**
+     * How long a single part of the dashboard may take to load, unless overridden in {@code part-timeouts}.
+     */
+    private final Duration partTimeout;
+
+    /**
+     * Timeouts of the individual parts, e.g. {@code dashboard.part-timeouts.recent-trainings=500ms}.
+     */
+    private final Map<DashboardPart, Duration> partTimeouts;
+
+    /**
+     * Number of the most recent trainings displayed.
+     */
+    private final int recentTrainings;
+
+    /**
+     * Number of the upcoming events displayed.
+     */
+    private final int upcomingEvents;
+
+    DashboardProperties(@DefaultValue("2s") Duration partTimeout,
+                        @Nullable Map<DashboardPart, Duration> partTimeouts,
+                        @DefaultValue("5") int recentTrainings,
+                        @DefaultValue("5") int upcomingEvents) {
+        this.partTimeout = partTimeout;
+        this.partTimeouts = new EnumMap<>(DashboardPart.class);
+        if (partTimeouts != null) {
+            this.partTimeouts.putAll(partTimeouts);
+        }
+        this.recentTrainings = recentTrainings;
+        this.upcomingEvents = upcomingEvents;
+    }
+
+    Duration getTimeout(DashboardPart part) {
+        return partTimeouts.getOrDefault(part, partTimeout);
+    }
+
+}
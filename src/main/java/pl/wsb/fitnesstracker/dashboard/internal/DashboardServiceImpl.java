@@ -0,0 +1,152 @@
+package pl.wsb.fitnesstracker.dashboard.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import pl.wsb.fitnesstracker.async.api.AsyncQueryExecutor;
+import pl.wsb.fitnesstracker.async.api.AsyncQueryRejectedException;
+import pl.wsb.fitnesstracker.dashboard.api.DashboardDto;
+import pl.wsb.fitnesstracker.dashboard.api.DashboardPart;
+import pl.wsb.fitnesstracker.dashboard.api.DashboardProvider;
+import pl.wsb.fitnesstracker.dashboard.api.DashboardUnavailableException;
+import pl.wsb.fitnesstracker.event.api.UserEventDto;
+import pl.wsb.fitnesstracker.event.api.UserEventMapper;
+import pl.wsb.fitnesstracker.event.api.UserEventRepo;
+import pl.wsb.fitnesstracker.healthmetrics.HealthMetricsDto;
+import pl.wsb.fitnesstracker.healthmetrics.HealthMetricsMapper;
+import pl.wsb.fitnesstracker.healthmetrics.HealthMetricsRepository;
+import pl.wsb.fitnesstracker.statistics.api.StatisticsDto;
+import pl.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+import pl.wsb.fitnesstracker.training.api.TrainingDto;
+import pl.wsb.fitnesstracker.training.api.TrainingProvider;
+import pl.wsb.fitnesstracker.user.api.UserDto;
+import pl.wsb.fitnesstracker.user.api.UserNotFoundException;
+import pl.wsb.fitnesstracker.user.api.UserProvider;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Service loading the parts of the dashboard concurrently on the {@link AsyncQueryExecutor}, so the latency of the
+ * dashboard is the latency of its slowest part rather than the sum of all of them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+class DashboardServiceImpl implements DashboardProvider {
+
+    private final AsyncQueryExecutor asyncQueryExecutor;
+
+    private final UserProvider userProvider;
+
+    private final StatisticsProvider statisticsProvider;
+
+    private final TrainingProvider trainingProvider;
+
+    private final UserEventRepo userEventRepo;
+
+    private final HealthMetricsRepository healthMetricsRepository;
+
+    private final UserEventMapper userEventMapper;
+
+    private final HealthMetricsMapper healthMetricsMapper;
+
+    private final DashboardMapper dashboardMapper;
+
+    private final DashboardProperties properties;
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public CompletableFuture<DashboardDto> getDashboard(final Long userId) {
+        CompletableFuture<UserDto> user = withTimeout(DashboardPart.USER,
+                asyncQueryExecutor.submit(() -> userProvider.getUser(userId)
+                        .map(userProvider::toDto)
+                        .orElseThrow(() -> new UserNotFoundException(userId))))
+                .exceptionally(e -> {
+                    if (unwrap(e) instanceof TimeoutException) {
+                        throw new DashboardUnavailableException(userId, e);
+                    }
+                    throw e instanceof CompletionException completionException
+                            ? completionException
+                            : new CompletionException(e);
+                });
+
+        Set<DashboardPart> unavailableParts = EnumSet.noneOf(DashboardPart.class);
+        CompletableFuture<Optional<StatisticsDto>> statistics = optionalPart(DashboardPart.STATISTICS, userId,
+                unavailableParts, Optional.empty(),
+                () -> statisticsProvider.getUserStatistics(userId).map(dashboardMapper::toDto));
+        CompletableFuture<List<TrainingDto>> recentTrainings = optionalPart(DashboardPart.RECENT_TRAININGS, userId,
+                unavailableParts, List.of(),
+                () -> trainingProvider.findRecentUserTrainings(userId, properties.getRecentTrainings())
+                        .stream()
+                        .map(trainingProvider::toDto)
+                        .toList());
+        CompletableFuture<List<UserEventDto>> upcomingEvents = optionalPart(DashboardPart.UPCOMING_EVENTS, userId,
+                unavailableParts, List.of(),
+                () -> userEventRepo.findUpcomingUserEvents(userId, LocalDateTime.now(), properties.getUpcomingEvents())
+                        .stream()
+                        .map(userEventMapper::toDto)
+                        .toList());
+        CompletableFuture<Optional<HealthMetricsDto>> latestHealthMetrics = optionalPart(
+                DashboardPart.LATEST_HEALTH_METRICS, userId, unavailableParts, Optional.empty(),
+                () -> healthMetricsRepository.findFirstByUserIdOrderByDateDescIdDesc(userId)
+                        .map(healthMetricsMapper::toDto));
+
+        return CompletableFuture.allOf(statistics, recentTrainings, upcomingEvents, latestHealthMetrics)
+                .thenCombine(user, (ignored, userDto) -> {
+                    synchronized (unavailableParts) {
+                        return new DashboardDto(userDto,
+                                statistics.join().orElse(null),
+                                recentTrainings.join(),
+                                upcomingEvents.join(),
+                                latestHealthMetrics.join().orElse(null),
+                                EnumSet.copyOf(unavailableParts));
+                    }
+                });
+    }
+
+    /**
+     * Starts loading an optional part of the dashboard, which falls back to the given value if it fails,
+     * times out or cannot be started at all.
+     */
+    private <T> CompletableFuture<T> optionalPart(final DashboardPart part,
+                                                  final Long userId,
+                                                  final Set<DashboardPart> unavailableParts,
+                                                  final T fallback,
+                                                  final Supplier<T> query) {
+        CompletableFuture<T> future;
+        try {
+            future = withTimeout(part, asyncQueryExecutor.submit(query));
+        } catch (AsyncQueryRejectedException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.exceptionally(e -> {
+            log.warn("Dashboard part {} of User with ID: {} is unavailable: {}", part, userId, unwrap(e).toString());
+            meterRegistry.counter("dashboard.part.unavailable", "part", part.name().toLowerCase()).increment();
+            synchronized (unavailableParts) {
+                unavailableParts.add(part);
+            }
+            return fallback;
+        });
+    }
+
+    private <T> CompletableFuture<T> withTimeout(final DashboardPart part, final CompletableFuture<T> future) {
+        // the query itself keeps running until it completes, only the dashboard stops waiting for it
+        return future.orTimeout(properties.getTimeout(part).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private static Throwable unwrap(final Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+
+}
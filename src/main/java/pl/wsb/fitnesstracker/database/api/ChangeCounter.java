@@ -0,0 +1,28 @@
+package pl.wsb.fitnesstracker.database.api;
+
+/**
+ * Interface (API) for cheap change detection of whole entity collections.
+ * Every change of an entity type advances its counter, so clients can validate cached collections with
+ * conditional requests without the collection being queried again.
+ */
+public interface ChangeCounter {
+
+    /**
+     * Records a change of an entity of the given type. Changes made through JPA are recorded by the
+     * {@link ChangeCountingListener}, bulk changes bypassing JPA have to be recorded explicitly.
+     * When called within a transaction, the change is recorded as part of it, once per entity type just before the
+     * transaction commits, and becomes visible together with the changes of the transaction.
+     *
+     * @param entityType type of the changed entity
+     */
+    void recordChange(Class<?> entityType);
+
+    /**
+     * Returns the version of the collection of entities of the given type, read at once.
+     *
+     * @param entityType type of the entities
+     * @return entity tag and time of the last change of the collection
+     */
+    CollectionVersion getVersion(Class<?> entityType);
+
+}
@@ -0,0 +1,27 @@
+package pl.wsb.fitnesstracker.database.api;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener recording the changes of the entity in the {@link ChangeCounter}.
+ */
+public class ChangeCountingListener {
+
+    private final ObjectProvider<ChangeCounter> changeCounter;
+
+    public ChangeCountingListener(ObjectProvider<ChangeCounter> changeCounter) {
+        this.changeCounter = changeCounter;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void onChange(Object entity) {
+        changeCounter.ifAvailable(counter -> counter.recordChange(Hibernate.getClass(entity)));
+    }
+
+}
@@ -0,0 +1,55 @@
+package pl.wsb.fitnesstracker.database.api;
+
+import java.util.List;
+
+/**
+ * Interface (API) for the log of the changes of the entities owned by users, from which the clients of a user sync
+ * only what changed since they last synced.
+ * Each owner has its own sequence of changes: every change is numbered with the next sequence number of the owner,
+ * and the changes become visible in the order of their sequence numbers.
+ * The changes are recorded within the current transaction, so they are rolled back together with the changes
+ * themselves.
+ */
+public interface ChangeLog {
+
+    /**
+     * Records a change of an entity. Changes of {@link OwnedEntity owned entities} made through JPA are recorded by
+     * the {@link ChangeLoggingListener}, bulk changes bypassing JPA have to be recorded explicitly.
+     *
+     * @param entityType type of the changed entity
+     * @param entityId   ID of the changed entity
+     * @param ownerId    ID of the user owning the entity
+     * @param operation  kind of the change
+     */
+    void recordChange(Class<?> entityType, Long entityId, Long ownerId, ChangeOperation operation);
+
+    /**
+     * Records the deletion of an owner together with everything it owned. The earlier changes of the owner are
+     * discarded, as the tombstone of the owner supersedes them all. Has to be called within the transaction of the
+     * deletion.
+     *
+     * @param ownerType type of the owner
+     * @param ownerId   ID of the deleted owner
+     */
+    void recordOwnerDeletion(Class<?> ownerType, Long ownerId);
+
+    /**
+     * Returns the changes of the entities of the owner recorded after the given sequence number, in the order of
+     * their sequence numbers.
+     *
+     * @param ownerId       ID of the owner
+     * @param afterSequence sequence number of the last change already known, 0 for all changes
+     * @param limit         maximum number of changes to return
+     * @return the changes, at most {@code limit} of them
+     */
+    List<ChangeLogEntry> findChanges(Long ownerId, long afterSequence, int limit);
+
+    /**
+     * Returns the sequence number of the last change of the entities of the owner.
+     *
+     * @param ownerId ID of the owner
+     * @return the sequence number, 0 if nothing of the owner changed yet
+     */
+    long getLastSequence(Long ownerId);
+
+}
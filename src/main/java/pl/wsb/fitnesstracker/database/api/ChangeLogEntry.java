@@ -0,0 +1,19 @@
+package pl.wsb.fitnesstracker.database.api;
+
+import java.time.Instant;
+
+/**
+ * Change of an entity recorded in the {@link ChangeLog}.
+ *
+ * @param sequence   sequence number of the change, increasing with every change of the entities of the owner
+ * @param entityType simple name of the entity class
+ * @param entityId   ID of the changed entity
+ * @param operation  kind of the change
+ * @param changedAt  time of the change
+ */
+public record ChangeLogEntry(long sequence,
+                             String entityType,
+                             Long entityId,
+                             ChangeOperation operation,
+                             Instant changedAt) {
+}
@@ -0,0 +1,42 @@
+package pl.wsb.fitnesstracker.database.api;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener recording the changes of the {@link OwnedEntity owned entities} in the {@link ChangeLog}.
+ */
+public class ChangeLoggingListener {
+
+    private final ObjectProvider<ChangeLog> changeLog;
+
+    public ChangeLoggingListener(ObjectProvider<ChangeLog> changeLog) {
+        this.changeLog = changeLog;
+    }
+
+    @PostPersist
+    @PostUpdate
+    void onUpsert(Object entity) {
+        record(entity, ChangeOperation.UPSERT);
+    }
+
+    @PostRemove
+    void onDelete(Object entity) {
+        record(entity, ChangeOperation.DELETE);
+    }
+
+    private void record(Object entity, ChangeOperation operation) {
+        if (!(entity instanceof OwnedEntity owned)) {
+            return;
+        }
+        Long entityId = owned.getId();
+        Long ownerId = owned.getOwnerId();
+        if (entityId != null && ownerId != null) {
+            changeLog.ifAvailable(log -> log.recordChange(Hibernate.getClass(entity), entityId, ownerId, operation));
+        }
+    }
+
+}
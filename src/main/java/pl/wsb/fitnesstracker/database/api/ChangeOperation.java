@@ -0,0 +1,18 @@
+package pl.wsb.fitnesstracker.database.api;
+
+/**
+ * Kind of the change of an entity recorded in the {@link ChangeLog}.
+ */
+public enum ChangeOperation {
+
+    /**
+     * The entity was created or updated.
+     */
+    UPSERT,
+
+    /**
+     * The entity was deleted.
+     */
+    DELETE
+
+}
@@ -0,0 +1,13 @@
+package pl.wsb.fitnesstracker.database.api;
+
+import java.time.Instant;
+
+/**
+ * State of the collection of entities of a type recorded by the {@link ChangeCounter}.
+ *
+ * @param eTag         entity tag of the collection, without quotes; different after each change and the same in all
+ *                     instances of the application
+ * @param lastModified time of the last change of an entity of the type, or the epoch if no change was recorded yet
+ */
+public record CollectionVersion(String eTag, Instant lastModified) {
+}
@@ -0,0 +1,57 @@
+package pl.wsb.fitnesstracker.database.api;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Helper for bulk loaders which insert rows with explicitly assigned IDs into tables with identity {@code id}
+ * columns, bypassing the identity generation.
+ */
+@Component
+public class IdentityColumns {
+
+    private static final String ID_COLUMN = "id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdentityColumns(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Returns the highest ID stored in the table.
+     *
+     * @param table name of the table
+     * @return highest ID, or {@code 0} if the table is empty
+     */
+    public long maxId(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(%s) FROM %s".formatted(ID_COLUMN, table), Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    /**
+     * Moves the identity of the table past its highest ID, so that rows created afterwards do not collide with
+     * the explicitly inserted ones.
+     *
+     * @param table name of the table
+     */
+    public void restartAfterMaxId(String table) {
+        long maxId = maxId(table);
+        if (maxId == 0) {
+            return;
+        }
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if ("PostgreSQL".equals(database)) {
+            jdbcTemplate.queryForObject("SELECT setval(pg_get_serial_sequence('%s', '%s'), %d)"
+                    .formatted(table, ID_COLUMN, maxId), Long.class);
+        } else {
+            jdbcTemplate.execute("ALTER TABLE %s ALTER COLUMN %s RESTART WITH %d"
+                    .formatted(table, ID_COLUMN, maxId + 1));
+        }
+    }
+
+}
@@ -0,0 +1,27 @@
+package pl.wsb.fitnesstracker.database.api;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Entity owned by a user, whose changes are recorded in the {@link ChangeLog} of the user by the
+ * {@link ChangeLoggingListener}.
+ */
+public interface OwnedEntity {
+
+    /**
+     * Returns the ID of the entity.
+     *
+     * @return ID of the entity, {@code null} if not persisted yet
+     */
+    @Nullable
+    Long getId();
+
+    /**
+     * Returns the ID of the user owning the entity, the user itself for users.
+     *
+     * @return ID of the owner, {@code null} if not assigned yet
+     */
+    @Nullable
+    Long getOwnerId();
+
+}
@@ -0,0 +1,41 @@
+package pl.wsb.fitnesstracker.database.internal;
+
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link ConcurrencyLimitingDataSource}.
+ */
+@ConfigurationProperties(prefix = "datasource.concurrency-limit")
+@Getter
+class ConcurrencyLimitProperties {
+
+    /**
+     * Whether the number of concurrently borrowed connections is limited.
+     */
+    private final boolean enabled;
+
+    /**
+     * Maximum number of concurrently borrowed connections, defaults to the maximum size of the connection pool.
+     */
+    @Nullable
+    private final Integer maxConcurrent;
+
+    /**
+     * How long a request waits for a connection before failing.
+     */
+    private final Duration acquireTimeout;
+
+    ConcurrencyLimitProperties(@DefaultValue("false") boolean enabled,
+                               @Nullable Integer maxConcurrent,
+                               @DefaultValue("60s") Duration acquireTimeout) {
+        this.enabled = enabled;
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+}
@@ -0,0 +1,81 @@
+package pl.wsb.fitnesstracker.database.internal;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Opt-in JDBC concurrency limiting, meant to be used together with virtual threads
+ * (see the {@code virtual-threads} profile).
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(prefix = "datasource.concurrency-limit", name = "enabled", havingValue = "true")
+@Slf4j
+class DataSourceConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+        // bound manually, as bean post processors are created before the configuration properties binding
+        ConcurrencyLimitProperties properties = Binder.get(environment)
+                .bindOrCreate("datasource.concurrency-limit", ConcurrencyLimitProperties.class);
+        if (environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                && Runtime.version().feature() < 21) {
+            log.warn("Virtual threads require Java 21, requests are served by platform threads on Java {}",
+                    Runtime.version().feature());
+        }
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitingDataSource) {
+                    return bean;
+                }
+                int maxConcurrent = properties.getMaxConcurrent() != null
+                        ? properties.getMaxConcurrent()
+                        : poolSize(bean);
+                log.info("Limiting concurrently borrowed connections of {} to {}", beanName, maxConcurrent);
+                return new ConcurrencyLimitingDataSource(dataSource, maxConcurrent, properties.getAcquireTimeout());
+            }
+        };
+    }
+
+    /**
+     * Returns the maximum size of the connection pool; Hikari only applies its default when the pool starts.
+     */
+    private static int poolSize(Object dataSource) {
+        if (dataSource instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() > 0) {
+            return hikari.getMaximumPoolSize();
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+
+    @Bean
+    MeterBinder concurrencyLimitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitingDataSource limited) {
+                Gauge.builder("jdbc.concurrency.limit", limited, ConcurrencyLimitingDataSource::getMaxConcurrent)
+                        .description("Maximum number of concurrently borrowed connections")
+                        .register(registry);
+                Gauge.builder("jdbc.concurrency.available", limited, ConcurrencyLimitingDataSource::getAvailablePermits)
+                        .description("Number of connections which can be borrowed without waiting")
+                        .register(registry);
+                Gauge.builder("jdbc.concurrency.waiting", limited, ConcurrencyLimitingDataSource::getQueueLength)
+                        .description("Number of threads waiting for a connection")
+                        .register(registry);
+            }
+        };
+    }
+
+}
@@ -0,0 +1,152 @@
+package pl.wsb.fitnesstracker.database.internal;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.wsb.fitnesstracker.database.api.ChangeCounter;
+import pl.wsb.fitnesstracker.database.api.CollectionVersion;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * {@link ChangeCounter} kept in the {@code collection_version} table, next to the changed entities.
+ * The version of an entity type is advanced within the transaction changing the entities, so it is committed
+ * together with the changes and all instances of the application tag the collections alike.
+ * Within a transaction the changes are only collected; each changed entity type is advanced once, when the
+ * transaction completes, after Hibernate flushed the pending changes of the entities. The advanced rows stay locked
+ * only for the commit, and they are advanced in the order of their names, so concurrent writers never wait for each
+ * other in a cycle.
+ */
+@Component
+class JdbcChangeCounter implements ChangeCounter {
+
+    private static final String ADVANCE_VERSION_H2 = """
+            MERGE INTO collection_version c
+            USING (VALUES (CAST(? AS VARCHAR(32)), CAST(? AS TIMESTAMP(6) WITH TIME ZONE))) v (entity_type, changed_at)
+            ON c.entity_type = v.entity_type
+            WHEN MATCHED THEN UPDATE SET version = c.version + 1, changed_at = v.changed_at
+            WHEN NOT MATCHED THEN INSERT (entity_type, version, changed_at) VALUES (v.entity_type, 1, v.changed_at)""";
+
+    private static final String ADVANCE_VERSION_POSTGRESQL = """
+            INSERT INTO collection_version (entity_type, version, changed_at)
+            VALUES (?, 1, ?)
+            ON CONFLICT (entity_type)
+            DO UPDATE SET version = collection_version.version + 1, changed_at = excluded.changed_at""";
+
+    private static final CollectionVersion NO_CHANGES = new CollectionVersion("0", Instant.EPOCH);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private volatile String advanceVersion;
+
+    JdbcChangeCounter(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void recordChange(final Class<?> entityType) {
+        SessionImplementor session = transactionalSession();
+        if (session == null) {
+            advanceVersion(entityType.getSimpleName());
+            return;
+        }
+        pendingChanges(session).add(entityType.getSimpleName());
+    }
+
+    @Override
+    public CollectionVersion getVersion(final Class<?> entityType) {
+        List<CollectionVersion> versions = jdbcTemplate.query(
+                "SELECT version, changed_at FROM collection_version WHERE entity_type = ?",
+                (rs, rowNum) -> new CollectionVersion(Long.toString(rs.getLong("version")),
+                        rs.getObject("changed_at", OffsetDateTime.class).toInstant()),
+                entityType.getSimpleName());
+        return versions.isEmpty() ? NO_CHANGES : versions.get(0);
+    }
+
+    /**
+     * Returns the Hibernate session of the current transaction, or {@code null} outside a transaction.
+     */
+    private SessionImplementor transactionalSession() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return null;
+        }
+        Object resource = TransactionSynchronizationManager.getResource(entityManagerFactory);
+        if (resource instanceof EntityManagerHolder holder && holder.isSynchronizedWithTransaction()) {
+            return holder.getEntityManager().unwrap(SessionImplementor.class);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the changes collected in the current transaction, registering them with the transaction first.
+     * They are looked up among the synchronizations of the transaction, which - unlike the transaction resources -
+     * are suspended along with it, so a nested transaction collects its own changes.
+     */
+    private PendingChanges pendingChanges(final SessionImplementor session) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges pendingChanges) {
+                return pendingChanges;
+            }
+        }
+        PendingChanges pendingChanges = new PendingChanges();
+        TransactionSynchronizationManager.registerSynchronization(pendingChanges);
+        session.getActionQueue().registerProcess(pendingChanges);
+        return pendingChanges;
+    }
+
+    private void advanceVersion(final String entityType) {
+        jdbcTemplate.update(advanceVersion(), entityType, OffsetDateTime.now(ZoneOffset.UTC));
+    }
+
+    private String advanceVersion() {
+        if (advanceVersion == null) {
+            advanceVersion = switch (SqlDialect.of(jdbcTemplate)) {
+                case H2 -> ADVANCE_VERSION_H2;
+                case POSTGRESQL -> ADVANCE_VERSION_POSTGRESQL;
+            };
+        }
+        return advanceVersion;
+    }
+
+    /**
+     * The entity types changed in a transaction, advanced once each when it completes. Hibernate runs the process
+     * after its final flush, which is the only one to detect changes of managed entities made without an explicit
+     * flush, and before the commit of the connection; the synchronization merely scopes the changes to the
+     * transaction.
+     */
+    private final class PendingChanges implements TransactionSynchronization, BeforeTransactionCompletionProcess {
+
+        private final Set<String> entityTypes = new TreeSet<>();
+
+        private boolean completing;
+
+        void add(final String entityType) {
+            // changes recorded while completing are advanced right away, still within the transaction
+            if (entityTypes.add(entityType) && completing) {
+                advanceVersion(entityType);
+            }
+        }
+
+        @Override
+        public void doBeforeTransactionCompletion(final SessionImplementor session) {
+            completing = true;
+            entityTypes.forEach(JdbcChangeCounter.this::advanceVersion);
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+package pl.wsb.fitnesstracker.database.internal;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pl.wsb.fitnesstracker.database.api.ChangeLog;
+import pl.wsb.fitnesstracker.database.api.ChangeLogEntry;
+import pl.wsb.fitnesstracker.database.api.ChangeOperation;
+
+import javax.sql.DataSource;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * {@link ChangeLog} kept in the {@code change_log} table, next to the changed entities.
+ * Recording a change advances the sequence of the owner in {@code change_sequence} and logs the change with the
+ * advanced number; the updated row stays locked until the transaction completes, so concurrent writers of the same
+ * owner wait for each other and commit in the order of their sequence numbers.
+ */
+@Component
+class JdbcChangeLog implements ChangeLog {
+
+    private static final String ADVANCE_SEQUENCE_H2 = """
+            MERGE INTO change_sequence s
+            USING (VALUES (CAST(? AS BIGINT))) v (user_id)
+            ON s.user_id = v.user_id
+            WHEN MATCHED THEN UPDATE SET last_sequence = s.last_sequence + 1
+            WHEN NOT MATCHED THEN INSERT (user_id, last_sequence) VALUES (v.user_id, 1)""";
+
+    private static final String ADVANCE_SEQUENCE_POSTGRESQL = """
+            INSERT INTO change_sequence (user_id, last_sequence)
+            VALUES (?, 1)
+            ON CONFLICT (user_id)
+            DO UPDATE SET last_sequence = change_sequence.last_sequence + 1""";
+
+    private static final String INSERT_CHANGE = """
+            INSERT INTO change_log (user_id, sequence_number, entity_type, entity_id, operation, changed_at)
+            SELECT user_id, last_sequence, ?, ?, ?, CURRENT_TIMESTAMP
+            FROM change_sequence
+            WHERE user_id = ?""";
+
+    private static final String SELECT_CHANGES = """
+            SELECT sequence_number, entity_type, entity_id, operation, changed_at
+            FROM change_log
+            WHERE user_id = ? AND sequence_number > ?
+            ORDER BY sequence_number
+            FETCH FIRST ? ROWS ONLY""";
+
+    private static final RowMapper<ChangeLogEntry> ENTRY_MAPPER = (rs, rowNum) -> new ChangeLogEntry(
+            rs.getLong("sequence_number"),
+            rs.getString("entity_type"),
+            rs.getLong("entity_id"),
+            ChangeOperation.valueOf(rs.getString("operation")),
+            rs.getObject("changed_at", OffsetDateTime.class).toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile String advanceSequence;
+
+    JdbcChangeLog(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void recordChange(final Class<?> entityType, final Long entityId, final Long ownerId,
+                             final ChangeOperation operation) {
+        // the first change of an owner created after the migration starts its sequence, in the same statement, so
+        // concurrent first changes of an owner wait for each other instead of failing on the primary key
+        jdbcTemplate.update(advanceSequence(), ownerId);
+        jdbcTemplate.update(INSERT_CHANGE, entityType.getSimpleName(), entityId, operation.name(), ownerId);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordOwnerDeletion(final Class<?> ownerType, final Long ownerId) {
+        jdbcTemplate.update("DELETE FROM change_log WHERE user_id = ?", ownerId);
+        recordChange(ownerType, ownerId, ownerId, ChangeOperation.DELETE);
+    }
+
+    @Override
+    public List<ChangeLogEntry> findChanges(final Long ownerId, final long afterSequence, final int limit) {
+        return jdbcTemplate.query(SELECT_CHANGES, ENTRY_MAPPER, ownerId, afterSequence, limit);
+    }
+
+    @Override
+    public long getLastSequence(final Long ownerId) {
+        List<Long> sequences = jdbcTemplate.queryForList(
+                "SELECT last_sequence FROM change_sequence WHERE user_id = ?", Long.class, ownerId);
+        return sequences.isEmpty() ? 0 : sequences.get(0);
+    }
+
+    private String advanceSequence() {
+        if (advanceSequence == null) {
+            advanceSequence = switch (SqlDialect.of(jdbcTemplate)) {
+                case H2 -> ADVANCE_SEQUENCE_H2;
+                case POSTGRESQL -> ADVANCE_SEQUENCE_POSTGRESQL;
+            };
+        }
+        return advanceSequence;
+    }
+
+}
@@ -0,0 +1,169 @@
+package pl.wsb.fitnesstracker.database.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Rolls the monthly partitions of the tables partitioned by time on PostgreSQL: creates the partitions of the
+ * upcoming months in advance, so new rows never land in the default partition, and drops the partitions which
+ * fell out of the retention period. The maintenance runs right after the schema migrations and then daily.
+ * Rows of a month which already landed in the default partition (e.g. trainings imported ahead of time) are moved
+ * to the partition of the month when it is created: the partition is created as a standalone table, the rows are
+ * moved into it under row locks and the table is attached, in one transaction, so the rows never disappear from the
+ * partitioned table. A CHECK constraint matching the bounds of the partition spares the attachment the scan of the
+ * moved rows; it only locks the default partition exclusively to verify that no rows of the month are left there,
+ * and the partitioned table itself stays readable and writable throughout.
+ * Other databases (H2 in the tests) have no partitions and are left alone.
+ */
+@Component
+@Slf4j
+class PartitionMaintainer implements Callback {
+
+    /**
+     * Partitioned tables with their partition keys.
+     */
+    private static final Map<String, String> PARTITIONED_TABLES = Map.of(
+            "trainings", "start_time",
+            "workout_session", "timestamp");
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transaction;
+
+    private final PartitioningProperties properties;
+
+    PartitionMaintainer(DataSource dataSource, PartitioningProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // the maintenance also runs from the migrations, before the JPA transaction manager exists
+        this.transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.AFTER_MIGRATE;
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        maintainPartitions();
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "partition-maintenance";
+    }
+
+    /**
+     * Creates the missing monthly partitions and drops the expired ones.
+     */
+    @Scheduled(cron = "${database.partitioning.cron:0 0 1 * * *}")
+    void maintainPartitions() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        YearMonth currentMonth = YearMonth.now();
+        PARTITIONED_TABLES.forEach((table, partitionKey) -> {
+            List<String> partitions = findPartitions(table);
+            // older months stay in the default partition, so only the months after the latest existing partition are
+            // created once the table has any
+            YearMonth firstMonth = partitions.stream()
+                    .map(partition -> monthOf(table, partition))
+                    .filter(Objects::nonNull)
+                    .max(YearMonth::compareTo)
+                    .map(month -> month.plusMonths(1))
+                    .orElse(currentMonth.minusMonths(properties.getMonthsBack()));
+            for (YearMonth month = firstMonth; !month.isAfter(currentMonth.plusMonths(properties.getMonthsAhead()));
+                 month = month.plusMonths(1)) {
+                createPartition(table, partitionKey, month);
+            }
+            if (properties.getRetentionMonths() > 0) {
+                YearMonth oldestKept = currentMonth.minusMonths(properties.getRetentionMonths());
+                partitions.stream()
+                        .filter(partition -> {
+                            YearMonth month = monthOf(table, partition);
+                            return month != null && month.isBefore(oldestKept);
+                        })
+                        .forEach(this::dropPartition);
+            }
+        });
+    }
+
+    private List<String> findPartitions(String table) {
+        return jdbcTemplate.queryForList("SELECT child.relname FROM pg_inherits "
+                + "JOIN pg_class parent ON parent.oid = pg_inherits.inhparent "
+                + "JOIN pg_class child ON child.oid = pg_inherits.inhrelid "
+                + "WHERE parent.relname = ?", String.class, table);
+    }
+
+    private void createPartition(String table, String partitionKey, YearMonth month) {
+        String partition = table + "_" + month.format(PARTITION_SUFFIX);
+        String defaultPartition = table + "_default";
+        String bounds = "FROM ('%s') TO ('%s')".formatted(month.atDay(1), month.plusMonths(1).atDay(1));
+        String monthRows = "%s >= '%s' AND %s < '%s'"
+                .formatted(partitionKey, month.atDay(1), partitionKey, month.plusMonths(1).atDay(1));
+        transaction.executeWithoutResult(status -> {
+            Boolean inDefault = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM %s WHERE %s)".formatted(defaultPartition, monthRows), Boolean.class);
+            if (!Boolean.TRUE.equals(inDefault)) {
+                jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS %s PARTITION OF %s FOR VALUES %s"
+                        .formatted(partition, table, bounds));
+                log.info("Created partition {}", partition);
+                return;
+            }
+            // the default partition must not hold rows of the new partition, so they are moved before attaching it
+            String boundsCheck = partition + "_bounds";
+            jdbcTemplate.execute("CREATE TABLE %s (LIKE %s INCLUDING DEFAULTS INCLUDING CONSTRAINTS, %s)"
+                    .formatted(partition, table, "CONSTRAINT %s CHECK (%s)".formatted(boundsCheck, monthRows)));
+            int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM %s WHERE %s RETURNING *) %s"
+                    .formatted(defaultPartition, monthRows, "INSERT INTO %s SELECT * FROM moved".formatted(partition)));
+            jdbcTemplate.execute("ALTER TABLE %s ATTACH PARTITION %s FOR VALUES %s"
+                    .formatted(table, partition, bounds));
+            // redundant with the partition constraint once attached
+            jdbcTemplate.execute("ALTER TABLE %s DROP CONSTRAINT %s".formatted(partition, boundsCheck));
+            log.info("Created partition {} with {} rows moved from {}", partition, moved, defaultPartition);
+        });
+    }
+
+    private void dropPartition(String partition) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+        log.info("Dropped expired partition {}", partition);
+    }
+
+    /**
+     * Returns the month of the monthly partition, or {@code null} for other partitions (the default one).
+     */
+    private static YearMonth monthOf(String table, String partition) {
+        String suffix = partition.substring(table.length() + 1);
+        try {
+            return YearMonth.parse(suffix, PARTITION_SUFFIX);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+}
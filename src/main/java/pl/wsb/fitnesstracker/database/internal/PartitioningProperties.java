@@ -0,0 +1,40 @@
+package pl.wsb.fitnesstracker.database.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the {@link PartitionMaintainer}. The schedule of the maintenance is set with the
+ * {@code database.partitioning.cron} expression, {@code -} disables it.
+ */
+@ConfigurationProperties(prefix = "database.partitioning")
+@Getter
+class PartitioningProperties {
+
+    /**
+     * Number of past months covered by monthly partitions when they are first created. Older rows land in the
+     * default partition.
+     */
+    private final int monthsBack;
+
+    /**
+     * Number of future months for which the monthly partitions are created in advance.
+     */
+    private final int monthsAhead;
+
+    /**
+     * Number of months after which a monthly partition is dropped with all of its rows, {@code 0} keeps the
+     * partitions forever.
+     */
+    private final int retentionMonths;
+
+    PartitioningProperties(@DefaultValue("24") int monthsBack,
+                           @DefaultValue("6") int monthsAhead,
+                           @DefaultValue("0") int retentionMonths) {
+        this.monthsBack = monthsBack;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+}
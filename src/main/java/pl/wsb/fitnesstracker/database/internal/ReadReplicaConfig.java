@@ -0,0 +1,69 @@
+package pl.wsb.fitnesstracker.database.internal;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Opt-in routing of read-only transactions to read replicas (see the {@code read-replicas} profile).
+ * <p>
+ * Read-only transactions get their connections from the replicas, all other work (writes, and reads outside of
+ * transactions or within read-write ones, which may have to see their own changes) from the primary database
+ * configured with {@code spring.datasource.*}. The replicas replace the single data source otherwise created by
+ * Spring Boot, and are the only data source bean, so the JPA, Flyway and JDBC auto-configurations all use it.
+ */
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(prefix = "datasource.replicas", name = "enabled", havingValue = "true")
+class ReadReplicaConfig {
+
+    @Bean
+    ReadWriteDataSource dataSource(ReadReplicaProperties properties,
+                                   DataSourceProperties dataSourceProperties,
+                                   Environment environment,
+                                   TaskScheduler taskScheduler,
+                                   MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getInstances().size(); i++) {
+            ReadReplicaProperties.Instance instance = properties.getInstances().get(i);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(instance.getUrl());
+            replica.setUsername(instance.getUsername() != null
+                    ? instance.getUsername() : dataSourceProperties.determineUsername());
+            replica.setPassword(instance.getPassword() != null
+                    ? instance.getPassword() : dataSourceProperties.determinePassword());
+            if (primary.getMaximumPoolSize() > 0) {
+                replica.setMaximumPoolSize(primary.getMaximumPoolSize());
+            }
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        ReplicaDataSource replicaDataSource =
+                new ReplicaDataSource(replicas, primary, properties.getMaxLag(), meterRegistry);
+        replicaDataSource.startLagChecks(taskScheduler, properties.getLagCheckInterval());
+        return new ReadWriteDataSource(primary, replicaDataSource);
+    }
+
+}
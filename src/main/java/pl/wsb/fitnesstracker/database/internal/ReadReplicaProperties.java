@@ -0,0 +1,79 @@
+package pl.wsb.fitnesstracker.database.internal;
+
+import jakarta.annotation.Nullable;
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of the routing of read-only transactions to read replicas, see {@link ReadReplicaConfig}.
+ */
+@ConfigurationProperties(prefix = "datasource.replicas")
+@Getter
+class ReadReplicaProperties {
+
+    /**
+     * Whether read-only transactions are routed to the replicas.
+     */
+    private final boolean enabled;
+
+    /**
+     * Connection settings of the replicas.
+     */
+    private final List<Instance> instances;
+
+    /**
+     * Replication lag after which a replica stops receiving reads until it catches up.
+     */
+    private final Duration maxLag;
+
+    /**
+     * How often the replication lag of the replicas is checked.
+     */
+    private final Duration lagCheckInterval;
+
+    ReadReplicaProperties(@DefaultValue("false") boolean enabled,
+                          @DefaultValue List<Instance> instances,
+                          @DefaultValue("5s") Duration maxLag,
+                          @DefaultValue("5s") Duration lagCheckInterval) {
+        this.enabled = enabled;
+        this.instances = instances;
+        this.maxLag = maxLag;
+        this.lagCheckInterval = lagCheckInterval;
+    }
+
+    /**
+     * Connection settings of a replica.
+     */
+    @Getter
+    static class Instance {
+
+        /**
+         * JDBC URL of the replica.
+         */
+        private final String url;
+
+        /**
+         * Login username of the replica, defaults to the one of the primary database.
+         */
+        @Nullable
+        private final String username;
+
+        /**
+         * Login password of the replica, defaults to the one of the primary database.
+         */
+        @Nullable
+        private final String password;
+
+        Instance(String url, @Nullable String username, @Nullable String password) {
+            this.url = url;
+            this.username = username;
+            this.password = password;
+        }
+
+    }
+
+}
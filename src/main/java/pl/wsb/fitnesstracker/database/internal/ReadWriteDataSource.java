@@ -0,0 +1,32 @@
+package pl.wsb.fitnesstracker.database.internal;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.io.Closeable;
+
+/**
+ * Application data source handing out lazy connections: the physical connection is only fetched on the first
+ * statement, once the transaction is known to be read-only or not. Connections of read-only transactions come from
+ * the replicas, all others from the primary database.
+ */
+class ReadWriteDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final HikariDataSource primary;
+
+    private final ReplicaDataSource replicas;
+
+    ReadWriteDataSource(HikariDataSource primary, ReplicaDataSource replicas) {
+        super(primary);
+        setReadOnlyDataSource(replicas);
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    @Override
+    public void close() {
+        replicas.close();
+        primary.close();
+    }
+
+}
@@ -0,0 +1,167 @@
+package pl.wsb.fitnesstracker.database.internal;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.TaskScheduler;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Data source of the read-only transactions, balancing the connections round-robin over the read replicas.
+ * Replicas lagging behind the primary database by more than the allowed lag, or failing the lag check, are skipped
+ * until they catch up; when no replica is usable, the reads go to the primary database. The lag is measured against
+ * the WAL position of the primary, so a replica disconnected from the primary is noticed as well.
+ */
+@Slf4j
+class ReplicaDataSource extends AbstractDataSource implements Closeable {
+
+    /**
+     * Replication lag of a PostgreSQL standby in seconds, given the WAL position of the primary read just before.
+     * A standby which replayed the WAL up to that position is not lagging, however old its last replayed transaction
+     * is; otherwise it lags by the age of its last replayed transaction, which also grows when its WAL receiver got
+     * disconnected, and its lag is unknown ({@code NULL}) if it has not replayed any. The primary reports no lag.
+     */
+    private static final String POSTGRESQL_LAG_QUERY = "SELECT CASE "
+            + "WHEN NOT pg_is_in_recovery() OR pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn) THEN 0 "
+            + "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) END";
+
+    private final List<Replica> replicas;
+
+    private final DataSource primary;
+
+    private final JdbcTemplate primaryJdbcTemplate;
+
+    private final Duration maxLag;
+
+    private final Counter primaryFallbacks;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    @Nullable
+    private ScheduledFuture<?> lagChecks;
+
+    ReplicaDataSource(List<HikariDataSource> replicas, DataSource primary, Duration maxLag,
+                      MeterRegistry meterRegistry) {
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.primary = primary;
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        this.maxLag = maxLag;
+        this.primaryFallbacks = meterRegistry.counter("datasource.replica.fallbacks");
+        this.replicas.forEach(replica -> Gauge.builder("datasource.replica.lag", replica, r -> r.lagSeconds)
+                .tag("replica", replica.dataSource.getPoolName())
+                .baseUnit("seconds")
+                .register(meterRegistry));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return select().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return select().getConnection(username, password);
+    }
+
+    private DataSource select() {
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.usable) {
+                return replica.dataSource;
+            }
+        }
+        primaryFallbacks.increment();
+        return primary;
+    }
+
+    /**
+     * Starts checking the replication lag of the replicas periodically.
+     *
+     * @param taskScheduler scheduler running the checks
+     * @param interval      time between the checks
+     */
+    void startLagChecks(TaskScheduler taskScheduler, Duration interval) {
+        lagChecks = taskScheduler.scheduleWithFixedDelay(this::checkLag, interval);
+    }
+
+    /**
+     * Checks the replication lag of every replica and takes the lagging or unreachable ones out of the rotation.
+     */
+    void checkLag() {
+        for (Replica replica : replicas) {
+            try {
+                double lagSeconds = replica.queryLagSeconds(this::queryPrimaryWalPosition);
+                replica.lagSeconds = lagSeconds;
+                boolean usable = lagSeconds * 1000 <= maxLag.toMillis();
+                if (usable != replica.usable) {
+                    log.info("Replica {} {} the rotation, replication lag {}s", replica.dataSource.getPoolName(),
+                            usable ? "rejoins" : "leaves", lagSeconds);
+                }
+                replica.usable = usable;
+            } catch (RuntimeException e) {
+                if (replica.usable) {
+                    log.warn("Replica {} leaves the rotation, lag check failed", replica.dataSource.getPoolName(), e);
+                }
+                replica.usable = false;
+            }
+        }
+    }
+
+    private String queryPrimaryWalPosition() {
+        return primaryJdbcTemplate.queryForObject("SELECT CAST(pg_current_wal_lsn() AS TEXT)", String.class);
+    }
+
+    @Override
+    public void close() {
+        if (lagChecks != null) {
+            lagChecks.cancel(false);
+        }
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource dataSource;
+
+        private final JdbcTemplate jdbcTemplate;
+
+        private volatile boolean usable = true;
+
+        private volatile double lagSeconds;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+            this.jdbcTemplate = new JdbcTemplate(dataSource);
+        }
+
+        private double queryLagSeconds(Supplier<String> primaryWalPosition) {
+            String database = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equals(database)) {
+                // stand-ins of other databases (H2 locally) do not replicate, but still have to be reachable
+                jdbcTemplate.execute("SELECT 1");
+                return 0;
+            }
+            Double lag = jdbcTemplate.queryForObject(POSTGRESQL_LAG_QUERY, Double.class, primaryWalPosition.get());
+            return lag != null ? lag : Double.POSITIVE_INFINITY;
+        }
+
+    }
+
+}
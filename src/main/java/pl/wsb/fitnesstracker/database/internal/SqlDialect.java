@@ -0,0 +1,27 @@
+package pl.wsb.fitnesstracker.database.internal;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * SQL dialects of the supported databases, for the few statements which cannot be written portably.
+ */
+enum SqlDialect {
+
+    H2,
+
+    POSTGRESQL;
+
+    /**
+     * Detects the dialect of the database behind the template.
+     *
+     * @param jdbcTemplate template of the database
+     * @return dialect of the database
+     */
+    static SqlDialect of(JdbcTemplate jdbcTemplate) {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        return "PostgreSQL".equals(database) ? POSTGRESQL : H2;
+    }
+
+}
@@ -0,0 +1,97 @@
+package pl.wsb.fitnesstracker.database.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.util.List;
+
+/**
+ * Base of the migrations creating indexes without blocking writes to the indexed tables, so they can run while
+ * the previous version of the application keeps serving requests.
+ * <p>
+ * On PostgreSQL the indexes are built with {@code CREATE INDEX CONCURRENTLY}, which cannot run in a transaction,
+ * so these migrations are non-transactional. Partitioned tables cannot be indexed concurrently as a whole: the
+ * index is created on the parent table only, then built concurrently on every partition and attached to the parent
+ * one partition at a time. Partitions created later get the index automatically. An index left invalid by an
+ * interrupted build is dropped and built again when the migration is retried.
+ * <p>
+ * Other databases (H2 in the tests) get plain {@code CREATE INDEX} statements.
+ */
+public abstract class OnlineIndexMigration extends BaseJavaMigration {
+
+    /**
+     * Definition of an index to create.
+     *
+     * @param name    name of the index
+     * @param table   name of the indexed table
+     * @param columns comma separated list of the indexed columns or expressions
+     */
+    protected record Index(String name, String table, String columns) {
+    }
+
+    /**
+     * Returns the indexes created by the migration.
+     *
+     * @return indexes to create, in order
+     */
+    protected abstract List<Index> indexes();
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+        boolean postgres = "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+        for (Index index : indexes()) {
+            if (!postgres) {
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS %s ON %s (%s)"
+                        .formatted(index.name(), index.table(), index.columns()));
+            } else if (isPartitioned(jdbcTemplate, index.table())) {
+                createOnPartitions(jdbcTemplate, index);
+            } else {
+                createConcurrently(jdbcTemplate, index.name(), index.table(), index.columns());
+            }
+        }
+    }
+
+    private static void createOnPartitions(JdbcTemplate jdbcTemplate, Index index) {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS %s ON ONLY %s (%s)"
+                .formatted(index.name(), index.table(), index.columns()));
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT inhrelid::regclass::text FROM pg_inherits WHERE inhparent = to_regclass(?)",
+                String.class, index.table());
+        for (String partition : partitions) {
+            String partitionIndex = index.name() + partition.substring(partition.lastIndexOf(index.table())
+                    + index.table().length());
+            createConcurrently(jdbcTemplate, partitionIndex, partition, index.columns());
+            Boolean attached = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_inherits "
+                    + "WHERE inhrelid = to_regclass(?) AND inhparent = to_regclass(?))",
+                    Boolean.class, partitionIndex, index.name());
+            if (!Boolean.TRUE.equals(attached)) {
+                jdbcTemplate.execute("ALTER INDEX %s ATTACH PARTITION %s".formatted(index.name(), partitionIndex));
+            }
+        }
+    }
+
+    private static void createConcurrently(JdbcTemplate jdbcTemplate, String name, String table, String columns) {
+        Boolean invalid = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM pg_index "
+                + "WHERE indexrelid = to_regclass(?) AND NOT indisvalid)", Boolean.class, name);
+        if (Boolean.TRUE.equals(invalid)) {
+            jdbcTemplate.execute("DROP INDEX CONCURRENTLY " + name);
+        }
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS %s ON %s (%s)".formatted(name, table, columns));
+    }
+
+    private static boolean isPartitioned(JdbcTemplate jdbcTemplate, String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT relkind = 'p' FROM pg_class WHERE oid = to_regclass(?)", Boolean.class, table));
+    }
+
+}
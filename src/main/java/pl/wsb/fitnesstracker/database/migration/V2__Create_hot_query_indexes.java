@@ -0,0 +1,20 @@
+package pl.wsb.fitnesstracker.database.migration;
+
+import java.util.List;
+
+/**
+ * Indexes of the queries which were not covered by the baseline schema.
+ */
+public class V2__Create_hot_query_indexes extends OnlineIndexMigration {
+
+    @Override
+    protected List<Index> indexes() {
+        return List.of(
+                // keyset pagination of the user's trainings (streams, deletion and archival in chunks) and the
+                // incremental recomputation of the statistics, which reads the trainings after an ID watermark
+                new Index("idx_trainings_user_id", "trainings", "user_id, id"),
+                // lookups of the participants of an event; the unique (user_id, event_id) key only serves users
+                new Index("idx_user_event_event", "user_event", "event_id"));
+    }
+
+}
@@ -0,0 +1,17 @@
+package pl.wsb.fitnesstracker.database.migration;
+
+import java.util.List;
+
+/**
+ * Indexes of the cohort queries: the age queries, which compare the birthdate with a date computed once per query,
+ * and the distinct activity types of each user, read from the index alone.
+ */
+public class V3__Create_cohort_indexes extends OnlineIndexMigration {
+
+    @Override
+    protected List<Index> indexes() {
+        return List.of(new Index("idx_users_birthdate", "users", "birthdate"),
+                new Index("idx_trainings_user_activity_type", "trainings", "user_id, activity_type"));
+    }
+
+}
@@ -6,14 +6,17 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import pl.wsb.fitnesstracker.database.api.ChangeLoggingListener;
+import pl.wsb.fitnesstracker.database.api.OwnedEntity;
 import pl.wsb.fitnesstracker.user.api.User;
 
 @Entity
+@EntityListeners(ChangeLoggingListener.class)
 @Table(name = "user_event",
         uniqueConstraints = @UniqueConstraint(columnNames = {"user_id", "event_id"}))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class UserEvent {
+public class UserEvent implements OwnedEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,6 +33,10 @@ public class UserEvent {
     @Column(name = "status")
     @Setter
     private String status;
-}
 
+    @Override
+    public Long getOwnerId() {
+        return user.getId();
+    }
 
+}
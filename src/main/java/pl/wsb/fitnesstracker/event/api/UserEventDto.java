@@ -0,0 +1,28 @@
+package pl.wsb.fitnesstracker.event.api;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object representing an event the user signed up for.
+ *
+ * @param eventId   The unique identifier of the event
+ * @param name      The name of the event
+ * @param startTime The time the event starts
+ * @param endTime   The time the event ends
+ * @param city      The city the event takes place in
+ * @param country   The country the event takes place in
+ * @param status    The status of the user's participation
+ */
+public record UserEventDto(
+        Long eventId,
+        String name,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime startTime,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime endTime,
+        @Nullable String city,
+        @Nullable String country,
+        @Nullable String status
+) {
+}
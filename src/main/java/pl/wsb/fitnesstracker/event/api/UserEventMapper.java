@@ -0,0 +1,31 @@
+package pl.wsb.fitnesstracker.event.api;
+
+import org.springframework.stereotype.Component;
+import pl.wsb.fitnesstracker.event.Event;
+import pl.wsb.fitnesstracker.event.UserEvent;
+
+/**
+ * Mapper class for converting the events the users signed up for to DTOs, shared by the modules returning them
+ * (dashboard, sync). Accesses the event of the user event, which has to be loaded along with it.
+ */
+@Component
+public class UserEventMapper {
+
+    /**
+     * Converts a UserEvent entity to a UserEventDto.
+     *
+     * @param userEvent the user event to convert, with its event loaded
+     * @return UserEventDto containing the event and the status of the user's participation
+     */
+    public UserEventDto toDto(UserEvent userEvent) {
+        Event event = userEvent.getEvent();
+        return new UserEventDto(event.getId(),
+                event.getName(),
+                event.getStartTime(),
+                event.getEndTime(),
+                event.getCity(),
+                event.getCountry(),
+                userEvent.getStatus());
+    }
+
+}
@@ -0,0 +1,32 @@
+package pl.wsb.fitnesstracker.event.api;
+
+import org.springframework.stereotype.Repository;
+import pl.wsb.fitnesstracker.event.UserEvent;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public class UserEventRepo extends AbstractDao {
+
+    /**
+     * Retrieves the events the user signed up for which have not started yet, the soonest first.
+     * The events are fetched together with the user events, so they can be read outside of the transaction.
+     *
+     * @param userId ID of the user
+     * @param now    the time to compare the event start times against (exclusive)
+     * @param limit  maximum number of events to return
+     * @return user events ordered by the start time of the event
+     */
+    public List<UserEvent> findUpcomingUserEvents(Long userId, LocalDateTime now, int limit) {
+        String jpql = "SELECT ue FROM UserEvent ue JOIN FETCH ue.event e "
+                + "WHERE ue.user.id = :userId AND e.startTime > :now ORDER BY e.startTime";
+
+        return entityManager.createQuery(jpql, UserEvent.class)
+                .setParameter("userId", userId)
+                .setParameter("now", now)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+}
@@ -2,6 +2,8 @@ package pl.wsb.fitnesstracker.healthmetrics;
 
 import jakarta.persistence.*;
 import lombok.Getter;
+import pl.wsb.fitnesstracker.database.api.ChangeLoggingListener;
+import pl.wsb.fitnesstracker.database.api.OwnedEntity;
 import pl.wsb.fitnesstracker.user.api.User;
 
 import java.time.LocalDate;
@@ -10,9 +12,10 @@ import java.time.LocalDate;
  * To be implemented with appropriate fields and methods.
  */
 @Entity
+@EntityListeners(ChangeLoggingListener.class)
 @Table(name = "Health_Metrics")
 @Getter
-public class HealthMetrics {
+public class HealthMetrics implements OwnedEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -45,5 +48,9 @@ public class HealthMetrics {
         this.heartRate = heartRate;
     }
 
+    @Override
+    public Long getOwnerId() {
+        return user.getId();
+    }
 
 }
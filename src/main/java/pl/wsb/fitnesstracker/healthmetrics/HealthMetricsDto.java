@@ -0,0 +1,22 @@
+package pl.wsb.fitnesstracker.healthmetrics;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object representing a single health metrics reading.
+ *
+ * @param date      The day of the reading
+ * @param weight    The weight of the user
+ * @param height    The height of the user
+ * @param heartRate The heart rate of the user
+ */
+public record HealthMetricsDto(
+        @JsonFormat(pattern = "yyyy-MM-dd") LocalDate date,
+        @Nullable Double weight,
+        @Nullable Double height,
+        @Nullable Integer heartRate
+) {
+}
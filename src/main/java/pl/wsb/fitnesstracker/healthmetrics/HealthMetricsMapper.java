@@ -0,0 +1,25 @@
+package pl.wsb.fitnesstracker.healthmetrics;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper class for converting {@link HealthMetrics} entities to DTOs, shared by the modules returning them
+ * (dashboard, sync).
+ */
+@Component
+public class HealthMetricsMapper {
+
+    /**
+     * Converts a HealthMetrics entity to a HealthMetricsDto.
+     *
+     * @param healthMetrics the health metrics to convert
+     * @return HealthMetricsDto containing the readings of the day
+     */
+    public HealthMetricsDto toDto(HealthMetrics healthMetrics) {
+        return new HealthMetricsDto(healthMetrics.getDate(),
+                healthMetrics.getWeight(),
+                healthMetrics.getHeight(),
+                healthMetrics.getHeartRate());
+    }
+
+}
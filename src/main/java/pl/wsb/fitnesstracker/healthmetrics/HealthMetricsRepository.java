@@ -0,0 +1,31 @@
+package pl.wsb.fitnesstracker.healthmetrics;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for {@link HealthMetrics} entity operations.
+ */
+public interface HealthMetricsRepository extends JpaRepository<HealthMetrics, Long> {
+
+    /**
+     * Retrieves the metrics of the given user which were stored after the given ID watermark, in chronological order.
+     * Passing {@code 0} as the watermark returns the user's full history.
+     *
+     * @param userId      ID of the user owning the metrics
+     * @param idWatermark highest metrics ID that has already been processed
+     * @return metrics ordered by date (and ID for readings taken on the same day)
+     */
+    List<HealthMetrics> findByUserIdAndIdGreaterThanOrderByDateAscIdAsc(Long userId, Long idWatermark);
+
+    /**
+     * Retrieves the most recent reading of the given user.
+     *
+     * @param userId ID of the user owning the metrics
+     * @return An {@link Optional} containing the latest metrics, or {@link Optional#empty()} if none were recorded
+     */
+    Optional<HealthMetrics> findFirstByUserIdOrderByDateDescIdDesc(Long userId);
+
+}
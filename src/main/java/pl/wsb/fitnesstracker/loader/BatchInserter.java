@@ -0,0 +1,55 @@
+package pl.wsb.fitnesstracker.loader;
+
+import jakarta.annotation.Nullable;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffers rows of a single table and inserts them in JDBC batches of a fixed size.
+ * Rows referencing another table are inserted only after the pending rows of that (parent) table,
+ * so that foreign keys are always satisfied. Instances are not thread-safe.
+ */
+class BatchInserter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final String insertSql;
+
+    private final int batchSize;
+
+    @Nullable
+    private final BatchInserter parent;
+
+    private final List<Object[]> rows;
+
+    BatchInserter(JdbcTemplate jdbcTemplate, String table, List<String> columns, int batchSize,
+                  @Nullable BatchInserter parent) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.insertSql = "INSERT INTO %s (%s) VALUES (%s)".formatted(table,
+                String.join(", ", columns),
+                String.join(", ", columns.stream().map(column -> "?").toList()));
+        this.batchSize = batchSize;
+        this.parent = parent;
+        this.rows = new ArrayList<>(batchSize);
+    }
+
+    void add(Object... values) {
+        rows.add(values);
+        if (rows.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    void flush() {
+        if (parent != null) {
+            parent.flush();
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(insertSql, rows);
+            rows.clear();
+        }
+    }
+
+}
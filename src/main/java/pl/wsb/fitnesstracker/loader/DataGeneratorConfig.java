@@ -0,0 +1,10 @@
+package pl.wsb.fitnesstracker.loader;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+class DataGeneratorConfig {
+
+}
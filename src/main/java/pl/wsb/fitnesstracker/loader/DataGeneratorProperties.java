@@ -0,0 +1,80 @@
+package pl.wsb.fitnesstracker.loader;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the {@link SyntheticDataGenerator}. The defaults produce only the sample users and trainings
+ * for manual testing; for load testing override them, e.g. {@code --generator.users=1000000 --generator.trainings-per-user=50}.
+ */
+@ConfigurationProperties(prefix = "generator")
+@Getter
+class DataGeneratorProperties {
+
+    /**
+     * Number of users to generate.
+     */
+    private final int users;
+
+    /**
+     * Number of trainings generated for each user, in addition to the sample trainings of the sample users.
+     */
+    private final int trainingsPerUser;
+
+    /**
+     * Number of workout session track points generated for each training, {@code 0} disables the tracks.
+     */
+    private final int sessionsPerTraining;
+
+    /**
+     * Number of health metrics readings generated for each user.
+     */
+    private final int healthMetricsPerUser;
+
+    /**
+     * Number of events to generate.
+     */
+    private final int events;
+
+    /**
+     * Number of events each user takes part in (limited by the number of events).
+     */
+    private final int eventsPerUser;
+
+    /**
+     * Number of threads generating and inserting the data.
+     */
+    private final int threads;
+
+    /**
+     * Number of rows inserted in a single JDBC batch.
+     */
+    private final int batchSize;
+
+    /**
+     * Seed of the random generator, the same seed and sizes always produce the same data.
+     */
+    private final long seed;
+
+    DataGeneratorProperties(@DefaultValue("11") int users,
+                            @DefaultValue("0") int trainingsPerUser,
+                            @DefaultValue("0") int sessionsPerTraining,
+                            @DefaultValue("0") int healthMetricsPerUser,
+                            @DefaultValue("0") int events,
+                            @DefaultValue("0") int eventsPerUser,
+                            @DefaultValue("4") int threads,
+                            @DefaultValue("1000") int batchSize,
+                            @DefaultValue("42") long seed) {
+        this.users = users;
+        this.trainingsPerUser = trainingsPerUser;
+        this.sessionsPerTraining = sessionsPerTraining;
+        this.healthMetricsPerUser = healthMetricsPerUser;
+        this.events = events;
+        this.eventsPerUser = Math.min(eventsPerUser, events);
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.seed = seed;
+    }
+
+}
@@ -0,0 +1,348 @@
+package pl.wsb.fitnesstracker.loader;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.wsb.fitnesstracker.database.api.ChangeCounter;
+import pl.wsb.fitnesstracker.database.api.IdentityColumns;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+import pl.wsb.fitnesstracker.user.api.User;
+import pl.wsb.fitnesstracker.user.api.UserService;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Generator of synthetic users, trainings, workout session tracks, health metrics and events, sized by
+ * {@link DataGeneratorProperties}.
+ * <p>
+ * Users are split into slices which are generated in parallel, each slice by its own deterministic random
+ * generator and in its own transaction. Rows are written with plain JDBC batches and IDs are assigned upfront
+ * (after the highest existing ID of each table), so no round trip is needed to learn generated keys.
+ * A fresh database starts with the well-known sample users and their sample trainings, the defaults generate
+ * nothing else.
+ * The generator is meant for seeding - rows must not be created concurrently by the application while it runs.
+ * Once done, it advances the collection versions and refreshes the in-memory user indexes, which do not see rows
+ * written past JPA and the user service. No outbox messages are appended for the generated rows.
+ */
+@Component
+@Slf4j
+class SyntheticDataGenerator {
+
+    private static final List<SampleUser> SAMPLE_USERS = List.of(
+            new SampleUser("Emma", "Johnson", 28),
+            new SampleUser("Ethan", "Taylor", 51),
+            new SampleUser("Olivia", "Davis", 76),
+            new SampleUser("Daniel", "Thomas", 34),
+            new SampleUser("Sophia", "Baker", 49),
+            new SampleUser("Liam", "Jones", 23),
+            new SampleUser("Ava", "Williams", 21),
+            new SampleUser("Noah", "Miller", 39),
+            new SampleUser("Grace", "Anderson", 33),
+            new SampleUser("Oliver", "Swift", 29),
+            // Mikołaj Święty - wiek do zweryfikowania (ustawiono na 50 lat)
+            new SampleUser("Mikołaj", "Święty", 50));
+
+    /**
+     * Sample trainings of the first sample users, in the order of the users.
+     */
+    private static final List<SampleTraining> SAMPLE_TRAININGS = List.of(
+            new SampleTraining(LocalDateTime.of(2024, 1, 19, 8, 0), 90, ActivityType.RUNNING, 10.5, 8.2),
+            new SampleTraining(LocalDateTime.of(2024, 1, 18, 15, 30), 90, ActivityType.CYCLING, 25.0, 18.5),
+            new SampleTraining(LocalDateTime.of(2024, 1, 17, 7, 45), 75, ActivityType.WALKING, 5.2, 5.8),
+            new SampleTraining(LocalDateTime.of(2024, 1, 16, 18, 0), 90, ActivityType.RUNNING, 12.3, 9.0),
+            new SampleTraining(LocalDateTime.of(2024, 1, 15, 12, 30), 75, ActivityType.CYCLING, 18.7, 15.3),
+            new SampleTraining(LocalDateTime.of(2024, 1, 14, 9, 0), 75, ActivityType.WALKING, 3.5, 4.0),
+            new SampleTraining(LocalDateTime.of(2024, 1, 13, 16, 45), 105, ActivityType.RUNNING, 15.0, 10.8),
+            new SampleTraining(LocalDateTime.of(2024, 1, 12, 11, 30), 75, ActivityType.CYCLING, 22.5, 17.2),
+            new SampleTraining(LocalDateTime.of(2024, 1, 11, 7, 15), 75, ActivityType.WALKING, 4.2, 4.5),
+            new SampleTraining(LocalDateTime.of(2024, 1, 10, 14, 0), 75, ActivityType.RUNNING, 11.8, 8.5));
+
+    private static final List<String> FIRST_NAMES = List.of("Emma", "Ethan", "Olivia", "Daniel", "Sophia", "Liam",
+            "Ava", "Noah", "Grace", "Oliver", "Mikołaj", "Zofia", "Jakub", "Łucja", "Paweł", "Anna", "Jan", "Maja");
+
+    private static final List<String> LAST_NAMES = List.of("Johnson", "Taylor", "Davis", "Thomas", "Baker", "Jones",
+            "Williams", "Miller", "Anderson", "Swift", "Święty", "Nowak", "Kowalska", "Wiśniewski", "Wójcik", "Lewandowska");
+
+    private static final List<String> CITIES = List.of("Wrocław", "Warszawa", "Kraków", "Poznań", "Gdańsk", "Łódź");
+
+    private static final List<String> EVENT_STATUSES = List.of("REGISTERED", "ATTENDED", "CANCELLED");
+
+    private static final List<String> USER_COLUMNS = List.of("id", "first_name", "last_name", "birthdate", "email");
+
+    private static final List<String> TRAINING_COLUMNS = List.of("id", "user_id", "start_time", "end_time",
+            "activity_type", "distance", "average_speed");
+
+    private static final List<String> SESSION_COLUMNS = List.of("id", "training_id", "timestamp", "start_latitude",
+            "start_longitude", "end_latitude", "end_longitude", "altitude");
+
+    private static final List<String> METRICS_COLUMNS = List.of("id", "user_id", "date", "weight", "height",
+            "heart_rate");
+
+    private static final List<String> EVENT_COLUMNS = List.of("id", "name", "description", "start_time", "end_time",
+            "country", "city");
+
+    private static final List<String> USER_EVENT_COLUMNS = List.of("id", "user_id", "event_id", "status");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final IdentityColumns identityColumns;
+
+    private final ChangeCounter changeCounter;
+
+    private final UserService userService;
+
+    private final DataGeneratorProperties properties;
+
+    SyntheticDataGenerator(DataSource dataSource,
+                           PlatformTransactionManager transactionManager,
+                           IdentityColumns identityColumns,
+                           ChangeCounter changeCounter,
+                           UserService userService,
+                           DataGeneratorProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.identityColumns = identityColumns;
+        this.changeCounter = changeCounter;
+        this.userService = userService;
+        this.properties = properties;
+    }
+
+    /**
+     * Generates and stores the configured amount of data.
+     */
+    void generate() {
+        long startedAt = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        long firstUserId = identityColumns.maxId("users") + 1;
+        long firstTrainingId = identityColumns.maxId("trainings") + 1;
+        // the sample trainings of a fresh database take the first training IDs
+        int sampleTrainings = firstUserId == 1 ? SAMPLE_TRAININGS.size() : 0;
+        IdBases ids = new IdBases(firstUserId,
+                firstTrainingId,
+                firstTrainingId + sampleTrainings,
+                identityColumns.maxId("workout_session") + 1,
+                identityColumns.maxId("health_metrics") + 1,
+                identityColumns.maxId("event") + 1,
+                identityColumns.maxId("user_event") + 1);
+        log.info("Generating {} users with {} trainings, {} session points per training, {} health metrics "
+                        + "and {} of {} events each",
+                properties.getUsers(), properties.getTrainingsPerUser(), properties.getSessionsPerTraining(),
+                properties.getHealthMetricsPerUser(), properties.getEventsPerUser(), properties.getEvents());
+
+        transactionTemplate.executeWithoutResult(status -> generateEvents(ids, now));
+
+        int usersPerSlice = Math.max(1, properties.getBatchSize() / Math.max(1, properties.getTrainingsPerUser()));
+        int slices = (properties.getUsers() + usersPerSlice - 1) / usersPerSlice;
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getThreads());
+        try {
+            CompletableFuture.allOf(IntStream.range(0, slices)
+                            .mapToObj(slice -> CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+                                    status -> generateSlice(ids, now, slice, slice * usersPerSlice,
+                                            Math.min(properties.getUsers(), (slice + 1) * usersPerSlice))), executor))
+                            .toArray(CompletableFuture[]::new))
+                    .join();
+        } finally {
+            executor.shutdown();
+        }
+
+        List.of("users", "trainings", "workout_session", "health_metrics", "event", "user_event")
+                .forEach(identityColumns::restartAfterMaxId);
+        // written with plain JDBC, bypassing the entity listeners and the in-memory user indexes
+        changeCounter.recordChange(User.class);
+        changeCounter.recordChange(Training.class);
+        userService.refreshIndexes();
+        log.info("Generated data in {} ms", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    private void generateEvents(IdBases ids, LocalDateTime now) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed());
+        BatchInserter events = new BatchInserter(jdbcTemplate, "event", EVENT_COLUMNS, properties.getBatchSize(), null);
+        for (int e = 0; e < properties.getEvents(); e++) {
+            LocalDateTime startTime = now.plusDays(random.nextInt(-180, 180)).withHour(random.nextInt(8, 14));
+            String city = pick(random, CITIES);
+            events.add(ids.event() + e,
+                    "Fitness Event #" + (e + 1),
+                    "Open fitness event in " + city,
+                    startTime,
+                    startTime.plusHours(random.nextInt(2, 9)),
+                    "Poland",
+                    city);
+        }
+        events.flush();
+    }
+
+    private void generateSlice(IdBases ids, LocalDateTime now, int slice, int fromUser, int toUser) {
+        SplittableRandom random = new SplittableRandom(properties.getSeed() + 31L * (slice + 1));
+        int batchSize = properties.getBatchSize();
+        BatchInserter users = new BatchInserter(jdbcTemplate, "users", USER_COLUMNS, batchSize, null);
+        BatchInserter trainings = new BatchInserter(jdbcTemplate, "trainings", TRAINING_COLUMNS, batchSize, users);
+        BatchInserter sessions = new BatchInserter(jdbcTemplate, "workout_session", SESSION_COLUMNS, batchSize,
+                trainings);
+        BatchInserter metrics = new BatchInserter(jdbcTemplate, "health_metrics", METRICS_COLUMNS, batchSize, users);
+        BatchInserter userEvents = new BatchInserter(jdbcTemplate, "user_event", USER_EVENT_COLUMNS, batchSize, users);
+
+        for (int u = fromUser; u < toUser; u++) {
+            long userId = ids.user() + u;
+            boolean sample = ids.user() == 1 && u < SAMPLE_USERS.size();
+            addUser(users, random, userId, u, sample, now.toLocalDate());
+            if (sample && u < SAMPLE_TRAININGS.size()) {
+                addSampleTraining(trainings, ids.sampleTraining() + u, userId, SAMPLE_TRAININGS.get(u));
+            }
+            for (int t = 0; t < properties.getTrainingsPerUser(); t++) {
+                long trainingIndex = (long) u * properties.getTrainingsPerUser() + t;
+                addTraining(trainings, sessions, random, ids, userId, trainingIndex, now);
+            }
+            addHealthMetrics(metrics, random, ids.metrics() + (long) u * properties.getHealthMetricsPerUser(),
+                    userId, now.toLocalDate());
+            int firstEvent = properties.getEvents() == 0 ? 0 : random.nextInt(properties.getEvents());
+            for (int e = 0; e < properties.getEventsPerUser(); e++) {
+                userEvents.add(ids.userEvent() + (long) u * properties.getEventsPerUser() + e,
+                        userId,
+                        ids.event() + (firstEvent + e) % properties.getEvents(),
+                        pick(random, EVENT_STATUSES));
+            }
+        }
+
+        sessions.flush();
+        metrics.flush();
+        userEvents.flush();
+    }
+
+    private static void addUser(BatchInserter users, SplittableRandom random, long userId, int index,
+                                boolean sampleUser, LocalDate today) {
+        // the well-known sample users are kept at the beginning of a fresh database
+        if (sampleUser) {
+            SampleUser sample = SAMPLE_USERS.get(index);
+            users.add(userId, sample.firstName(), sample.lastName(), today.minusYears(sample.age()),
+                    "%s.%s@domain.com".formatted(sample.firstName(), sample.lastName()));
+            return;
+        }
+        String firstName = pick(random, FIRST_NAMES);
+        String lastName = pick(random, LAST_NAMES);
+        users.add(userId, firstName, lastName, today.minusDays(random.nextInt(18 * 365, 80 * 365)),
+                "%s.%s.%d@domain.com".formatted(firstName, lastName, userId));
+    }
+
+    private static void addSampleTraining(BatchInserter trainings, long trainingId, long userId,
+                                          SampleTraining sample) {
+        trainings.add(trainingId, userId, sample.startTime(), sample.startTime().plusMinutes(sample.durationMinutes()),
+                sample.activityType().ordinal(), sample.distance(), sample.averageSpeed());
+    }
+
+    private void addTraining(BatchInserter trainings, BatchInserter sessions, SplittableRandom random, IdBases ids,
+                             long userId, long trainingIndex, LocalDateTime now) {
+        ActivityType activityType = randomActivityType(random);
+        LocalDateTime startTime = now.minusDays(random.nextInt(365))
+                .withHour(random.nextInt(6, 21))
+                .withMinute(random.nextInt(60));
+        int durationMinutes = random.nextInt(20, 121);
+        double averageSpeed = round(typicalSpeed(activityType) * random.nextDouble(0.8, 1.2));
+        double distance = round(averageSpeed * durationMinutes / 60);
+        long trainingId = ids.training() + trainingIndex;
+        trainings.add(trainingId, userId, startTime, startTime.plusMinutes(durationMinutes),
+                activityType.ordinal(), distance, averageSpeed);
+
+        int points = properties.getSessionsPerTraining();
+        double latitude = random.nextDouble(50.0, 54.0);
+        double longitude = random.nextDouble(15.0, 23.0);
+        for (int s = 0; s < points; s++) {
+            double nextLatitude = latitude + random.nextDouble(-0.001, 0.001);
+            double nextLongitude = longitude + random.nextDouble(-0.001, 0.001);
+            sessions.add(ids.session() + trainingIndex * points + s,
+                    trainingId,
+                    startTime.plusSeconds((long) durationMinutes * 60 * s / points),
+                    latitude,
+                    longitude,
+                    nextLatitude,
+                    nextLongitude,
+                    round(random.nextDouble(100, 300)));
+            latitude = nextLatitude;
+            longitude = nextLongitude;
+        }
+    }
+
+    private void addHealthMetrics(BatchInserter metrics, SplittableRandom random, long firstId, long userId,
+                                  LocalDate today) {
+        int readings = properties.getHealthMetricsPerUser();
+        double height = random.nextInt(150, 196);
+        double weight = random.nextDouble(50, 100);
+        int restingHeartRate = random.nextInt(50, 80);
+        for (int m = 0; m < readings; m++) {
+            weight += random.nextDouble(-0.5, 0.5);
+            metrics.add(firstId + m,
+                    userId,
+                    today.minusWeeks(readings - 1L - m),
+                    round(weight),
+                    height,
+                    restingHeartRate + random.nextInt(-3, 4));
+        }
+    }
+
+    /**
+     * Picks an activity type with a realistic distribution - most trainings are runs, rides and walks.
+     */
+    private static ActivityType randomActivityType(SplittableRandom random) {
+        int roll = random.nextInt(100);
+        if (roll < 35) {
+            return ActivityType.RUNNING;
+        } else if (roll < 60) {
+            return ActivityType.CYCLING;
+        } else if (roll < 85) {
+            return ActivityType.WALKING;
+        } else if (roll < 95) {
+            return ActivityType.SWIMMING;
+        }
+        return ActivityType.TENNIS;
+    }
+
+    /**
+     * Typical average speed of the activity in km/h.
+     */
+    private static double typicalSpeed(ActivityType activityType) {
+        return switch (activityType) {
+            case RUNNING -> 10.0;
+            case CYCLING -> 20.0;
+            case WALKING -> 5.0;
+            case SWIMMING -> 2.5;
+            case TENNIS -> 4.0;
+        };
+    }
+
+    private static <T> T pick(SplittableRandom random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    private record SampleUser(String firstName, String lastName, int age) {
+    }
+
+    private record SampleTraining(LocalDateTime startTime, int durationMinutes, ActivityType activityType,
+                                  double distance, double averageSpeed) {
+    }
+
+    /**
+     * First IDs assigned to the generated rows of each table.
+     */
+    private record IdBases(long user, long sampleTraining, long training, long session, long metrics, long event,
+                           long userEvent) {
+    }
+
+}
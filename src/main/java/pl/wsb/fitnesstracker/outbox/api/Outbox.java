@@ -0,0 +1,38 @@
+package pl.wsb.fitnesstracker.outbox.api;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Interface (API) for the transactional outbox, telling the downstream consumers about the changes of the users
+ * and their trainings without them polling the tables.
+ * The messages are stored in the transaction of the change, so they are published if and only if the change commits;
+ * a relay publishes them to the {@link OutboxSink} in batches afterwards. Delivery is at least once: a batch may be
+ * published again if the relay fails before it is marked as published, so consumers deduplicate by message ID.
+ * <p>
+ * Only the changes made through the user and training services are published. The bulk writers bypass the outbox on
+ * purpose, as one message per row would flood it:
+ * <ul>
+ *     <li>data imports ({@code pl.wsb.fitnesstracker.transfer}),</li>
+ *     <li>synthetic data ({@code pl.wsb.fitnesstracker.loader}),</li>
+ *     <li>the archival of the trainings of inactive users, which moves them without changing them.</li>
+ * </ul>
+ * Consumers pick up imported and generated rows with a full export instead. Archived trainings are not deleted, so
+ * no message is missing for them.
+ */
+public interface Outbox {
+
+    /**
+     * Appends a message within the current transaction. The messages of a user are published in the order they
+     * were appended, provided the change was recorded in the
+     * {@link pl.wsb.fitnesstracker.database.api.ChangeLog} beforehand, whose lock on the user orders concurrent
+     * writers.
+     *
+     * @param userId   ID of the user the message is about
+     * @param type     type of the message
+     * @param entityId ID of the user or training the message is about
+     * @param payload  state of the entity after the change, serialized to JSON, {@code null} for deletions
+     * @throws org.springframework.transaction.IllegalTransactionStateException if there is no transaction
+     */
+    void append(Long userId, OutboxMessageType type, Long entityId, @Nullable Object payload);
+
+}
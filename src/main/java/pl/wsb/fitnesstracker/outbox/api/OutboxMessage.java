@@ -0,0 +1,23 @@
+package pl.wsb.fitnesstracker.outbox.api;
+
+import jakarta.annotation.Nullable;
+
+import java.time.Instant;
+
+/**
+ * Message of the outbox, published to the downstream consumers.
+ *
+ * @param id        ID of the message, increasing in the order the messages of a user were committed
+ * @param userId    ID of the user the message is about
+ * @param type      type of the message
+ * @param entityId  ID of the user or training the message is about
+ * @param payload   JSON of the state of the entity after the change, {@code null} for deletions
+ * @param createdAt time the message was appended
+ */
+public record OutboxMessage(long id,
+                            Long userId,
+                            OutboxMessageType type,
+                            Long entityId,
+                            @Nullable String payload,
+                            Instant createdAt) {
+}
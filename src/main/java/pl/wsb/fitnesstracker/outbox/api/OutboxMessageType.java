@@ -0,0 +1,38 @@
+package pl.wsb.fitnesstracker.outbox.api;
+
+/**
+ * Type of the message published to the downstream consumers.
+ */
+public enum OutboxMessageType {
+
+    /**
+     * A user signed up, the payload is its {@link pl.wsb.fitnesstracker.user.api.UserDto}.
+     */
+    USER_CREATED,
+
+    /**
+     * A user was updated, the payload is its {@link pl.wsb.fitnesstracker.user.api.UserDto}.
+     */
+    USER_UPDATED,
+
+    /**
+     * A user was deleted together with its whole history, there is no payload.
+     */
+    USER_DELETED,
+
+    /**
+     * A training was recorded, the payload is its {@link pl.wsb.fitnesstracker.training.api.TrainingDto}.
+     */
+    TRAINING_CREATED,
+
+    /**
+     * A training was updated, the payload is its {@link pl.wsb.fitnesstracker.training.api.TrainingDto}.
+     */
+    TRAINING_UPDATED,
+
+    /**
+     * A training was deleted, there is no payload. The trainings deleted with their user are not reported one by one.
+     */
+    TRAINING_DELETED
+
+}
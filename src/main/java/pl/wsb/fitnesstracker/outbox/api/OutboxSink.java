@@ -0,0 +1,21 @@
+package pl.wsb.fitnesstracker.outbox.api;
+
+import java.util.List;
+
+/**
+ * Destination the outbox messages are published to. By default, the messages are appended to an NDJSON file
+ * ({@code outbox.file.path}); a message broker adapter is plugged in by setting {@code outbox.sink} to its name and
+ * declaring the adapter as an {@code OutboxSink} bean.
+ */
+public interface OutboxSink {
+
+    /**
+     * Publishes the batch of messages, in the given order. Returns only once the messages are durably stored by the
+     * destination, as they are deleted from the outbox afterwards.
+     *
+     * @param messages the messages, in the order of their IDs
+     * @throws RuntimeException if publishing fails, the whole batch is published again later
+     */
+    void publish(List<OutboxMessage> messages);
+
+}
@@ -0,0 +1,77 @@
+package pl.wsb.fitnesstracker.outbox.internal;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pl.wsb.fitnesstracker.outbox.api.OutboxMessage;
+import pl.wsb.fitnesstracker.outbox.api.OutboxSink;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * {@link OutboxSink} appending the messages to a file as NDJSON, one JSON object per line, for the consumers
+ * tailing the file or shipping it to the warehouse. Each batch is written at once and forced to the disk before it
+ * is reported as published.
+ */
+class FileOutboxSink implements OutboxSink {
+
+    private final Path path;
+
+    private final ObjectMapper objectMapper;
+
+    FileOutboxSink(Path path, ObjectMapper objectMapper) throws IOException {
+        this.path = path;
+        this.objectMapper = objectMapper;
+        Path directory = path.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> messages) {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer lines = ByteBuffer.wrap(toLines(messages));
+            while (lines.hasRemaining()) {
+                channel.write(lines);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Outbox messages cannot be written to " + path, e);
+        }
+    }
+
+    private byte[] toLines(List<OutboxMessage> messages) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(messages.size() * 256);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(lines, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+            for (OutboxMessage message : messages) {
+                generator.writeStartObject();
+                generator.writeNumberField("id", message.id());
+                generator.writeNumberField("userId", message.userId());
+                generator.writeStringField("type", message.type().name());
+                generator.writeNumberField("entityId", message.entityId());
+                generator.writeStringField("createdAt", message.createdAt().toString());
+                generator.writeFieldName("payload");
+                if (message.payload() != null) {
+                    generator.writeRawValue(message.payload());
+                } else {
+                    generator.writeNull();
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            }
+        }
+        return lines.toByteArray();
+    }
+
+}
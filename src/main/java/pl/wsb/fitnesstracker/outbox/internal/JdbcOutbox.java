@@ -0,0 +1,53 @@
+package pl.wsb.fitnesstracker.outbox.internal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nullable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pl.wsb.fitnesstracker.outbox.api.Outbox;
+import pl.wsb.fitnesstracker.outbox.api.OutboxMessageType;
+
+import javax.sql.DataSource;
+
+/**
+ * {@link Outbox} kept in the {@code outbox_message} table, written with the connection of the current transaction.
+ */
+@Component
+class JdbcOutbox implements Outbox {
+
+    private static final String INSERT_MESSAGE = """
+            INSERT INTO outbox_message (user_id, message_type, entity_id, payload, created_at)
+            VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    JdbcOutbox(DataSource dataSource, ObjectMapper objectMapper) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(final Long userId, final OutboxMessageType type, final Long entityId,
+                       @Nullable final Object payload) {
+        jdbcTemplate.update(INSERT_MESSAGE, userId, type.name(), entityId, toJson(payload));
+    }
+
+    @Nullable
+    private String toJson(@Nullable Object payload) {
+        if (payload == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload cannot be serialized: " + payload, e);
+        }
+    }
+
+}
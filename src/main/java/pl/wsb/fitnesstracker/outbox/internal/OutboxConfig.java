@@ -0,0 +1,22 @@
+package pl.wsb.fitnesstracker.outbox.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import pl.wsb.fitnesstracker.outbox.api.OutboxSink;
+
+import java.io.IOException;
+
+@Configuration
+@EnableConfigurationProperties(OutboxProperties.class)
+class OutboxConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "outbox", name = "sink", havingValue = "file", matchIfMissing = true)
+    OutboxSink fileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) throws IOException {
+        return new FileOutboxSink(properties.getFilePath(), objectMapper);
+    }
+
+}
@@ -0,0 +1,47 @@
+package pl.wsb.fitnesstracker.outbox.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration of the outbox and its relay.
+ */
+@ConfigurationProperties(prefix = "outbox")
+@Getter
+class OutboxProperties {
+
+    /**
+     * Destination of the messages: {@code file} for the NDJSON file, or the name of a broker adapter declared as an
+     * {@link pl.wsb.fitnesstracker.outbox.api.OutboxSink} bean.
+     */
+    private final String sink;
+
+    /**
+     * Number of messages published at once.
+     */
+    private final int batchSize;
+
+    /**
+     * File the messages are appended to by the {@code file} sink, one JSON object per line.
+     */
+    private final Path filePath;
+
+    /**
+     * Cron expression of the relay runs, {@code -} disables the relay.
+     */
+    private final String relayCron;
+
+    OutboxProperties(@DefaultValue("file") String sink,
+                     @DefaultValue("500") int batchSize,
+                     @DefaultValue("outbox/messages.ndjson") Path filePath,
+                     @DefaultValue("* * * * * *") String relayCron) {
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.filePath = filePath;
+        this.relayCron = relayCron;
+    }
+
+}
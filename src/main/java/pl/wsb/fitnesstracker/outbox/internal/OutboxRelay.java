@@ -0,0 +1,139 @@
+package pl.wsb.fitnesstracker.outbox.internal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.wsb.fitnesstracker.outbox.api.OutboxMessage;
+import pl.wsb.fitnesstracker.outbox.api.OutboxMessageType;
+import pl.wsb.fitnesstracker.outbox.api.OutboxSink;
+
+import javax.sql.DataSource;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Drains the outbox: publishes the messages to the {@link OutboxSink} in batches, in the order of their IDs, and
+ * deletes each batch in the transaction which locked it, once the sink accepted it. A failed batch stays in the
+ * outbox and is published again by the next run, so a message may be delivered more than once but never lost.
+ * The batches are locked for the time they are published, so relays of several application instances never publish
+ * the messages of a user out of order.
+ * <p>
+ * The relay runs every second by default, so it has a scheduler thread of its own: on the scheduler shared by the
+ * other jobs it would queue behind a long archival or backfill, and delay them in turn.
+ * <p>
+ * The throughput is reported as the {@code outbox.messages.published} counter, the time the sink takes as the
+ * {@code outbox.publish} timer and the failed batches as the {@code outbox.publish.failures} counter.
+ */
+@Component
+@Slf4j
+class OutboxRelay {
+
+    private static final String SELECT_BATCH = """
+            SELECT id, user_id, message_type, entity_id, payload, created_at
+            FROM outbox_message
+            ORDER BY id
+            FETCH FIRST ? ROWS ONLY
+            FOR UPDATE""";
+
+    private static final RowMapper<OutboxMessage> MESSAGE_MAPPER = (rs, rowNum) -> new OutboxMessage(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            OutboxMessageType.valueOf(rs.getString("message_type")),
+            rs.getLong("entity_id"),
+            rs.getString("payload"),
+            rs.getObject("created_at", OffsetDateTime.class).toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transaction;
+
+    private final OutboxSink sink;
+
+    private final OutboxProperties properties;
+
+    private final Counter publishedMessages;
+
+    private final Counter failedBatches;
+
+    private final Timer publishTimer;
+
+    private final ThreadPoolTaskScheduler relayScheduler;
+
+    OutboxRelay(DataSource dataSource,
+                PlatformTransactionManager transactionManager,
+                OutboxSink sink,
+                OutboxProperties properties,
+                MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.sink = sink;
+        this.properties = properties;
+        this.publishedMessages = meterRegistry.counter("outbox.messages.published");
+        this.failedBatches = meterRegistry.counter("outbox.publish.failures");
+        this.publishTimer = meterRegistry.timer("outbox.publish");
+        this.relayScheduler = new ThreadPoolTaskScheduler();
+        this.relayScheduler.setThreadNamePrefix("outbox-relay-");
+        this.relayScheduler.setPoolSize(1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onApplicationReady() {
+        if (Scheduled.CRON_DISABLED.equals(properties.getRelayCron())) {
+            return;
+        }
+        relayScheduler.initialize();
+        relayScheduler.schedule(this::relay, new CronTrigger(properties.getRelayCron()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        relayScheduler.shutdown();
+    }
+
+    /**
+     * Publishes all messages in the outbox, batch by batch, stopping at the first failed batch.
+     *
+     * @return the number of published messages
+     */
+    int relay() {
+        int published = 0;
+        int batch;
+        do {
+            try {
+                batch = transaction.execute(status -> publishBatch());
+            } catch (RuntimeException e) {
+                failedBatches.increment();
+                log.warn("Publishing of the outbox messages failed, retrying with the next run", e);
+                break;
+            }
+            published += batch;
+        } while (batch == properties.getBatchSize());
+        return published;
+    }
+
+    private int publishBatch() {
+        List<OutboxMessage> messages = jdbcTemplate.query(SELECT_BATCH, MESSAGE_MAPPER, properties.getBatchSize());
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        publishTimer.record(() -> sink.publish(messages));
+        jdbcTemplate.batchUpdate("DELETE FROM outbox_message WHERE id = ?",
+                messages.stream().map(message -> new Object[]{message.id()}).toList());
+        publishedMessages.increment(messages.size());
+        log.debug("Published {} outbox messages up to ID {}", messages.size(), messages.get(messages.size() - 1).id());
+        return messages.size();
+    }
+
+}
@@ -0,0 +1,160 @@
+package pl.wsb.fitnesstracker.serialization.api;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.annotation.Nullable;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Base of the message converters writing the responses of the list endpoints with Jackson's streaming generator,
+ * instead of mapping the results to DTOs serialized by reflection.
+ * <p>
+ * The values are written as JSON, or in the binary formats the other endpoints can respond with: CBOR when the
+ * client asks for {@code application/cbor} and Smile when it asks for {@code application/x-jackson-smile}.
+ * <p>
+ * Field names are meant to be precomputed as {@link com.fasterxml.jackson.core.io.SerializedString}s, which keep
+ * their encoded bytes, and dates are written digit by digit into a buffer reused for the whole response, giving
+ * the same output as {@code @JsonFormat} with the {@link #DATE_PATTERN} and {@link #DATE_TIME_PATTERN} patterns.
+ * Subclasses are picked up by Spring Boot when declared as beans and take precedence over the default converters.
+ *
+ * @param <T> type of the written values
+ */
+public abstract class StreamingMessageConverter<T> extends AbstractHttpMessageConverter<T> {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    public static final String DATE_PATTERN = "yyyy-MM-dd";
+
+    public static final String DATE_TIME_PATTERN = "yyyy-MM-dd'T'HH:mm:ss";
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_PATTERN);
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(DATE_TIME_PATTERN);
+
+    private static final int DATE_LENGTH = 10;
+
+    private static final int DATE_TIME_LENGTH = 19;
+
+    private final Class<T> type;
+
+    private final JsonFactory jsonFactory;
+
+    private final CBORFactory cborFactory = new CBORFactory();
+
+    private final SmileFactory smileFactory = new SmileFactory();
+
+    protected StreamingMessageConverter(Class<T> type, ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, APPLICATION_SMILE);
+        this.type = type;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Writes the value with the generator.
+     *
+     * @param value     the value to write
+     * @param generator the generator writing the response body
+     * @param buffer    buffer for formatting the dates, reused for the whole response
+     * @throws IOException if writing fails
+     */
+    protected abstract void write(T value, JsonGenerator generator, char[] buffer) throws IOException;
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return type.equals(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected T readInternal(Class<? extends T> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException(clazz.getSimpleName() + " cannot be read", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(T value, HttpOutputMessage outputMessage) throws IOException {
+        JsonFactory factory = factory(outputMessage.getHeaders().getContentType());
+        OutputStream body = StreamUtils.nonClosing(outputMessage.getBody());
+        try (JsonGenerator generator = factory.createGenerator(body, JsonEncoding.UTF8)) {
+            write(value, generator, new char[DATE_TIME_LENGTH]);
+        }
+    }
+
+    private JsonFactory factory(@Nullable MediaType contentType) {
+        if (MediaType.APPLICATION_CBOR.isCompatibleWith(contentType)) {
+            return cborFactory;
+        }
+        if (APPLICATION_SMILE.isCompatibleWith(contentType)) {
+            return smileFactory;
+        }
+        return jsonFactory;
+    }
+
+    /**
+     * Writes the date as a {@link #DATE_PATTERN} string.
+     */
+    protected static void writeDate(JsonGenerator generator, LocalDate date, char[] buffer) throws IOException {
+        if (!hasFourDigitYear(date.getYear())) {
+            generator.writeString(DATE_FORMATTER.format(date));
+            return;
+        }
+        formatDate(buffer, date.getYear(), date.getMonthValue(), date.getDayOfMonth());
+        generator.writeString(buffer, 0, DATE_LENGTH);
+    }
+
+    /**
+     * Writes the date and time as a {@link #DATE_TIME_PATTERN} string, without the fraction of the second.
+     */
+    protected static void writeDateTime(JsonGenerator generator, LocalDateTime dateTime, char[] buffer)
+            throws IOException {
+        if (!hasFourDigitYear(dateTime.getYear())) {
+            generator.writeString(DATE_TIME_FORMATTER.format(dateTime));
+            return;
+        }
+        formatDate(buffer, dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth());
+        buffer[10] = 'T';
+        formatTwoDigits(buffer, 11, dateTime.getHour());
+        buffer[13] = ':';
+        formatTwoDigits(buffer, 14, dateTime.getMinute());
+        buffer[16] = ':';
+        formatTwoDigits(buffer, 17, dateTime.getSecond());
+        generator.writeString(buffer, 0, DATE_TIME_LENGTH);
+    }
+
+    private static boolean hasFourDigitYear(int year) {
+        return year >= 1 && year <= 9999;
+    }
+
+    private static void formatDate(char[] buffer, int year, int month, int day) {
+        formatTwoDigits(buffer, 0, year / 100);
+        formatTwoDigits(buffer, 2, year % 100);
+        buffer[4] = '-';
+        formatTwoDigits(buffer, 5, month);
+        buffer[7] = '-';
+        formatTwoDigits(buffer, 8, day);
+    }
+
+    private static void formatTwoDigits(char[] buffer, int offset, int value) {
+        buffer[offset] = (char) ('0' + value / 10);
+        buffer[offset + 1] = (char) ('0' + value % 10);
+    }
+
+}
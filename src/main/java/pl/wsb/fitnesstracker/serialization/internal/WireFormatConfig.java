@@ -0,0 +1,42 @@
+package pl.wsb.fitnesstracker.serialization.internal;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary encodings of the requests and responses for the mobile clients syncing over metered connections.
+ * <p>
+ * Clients sending {@code Accept: application/cbor} get the responses of every endpoint encoded as CBOR (RFC 8949)
+ * instead of JSON, and clients sending {@code Accept: application/x-jackson-smile} get them encoded as Smile, which
+ * is also smaller than CBOR as it writes the repeated field names as back references. Both have the same fields and
+ * the same formatting of the dates as JSON, and are accepted as request bodies too. Numbers, including the
+ * coordinates of the workout sessions, are encoded as binary values instead of decimal text, which is cheaper to
+ * encode and decode. Larger responses of all the formats are also compressed (see {@code server.compression} in the
+ * application properties).
+ */
+@Configuration
+class WireFormatConfig {
+
+    /**
+     * Replaces the default CBOR converter, which does not use the application's Jackson configuration.
+     */
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Replaces the default Smile converter, which does not use the application's Jackson configuration.
+     */
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.factory(new SmileFactory()).build());
+    }
+
+}
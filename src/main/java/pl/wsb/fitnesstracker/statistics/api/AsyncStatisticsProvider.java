@@ -0,0 +1,30 @@
+package pl.wsb.fitnesstracker.statistics.api;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the {@link StatisticsProvider}.
+ * The queries run on the application task executor and the returned futures complete once the result is loaded.
+ */
+public interface AsyncStatisticsProvider {
+
+    /**
+     * Retrieves a statistics based on their ID.
+     *
+     * @param statisticsId id of the statistics to be searched
+     * @return future completed with the located Statistics, or {@link Optional#empty()} if not found
+     * @see StatisticsProvider#getStatistics(Long)
+     */
+    CompletableFuture<Optional<Statistics>> getStatistics(Long statisticsId);
+
+    /**
+     * Retrieves the statistics of the given user.
+     *
+     * @param userId id of the user owning the statistics
+     * @return future completed with the user's Statistics, or {@link Optional#empty()} if not found
+     * @see StatisticsProvider#getUserStatistics(Long)
+     */
+    CompletableFuture<Optional<Statistics>> getUserStatistics(Long userId);
+
+}
@@ -0,0 +1,28 @@
+package pl.wsb.fitnesstracker.statistics.api;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Derived health indicators of a single user, computed from the user's health metrics and trainings.
+ *
+ * @param userId                        The ID of the user the indicators belong to
+ * @param latestBmi                     The BMI computed from the most recent weight and height reading
+ * @param bmiMovingAverage              The BMI averaged over the configured rolling window
+ * @param bmiTrend                      The difference between the latest BMI and its moving average
+ *                                      (positive when the BMI is rising)
+ * @param restingHeartRateMovingAverage The resting heart rate averaged over the configured rolling window
+ * @param totalTrainings                The number of trainings of the user
+ * @param totalDistance                 The summed distance of all trainings
+ * @param totalCaloriesBurned           The estimated calories burned in all trainings
+ */
+public record HealthIndicators(
+        Long userId,
+        @Nullable Double latestBmi,
+        @Nullable Double bmiMovingAverage,
+        @Nullable Double bmiTrend,
+        @Nullable Double restingHeartRateMovingAverage,
+        int totalTrainings,
+        double totalDistance,
+        int totalCaloriesBurned
+) {
+}
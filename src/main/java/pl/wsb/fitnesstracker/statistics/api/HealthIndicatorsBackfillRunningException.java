@@ -0,0 +1,15 @@
+package pl.wsb.fitnesstracker.statistics.api;
+
+import pl.wsb.fitnesstracker.exception.api.ConflictException;
+
+/**
+ * Exception indicating that a backfill of the health indicators cannot be started, because one is already running.
+ */
+@SuppressWarnings("squid:S110")
+public class HealthIndicatorsBackfillRunningException extends ConflictException {
+
+    public HealthIndicatorsBackfillRunningException() {
+        super("Health indicators of all users are already being backfilled, try again later");
+    }
+
+}
@@ -0,0 +1,36 @@
+package pl.wsb.fitnesstracker.statistics.api;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interface (API) for computing derived {@link HealthIndicators} of users.
+ */
+public interface HealthIndicatorsProvider {
+
+    /**
+     * Returns up-to-date health indicators of the given user.
+     * Only metrics and trainings stored since the previous computation are processed, unless some of the processed
+     * ones were updated or deleted in the meantime, and the user's {@link Statistics} are updated with the new totals.
+     *
+     * @param userId ID of the user
+     * @return health indicators of the user
+     */
+    HealthIndicators getHealthIndicators(Long userId);
+
+    /**
+     * Recomputes health indicators and {@link Statistics} of all users from their full history, in parallel batches
+     * of users.
+     *
+     * @return number of users processed
+     */
+    int backfillAllUsers();
+
+    /**
+     * Starts {@link #backfillAllUsers() the backfill} in the background and returns right away.
+     *
+     * @return future completed with the number of users processed once the backfill finishes
+     * @throws HealthIndicatorsBackfillRunningException if a backfill started this way is still running
+     */
+    CompletableFuture<Integer> backfillAllUsersInBackground();
+
+}
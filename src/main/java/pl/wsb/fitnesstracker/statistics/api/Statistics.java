@@ -6,9 +6,15 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+import pl.wsb.fitnesstracker.database.api.ChangeCountingListener;
 import pl.wsb.fitnesstracker.user.api.User;
 
+import java.time.Instant;
+
 @Entity
+@EntityListeners(ChangeCountingListener.class)
 @Table(name = "Statistics")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -33,6 +39,18 @@ public class Statistics {
     @Column(name = "total_calories_burned")
     private int totalCaloriesBurned;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    @Nullable
+    private Long version;
+
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at", nullable = false)
+    @Nullable
+    private Instant updatedAt;
+
     public Statistics(@Nullable Long id, User user, int totalTrainings, double totalDistance, int totalCaloriesBurned) {
         this.id = id;
         this.user = user;
@@ -40,4 +58,17 @@ public class Statistics {
         this.totalDistance = totalDistance;
         this.totalCaloriesBurned = totalCaloriesBurned;
     }
-}
\ No newline at end of file
+
+    /**
+     * Replaces the aggregated totals with freshly computed values.
+     *
+     * @param totalTrainings      number of trainings of the user
+     * @param totalDistance       summed distance of all trainings
+     * @param totalCaloriesBurned estimated calories burned in all trainings
+     */
+    public void updateTotals(int totalTrainings, double totalDistance, int totalCaloriesBurned) {
+        this.totalTrainings = totalTrainings;
+        this.totalDistance = totalDistance;
+        this.totalCaloriesBurned = totalCaloriesBurned;
+    }
+}
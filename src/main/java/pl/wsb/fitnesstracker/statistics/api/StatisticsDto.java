@@ -0,0 +1,15 @@
+package pl.wsb.fitnesstracker.statistics.api;
+
+/**
+ * Data Transfer Object representing the aggregated statistics of a user.
+ *
+ * @param totalTrainings      The number of trainings of the user
+ * @param totalDistance       The summed distance of all trainings
+ * @param totalCaloriesBurned The estimated calories burned in all trainings
+ */
+public record StatisticsDto(
+        int totalTrainings,
+        double totalDistance,
+        int totalCaloriesBurned
+) {
+}
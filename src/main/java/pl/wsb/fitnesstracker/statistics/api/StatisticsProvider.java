@@ -13,4 +13,13 @@ public interface StatisticsProvider {
      */
     Optional<Statistics> getStatistics(Long statisticsId);
 
+    /**
+     * Retrieves the statistics of the given user.
+     * If no statistics were computed for the user yet, then {@link Optional#empty()} will be returned.
+     *
+     * @param userId id of the user owning the statistics
+     * @return An {@link Optional} containing the user's Statistics, or {@link Optional#empty()} if not found
+     */
+    Optional<Statistics> getUserStatistics(Long userId);
+
 }
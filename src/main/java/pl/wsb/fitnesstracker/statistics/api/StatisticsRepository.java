@@ -2,5 +2,16 @@ package pl.wsb.fitnesstracker.statistics.api;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 public interface StatisticsRepository extends JpaRepository<Statistics, Long> {
+
+    /**
+     * Retrieves the statistics of the given user.
+     *
+     * @param userId ID of the user
+     * @return An {@link Optional} containing the user's statistics, or {@link Optional#empty()} if none were computed yet
+     */
+    Optional<Statistics> findByUserId(Long userId);
+
 }
@@ -0,0 +1,35 @@
+package pl.wsb.fitnesstracker.statistics.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import pl.wsb.fitnesstracker.async.api.AsyncQueryExecutor;
+import pl.wsb.fitnesstracker.statistics.api.AsyncStatisticsProvider;
+import pl.wsb.fitnesstracker.statistics.api.Statistics;
+import pl.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementation of the {@link AsyncStatisticsProvider} running the {@link StatisticsProvider} queries on the
+ * {@link AsyncQueryExecutor}.
+ */
+@Service
+@RequiredArgsConstructor
+class AsyncStatisticsProviderImpl implements AsyncStatisticsProvider {
+
+    private final StatisticsProvider statisticsProvider;
+
+    private final AsyncQueryExecutor asyncQueryExecutor;
+
+    @Override
+    public CompletableFuture<Optional<Statistics>> getStatistics(final Long statisticsId) {
+        return asyncQueryExecutor.submit(() -> statisticsProvider.getStatistics(statisticsId));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Statistics>> getUserStatistics(final Long userId) {
+        return asyncQueryExecutor.submit(() -> statisticsProvider.getUserStatistics(userId));
+    }
+
+}
@@ -0,0 +1,198 @@
+package pl.wsb.fitnesstracker.statistics.internal;
+
+import jakarta.annotation.Nullable;
+import pl.wsb.fitnesstracker.healthmetrics.HealthMetrics;
+import pl.wsb.fitnesstracker.statistics.api.HealthIndicators;
+import pl.wsb.fitnesstracker.training.api.Training;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Incremental calculator of the {@link HealthIndicators} of a single user.
+ * <p>
+ * Health metrics and trainings are consumed in a single chronological pass, so every training is costed with
+ * the body weight known at the time it took place. The calculator keeps the ID watermarks of the processed data,
+ * which allows feeding it only the rows stored since the previous pass, and the change log sequence number it is
+ * up to date with, which allows detecting updates and deletions of the processed rows. Instances are not thread-safe.
+ */
+final class HealthIndicatorCalculator {
+
+    /**
+     * Heights above this value are assumed to be recorded in centimetres rather than metres.
+     */
+    private static final double MAX_HEIGHT_IN_METRES = 3.0;
+
+    private final Long userId;
+
+    private final double defaultWeight;
+
+    private final RollingAverage bmiAverage;
+
+    private final RollingAverage restingHeartRateAverage;
+
+    @Nullable
+    private Double latestWeight;
+
+    @Nullable
+    private Double latestHeight;
+
+    @Nullable
+    private Double latestBmi;
+
+    private int totalTrainings;
+
+    private double totalDistance;
+
+    private double totalCalories;
+
+    private long metricsWatermark;
+
+    private long trainingWatermark;
+
+    private LocalDateTime lastProcessedTime = LocalDateTime.MIN;
+
+    private long changeSequence;
+
+    /**
+     * Number of computations using the calculator, which keep it cached; guarded by the monitor of the cache.
+     */
+    private int holders;
+
+    HealthIndicatorCalculator(Long userId, int windowDays, double defaultWeight) {
+        this.userId = userId;
+        this.defaultWeight = defaultWeight;
+        this.bmiAverage = new RollingAverage(windowDays);
+        this.restingHeartRateAverage = new RollingAverage(windowDays);
+    }
+
+    long getMetricsWatermark() {
+        return metricsWatermark;
+    }
+
+    long getTrainingWatermark() {
+        return trainingWatermark;
+    }
+
+    long getChangeSequence() {
+        return changeSequence;
+    }
+
+    void setChangeSequence(long changeSequence) {
+        this.changeSequence = changeSequence;
+    }
+
+    void hold() {
+        holders++;
+    }
+
+    void release() {
+        holders--;
+    }
+
+    boolean isHeld() {
+        return holders > 0;
+    }
+
+    /**
+     * @return {@code true} if no data was processed since the creation or the last {@link #reset()}
+     */
+    boolean isEmpty() {
+        return metricsWatermark == 0 && trainingWatermark == 0;
+    }
+
+    /**
+     * Processes the given metrics and trainings, both already sorted chronologically.
+     * If any of the new rows predates the data processed so far, nothing is processed and {@code false} is returned,
+     * as the rolling windows cannot be rewound - the caller should {@link #reset()} and replay the full history.
+     *
+     * @param metrics   new health metrics, ordered by date
+     * @param trainings new trainings, ordered by start time
+     * @return {@code true} if the data was processed, {@code false} if it arrived out of order
+     */
+    boolean advance(List<HealthMetrics> metrics, List<Training> trainings) {
+        if (!metrics.isEmpty() && timeOf(metrics.get(0)).isBefore(lastProcessedTime)
+                || !trainings.isEmpty() && timeOf(trainings.get(0)).isBefore(lastProcessedTime)) {
+            return false;
+        }
+
+        int m = 0;
+        int t = 0;
+        while (m < metrics.size() || t < trainings.size()) {
+            boolean metricsFirst = t == trainings.size()
+                    || m < metrics.size() && !timeOf(metrics.get(m)).isAfter(timeOf(trainings.get(t)));
+            if (metricsFirst) {
+                accept(metrics.get(m++));
+            } else {
+                accept(trainings.get(t++));
+            }
+        }
+        return true;
+    }
+
+    void reset() {
+        bmiAverage.clear();
+        restingHeartRateAverage.clear();
+        latestWeight = null;
+        latestHeight = null;
+        latestBmi = null;
+        totalTrainings = 0;
+        totalDistance = 0;
+        totalCalories = 0;
+        metricsWatermark = 0;
+        trainingWatermark = 0;
+        lastProcessedTime = LocalDateTime.MIN;
+        changeSequence = 0;
+    }
+
+    HealthIndicators snapshot() {
+        Double bmiMovingAverage = bmiAverage.average();
+        Double bmiTrend = latestBmi == null || bmiMovingAverage == null ? null : latestBmi - bmiMovingAverage;
+        return new HealthIndicators(userId,
+                latestBmi,
+                bmiMovingAverage,
+                bmiTrend,
+                restingHeartRateAverage.average(),
+                totalTrainings,
+                totalDistance,
+                (int) Math.round(totalCalories));
+    }
+
+    private void accept(HealthMetrics metrics) {
+        if (metrics.getWeight() != null) {
+            latestWeight = metrics.getWeight();
+        }
+        if (metrics.getHeight() != null) {
+            latestHeight = metrics.getHeight() > MAX_HEIGHT_IN_METRES ? metrics.getHeight() / 100 : metrics.getHeight();
+        }
+        if (latestWeight != null && latestHeight != null && latestHeight > 0) {
+            latestBmi = latestWeight / (latestHeight * latestHeight);
+            bmiAverage.add(metrics.getDate(), latestBmi);
+        }
+        if (metrics.getHeartRate() != null) {
+            restingHeartRateAverage.add(metrics.getDate(), metrics.getHeartRate());
+        }
+        metricsWatermark = Math.max(metricsWatermark, metrics.getId());
+        lastProcessedTime = timeOf(metrics);
+    }
+
+    private void accept(Training training) {
+        double weight = latestWeight != null ? latestWeight : defaultWeight;
+        double hours = ChronoUnit.SECONDS.between(training.getStartTime(), training.getEndTime()) / 3600.0;
+        totalTrainings++;
+        totalDistance += training.getDistance();
+        totalCalories += training.getActivityType().getMetabolicEquivalent() * weight * Math.max(hours, 0);
+        trainingWatermark = Math.max(trainingWatermark, training.getId());
+        lastProcessedTime = timeOf(training);
+    }
+
+    private static LocalDateTime timeOf(HealthMetrics metrics) {
+        return metrics.getDate().atStartOfDay();
+    }
+
+    private static LocalDateTime timeOf(Training training) {
+        return training.getStartTime();
+    }
+
+}
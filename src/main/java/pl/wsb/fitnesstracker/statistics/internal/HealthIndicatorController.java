@@ -0,0 +1,51 @@
+package pl.wsb.fitnesstracker.statistics.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import pl.wsb.fitnesstracker.statistics.api.HealthIndicators;
+import pl.wsb.fitnesstracker.statistics.api.HealthIndicatorsBackfillRunningException;
+import pl.wsb.fitnesstracker.statistics.api.HealthIndicatorsProvider;
+import pl.wsb.fitnesstracker.user.api.UserNotFoundException;
+
+/**
+ * REST controller for the derived health indicators of users.
+ * All endpoints are prefixed with /v1/statistics.
+ */
+@RestController
+@RequestMapping("/v1/statistics")
+@RequiredArgsConstructor
+class HealthIndicatorController {
+
+    private final HealthIndicatorsProvider healthIndicatorsProvider;
+
+    /**
+     * Retrieves up-to-date health indicators of a user, updating the user's statistics on the way.
+     *
+     * @param userId the ID of the user
+     * @return HealthIndicators of the user
+     * @throws UserNotFoundException if user with given ID is not found
+     */
+    @GetMapping("/users/{userId}/health-indicators")
+    public HealthIndicators getHealthIndicators(@PathVariable Long userId) {
+        return healthIndicatorsProvider.getHealthIndicators(userId);
+    }
+
+    /**
+     * Starts recomputing health indicators and statistics of all users from their full history, in the background.
+     * The backfill also runs on the schedule configured with {@code health-indicators.backfill-cron}.
+     *
+     * @throws HealthIndicatorsBackfillRunningException if a backfill started this way is still running
+     */
+    @PostMapping("/health-indicators/backfill")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public void backfillAllUsers() {
+        healthIndicatorsProvider.backfillAllUsersInBackground();
+    }
+
+}
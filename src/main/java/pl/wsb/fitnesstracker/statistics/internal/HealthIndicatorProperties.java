@@ -0,0 +1,52 @@
+package pl.wsb.fitnesstracker.statistics.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the health indicators computation.
+ */
+@ConfigurationProperties(prefix = "health-indicators")
+@Getter
+class HealthIndicatorProperties {
+
+    /**
+     * Number of days covered by the BMI and resting heart rate moving averages.
+     */
+    private final int windowDays;
+
+    /**
+     * Body weight (in kilograms) assumed when estimating calories of a user who has no weight reading yet.
+     */
+    private final double defaultWeight;
+
+    /**
+     * Number of threads used to backfill the indicators of all users.
+     */
+    private final int backfillParallelism;
+
+    /**
+     * Number of users whose IDs are read and backfilled at a time.
+     */
+    private final int backfillBatchSize;
+
+    /**
+     * Maximum number of users whose calculators are kept in memory; the least recently used ones are evicted and
+     * recomputed from scratch when requested again.
+     */
+    private final int cachedUsers;
+
+    HealthIndicatorProperties(@DefaultValue("30") int windowDays,
+                              @DefaultValue("70") double defaultWeight,
+                              @DefaultValue("4") int backfillParallelism,
+                              @DefaultValue("1000") int backfillBatchSize,
+                              @DefaultValue("10000") int cachedUsers) {
+        this.windowDays = windowDays;
+        this.defaultWeight = defaultWeight;
+        this.backfillParallelism = backfillParallelism;
+        this.backfillBatchSize = backfillBatchSize;
+        this.cachedUsers = cachedUsers;
+    }
+
+}
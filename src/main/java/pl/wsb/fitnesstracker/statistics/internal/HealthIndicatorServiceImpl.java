@@ -0,0 +1,280 @@
+package pl.wsb.fitnesstracker.statistics.internal;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.wsb.fitnesstracker.database.api.ChangeLog;
+import pl.wsb.fitnesstracker.database.api.ChangeLogEntry;
+import pl.wsb.fitnesstracker.database.api.ChangeOperation;
+import pl.wsb.fitnesstracker.healthmetrics.HealthMetrics;
+import pl.wsb.fitnesstracker.healthmetrics.HealthMetricsRepository;
+import pl.wsb.fitnesstracker.statistics.api.HealthIndicators;
+import pl.wsb.fitnesstracker.statistics.api.HealthIndicatorsBackfillRunningException;
+import pl.wsb.fitnesstracker.statistics.api.HealthIndicatorsProvider;
+import pl.wsb.fitnesstracker.statistics.api.Statistics;
+import pl.wsb.fitnesstracker.statistics.api.StatisticsRepository;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.api.TrainingRepository;
+import pl.wsb.fitnesstracker.user.api.User;
+import pl.wsb.fitnesstracker.user.api.UserNotFoundException;
+import pl.wsb.fitnesstracker.user.api.UserProvider;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Service computing derived health indicators and keeping the users' {@link Statistics} up to date.
+ * A {@link HealthIndicatorCalculator} is kept per recently used user, so repeated computations only read the rows
+ * stored since the previous one. Updates and deletions of the processed rows are detected in the {@link ChangeLog},
+ * and make the calculator replay the full history.
+ * <p>
+ * A computation locks the calculator of the user until its transaction completes, so the computations of a user never
+ * overlap, and a calculator in use is never evicted from the cache. A rolled back computation resets the calculator,
+ * which has already processed rows whose results were not stored.
+ * <p>
+ * The backfill runs on executors of its own: one thread running the backfill requested over the API, at most one at
+ * a time, and {@code health-indicators.backfill-parallelism} threads computing the indicators of the users.
+ */
+@Service
+@Slf4j
+class HealthIndicatorServiceImpl implements HealthIndicatorsProvider {
+
+    /**
+     * Maximum number of changes read to check whether the processed rows were modified; if there are more, the
+     * calculator replays the full history without looking at them.
+     */
+    private static final int MAX_CHANGES_CHECKED = 1000;
+
+    private static final String TRAINING_TYPE = Training.class.getSimpleName();
+
+    private static final String HEALTH_METRICS_TYPE = HealthMetrics.class.getSimpleName();
+
+    private final HealthMetricsRepository healthMetricsRepository;
+
+    private final TrainingRepository trainingRepository;
+
+    private final StatisticsRepository statisticsRepository;
+
+    private final UserProvider userProvider;
+
+    private final ChangeLog changeLog;
+
+    private final HealthIndicatorProperties properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Calculators of the recently used users, in access order; guarded by its own monitor.
+     */
+    private final Map<Long, HealthIndicatorCalculator> calculators;
+
+    private final ThreadPoolTaskExecutor backfillRunner;
+
+    private final ThreadPoolTaskExecutor backfillExecutor;
+
+    HealthIndicatorServiceImpl(HealthMetricsRepository healthMetricsRepository,
+                               TrainingRepository trainingRepository,
+                               StatisticsRepository statisticsRepository,
+                               UserProvider userProvider,
+                               ChangeLog changeLog,
+                               HealthIndicatorProperties properties,
+                               TransactionTemplate transactionTemplate) {
+        this.healthMetricsRepository = healthMetricsRepository;
+        this.trainingRepository = trainingRepository;
+        this.statisticsRepository = statisticsRepository;
+        this.userProvider = userProvider;
+        this.changeLog = changeLog;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.calculators = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, HealthIndicatorCalculator> eldest) {
+                return size() > properties.getCachedUsers() && !eldest.getValue().isHeld();
+            }
+        };
+        this.backfillRunner = new ThreadPoolTaskExecutor();
+        this.backfillRunner.setThreadNamePrefix("health-backfill-runner-");
+        this.backfillRunner.setCorePoolSize(1);
+        this.backfillRunner.setMaxPoolSize(1);
+        // no queue, so a backfill requested while another one runs is rejected
+        this.backfillRunner.setQueueCapacity(0);
+        this.backfillRunner.setAllowCoreThreadTimeOut(true);
+        this.backfillRunner.initialize();
+        this.backfillExecutor = new ThreadPoolTaskExecutor();
+        this.backfillExecutor.setThreadNamePrefix("health-backfill-");
+        this.backfillExecutor.setCorePoolSize(properties.getBackfillParallelism());
+        this.backfillExecutor.setMaxPoolSize(properties.getBackfillParallelism());
+        this.backfillExecutor.setAllowCoreThreadTimeOut(true);
+        this.backfillExecutor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        backfillRunner.shutdown();
+        backfillExecutor.shutdown();
+    }
+
+    @Override
+    public HealthIndicators getHealthIndicators(final Long userId) {
+        return computeInTransaction(userId, false);
+    }
+
+    @Override
+    public CompletableFuture<Integer> backfillAllUsersInBackground() {
+        try {
+            return backfillRunner.submitCompletable(this::backfillAllUsers);
+        } catch (TaskRejectedException e) {
+            throw new HealthIndicatorsBackfillRunningException();
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${health-indicators.backfill-cron:-}")
+    public int backfillAllUsers() {
+        log.info("Backfilling health indicators of all users");
+        int processed = 0;
+        long afterId = 0;
+        List<Long> userIds = userProvider.findUserIdsAfter(afterId, properties.getBackfillBatchSize());
+        while (!userIds.isEmpty()) {
+            CompletableFuture.allOf(userIds.stream()
+                            .map(userId -> CompletableFuture.runAsync(() -> backfill(userId), backfillExecutor))
+                            .toArray(CompletableFuture[]::new))
+                    .join();
+            processed += userIds.size();
+            afterId = userIds.get(userIds.size() - 1);
+            userIds = userProvider.findUserIdsAfter(afterId, properties.getBackfillBatchSize());
+        }
+
+        log.info("Finished backfilling health indicators of {} users", processed);
+        return processed;
+    }
+
+    private void backfill(final Long userId) {
+        try {
+            computeInTransaction(userId, true);
+        } catch (UserNotFoundException e) {
+            log.debug("User with ID: {} was deleted during the backfill", userId);
+        }
+    }
+
+    private HealthIndicators computeInTransaction(final Long userId, final boolean fromScratch) {
+        HealthIndicatorCalculator calculator;
+        synchronized (calculators) {
+            calculator = calculators.computeIfAbsent(userId,
+                    id -> new HealthIndicatorCalculator(id, properties.getWindowDays(), properties.getDefaultWeight()));
+            calculator.hold();
+        }
+        try {
+            // held until the transaction completes, so that the next computation sees the statistics stored by this one
+            synchronized (calculator) {
+                return transactionTemplate.execute(status -> {
+                    resetOnRollback(calculator);
+                    return compute(calculator, userId, fromScratch);
+                });
+            }
+        } finally {
+            synchronized (calculators) {
+                calculator.release();
+            }
+        }
+    }
+
+    private static void resetOnRollback(final HealthIndicatorCalculator calculator) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    calculator.reset();
+                }
+            }
+        });
+    }
+
+    private HealthIndicators compute(final HealthIndicatorCalculator calculator,
+                                     final Long userId,
+                                     final boolean fromScratch) {
+        User user = userProvider.getUser(userId)
+                .orElseThrow(() -> {
+                    evict(userId);
+                    return new UserNotFoundException(userId);
+                });
+        // Read before the data, so changes made in the meantime are checked again by the next computation
+        long lastSequence = changeLog.getLastSequence(userId);
+        if (fromScratch) {
+            calculator.reset();
+        } else if (processedDataChanged(calculator, userId, lastSequence)) {
+            log.info("Processed data of User with ID: {} changed, replaying full history", userId);
+            calculator.reset();
+        }
+        if (!advance(calculator, userId)) {
+            log.info("Out-of-order data found for User with ID: {}, replaying full history", userId);
+            calculator.reset();
+            advance(calculator, userId);
+        }
+        calculator.setChangeSequence(lastSequence);
+        HealthIndicators indicators = calculator.snapshot();
+        storeStatistics(user, indicators);
+        return indicators;
+    }
+
+    /**
+     * Checks whether any of the metrics or trainings already processed by the calculator was updated or deleted,
+     * or a row was stored below its watermarks by a transaction that committed late.
+     */
+    private boolean processedDataChanged(final HealthIndicatorCalculator calculator,
+                                         final Long userId,
+                                         final long lastSequence) {
+        if (calculator.isEmpty() || calculator.getChangeSequence() == lastSequence) {
+            return false;
+        }
+        List<ChangeLogEntry> changes = changeLog.findChanges(userId, calculator.getChangeSequence(),
+                MAX_CHANGES_CHECKED);
+        return changes.size() == MAX_CHANGES_CHECKED
+                || changes.stream().anyMatch(change -> rewritesProcessedData(calculator, change));
+    }
+
+    private static boolean rewritesProcessedData(final HealthIndicatorCalculator calculator,
+                                                 final ChangeLogEntry change) {
+        long watermark;
+        if (TRAINING_TYPE.equals(change.entityType())) {
+            watermark = calculator.getTrainingWatermark();
+        } else if (HEALTH_METRICS_TYPE.equals(change.entityType())) {
+            watermark = calculator.getMetricsWatermark();
+        } else {
+            return false;
+        }
+        return change.operation() == ChangeOperation.DELETE || change.entityId() <= watermark;
+    }
+
+    private void evict(final Long userId) {
+        synchronized (calculators) {
+            calculators.remove(userId);
+        }
+    }
+
+    private boolean advance(final HealthIndicatorCalculator calculator, final Long userId) {
+        List<HealthMetrics> metrics = healthMetricsRepository
+                .findByUserIdAndIdGreaterThanOrderByDateAscIdAsc(userId, calculator.getMetricsWatermark());
+        List<Training> trainings = trainingRepository
+                .findByUserIdAndIdGreaterThanOrderByStartTimeAscIdAsc(userId, calculator.getTrainingWatermark());
+        return calculator.advance(metrics, trainings);
+    }
+
+    private void storeStatistics(final User user, final HealthIndicators indicators) {
+        Statistics statistics = statisticsRepository.findByUserId(user.getId())
+                .orElseGet(() -> new Statistics(null, user, 0, 0, 0));
+        statistics.updateTotals(indicators.totalTrainings(),
+                indicators.totalDistance(),
+                indicators.totalCaloriesBurned());
+        statisticsRepository.save(statistics);
+    }
+
+}
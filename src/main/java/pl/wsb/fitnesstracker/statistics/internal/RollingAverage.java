@@ -0,0 +1,51 @@
+package pl.wsb.fitnesstracker.statistics.internal;
+
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Average of the values recorded within a rolling window of days.
+ * Values must be added in chronological order; samples which fall out of the window are evicted on insert,
+ * so each sample is added and removed exactly once.
+ */
+final class RollingAverage {
+
+    private final int windowDays;
+
+    private final Deque<Sample> samples = new ArrayDeque<>();
+
+    private double sum;
+
+    RollingAverage(int windowDays) {
+        if (windowDays < 1) {
+            throw new IllegalArgumentException("Rolling window must span at least one day");
+        }
+        this.windowDays = windowDays;
+    }
+
+    void add(LocalDate date, double value) {
+        samples.addLast(new Sample(date, value));
+        sum += value;
+        LocalDate windowStart = date.minusDays(windowDays - 1L);
+        while (samples.getFirst().date().isBefore(windowStart)) {
+            sum -= samples.removeFirst().value();
+        }
+    }
+
+    @Nullable
+    Double average() {
+        return samples.isEmpty() ? null : sum / samples.size();
+    }
+
+    void clear() {
+        samples.clear();
+        sum = 0;
+    }
+
+    private record Sample(LocalDate date, double value) {
+    }
+
+}
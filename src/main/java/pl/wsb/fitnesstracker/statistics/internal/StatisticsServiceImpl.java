@@ -0,0 +1,32 @@
+package pl.wsb.fitnesstracker.statistics.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.wsb.fitnesstracker.statistics.api.Statistics;
+import pl.wsb.fitnesstracker.statistics.api.StatisticsProvider;
+import pl.wsb.fitnesstracker.statistics.api.StatisticsRepository;
+
+import java.util.Optional;
+
+/**
+ * Service implementation for statistics queries.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+class StatisticsServiceImpl implements StatisticsProvider {
+
+    private final StatisticsRepository statisticsRepository;
+
+    @Override
+    public Optional<Statistics> getStatistics(final Long statisticsId) {
+        return statisticsRepository.findById(statisticsId);
+    }
+
+    @Override
+    public Optional<Statistics> getUserStatistics(final Long userId) {
+        return statisticsRepository.findByUserId(userId);
+    }
+
+}
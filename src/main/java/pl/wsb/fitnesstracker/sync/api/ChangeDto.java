@@ -0,0 +1,26 @@
+package pl.wsb.fitnesstracker.sync.api;
+
+import jakarta.annotation.Nullable;
+import pl.wsb.fitnesstracker.database.api.ChangeOperation;
+
+import java.time.Instant;
+
+/**
+ * Data Transfer Object representing a change of an entity of the user since the last sync.
+ *
+ * @param sequence   The sequence number of the change
+ * @param entityType The type of the changed entity: User, Training, WorkoutSession, HealthMetrics or UserEvent
+ * @param entityId   The unique identifier of the changed entity
+ * @param operation  UPSERT for a created or updated entity, DELETE for a tombstone of a deleted one
+ * @param changedAt  The time of the change
+ * @param data       The current state of the entity as its DTO, {@code null} for tombstones
+ */
+public record ChangeDto(
+        long sequence,
+        String entityType,
+        Long entityId,
+        ChangeOperation operation,
+        Instant changedAt,
+        @Nullable Object data
+) {
+}
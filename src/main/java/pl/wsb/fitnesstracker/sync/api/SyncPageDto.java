@@ -0,0 +1,17 @@
+package pl.wsb.fitnesstracker.sync.api;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object representing a page of the changes of the user since the last sync.
+ *
+ * @param changes   The changes, each entity with its latest change within the page only, in the order of the changes
+ * @param nextSince The sequence number to sync from next time
+ * @param hasMore   Whether more changes follow the page
+ */
+public record SyncPageDto(
+        List<ChangeDto> changes,
+        long nextSince,
+        boolean hasMore
+) {
+}
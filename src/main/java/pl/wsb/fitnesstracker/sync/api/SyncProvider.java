@@ -0,0 +1,28 @@
+package pl.wsb.fitnesstracker.sync.api;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Interface (API) for the delta sync of the mobile clients. A client downloads the data of the user once, then
+ * only asks for the changes since the sequence number it synced last, so the cost of a sync is proportional to the
+ * number of changes rather than to the size of the history. Deleted entities are reported as tombstones; the
+ * deletion of the user supersedes all of its earlier changes.
+ * <p>
+ * Only the changes made through the services are synced. Data written in bulk (data import, synthetic data) and
+ * trainings moved to the archive are not, and are picked up by a full download.
+ */
+public interface SyncProvider {
+
+    /**
+     * Returns the changes of the entities of the user after the given sequence number.
+     * Without a sequence number no changes are returned, only the sequence number to sync from after a full
+     * download started now.
+     *
+     * @param userId ID of the user
+     * @param since  sequence number the client synced last, {@code null} to start syncing
+     * @param limit  maximum number of changes read, capped at {@code sync.max-page-size}
+     * @return page of the changes
+     */
+    SyncPageDto getChanges(Long userId, @Nullable Long since, int limit);
+
+}
@@ -0,0 +1,43 @@
+package pl.wsb.fitnesstracker.sync.internal;
+
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import pl.wsb.fitnesstracker.sync.api.SyncPageDto;
+import pl.wsb.fitnesstracker.sync.api.SyncProvider;
+
+/**
+ * REST controller for the delta sync of the mobile clients.
+ * All endpoints are prefixed with /v1/sync.
+ */
+@RestController
+@RequestMapping("/v1/sync")
+@RequiredArgsConstructor
+class SyncController {
+
+    private final SyncProvider syncProvider;
+
+    private final SyncProperties properties;
+
+    /**
+     * Returns the changes of the data of the user since the last sync. A deleted user is not an error, its
+     * tombstone is returned like any other change.
+     *
+     * @param userId ID of the user
+     * @param since  the nextSince of the last synced page; without it no changes are returned, only the nextSince
+     *               to sync from after a full download
+     * @param limit  maximum number of changes read for the page
+     * @return SyncPageDto with the changes
+     */
+    @GetMapping("/users/{userId}")
+    public SyncPageDto getChanges(@PathVariable Long userId,
+                                  @RequestParam(required = false) @Nullable Long since,
+                                  @RequestParam(required = false) @Nullable Integer limit) {
+        return syncProvider.getChanges(userId, since, limit != null ? limit : properties.getPageSize());
+    }
+
+}
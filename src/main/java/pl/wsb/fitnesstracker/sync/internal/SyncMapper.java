@@ -0,0 +1,25 @@
+package pl.wsb.fitnesstracker.sync.internal;
+
+import org.springframework.stereotype.Component;
+import pl.wsb.fitnesstracker.workoutsession.WorkoutSession;
+import pl.wsb.fitnesstracker.workoutsession.WorkoutSessionDto;
+
+/**
+ * Mapper class for converting the synced entities, which have no mapper of their own, to DTOs, the same ones the
+ * other endpoints return. Users, trainings, events and health metrics are mapped by the mappers of their modules.
+ */
+@Component
+class SyncMapper {
+
+    WorkoutSessionDto toDto(WorkoutSession session) {
+        return new WorkoutSessionDto(session.getId(),
+                session.getTraining().getId(),
+                session.getTimestamp(),
+                session.getStartLatitude(),
+                session.getStartLongitude(),
+                session.getEndLatitude(),
+                session.getEndLongitude(),
+                session.getAltitude());
+    }
+
+}
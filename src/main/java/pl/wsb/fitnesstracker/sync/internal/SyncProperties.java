@@ -0,0 +1,30 @@
+package pl.wsb.fitnesstracker.sync.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the delta sync.
+ */
+@ConfigurationProperties(prefix = "sync")
+@Getter
+class SyncProperties {
+
+    /**
+     * Number of changes read for a page when the client does not ask for a number.
+     */
+    private final int pageSize;
+
+    /**
+     * Highest number of changes read for a page, bounding the entities loaded for a single request.
+     */
+    private final int maxPageSize;
+
+    SyncProperties(@DefaultValue("500") int pageSize,
+                   @DefaultValue("1000") int maxPageSize) {
+        this.pageSize = pageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+}
@@ -0,0 +1,143 @@
+package pl.wsb.fitnesstracker.sync.internal;
+
+import jakarta.annotation.Nullable;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.wsb.fitnesstracker.database.api.ChangeLog;
+import pl.wsb.fitnesstracker.database.api.ChangeLogEntry;
+import pl.wsb.fitnesstracker.database.api.ChangeOperation;
+import pl.wsb.fitnesstracker.database.api.OwnedEntity;
+import pl.wsb.fitnesstracker.event.UserEvent;
+import pl.wsb.fitnesstracker.event.api.UserEventMapper;
+import pl.wsb.fitnesstracker.healthmetrics.HealthMetrics;
+import pl.wsb.fitnesstracker.healthmetrics.HealthMetricsMapper;
+import pl.wsb.fitnesstracker.sync.api.ChangeDto;
+import pl.wsb.fitnesstracker.sync.api.SyncPageDto;
+import pl.wsb.fitnesstracker.sync.api.SyncProvider;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.api.TrainingProvider;
+import pl.wsb.fitnesstracker.user.api.User;
+import pl.wsb.fitnesstracker.user.api.UserProvider;
+import pl.wsb.fitnesstracker.workoutsession.WorkoutSession;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Service reading the changes of the user from the {@link ChangeLog} and attaching the current state of the changed
+ * entities, loaded with a single query per entity type.
+ */
+@Service
+@RequiredArgsConstructor
+class SyncServiceImpl implements SyncProvider {
+
+    private final ChangeLog changeLog;
+
+    private final SyncMapper syncMapper;
+
+    private final UserProvider userProvider;
+
+    private final TrainingProvider trainingProvider;
+
+    private final UserEventMapper userEventMapper;
+
+    private final HealthMetricsMapper healthMetricsMapper;
+
+    private final SyncProperties properties;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public SyncPageDto getChanges(final Long userId, @Nullable final Long since, final int limit) {
+        if (since == null) {
+            return new SyncPageDto(List.of(), changeLog.getLastSequence(userId), false);
+        }
+        int pageSize = Math.max(1, Math.min(limit, properties.getMaxPageSize()));
+        long after = Math.max(since, 0);
+        List<ChangeLogEntry> entries = changeLog.findChanges(userId, after, pageSize + 1);
+        boolean hasMore = entries.size() > pageSize;
+        if (hasMore) {
+            entries = entries.subList(0, pageSize);
+        }
+        long nextSince = entries.isEmpty() ? after : entries.get(entries.size() - 1).sequence();
+        return new SyncPageDto(toDtos(latestChanges(entries)), nextSince, hasMore);
+    }
+
+    /**
+     * Keeps only the latest change of every entity, in the order of the latest changes.
+     */
+    private static Collection<ChangeLogEntry> latestChanges(List<ChangeLogEntry> entries) {
+        Map<String, ChangeLogEntry> latest = new LinkedHashMap<>();
+        for (ChangeLogEntry entry : entries) {
+            String key = entry.entityType() + ':' + entry.entityId();
+            latest.remove(key);
+            latest.put(key, entry);
+        }
+        return latest.values();
+    }
+
+    private List<ChangeDto> toDtos(Collection<ChangeLogEntry> entries) {
+        Map<String, List<Long>> upsertedIds = new HashMap<>();
+        for (ChangeLogEntry entry : entries) {
+            if (entry.operation() == ChangeOperation.UPSERT) {
+                upsertedIds.computeIfAbsent(entry.entityType(), type -> new ArrayList<>()).add(entry.entityId());
+            }
+        }
+        Map<String, Map<Long, Object>> states = new HashMap<>();
+        upsertedIds.forEach((type, ids) -> states.put(type, load(type, ids)));
+
+        List<ChangeDto> changes = new ArrayList<>(entries.size());
+        for (ChangeLogEntry entry : entries) {
+            Object data = null;
+            if (entry.operation() == ChangeOperation.UPSERT) {
+                data = states.get(entry.entityType()).get(entry.entityId());
+                if (data == null) {
+                    // deleted by a later change, reported in its place, or moved out of reach in bulk
+                    continue;
+                }
+            }
+            changes.add(new ChangeDto(entry.sequence(), entry.entityType(), entry.entityId(), entry.operation(),
+                    entry.changedAt(), data));
+        }
+        return changes;
+    }
+
+    /**
+     * Loads the current state of the entities of the given type, mapped to DTOs by ID.
+     */
+    private Map<Long, Object> load(String entityType, List<Long> ids) {
+        return switch (entityType) {
+            case "User" -> load(User.class, "SELECT u FROM User u WHERE u.id IN :ids", ids, userProvider::toDto);
+            case "Training" -> load(Training.class, "SELECT t FROM Training t WHERE t.id IN :ids", ids,
+                    trainingProvider::toDto);
+            case "WorkoutSession" -> load(WorkoutSession.class,
+                    "SELECT ws FROM WorkoutSession ws WHERE ws.id IN :ids", ids, syncMapper::toDto);
+            case "HealthMetrics" -> load(HealthMetrics.class,
+                    "SELECT hm FROM HealthMetrics hm WHERE hm.id IN :ids", ids, healthMetricsMapper::toDto);
+            case "UserEvent" -> load(UserEvent.class,
+                    "SELECT ue FROM UserEvent ue JOIN FETCH ue.event WHERE ue.id IN :ids", ids, userEventMapper::toDto);
+            default -> Map.of();
+        };
+    }
+
+    private <E extends OwnedEntity> Map<Long, Object> load(Class<E> type, String query, List<Long> ids,
+                                                           Function<E, Object> mapper) {
+        return entityManager.createQuery(query, type)
+                .setParameter("ids", ids)
+                .getResultList()
+                .stream()
+                .collect(Collectors.toMap(OwnedEntity::getId, mapper));
+    }
+
+}
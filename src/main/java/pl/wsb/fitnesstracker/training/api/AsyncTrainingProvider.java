@@ -0,0 +1,78 @@
+package pl.wsb.fitnesstracker.training.api;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the {@link TrainingProvider}.
+ * The queries run on the application task executor and the returned futures complete once the result is loaded.
+ */
+public interface AsyncTrainingProvider {
+
+    /**
+     * Retrieves a training based on its ID.
+     *
+     * @param trainingId id of the training to be searched
+     * @return future completed with the located training, or {@link Optional#empty()} if not found
+     * @see TrainingProvider#getTraining(Long)
+     */
+    CompletableFuture<Optional<Training>> getTraining(Long trainingId);
+
+    /**
+     * Retrieves a training based on its ID, optionally also looking it up among the archived trainings.
+     *
+     * @param trainingId      id of the training to be searched
+     * @param includeArchived whether to also search the archived trainings of inactive users
+     * @return future completed with the located training, or {@link Optional#empty()} if not found
+     * @see TrainingProvider#getTraining(Long, boolean)
+     */
+    CompletableFuture<Optional<Training>> getTraining(Long trainingId, boolean includeArchived);
+
+    /**
+     * Retrieves trainings started between the given times.
+     *
+     * @param from inclusive lower bound of the start time
+     * @param to   exclusive upper bound of the start time
+     * @return future completed with trainings ordered by start time
+     * @see TrainingProvider#findTrainingsStartedBetween(LocalDateTime, LocalDateTime)
+     */
+    CompletableFuture<List<Training>> findTrainingsStartedBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Retrieves trainings of the given user started between the given times.
+     *
+     * @param userId ID of the user owning the trainings
+     * @param from   inclusive lower bound of the start time
+     * @param to     exclusive upper bound of the start time
+     * @return future completed with trainings ordered by start time
+     * @see TrainingProvider#findUserTrainingsStartedBetween(Long, LocalDateTime, LocalDateTime)
+     */
+    CompletableFuture<List<Training>> findUserTrainingsStartedBetween(Long userId, LocalDateTime from,
+                                                                      LocalDateTime to);
+
+    /**
+     * Retrieves trainings of the given user started between the given times, optionally including the archived
+     * trainings.
+     *
+     * @param userId          ID of the user owning the trainings
+     * @param from            inclusive lower bound of the start time
+     * @param to              exclusive upper bound of the start time
+     * @param includeArchived whether to also return the archived trainings of inactive users
+     * @return future completed with trainings ordered by start time
+     * @see TrainingProvider#findUserTrainingsStartedBetween(Long, LocalDateTime, LocalDateTime, boolean)
+     */
+    CompletableFuture<List<Training>> findUserTrainingsStartedBetween(Long userId, LocalDateTime from,
+                                                                      LocalDateTime to, boolean includeArchived);
+
+    /**
+     * Retrieves trainings which finished after the given time.
+     *
+     * @param time the time to compare against (exclusive)
+     * @return future completed with trainings ordered by end time
+     * @see TrainingProvider#findTrainingsFinishedAfter(LocalDateTime)
+     */
+    CompletableFuture<List<Training>> findTrainingsFinishedAfter(LocalDateTime time);
+
+}
@@ -0,0 +1,15 @@
+package pl.wsb.fitnesstracker.training.api;
+
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.time.LocalDate;
+
+/**
+ * Number of the users born on a date who practise an activity type, i.e. have at least one training of the type.
+ *
+ * @param birthdate    birthdate of the users
+ * @param activityType the practised activity type
+ * @param users        number of the users
+ */
+public record BirthdateActivityCount(LocalDate birthdate, ActivityType activityType, long users) {
+}
@@ -0,0 +1,14 @@
+package pl.wsb.fitnesstracker.training.api;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Trainings together with the state of the training collection they were read at.
+ *
+ * @param eTag         entity tag of the training collection, without quotes
+ * @param lastModified time of the last change of the training collection
+ * @param trainings    the trainings
+ */
+public record TaggedTrainings(String eTag, Instant lastModified, List<Training> trainings) {
+}
@@ -1,21 +1,30 @@
 package pl.wsb.fitnesstracker.training.api;
 
+import jakarta.annotation.Nullable;
 import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+import pl.wsb.fitnesstracker.database.api.ChangeCountingListener;
+import pl.wsb.fitnesstracker.database.api.ChangeLoggingListener;
+import pl.wsb.fitnesstracker.database.api.OwnedEntity;
 import pl.wsb.fitnesstracker.training.internal.ActivityType;
+import pl.wsb.fitnesstracker.training.internal.TrainingOutboxListener;
 import pl.wsb.fitnesstracker.user.api.User;
 
-import java.util.Date;
+import java.time.Instant;
+import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners({ChangeCountingListener.class, ChangeLoggingListener.class, TrainingOutboxListener.class})
 @Table(name = "trainings")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString
-public class Training {
+public class Training implements OwnedEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,10 +35,10 @@ public class Training {
     private User user;
 
     @Column(name = "start_time", nullable = false)
-    private Date startTime;
+    private LocalDateTime startTime;
 
     @Column(name = "end_time", nullable = false)
-    private Date endTime;
+    private LocalDateTime endTime;
 
     @Enumerated(EnumType.ORDINAL)
     @Column(name = "activity_type", nullable = false)
@@ -41,10 +50,22 @@ public class Training {
     @Column(name = "average_speed")
     private double averageSpeed;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    @Nullable
+    private Long version;
+
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at", nullable = false)
+    @Nullable
+    private Instant updatedAt;
+
     public Training(
             final User user,
-            final Date startTime,
-            final Date endTime,
+            final LocalDateTime startTime,
+            final LocalDateTime endTime,
             final ActivityType activityType,
             final double distance,
             final double averageSpeed) {
@@ -56,4 +77,9 @@ public class Training {
         this.averageSpeed = averageSpeed;
     }
 
-}
\ No newline at end of file
+    @Override
+    public Long getOwnerId() {
+        return user.getId();
+    }
+
+}
@@ -0,0 +1,29 @@
+package pl.wsb.fitnesstracker.training.api;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.annotation.Nullable;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object representing a training.
+ *
+ * @param id           The unique identifier of the training
+ * @param userId       The ID of the user owning the training
+ * @param startTime    The time the training started
+ * @param endTime      The time the training finished
+ * @param activityType The type of the activity
+ * @param distance     The distance covered during the training
+ * @param averageSpeed The average speed during the training
+ */
+public record TrainingDto(
+        @Nullable Long id,
+        Long userId,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime startTime,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime endTime,
+        ActivityType activityType,
+        double distance,
+        double averageSpeed
+) {
+}
@@ -1,5 +1,7 @@
 package pl.wsb.fitnesstracker.training.api;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface TrainingProvider {
@@ -13,4 +15,96 @@ public interface TrainingProvider {
      */
     Optional<Training> getTraining(Long trainingId);
 
+    /**
+     * Retrieves a training based on their ID, optionally also looking it up among the archived trainings.
+     * Archived trainings are read-only.
+     *
+     * @param trainingId      id of the training to be searched
+     * @param includeArchived whether to also search the archived trainings of inactive users
+     * @return An {@link Optional} containing the located Training, or {@link Optional#empty()} if not found
+     */
+    Optional<Training> getTraining(Long trainingId, boolean includeArchived);
+
+    /**
+     * Retrieves trainings started between the given times.
+     *
+     * @param from inclusive lower bound of the start time
+     * @param to   exclusive upper bound of the start time
+     * @return list of trainings ordered by start time
+     */
+    List<Training> findTrainingsStartedBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Retrieves trainings of the given user started between the given times.
+     *
+     * @param userId ID of the user owning the trainings
+     * @param from   inclusive lower bound of the start time
+     * @param to     exclusive upper bound of the start time
+     * @return list of trainings ordered by start time
+     */
+    List<Training> findUserTrainingsStartedBetween(Long userId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Retrieves trainings of the given user started between the given times, optionally including the archived
+     * trainings. Archived trainings are read-only.
+     *
+     * @param userId          ID of the user owning the trainings
+     * @param from            inclusive lower bound of the start time
+     * @param to              exclusive upper bound of the start time
+     * @param includeArchived whether to also return the archived trainings of inactive users
+     * @return list of trainings ordered by start time
+     */
+    List<Training> findUserTrainingsStartedBetween(Long userId, LocalDateTime from, LocalDateTime to,
+                                                   boolean includeArchived);
+
+    /**
+     * Retrieves trainings of the given user started between the given times like
+     * {@link #findUserTrainingsStartedBetween(Long, LocalDateTime, LocalDateTime, boolean)}, tagged with the state of
+     * the training collection read in the same read-only transaction, so from the same database.
+     *
+     * @param userId          ID of the user owning the trainings
+     * @param from            inclusive lower bound of the start time
+     * @param to              exclusive upper bound of the start time
+     * @param includeArchived whether to also return the archived trainings of inactive users
+     * @return list of trainings ordered by start time, with the tag of the training collection
+     */
+    TaggedTrainings findTaggedUserTrainingsStartedBetween(Long userId, LocalDateTime from, LocalDateTime to,
+                                                          boolean includeArchived);
+
+    /**
+     * Retrieves trainings which finished after the given time.
+     *
+     * @param time the time to compare against (exclusive)
+     * @return list of trainings ordered by end time
+     */
+    List<Training> findTrainingsFinishedAfter(LocalDateTime time);
+
+    /**
+     * Retrieves a page of the user's trainings with IDs greater than the given one (keyset pagination).
+     *
+     * @param userId  ID of the user owning the trainings
+     * @param afterId ID of the last training of the previous page ({@code 0} for the first page)
+     * @param limit   maximum number of trainings to return
+     * @return list of trainings ordered by ID
+     */
+    List<Training> findUserTrainingsAfter(Long userId, Long afterId, int limit);
+
+    /**
+     * Retrieves the most recently started trainings of the given user.
+     *
+     * @param userId ID of the user owning the trainings
+     * @param limit  maximum number of trainings to return
+     * @return list of trainings ordered by start time, the latest first
+     */
+    List<Training> findRecentUserTrainings(Long userId, int limit);
+
+    /**
+     * Maps a training to the DTO the training endpoints return, so the modules returning trainings as a part of
+     * their own responses map them the same way.
+     *
+     * @param training the training to map
+     * @return TrainingDto containing all training information
+     */
+    TrainingDto toDto(Training training);
+
 }
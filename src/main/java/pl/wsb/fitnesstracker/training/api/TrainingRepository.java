@@ -1,6 +1,90 @@
 package pl.wsb.fitnesstracker.training.api;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface TrainingRepository extends JpaRepository<Training, Long> {
+
+    /**
+     * Retrieves the trainings of the given user which were stored after the given ID watermark, in chronological order.
+     * Passing {@code 0} as the watermark returns the user's full history.
+     *
+     * @param userId      ID of the user owning the trainings
+     * @param idWatermark highest training ID that has already been processed
+     * @return trainings ordered by start time (and ID for trainings started at the same time)
+     */
+    List<Training> findByUserIdAndIdGreaterThanOrderByStartTimeAscIdAsc(Long userId, Long idWatermark);
+
+    /**
+     * Retrieves trainings started within the given half-open range {@code [from, to)}.
+     * The range predicate is served by the {@code start_time} index and, as it compares the partition key with
+     * plain parameters, limits the scan to the monthly partitions of the range on PostgreSQL.
+     *
+     * @param from inclusive lower bound of the start time
+     * @param to   exclusive upper bound of the start time
+     * @return trainings ordered by start time
+     */
+    List<Training> findByStartTimeGreaterThanEqualAndStartTimeLessThanOrderByStartTime(LocalDateTime from,
+                                                                                      LocalDateTime to);
+
+    /**
+     * Retrieves trainings of the given user started within the given half-open range {@code [from, to)}.
+     * The predicate is served by the {@code (user_id, start_time)} index and limits the scan to the monthly
+     * partitions of the range on PostgreSQL.
+     *
+     * @param userId ID of the user owning the trainings
+     * @param from   inclusive lower bound of the start time
+     * @param to     exclusive upper bound of the start time
+     * @return trainings ordered by start time
+     */
+    List<Training> findByUserIdAndStartTimeGreaterThanEqualAndStartTimeLessThanOrderByStartTime(Long userId,
+                                                                                               LocalDateTime from,
+                                                                                               LocalDateTime to);
+
+    /**
+     * Retrieves trainings which finished after the given time.
+     * The predicate is served by the {@code end_time} index; as the end time is not the partition key, the index
+     * of every partition is searched.
+     *
+     * @param time the time to compare against (exclusive)
+     * @return trainings ordered by end time
+     */
+    List<Training> findByEndTimeAfterOrderByEndTime(LocalDateTime time);
+
+    /**
+     * Retrieves trainings of the given user with IDs greater than the given one, ordered by ID.
+     *
+     * @param userId ID of the user owning the trainings
+     * @param id     the ID to compare against (exclusive)
+     * @param limit  maximum number of trainings to return
+     * @return trainings ordered by ID
+     */
+    List<Training> findByUserIdAndIdGreaterThanOrderById(Long userId, Long id, Limit limit);
+
+    /**
+     * Retrieves the most recently started trainings of the given user.
+     * The query is served by the {@code (user_id, start_time)} index.
+     *
+     * @param userId ID of the user owning the trainings
+     * @param limit  maximum number of trainings to return
+     * @return trainings ordered by start time, the latest first
+     */
+    List<Training> findByUserIdOrderByStartTimeDesc(Long userId, Limit limit);
+
+    /**
+     * Counts the users practising each activity type by their birthdate, for cohort analytics. The users are
+     * aggregated by the database, so the result grows with the number of distinct birthdates, not of users.
+     *
+     * @return one entry per birthdate and activity type of the users having trainings of the type
+     */
+    @Query("SELECT new pl.wsb.fitnesstracker.training.api.BirthdateActivityCount("
+            + "u.birthdate, t.activityType, COUNT(DISTINCT u.id)) "
+            + "FROM Training t JOIN t.user u "
+            + "GROUP BY u.birthdate, t.activityType")
+    List<BirthdateActivityCount> countUsersByBirthdateAndActivityType();
+
 }
@@ -2,23 +2,36 @@ package pl.wsb.fitnesstracker.training.internal;
 
 /**
  * Enumeration representing different types of physical activities.
+ * Each activity carries its metabolic equivalent (MET), used to estimate the calories burned during a training.
  */
 public enum ActivityType {
 
-    RUNNING("Running"),
-    CYCLING("Cycling"),
-    WALKING("Walking"),
-    SWIMMING("Swimming"),
-    TENNIS("Tenis");
+    RUNNING("Running", 9.8),
+    CYCLING("Cycling", 7.5),
+    WALKING("Walking", 3.5),
+    SWIMMING("Swimming", 6.0),
+    TENNIS("Tenis", 7.3);
 
     private final String displayName;
 
-    ActivityType(String displayName) {
+    private final double metabolicEquivalent;
+
+    ActivityType(String displayName, double metabolicEquivalent) {
         this.displayName = displayName;
+        this.metabolicEquivalent = metabolicEquivalent;
     }
 
     public String getDisplayName() {
         return displayName;
     }
 
+    /**
+     * Returns the metabolic equivalent of the activity, i.e. kilocalories burned per kilogram of body weight per hour.
+     *
+     * @return MET value of the activity
+     */
+    public double getMetabolicEquivalent() {
+        return metabolicEquivalent;
+    }
+
 }
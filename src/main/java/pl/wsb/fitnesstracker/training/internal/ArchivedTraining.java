@@ -0,0 +1,55 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Training moved out of the {@code trainings} table by the {@link TrainingArchiver}. The columns mirror the
+ * training ones, so archived rows are read back as {@link pl.wsb.fitnesstracker.training.api.Training}s, and the
+ * training keeps its ID.
+ */
+@Entity
+@Table(name = "trainings_archive")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+class ArchivedTraining {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "start_time", nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(name = "end_time", nullable = false)
+    private LocalDateTime endTime;
+
+    @Enumerated(EnumType.ORDINAL)
+    @Column(name = "activity_type", nullable = false)
+    private ActivityType activityType;
+
+    @Column(name = "distance")
+    private double distance;
+
+    @Column(name = "average_speed")
+    private double averageSpeed;
+
+    @Column(name = "version", nullable = false)
+    private long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private Instant archivedAt;
+
+}
@@ -0,0 +1,45 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Workout session of an {@link ArchivedTraining}, moved out of the {@code workout_session} table together with
+ * its training.
+ */
+@Entity
+@Table(name = "workout_session_archive")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+class ArchivedWorkoutSession {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "training_id", nullable = false)
+    private ArchivedTraining training;
+
+    @Column(name = "timestamp", nullable = false)
+    private LocalDateTime timestamp;
+
+    @Column(name = "start_latitude", nullable = false)
+    private double startLatitude;
+
+    @Column(name = "start_longitude", nullable = false)
+    private double startLongitude;
+
+    @Column(name = "end_latitude")
+    private Double endLatitude;
+
+    @Column(name = "end_longitude")
+    private Double endLongitude;
+
+    @Column(name = "altitude")
+    private Double altitude;
+
+}
@@ -0,0 +1,115 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pl.wsb.fitnesstracker.async.api.AsyncQueryExecutor;
+import pl.wsb.fitnesstracker.database.api.ChangeCounter;
+import pl.wsb.fitnesstracker.training.api.AsyncTrainingProvider;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.api.TrainingDto;
+import pl.wsb.fitnesstracker.training.api.TrainingNotFoundException;
+import pl.wsb.fitnesstracker.training.api.TrainingProvider;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST controller serving the training queries asynchronously, without blocking the request threads
+ * while the queries run or while slow clients download large results.
+ * All endpoints are prefixed with /v1/async/trainings.
+ * Single trainings are tagged with their version and training collections with the {@link ChangeCounter}, so
+ * conditional requests of unchanged resources are answered with 304 Not Modified.
+ * Training lists are written by the {@link TrainingRowsMessageConverter}, without mapping them to DTOs.
+ */
+@RestController
+@RequestMapping("/v1/async/trainings")
+@RequiredArgsConstructor
+class AsyncTrainingController {
+
+    private final AsyncTrainingProvider asyncTrainingProvider;
+
+    private final TrainingProvider trainingProvider;
+
+    private final AsyncQueryExecutor asyncQueryExecutor;
+
+    private final TrainingMapper trainingMapper;
+
+    /**
+     * Retrieves a training by ID.
+     *
+     * @param id              the ID of the training to retrieve
+     * @param includeArchived whether to also search the archived trainings of inactive users
+     * @return future completed with TrainingDto containing training details, tagged with the version of the training
+     * @throws TrainingNotFoundException if training with given ID is not found
+     */
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<TrainingDto>> getTrainingById(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return asyncTrainingProvider.getTraining(id, includeArchived)
+                .thenApply(training -> training
+                        .map(this::toTaggedResponse)
+                        .orElseThrow(() -> new TrainingNotFoundException(id)));
+    }
+
+    /**
+     * Retrieves trainings of the user started within the given half-open range {@code [from, to)}.
+     * The trainings are tagged with the state of the training collection read in the same transaction, and
+     * conditional requests are answered with 304 Not Modified once the query completes.
+     *
+     * @param userId          the ID of the user owning the trainings
+     * @param from            inclusive lower bound of the start time
+     * @param to              exclusive upper bound of the start time
+     * @param includeArchived whether to also return the archived trainings of inactive users
+     * @return future completed with the trainings written as a list of TrainingDto ordered by start time
+     */
+    @GetMapping("/user/{userId}")
+    public CompletableFuture<ResponseEntity<TrainingRows>> getUserTrainings(
+            @PathVariable Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return asyncQueryExecutor.submit(() ->
+                        trainingProvider.findTaggedUserTrainingsStartedBetween(userId, from, to, includeArchived))
+                .thenApply(tagged -> ResponseEntity.ok()
+                        .eTag(tagged.eTag())
+                        .lastModified(tagged.lastModified())
+                        .body(new TrainingRows(tagged.trainings())));
+    }
+
+    /**
+     * Streams the full training history of the user as server-sent {@code training} events, ordered by ID.
+     * An interrupted stream can be resumed by passing the ID of the last received event.
+     *
+     * @param userId      the ID of the user owning the trainings
+     * @param lastEventId ID of the last training received before the stream was interrupted
+     * @return emitter of the events
+     */
+    @GetMapping(path = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUserTrainings(
+            @PathVariable Long userId,
+            @RequestHeader(name = "Last-Event-ID", required = false) @Nullable Long lastEventId) {
+        return asyncQueryExecutor.stream("training",
+                lastEventId != null ? lastEventId : 0L,
+                (afterId, limit) -> trainingProvider.findUserTrainingsAfter(userId, afterId, limit)
+                        .stream()
+                        .map(trainingMapper::toDto)
+                        .toList(),
+                TrainingDto::id);
+    }
+
+    private ResponseEntity<TrainingDto> toTaggedResponse(Training training) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(String.valueOf(training.getVersion()));
+        if (training.getUpdatedAt() != null) {
+            response.lastModified(training.getUpdatedAt());
+        }
+        return response.body(trainingMapper.toDto(training));
+    }
+
+}
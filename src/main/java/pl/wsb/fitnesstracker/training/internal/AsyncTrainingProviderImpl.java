@@ -0,0 +1,64 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import pl.wsb.fitnesstracker.async.api.AsyncQueryExecutor;
+import pl.wsb.fitnesstracker.training.api.AsyncTrainingProvider;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.api.TrainingProvider;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementation of the {@link AsyncTrainingProvider} running the {@link TrainingProvider} queries on the
+ * {@link AsyncQueryExecutor}.
+ */
+@Service
+@RequiredArgsConstructor
+class AsyncTrainingProviderImpl implements AsyncTrainingProvider {
+
+    private final TrainingProvider trainingProvider;
+
+    private final AsyncQueryExecutor asyncQueryExecutor;
+
+    @Override
+    public CompletableFuture<Optional<Training>> getTraining(final Long trainingId) {
+        return asyncQueryExecutor.submit(() -> trainingProvider.getTraining(trainingId));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Training>> getTraining(final Long trainingId, final boolean includeArchived) {
+        return asyncQueryExecutor.submit(() -> trainingProvider.getTraining(trainingId, includeArchived));
+    }
+
+    @Override
+    public CompletableFuture<List<Training>> findTrainingsStartedBetween(final LocalDateTime from,
+                                                                         final LocalDateTime to) {
+        return asyncQueryExecutor.submit(() -> trainingProvider.findTrainingsStartedBetween(from, to));
+    }
+
+    @Override
+    public CompletableFuture<List<Training>> findUserTrainingsStartedBetween(final Long userId,
+                                                                             final LocalDateTime from,
+                                                                             final LocalDateTime to) {
+        return asyncQueryExecutor.submit(() -> trainingProvider.findUserTrainingsStartedBetween(userId, from, to));
+    }
+
+    @Override
+    public CompletableFuture<List<Training>> findUserTrainingsStartedBetween(final Long userId,
+                                                                             final LocalDateTime from,
+                                                                             final LocalDateTime to,
+                                                                             final boolean includeArchived) {
+        return asyncQueryExecutor.submit(() ->
+                trainingProvider.findUserTrainingsStartedBetween(userId, from, to, includeArchived));
+    }
+
+    @Override
+    public CompletableFuture<List<Training>> findTrainingsFinishedAfter(final LocalDateTime time) {
+        return asyncQueryExecutor.submit(() -> trainingProvider.findTrainingsFinishedAfter(time));
+    }
+
+}
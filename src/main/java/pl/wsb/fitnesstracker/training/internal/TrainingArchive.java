@@ -0,0 +1,112 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pl.wsb.fitnesstracker.training.api.Training;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Access to the archive tables of trainings and workout sessions.
+ * Archived rows are read as read-only {@link Training}s, as the archive tables mirror the training columns.
+ */
+@Repository
+class TrainingArchive {
+
+    private static final String TRAINING_COLUMNS =
+            "id, user_id, start_time, end_time, activity_type, distance, average_speed, version, updated_at";
+
+    private static final String SESSION_COLUMNS =
+            "id, training_id, timestamp, start_latitude, start_longitude, end_latitude, end_longitude, altitude";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Retrieves IDs of trainings which started before the cutoff, of users who have not started any training since.
+     * The user check is served by the {@code (user_id, start_time)} index.
+     *
+     * @param cutoff start time before which the trainings are cold
+     * @param limit  maximum number of IDs to return
+     * @return IDs of the cold trainings in ascending order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    List<Long> findColdTrainingIds(LocalDateTime cutoff, int limit) {
+        return entityManager.createQuery("SELECT t.id FROM Training t WHERE t.startTime < :cutoff AND NOT EXISTS "
+                        + "(SELECT r.id FROM Training r WHERE r.user = t.user AND r.startTime >= :cutoff) "
+                        + "ORDER BY t.id", Long.class)
+                .setParameter("cutoff", cutoff)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Moves the trainings and their workout sessions to the archive tables, keeping their IDs.
+     *
+     * @param trainingIds IDs of the trainings to move
+     * @param archivedAt  time of the archival
+     * @return number of moved trainings
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    int moveToArchive(List<Long> trainingIds, Instant archivedAt) {
+        entityManager.createNativeQuery("INSERT INTO trainings_archive (" + TRAINING_COLUMNS + ", archived_at) "
+                        + "SELECT " + TRAINING_COLUMNS + ", :archivedAt FROM trainings WHERE id IN (:ids)")
+                .setParameter("archivedAt", archivedAt)
+                .setParameter("ids", trainingIds)
+                .executeUpdate();
+        entityManager.createNativeQuery("INSERT INTO workout_session_archive (" + SESSION_COLUMNS + ") "
+                        + "SELECT " + SESSION_COLUMNS + " FROM workout_session WHERE training_id IN (:ids)")
+                .setParameter("ids", trainingIds)
+                .executeUpdate();
+        entityManager.createNativeQuery("DELETE FROM workout_session WHERE training_id IN (:ids)")
+                .setParameter("ids", trainingIds)
+                .executeUpdate();
+        return entityManager.createNativeQuery("DELETE FROM trainings WHERE id IN (:ids)")
+                .setParameter("ids", trainingIds)
+                .executeUpdate();
+    }
+
+    /**
+     * Retrieves an archived training by its ID.
+     *
+     * @param trainingId ID of the training
+     * @return An {@link Optional} containing the archived training, or {@link Optional#empty()} if not archived
+     */
+    @Transactional(readOnly = true)
+    Optional<Training> findTraining(Long trainingId) {
+        return entityManager.createNativeQuery("SELECT " + TRAINING_COLUMNS
+                        + " FROM trainings_archive WHERE id = :id", Training.class)
+                .setParameter("id", trainingId)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+                .findFirst();
+    }
+
+    /**
+     * Retrieves archived trainings of the given user started within the given half-open range {@code [from, to)}.
+     *
+     * @param userId ID of the user owning the trainings
+     * @param from   inclusive lower bound of the start time
+     * @param to     exclusive upper bound of the start time
+     * @return archived trainings ordered by start time
+     */
+    @Transactional(readOnly = true)
+    List<Training> findUserTrainingsStartedBetween(Long userId, LocalDateTime from, LocalDateTime to) {
+        return entityManager.createNativeQuery("SELECT " + TRAINING_COLUMNS + " FROM trainings_archive "
+                        + "WHERE user_id = :userId AND start_time >= :from AND start_time < :to "
+                        + "ORDER BY start_time", Training.class)
+                .setParameter("userId", userId)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+}
@@ -0,0 +1,33 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link TrainingArchiver}. The schedule of the archival is set with the
+ * {@code training.archive.cron} expression, {@code -} disables it.
+ */
+@ConfigurationProperties(prefix = "training.archive")
+@Getter
+class TrainingArchiveProperties {
+
+    /**
+     * Time since the latest training of a user after which all of its trainings are archived.
+     */
+    private final Duration inactivity;
+
+    /**
+     * Maximum number of trainings moved in one transaction.
+     */
+    private final int batchSize;
+
+    TrainingArchiveProperties(@DefaultValue("365d") Duration inactivity,
+                              @DefaultValue("1000") int batchSize) {
+        this.inactivity = inactivity;
+        this.batchSize = batchSize;
+    }
+
+}
@@ -0,0 +1,70 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.wsb.fitnesstracker.database.api.ChangeCounter;
+import pl.wsb.fitnesstracker.training.api.Training;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves the trainings of inactive users, together with their workout sessions, to the archive tables, so the
+ * indexes used by the queries of active users stay small. A user is inactive when none of its trainings started
+ * within {@code training.archive.inactivity}. The archived trainings are only returned by the
+ * {@link pl.wsb.fitnesstracker.training.api.TrainingProvider} queries explicitly including them. Archiving does not
+ * change a training, so nothing is appended to the outbox for the moved rows.
+ */
+@Component
+@Slf4j
+class TrainingArchiver {
+
+    private final TrainingArchive trainingArchive;
+
+    private final TrainingArchiveProperties properties;
+
+    private final ChangeCounter changeCounter;
+
+    private final TransactionTemplate transaction;
+
+    TrainingArchiver(TrainingArchive trainingArchive,
+                     TrainingArchiveProperties properties,
+                     ChangeCounter changeCounter,
+                     PlatformTransactionManager transactionManager) {
+        this.trainingArchive = trainingArchive;
+        this.properties = properties;
+        this.changeCounter = changeCounter;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Archives the trainings of inactive users in batches of {@code training.archive.batch-size} trainings, each
+     * batch in a transaction of its own.
+     *
+     * @return number of archived trainings
+     */
+    @Scheduled(cron = "${training.archive.cron:0 30 3 * * *}")
+    int archiveInactiveUsersTrainings() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getInactivity());
+        int archived = 0;
+        int batch;
+        do {
+            batch = transaction.execute(status -> {
+                List<Long> trainingIds = trainingArchive.findColdTrainingIds(cutoff, properties.getBatchSize());
+                return trainingIds.isEmpty() ? 0 : trainingArchive.moveToArchive(trainingIds, Instant.now());
+            });
+            archived += batch;
+        } while (batch == properties.getBatchSize());
+        if (archived > 0) {
+            // moved with native statements, bypassing the entity listeners
+            changeCounter.recordChange(Training.class);
+        }
+        log.info("Archived {} trainings started before {}", archived, cutoff);
+        return archived;
+    }
+
+}
@@ -0,0 +1,29 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import org.springframework.stereotype.Component;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.api.TrainingDto;
+
+/**
+ * Mapper class for converting Training entities to DTOs.
+ */
+@Component
+class TrainingMapper {
+
+    /**
+     * Converts a Training entity to a TrainingDto.
+     *
+     * @param training the training entity to convert
+     * @return TrainingDto containing all training information
+     */
+    TrainingDto toDto(Training training) {
+        return new TrainingDto(training.getId(),
+                training.getUser().getId(),
+                training.getStartTime(),
+                training.getEndTime(),
+                training.getActivityType(),
+                training.getDistance(),
+                training.getAverageSpeed());
+    }
+
+}
@@ -0,0 +1,47 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import pl.wsb.fitnesstracker.outbox.api.Outbox;
+import pl.wsb.fitnesstracker.outbox.api.OutboxMessageType;
+import pl.wsb.fitnesstracker.training.api.Training;
+
+/**
+ * JPA entity listener appending the changes of the trainings to the {@link Outbox}, in the transaction writing them.
+ * Declared after the {@link pl.wsb.fitnesstracker.database.api.ChangeLoggingListener}, so the change is already
+ * recorded in the change log and the messages of a user stay in order.
+ */
+public class TrainingOutboxListener {
+
+    private final ObjectProvider<Outbox> outbox;
+
+    private final ObjectProvider<TrainingMapper> trainingMapper;
+
+    TrainingOutboxListener(ObjectProvider<Outbox> outbox, ObjectProvider<TrainingMapper> trainingMapper) {
+        this.outbox = outbox;
+        this.trainingMapper = trainingMapper;
+    }
+
+    @PostPersist
+    void onCreate(Training training) {
+        append(training, OutboxMessageType.TRAINING_CREATED, true);
+    }
+
+    @PostUpdate
+    void onUpdate(Training training) {
+        append(training, OutboxMessageType.TRAINING_UPDATED, true);
+    }
+
+    @PostRemove
+    void onDelete(Training training) {
+        append(training, OutboxMessageType.TRAINING_DELETED, false);
+    }
+
+    private void append(Training training, OutboxMessageType type, boolean withPayload) {
+        outbox.ifAvailable(messages -> messages.append(training.getOwnerId(), type, training.getId(),
+                withPayload ? trainingMapper.getObject().toDto(training) : null));
+    }
+
+}
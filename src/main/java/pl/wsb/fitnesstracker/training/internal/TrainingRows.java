@@ -0,0 +1,15 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import pl.wsb.fitnesstracker.training.api.Training;
+
+import java.util.List;
+
+/**
+ * Trainings returned by a training list endpoint, written to the response by the
+ * {@link TrainingRowsMessageConverter} as a list of {@link pl.wsb.fitnesstracker.training.api.TrainingDto}s,
+ * without creating the DTOs.
+ *
+ * @param trainings the trainings, in the order of the response
+ */
+record TrainingRows(List<Training> trainings) {
+}
@@ -0,0 +1,70 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.Nullable;
+import org.springframework.stereotype.Component;
+import pl.wsb.fitnesstracker.serialization.api.StreamingMessageConverter;
+import pl.wsb.fitnesstracker.training.api.Training;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link TrainingRows} as a JSON array of {@link pl.wsb.fitnesstracker.training.api.TrainingDto}s, the same
+ * as mapping the trainings with the {@link TrainingMapper} and serializing the DTOs.
+ */
+@Component
+class TrainingRowsMessageConverter extends StreamingMessageConverter<TrainingRows> {
+
+    private static final SerializedString ID = new SerializedString("id");
+
+    private static final SerializedString USER_ID = new SerializedString("userId");
+
+    private static final SerializedString START_TIME = new SerializedString("startTime");
+
+    private static final SerializedString END_TIME = new SerializedString("endTime");
+
+    private static final SerializedString ACTIVITY_TYPE = new SerializedString("activityType");
+
+    private static final SerializedString DISTANCE = new SerializedString("distance");
+
+    private static final SerializedString AVERAGE_SPEED = new SerializedString("averageSpeed");
+
+    TrainingRowsMessageConverter(ObjectMapper objectMapper) {
+        super(TrainingRows.class, objectMapper);
+    }
+
+    @Override
+    protected void write(TrainingRows trainings, JsonGenerator generator, char[] buffer) throws IOException {
+        generator.writeStartArray();
+        for (Training training : trainings.trainings()) {
+            generator.writeStartObject();
+            generator.writeFieldName(ID);
+            writeNullableNumber(generator, training.getId());
+            generator.writeFieldName(USER_ID);
+            writeNullableNumber(generator, training.getUser().getId());
+            generator.writeFieldName(START_TIME);
+            writeDateTime(generator, training.getStartTime(), buffer);
+            generator.writeFieldName(END_TIME);
+            writeDateTime(generator, training.getEndTime(), buffer);
+            generator.writeFieldName(ACTIVITY_TYPE);
+            generator.writeString(training.getActivityType().name());
+            generator.writeFieldName(DISTANCE);
+            generator.writeNumber(training.getDistance());
+            generator.writeFieldName(AVERAGE_SPEED);
+            generator.writeNumber(training.getAverageSpeed());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeNullableNumber(JsonGenerator generator, @Nullable Long number) throws IOException {
+        if (number != null) {
+            generator.writeNumber(number);
+        } else {
+            generator.writeNull();
+        }
+    }
+
+}
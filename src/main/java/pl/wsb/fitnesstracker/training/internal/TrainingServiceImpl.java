@@ -1,17 +1,120 @@
 package pl.wsb.fitnesstracker.training.internal;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import pl.wsb.fitnesstracker.database.api.ChangeCounter;
+import pl.wsb.fitnesstracker.database.api.CollectionVersion;
+import pl.wsb.fitnesstracker.training.api.TaggedTrainings;
 import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.api.TrainingDto;
 import pl.wsb.fitnesstracker.training.api.TrainingProvider;
+import pl.wsb.fitnesstracker.training.api.TrainingRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 
-// TODO: Provide Implementation and correct the return type of the method getTraining
-public class TrainingServiceImpl implements TrainingProvider {
+/**
+ * Service implementation for training queries.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+class TrainingServiceImpl implements TrainingProvider {
+
+    private final TrainingRepository trainingRepository;
+
+    private final TrainingArchive trainingArchive;
+
+    private final ChangeCounter changeCounter;
+
+    private final TrainingMapper trainingMapper;
 
     @Override
     public Optional<Training> getTraining(final Long trainingId) {
-        throw new UnsupportedOperationException("Not finished yet");
+        return trainingRepository.findById(trainingId);
+    }
+
+    @Override
+    public Optional<Training> getTraining(final Long trainingId, final boolean includeArchived) {
+        Optional<Training> training = getTraining(trainingId);
+        if (training.isPresent() || !includeArchived) {
+            return training;
+        }
+        return trainingArchive.findTraining(trainingId);
+    }
+
+    @Override
+    public List<Training> findTrainingsStartedBetween(final LocalDateTime from, final LocalDateTime to) {
+        return trainingRepository.findByStartTimeGreaterThanEqualAndStartTimeLessThanOrderByStartTime(from, to);
+    }
+
+    @Override
+    public List<Training> findUserTrainingsStartedBetween(final Long userId,
+                                                          final LocalDateTime from,
+                                                          final LocalDateTime to) {
+        return trainingRepository.findByUserIdAndStartTimeGreaterThanEqualAndStartTimeLessThanOrderByStartTime(
+                userId, from, to);
+    }
+
+    @Override
+    public List<Training> findUserTrainingsStartedBetween(final Long userId,
+                                                          final LocalDateTime from,
+                                                          final LocalDateTime to,
+                                                          final boolean includeArchived) {
+        List<Training> trainings = findUserTrainingsStartedBetween(userId, from, to);
+        if (!includeArchived) {
+            return trainings;
+        }
+        List<Training> archivedTrainings = trainingArchive.findUserTrainingsStartedBetween(userId, from, to);
+        if (archivedTrainings.isEmpty()) {
+            return trainings;
+        }
+        // the archived trainings are older than the remaining ones of the user, unless the user was inactive
+        // within the range, so the lists are merged rather than concatenated
+        List<Training> allTrainings = new ArrayList<>(archivedTrainings.size() + trainings.size());
+        allTrainings.addAll(archivedTrainings);
+        allTrainings.addAll(trainings);
+        allTrainings.sort(Comparator.comparing(Training::getStartTime));
+        return allTrainings;
+    }
+
+    @Override
+    public TaggedTrainings findTaggedUserTrainingsStartedBetween(final Long userId,
+                                                                 final LocalDateTime from,
+                                                                 final LocalDateTime to,
+                                                                 final boolean includeArchived) {
+        // read before the trainings, so a lagging read replica never tags older trainings with a newer state
+        CollectionVersion version = changeCounter.getVersion(Training.class);
+        return new TaggedTrainings(version.eTag(), version.lastModified(),
+                findUserTrainingsStartedBetween(userId, from, to, includeArchived));
     }
 
+    @Override
+    public List<Training> findTrainingsFinishedAfter(final LocalDateTime time) {
+        return trainingRepository.findByEndTimeAfterOrderByEndTime(time);
+    }
+
+    @Override
+    public List<Training> findUserTrainingsAfter(final Long userId, final Long afterId, final int limit) {
+        return trainingRepository.findByUserIdAndIdGreaterThanOrderById(userId, afterId, Limit.of(limit));
+    }
+
+    @Override
+    public List<Training> findRecentUserTrainings(final Long userId, final int limit) {
+        return trainingRepository.findByUserIdOrderByStartTimeDesc(userId, Limit.of(limit));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public TrainingDto toDto(final Training training) {
+        // a plain mapping, which must not start a transaction for each mapped training
+        return trainingMapper.toDto(training);
+    }
 
 }
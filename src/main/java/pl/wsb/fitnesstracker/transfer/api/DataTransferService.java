@@ -0,0 +1,38 @@
+package pl.wsb.fitnesstracker.transfer.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Interface (API) for bulk export and import of whole datasets.
+ * Implementations stream the data, so memory usage does not depend on the size of the dataset.
+ */
+public interface DataTransferService {
+
+    /**
+     * Writes all records of the dataset to the given stream. The stream is flushed, but not closed.
+     *
+     * @param dataset the dataset to export
+     * @param format  the format of the written records
+     * @param output  the stream to write to
+     * @return number of exported records
+     * @throws IOException if writing to the stream fails
+     */
+    long exportData(TransferDataset dataset, TransferFormat format, OutputStream output) throws IOException;
+
+    /**
+     * Reads records from the given stream and inserts them into the dataset, preserving their IDs.
+     * Records are inserted in chunks, each committed in a transaction of its own - if the import fails, the chunks
+     * before the failed one stay imported.
+     *
+     * @param dataset the dataset to import into
+     * @param format  the format of the read records
+     * @param input   the stream to read from
+     * @return number of imported records
+     * @throws IOException                  if reading from the stream fails
+     * @throws InvalidTransferDataException if the records cannot be parsed or violate database constraints
+     */
+    long importData(TransferDataset dataset, TransferFormat format, InputStream input) throws IOException;
+
+}
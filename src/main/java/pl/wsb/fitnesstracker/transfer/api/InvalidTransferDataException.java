@@ -0,0 +1,15 @@
+package pl.wsb.fitnesstracker.transfer.api;
+
+import pl.wsb.fitnesstracker.exception.api.BusinessException;
+
+/**
+ * Exception indicating that the data (or parameters) of an import or export could not be processed.
+ */
+@SuppressWarnings("squid:S110")
+public class InvalidTransferDataException extends BusinessException {
+
+    public InvalidTransferDataException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,27 @@
+package pl.wsb.fitnesstracker.transfer.api;
+
+import java.util.Arrays;
+
+/**
+ * Datasets which can be exported and imported in bulk.
+ */
+public enum TransferDataset {
+
+    USERS,
+    TRAININGS;
+
+    /**
+     * Resolves the dataset by its case-insensitive name.
+     *
+     * @param name name of the dataset, e.g. {@code users}
+     * @return the matching dataset
+     * @throws InvalidTransferDataException if no dataset has the given name
+     */
+    public static TransferDataset fromName(String name) {
+        return Arrays.stream(values())
+                .filter(dataset -> dataset.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new InvalidTransferDataException("Unknown dataset: " + name));
+    }
+
+}
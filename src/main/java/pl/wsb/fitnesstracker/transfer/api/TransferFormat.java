@@ -0,0 +1,51 @@
+package pl.wsb.fitnesstracker.transfer.api;
+
+import java.util.Arrays;
+
+/**
+ * File formats supported by the bulk export and import.
+ */
+public enum TransferFormat {
+
+    /**
+     * Comma separated values with a header row.
+     */
+    CSV("text/csv", "csv"),
+
+    /**
+     * Newline delimited JSON, one object per record.
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+
+    private final String fileExtension;
+
+    TransferFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    /**
+     * Resolves the format by its case-insensitive name.
+     *
+     * @param name name of the format, e.g. {@code csv}
+     * @return the matching format
+     * @throws InvalidTransferDataException if no format has the given name
+     */
+    public static TransferFormat fromName(String name) {
+        return Arrays.stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new InvalidTransferDataException("Unknown format: " + name));
+    }
+
+}
@@ -0,0 +1,13 @@
+package pl.wsb.fitnesstracker.transfer.api;
+
+/**
+ * Data Transfer Object summarizing a finished bulk import.
+ *
+ * @param dataset The dataset the records were imported into
+ * @param records The number of imported records
+ */
+public record TransferResultDto(
+        TransferDataset dataset,
+        long records
+) {
+}
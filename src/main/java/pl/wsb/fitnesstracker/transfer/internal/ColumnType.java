@@ -0,0 +1,142 @@
+package pl.wsb.fitnesstracker.transfer.internal;
+
+import jakarta.annotation.Nullable;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Types of the transferred columns, converting values between JDBC and their textual file representation.
+ */
+enum ColumnType {
+
+    LONG {
+        @Override
+        Object read(ResultSet resultSet, int index) throws SQLException {
+            return resultSet.getLong(index);
+        }
+
+        @Override
+        Object parse(String text) {
+            return Long.valueOf(text);
+        }
+
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            statement.setObject(index, value, Types.BIGINT);
+        }
+    },
+
+    DOUBLE {
+        @Override
+        Object read(ResultSet resultSet, int index) throws SQLException {
+            return resultSet.getDouble(index);
+        }
+
+        @Override
+        Object parse(String text) {
+            return Double.valueOf(text);
+        }
+
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            statement.setObject(index, value, Types.DOUBLE);
+        }
+    },
+
+    STRING {
+        @Override
+        Object read(ResultSet resultSet, int index) throws SQLException {
+            return resultSet.getString(index);
+        }
+
+        @Override
+        Object parse(String text) {
+            return text;
+        }
+
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            statement.setObject(index, value, Types.VARCHAR);
+        }
+    },
+
+    DATE {
+        @Override
+        Object read(ResultSet resultSet, int index) throws SQLException {
+            return resultSet.getObject(index, LocalDate.class);
+        }
+
+        @Override
+        Object parse(String text) {
+            return LocalDate.parse(text);
+        }
+
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            statement.setObject(index, value, Types.DATE);
+        }
+    },
+
+    DATE_TIME {
+        @Override
+        Object read(ResultSet resultSet, int index) throws SQLException {
+            return resultSet.getObject(index, LocalDateTime.class);
+        }
+
+        @Override
+        Object parse(String text) {
+            return LocalDateTime.parse(text);
+        }
+
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            statement.setObject(index, value, Types.TIMESTAMP);
+        }
+    },
+
+    /**
+     * {@link ActivityType} stored by its ordinal, transferred by its name.
+     */
+    ACTIVITY_TYPE {
+        @Override
+        Object read(ResultSet resultSet, int index) throws SQLException {
+            return ActivityType.values()[resultSet.getInt(index)];
+        }
+
+        @Override
+        Object parse(String text) {
+            return ActivityType.valueOf(text);
+        }
+
+        @Override
+        void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException {
+            statement.setObject(index, value == null ? null : ((ActivityType) value).ordinal(), Types.INTEGER);
+        }
+    };
+
+    /**
+     * Reads the value of the column, returning {@code null} for SQL {@code NULL}.
+     */
+    @Nullable
+    Object readNullable(ResultSet resultSet, int index) throws SQLException {
+        Object value = read(resultSet, index);
+        return resultSet.wasNull() ? null : value;
+    }
+
+    String format(Object value) {
+        return value.toString();
+    }
+
+    abstract Object read(ResultSet resultSet, int index) throws SQLException;
+
+    abstract Object parse(String text);
+
+    abstract void bind(PreparedStatement statement, int index, @Nullable Object value) throws SQLException;
+
+}
@@ -0,0 +1,119 @@
+package pl.wsb.fitnesstracker.transfer.internal;
+
+import pl.wsb.fitnesstracker.transfer.api.InvalidTransferDataException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses CSV records written by {@link CsvRecordWriter}. The header row is required and may list the columns
+ * in any order; quoted fields may span several lines.
+ */
+class CsvRecordParser implements RecordParser {
+
+    private final List<TableMapping.Column> columns;
+
+    /**
+     * Position of each mapped column in the file.
+     */
+    private final int[] fieldIndexes;
+
+    CsvRecordParser(TableMapping mapping, BufferedReader reader) throws IOException {
+        this.columns = mapping.columns();
+        String header = reader.readLine();
+        if (header == null) {
+            throw new InvalidTransferDataException("CSV input has no header row");
+        }
+        List<String> names = splitFields(header).stream().map(String::valueOf).toList();
+        this.fieldIndexes = new int[columns.size()];
+        for (int i = 0; i < columns.size(); i++) {
+            fieldIndexes[i] = names.indexOf(columns.get(i).name());
+            if (fieldIndexes[i] < 0) {
+                throw new InvalidTransferDataException("CSV header lacks column " + columns.get(i).name());
+            }
+        }
+    }
+
+    @Override
+    public List<String> readChunk(BufferedReader reader, int limit) throws IOException {
+        List<String> records = new ArrayList<>(limit);
+        String line;
+        while (records.size() < limit && (line = reader.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            StringBuilder record = new StringBuilder(line);
+            while (hasOpenQuote(record) && (line = reader.readLine()) != null) {
+                record.append('\n').append(line);
+            }
+            records.add(record.toString());
+        }
+        return records;
+    }
+
+    @Override
+    public List<Object[]> parse(List<String> records) {
+        List<Object[]> rows = new ArrayList<>(records.size());
+        for (String record : records) {
+            List<String> fields = splitFields(record);
+            Object[] values = new Object[columns.size()];
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    String field = fields.get(fieldIndexes[i]);
+                    values[i] = field == null ? null : columns.get(i).type().parse(field);
+                }
+            } catch (RuntimeException e) {
+                throw new InvalidTransferDataException("Malformed CSV record: " + record);
+            }
+            rows.add(values);
+        }
+        return rows;
+    }
+
+    private static boolean hasOpenQuote(CharSequence record) {
+        int quotes = 0;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 != 0;
+    }
+
+    /**
+     * Splits the record into fields; unquoted empty fields are returned as {@code null}.
+     */
+    private static List<String> splitFields(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (inQuotes) {
+                if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    inQuotes = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(quoted || !field.isEmpty() ? field.toString() : null);
+                field.setLength(0);
+                quoted = false;
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(quoted || !field.isEmpty() ? field.toString() : null);
+        return fields;
+    }
+
+}
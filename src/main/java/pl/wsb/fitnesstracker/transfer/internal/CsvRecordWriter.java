@@ -0,0 +1,57 @@
+package pl.wsb.fitnesstracker.transfer.internal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes records as CSV with a header row. {@code NULL} values are written as empty unquoted fields,
+ * while empty strings are quoted, so both survive a round trip.
+ */
+class CsvRecordWriter implements RecordWriter {
+
+    private final List<TableMapping.Column> columns;
+
+    private final Writer writer;
+
+    CsvRecordWriter(TableMapping mapping, Writer writer) throws IOException {
+        this.columns = mapping.columns();
+        this.writer = writer;
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i).name());
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeField(columns.get(i).type().format(values[i]));
+            }
+        }
+        writer.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private void writeField(String text) throws IOException {
+        if (!text.isEmpty() && text.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+}
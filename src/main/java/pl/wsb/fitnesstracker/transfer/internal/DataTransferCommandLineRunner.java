@@ -0,0 +1,70 @@
+package pl.wsb.fitnesstracker.transfer.internal;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import pl.wsb.fitnesstracker.transfer.api.DataTransferService;
+import pl.wsb.fitnesstracker.transfer.api.InvalidTransferDataException;
+import pl.wsb.fitnesstracker.transfer.api.TransferDataset;
+import pl.wsb.fitnesstracker.transfer.api.TransferFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Command line mode of the bulk export and import. Triggered by running the application with
+ * {@code --export=<dataset>} or {@code --import=<dataset>}, along with {@code --file=<path>} and optionally
+ * {@code --format=csv|ndjson} (NDJSON by default), e.g.
+ * <pre>
+ * java -jar fitness-tracker.jar --export=trainings --format=csv --file=trainings.csv
+ * </pre>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+class DataTransferCommandLineRunner implements ApplicationRunner {
+
+    static final String EXPORT_OPTION = "export";
+
+    static final String IMPORT_OPTION = "import";
+
+    private final DataTransferService dataTransferService;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (args.containsOption(EXPORT_OPTION)) {
+            TransferDataset dataset = TransferDataset.fromName(singleValue(args, EXPORT_OPTION));
+            try (OutputStream output = Files.newOutputStream(file(args))) {
+                dataTransferService.exportData(dataset, format(args), output);
+            }
+        } else if (args.containsOption(IMPORT_OPTION)) {
+            TransferDataset dataset = TransferDataset.fromName(singleValue(args, IMPORT_OPTION));
+            try (InputStream input = Files.newInputStream(file(args))) {
+                dataTransferService.importData(dataset, format(args), input);
+            }
+        }
+    }
+
+    private static Path file(ApplicationArguments args) {
+        return Path.of(singleValue(args, "file"));
+    }
+
+    private static TransferFormat format(ApplicationArguments args) {
+        return args.containsOption("format") ? TransferFormat.fromName(singleValue(args, "format")) : TransferFormat.NDJSON;
+    }
+
+    private static String singleValue(ApplicationArguments args, String option) {
+        List<String> values = args.getOptionValues(option);
+        if (values == null || values.size() != 1) {
+            throw new InvalidTransferDataException("Expected a single value of option --" + option);
+        }
+        return values.get(0);
+    }
+
+}
@@ -0,0 +1,10 @@
+package pl.wsb.fitnesstracker.transfer.internal;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DataTransferProperties.class)
+class DataTransferConfig {
+
+}
@@ -0,0 +1,67 @@
+package pl.wsb.fitnesstracker.transfer.internal;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.*;
+import pl.wsb.fitnesstracker.transfer.api.DataTransferService;
+import pl.wsb.fitnesstracker.transfer.api.TransferDataset;
+import pl.wsb.fitnesstracker.transfer.api.TransferFormat;
+import pl.wsb.fitnesstracker.transfer.api.TransferResultDto;
+
+import java.io.IOException;
+
+/**
+ * REST controller for bulk export and import of whole datasets ({@code users}, {@code trainings}).
+ * Request and response bodies are streamed, so datasets of any size can be transferred.
+ * All endpoints are prefixed with /v1/transfer.
+ */
+@RestController
+@RequestMapping("/v1/transfer")
+@RequiredArgsConstructor
+class DataTransferController {
+
+    private final DataTransferService dataTransferService;
+
+    /**
+     * Exports all records of the dataset.
+     *
+     * @param dataset  the dataset to export
+     * @param format   the format of the exported records ({@code csv} or {@code ndjson})
+     * @param response the response the records are streamed to
+     * @throws IOException if writing the response fails
+     */
+    @GetMapping("/{dataset}")
+    public void exportData(@PathVariable String dataset,
+                           @RequestParam(defaultValue = "ndjson") String format,
+                           HttpServletResponse response) throws IOException {
+        TransferDataset transferDataset = TransferDataset.fromName(dataset);
+        TransferFormat transferFormat = TransferFormat.fromName(format);
+        response.setContentType(transferFormat.getContentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"%s.%s\""
+                .formatted(transferDataset.name().toLowerCase(), transferFormat.getFileExtension()));
+        dataTransferService.exportData(transferDataset, transferFormat, response.getOutputStream());
+    }
+
+    /**
+     * Imports records from the request body into the dataset.
+     *
+     * @param dataset the dataset to import into
+     * @param format  the format of the imported records ({@code csv} or {@code ndjson})
+     * @param request the request the records are streamed from
+     * @return summary of the import
+     * @throws IOException if reading the request fails
+     */
+    @PostMapping("/{dataset}")
+    public TransferResultDto importData(@PathVariable String dataset,
+                                        @RequestParam(defaultValue = "ndjson") String format,
+                                        HttpServletRequest request) throws IOException {
+        TransferDataset transferDataset = TransferDataset.fromName(dataset);
+        long records = dataTransferService.importData(transferDataset, TransferFormat.fromName(format),
+                request.getInputStream());
+        return new TransferResultDto(transferDataset, records);
+    }
+
+}
@@ -0,0 +1,37 @@
+package pl.wsb.fitnesstracker.transfer.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the bulk export and import.
+ */
+@ConfigurationProperties(prefix = "transfer")
+@Getter
+class DataTransferProperties {
+
+    /**
+     * Number of rows the JDBC driver fetches per round trip while exporting.
+     */
+    private final int fetchSize;
+
+    /**
+     * Number of records parsed, inserted (in a single batch) and committed at once while importing.
+     */
+    private final int chunkSize;
+
+    /**
+     * Number of threads parsing imported chunks.
+     */
+    private final int parserThreads;
+
+    DataTransferProperties(@DefaultValue("1000") int fetchSize,
+                           @DefaultValue("5000") int chunkSize,
+                           @DefaultValue("4") int parserThreads) {
+        this.fetchSize = fetchSize;
+        this.chunkSize = chunkSize;
+        this.parserThreads = parserThreads;
+    }
+
+}
@@ -0,0 +1,244 @@
+package pl.wsb.fitnesstracker.transfer.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.wsb.fitnesstracker.database.api.ChangeCounter;
+import pl.wsb.fitnesstracker.database.api.IdentityColumns;
+import pl.wsb.fitnesstracker.transfer.api.DataTransferService;
+import pl.wsb.fitnesstracker.transfer.api.InvalidTransferDataException;
+import pl.wsb.fitnesstracker.transfer.api.TransferDataset;
+import pl.wsb.fitnesstracker.transfer.api.TransferFormat;
+import pl.wsb.fitnesstracker.user.api.UserService;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Bulk export and import working directly on JDBC, bypassing the persistence context.
+ * <p>
+ * Exports read the table through a forward-only cursor and write each row as soon as it is fetched.
+ * Imports read the input in chunks on the calling thread, parse the chunks on a thread pool and batch-insert
+ * them in input order, each chunk in a transaction of its own, so no transaction stays open while the input
+ * streams in; at most two chunks per parser thread are held in memory at any time. A failed chunk is rolled back,
+ * the chunks before it stay imported. Imported users are made known to the user indexes once the import ends.
+ * Imported rows are neither logged for sync nor published to the outbox; their consumers catch up with a full download or export.
+ */
+@Service
+@Slf4j
+class DataTransferServiceImpl implements DataTransferService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final TransactionTemplate writeTransaction;
+
+    private final ObjectMapper objectMapper;
+
+    private final IdentityColumns identityColumns;
+
+    private final ChangeCounter changeCounter;
+
+    private final UserService userService;
+
+    private final DataTransferProperties properties;
+
+    DataTransferServiceImpl(DataSource dataSource,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            IdentityColumns identityColumns,
+                            ChangeCounter changeCounter,
+                            UserService userService,
+                            DataTransferProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.identityColumns = identityColumns;
+        this.changeCounter = changeCounter;
+        this.userService = userService;
+        this.properties = properties;
+    }
+
+    @Override
+    public long exportData(final TransferDataset dataset, final TransferFormat format, final OutputStream output)
+            throws IOException {
+        log.info("Exporting {} as {}", dataset, format);
+        TableMapping mapping = TableMapping.of(dataset);
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(output, UTF_8), BUFFER_SIZE);
+        RecordWriter recordWriter = RecordWriter.create(format, mapping, writer, objectMapper);
+        int columnCount = mapping.columns().size();
+        long[] exported = {0};
+
+        // PostgreSQL only streams with a fetch size inside a transaction, otherwise it reads the whole result set
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.query(mapping.selectSql(), resultSet -> {
+                Object[] values = new Object[columnCount];
+                for (int i = 0; i < columnCount; i++) {
+                    values[i] = mapping.columns().get(i).type().readNullable(resultSet, i + 1);
+                }
+                try {
+                    recordWriter.write(values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                exported[0]++;
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        recordWriter.flush();
+
+        log.info("Exported {} records of {}", exported[0], dataset);
+        return exported[0];
+    }
+
+    @Override
+    public long importData(final TransferDataset dataset, final TransferFormat format, final InputStream input)
+            throws IOException {
+        log.info("Importing {} as {}", dataset, format);
+        TableMapping mapping = TableMapping.of(dataset);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, UTF_8), BUFFER_SIZE);
+        RecordParser parser = RecordParser.create(format, mapping, reader, objectMapper);
+        long[] imported = {0};
+
+        ExecutorService executor = Executors.newFixedThreadPool(properties.getParserThreads());
+        try {
+            importChunks(mapping, parser, reader, executor, imported);
+        } catch (InvalidTransferDataException e) {
+            throw new InvalidTransferDataException("%s (the first %d records were imported)"
+                    .formatted(e.getMessage(), imported[0]));
+        } finally {
+            executor.shutdownNow();
+            if (imported[0] > 0) {
+                afterImport(dataset, mapping);
+            }
+        }
+
+        log.info("Imported {} records of {}", imported[0], dataset);
+        return imported[0];
+    }
+
+    /**
+     * Tells the caches and indexes about the imported records, which bypass JPA. Runs after a failed import too, as
+     * the chunks committed before the failure stay imported.
+     */
+    private void afterImport(final TransferDataset dataset, final TableMapping mapping) {
+        writeTransaction.executeWithoutResult(status -> changeCounter.recordChange(mapping.entityType()));
+        identityColumns.restartAfterMaxId(mapping.table());
+        if (dataset == TransferDataset.USERS) {
+            userService.refreshIndexes();
+        }
+    }
+
+    /**
+     * Imports the chunks of the input, counting the committed records in {@code imported}.
+     */
+    private void importChunks(final TableMapping mapping,
+                              final RecordParser parser,
+                              final BufferedReader reader,
+                              final ExecutorService executor,
+                              final long[] imported) throws IOException {
+        int maxPendingChunks = properties.getParserThreads() * 2;
+        Deque<Future<List<Object[]>>> pendingChunks = new ArrayDeque<>(maxPendingChunks);
+        List<String> records;
+        while (!(records = parser.readChunk(reader, properties.getChunkSize())).isEmpty()) {
+            List<String> chunk = records;
+            pendingChunks.addLast(executor.submit(() -> parser.parse(chunk)));
+            if (pendingChunks.size() >= maxPendingChunks) {
+                imported[0] += insertChunk(mapping, awaitParsed(pendingChunks.removeFirst()));
+            }
+        }
+        while (!pendingChunks.isEmpty()) {
+            imported[0] += insertChunk(mapping, awaitParsed(pendingChunks.removeFirst()));
+        }
+    }
+
+    /**
+     * Inserts the chunk in a transaction of its own, rolled back if the chunk duplicates an ID.
+     */
+    private int insertChunk(final TableMapping mapping, final List<Object[]> rows) {
+        return writeTransaction.execute(status -> {
+            LongSummaryStatistics ids = new LongSummaryStatistics();
+            int inserted = insert(mapping, rows, ids);
+            if (ids.getCount() > 0) {
+                rejectDuplicateIds(mapping, ids.getMin(), ids.getMax());
+            }
+            return inserted;
+        });
+    }
+
+    private int insert(final TableMapping mapping, final List<Object[]> rows, final LongSummaryStatistics ids) {
+        for (Object[] values : rows) {
+            if (values[0] instanceof Long id) {
+                ids.accept(id);
+            }
+        }
+        List<TableMapping.Column> columns = mapping.columns();
+        try {
+            jdbcTemplate.batchUpdate(mapping.insertSql(), rows, rows.size(), (statement, values) -> {
+                for (int i = 0; i < values.length; i++) {
+                    columns.get(i).type().bind(statement, i + 1, values[i]);
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new InvalidTransferDataException("Imported records violate constraints of table %s: %s"
+                    .formatted(mapping.table(), e.getMostSpecificCause().getMessage()));
+        }
+        return rows.size();
+    }
+
+    /**
+     * Rejects the chunk if it stored an ID twice. The primary keys of the tables partitioned on PostgreSQL include
+     * the partition key, so they let a record with an existing ID but another partition key through; only the range
+     * of the IDs of the chunk is checked, through the index of the primary key.
+     */
+    private void rejectDuplicateIds(final TableMapping mapping, final long minId, final long maxId) {
+        List<Long> duplicateIds = jdbcTemplate.queryForList(mapping.duplicateIdsSql(), Long.class, minId, maxId);
+        if (!duplicateIds.isEmpty()) {
+            throw new InvalidTransferDataException("Imported records duplicate IDs of table %s: %s"
+                    .formatted(mapping.table(), duplicateIds));
+        }
+    }
+
+    private static List<Object[]> awaitParsed(final Future<List<Object[]>> chunk) {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+}
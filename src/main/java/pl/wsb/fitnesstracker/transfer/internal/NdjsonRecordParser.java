@@ -0,0 +1,58 @@
+package pl.wsb.fitnesstracker.transfer.internal;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pl.wsb.fitnesstracker.transfer.api.InvalidTransferDataException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses newline delimited JSON records written by {@link NdjsonRecordWriter}. Blank lines are skipped.
+ */
+class NdjsonRecordParser implements RecordParser {
+
+    private final List<TableMapping.Column> columns;
+
+    private final ObjectMapper objectMapper;
+
+    NdjsonRecordParser(TableMapping mapping, ObjectMapper objectMapper) {
+        this.columns = mapping.columns();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public List<String> readChunk(BufferedReader reader, int limit) throws IOException {
+        List<String> records = new ArrayList<>(limit);
+        String line;
+        while (records.size() < limit && (line = reader.readLine()) != null) {
+            if (!line.isBlank()) {
+                records.add(line);
+            }
+        }
+        return records;
+    }
+
+    @Override
+    public List<Object[]> parse(List<String> records) {
+        List<Object[]> rows = new ArrayList<>(records.size());
+        for (String record : records) {
+            Object[] values = new Object[columns.size()];
+            try {
+                JsonNode node = objectMapper.readTree(record);
+                for (int i = 0; i < values.length; i++) {
+                    JsonNode value = node.get(columns.get(i).name());
+                    values[i] = value == null || value.isNull() ? null : columns.get(i).type().parse(value.asText());
+                }
+            } catch (JsonProcessingException | RuntimeException e) {
+                throw new InvalidTransferDataException("Malformed NDJSON record: " + record);
+            }
+            rows.add(values);
+        }
+        return rows;
+    }
+
+}
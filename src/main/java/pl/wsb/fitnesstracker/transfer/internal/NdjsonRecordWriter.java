@@ -0,0 +1,52 @@
+package pl.wsb.fitnesstracker.transfer.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes records as newline delimited JSON objects keyed by column names, using Jackson's streaming generator.
+ */
+class NdjsonRecordWriter implements RecordWriter {
+
+    private final List<TableMapping.Column> columns;
+
+    private final JsonGenerator generator;
+
+    NdjsonRecordWriter(TableMapping mapping, Writer writer, ObjectMapper objectMapper) throws IOException {
+        this.columns = mapping.columns();
+        this.generator = objectMapper.getFactory().createGenerator(writer);
+        this.generator.setRootValueSeparator(new SerializedString("\n"));
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    @Override
+    public void write(Object[] values) throws IOException {
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            TableMapping.Column column = columns.get(i);
+            generator.writeFieldName(column.name());
+            if (values[i] == null) {
+                generator.writeNull();
+            } else if (values[i] instanceof Long number) {
+                generator.writeNumber(number);
+            } else if (values[i] instanceof Double number) {
+                generator.writeNumber(number);
+            } else {
+                generator.writeString(column.type().format(values[i]));
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.writeRaw('\n');
+        generator.flush();
+    }
+
+}
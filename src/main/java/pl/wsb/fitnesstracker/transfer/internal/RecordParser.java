@@ -0,0 +1,40 @@
+package pl.wsb.fitnesstracker.transfer.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pl.wsb.fitnesstracker.transfer.api.InvalidTransferDataException;
+import pl.wsb.fitnesstracker.transfer.api.TransferFormat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Parser of imported records in one of the {@link TransferFormat}s.
+ * Splitting the input into raw records is cheap and sequential, while converting them to typed values is done
+ * by {@link #parse(List)}, which is thread-safe so that chunks can be parsed in parallel.
+ */
+interface RecordParser {
+
+    /**
+     * Reads up to {@code limit} raw records from the input.
+     *
+     * @return the raw records, empty when the end of input is reached
+     */
+    List<String> readChunk(BufferedReader reader, int limit) throws IOException;
+
+    /**
+     * Converts raw records to values ordered as the columns of the mapping.
+     *
+     * @throws InvalidTransferDataException if any of the records is malformed
+     */
+    List<Object[]> parse(List<String> records);
+
+    static RecordParser create(TransferFormat format, TableMapping mapping, BufferedReader reader,
+                               ObjectMapper objectMapper) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvRecordParser(mapping, reader);
+            case NDJSON -> new NdjsonRecordParser(mapping, objectMapper);
+        };
+    }
+
+}
@@ -0,0 +1,29 @@
+package pl.wsb.fitnesstracker.transfer.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import pl.wsb.fitnesstracker.transfer.api.TransferFormat;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writer of exported records in one of the {@link TransferFormat}s.
+ */
+interface RecordWriter {
+
+    /**
+     * Writes a single record; values are ordered as the columns of the mapping, {@code null} for SQL {@code NULL}.
+     */
+    void write(Object[] values) throws IOException;
+
+    void flush() throws IOException;
+
+    static RecordWriter create(TransferFormat format, TableMapping mapping, Writer writer, ObjectMapper objectMapper)
+            throws IOException {
+        return switch (format) {
+            case CSV -> new CsvRecordWriter(mapping, writer);
+            case NDJSON -> new NdjsonRecordWriter(mapping, writer, objectMapper);
+        };
+    }
+
+}
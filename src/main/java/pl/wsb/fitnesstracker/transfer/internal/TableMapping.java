@@ -0,0 +1,67 @@
+package pl.wsb.fitnesstracker.transfer.internal;
+
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.transfer.api.TransferDataset;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Mapping of a {@link TransferDataset} to its table and the transferred columns.
+ *
+ * @param table      name of the database table
+ * @param entityType the entity mapped to the table
+ * @param columns    transferred columns, the first one being the primary key
+ */
+record TableMapping(String table, Class<?> entityType, List<Column> columns) {
+
+    private static final TableMapping USERS = new TableMapping("users", User.class, List.of(
+            new Column("id", ColumnType.LONG),
+            new Column("first_name", ColumnType.STRING),
+            new Column("last_name", ColumnType.STRING),
+            new Column("birthdate", ColumnType.DATE),
+            new Column("email", ColumnType.STRING)));
+
+    private static final TableMapping TRAININGS = new TableMapping("trainings", Training.class, List.of(
+            new Column("id", ColumnType.LONG),
+            new Column("user_id", ColumnType.LONG),
+            new Column("start_time", ColumnType.DATE_TIME),
+            new Column("end_time", ColumnType.DATE_TIME),
+            new Column("activity_type", ColumnType.ACTIVITY_TYPE),
+            new Column("distance", ColumnType.DOUBLE),
+            new Column("average_speed", ColumnType.DOUBLE)));
+
+    static TableMapping of(TransferDataset dataset) {
+        return switch (dataset) {
+            case USERS -> USERS;
+            case TRAININGS -> TRAININGS;
+        };
+    }
+
+    String selectSql() {
+        return "SELECT %s FROM %s ORDER BY %s".formatted(columnList(), table, columns.get(0).name());
+    }
+
+    String insertSql() {
+        String placeholders = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+        return "INSERT INTO %s (%s) VALUES (%s)".formatted(table, columnList(), placeholders);
+    }
+
+    /**
+     * Returns the query selecting (a few of) the IDs stored more than once within an inclusive range of IDs.
+     */
+    String duplicateIdsSql() {
+        String id = columns.get(0).name();
+        return "SELECT %1$s FROM %2$s WHERE %1$s BETWEEN ? AND ? GROUP BY %1$s HAVING COUNT(*) > 1 "
+                .formatted(id, table) + "FETCH FIRST 10 ROWS ONLY";
+    }
+
+    private String columnList() {
+        return columns.stream().map(Column::name).collect(Collectors.joining(", "));
+    }
+
+    record Column(String name, ColumnType type) {
+    }
+
+}
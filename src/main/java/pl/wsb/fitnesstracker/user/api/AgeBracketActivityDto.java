@@ -0,0 +1,20 @@
+package pl.wsb.fitnesstracker.user.api;
+
+import jakarta.annotation.Nullable;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+
+/**
+ * Data Transfer Object representing the number of users in an age bracket practising an activity type.
+ *
+ * @param minAge       The lowest age of the bracket (inclusive)
+ * @param maxAge       The highest age of the bracket (inclusive), {@code null} for an open-ended bracket
+ * @param activityType The activity type
+ * @param users        The number of users aged within the bracket with at least one training of the activity type
+ */
+public record AgeBracketActivityDto(
+        int minAge,
+        @Nullable Integer maxAge,
+        ActivityType activityType,
+        long users
+) {
+}
@@ -0,0 +1,17 @@
+package pl.wsb.fitnesstracker.user.api;
+
+import jakarta.annotation.Nullable;
+
+/**
+ * Data Transfer Object representing the number of users in an age bracket.
+ *
+ * @param minAge The lowest age of the bracket (inclusive)
+ * @param maxAge The highest age of the bracket (inclusive), {@code null} for an open-ended bracket
+ * @param users  The number of users aged within the bracket
+ */
+public record AgeBracketDto(
+        int minAge,
+        @Nullable Integer maxAge,
+        long users
+) {
+}
@@ -0,0 +1,67 @@
+package pl.wsb.fitnesstracker.user.api;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of the {@link UserProvider}.
+ * The queries run on the application task executor and the returned futures complete once the result is loaded.
+ */
+public interface AsyncUserProvider {
+
+    /**
+     * Retrieves a user based on their ID.
+     *
+     * @param userId id of the user to be searched
+     * @return future completed with the located user, or {@link Optional#empty()} if not found
+     * @see UserProvider#getUser(Long)
+     */
+    CompletableFuture<Optional<User>> getUser(Long userId);
+
+    /**
+     * Retrieves a user based on their email.
+     *
+     * @param email The email of the user to be searched
+     * @return future completed with the located user, or {@link Optional#empty()} if not found
+     * @see UserProvider#getUserByEmail(String)
+     */
+    CompletableFuture<Optional<User>> getUserByEmail(String email);
+
+    /**
+     * Retrieves all users.
+     *
+     * @return future completed with all users
+     * @see UserProvider#findAllUsers()
+     */
+    CompletableFuture<List<User>> findAllUsers();
+
+    /**
+     * Searches users by email fragment (case-insensitive, partial match).
+     *
+     * @param emailFragment the email fragment to search for
+     * @return future completed with users matching the email fragment
+     * @see UserProvider#searchUsersByEmail(String)
+     */
+    CompletableFuture<List<User>> searchUsersByEmail(String emailFragment);
+
+    /**
+     * Searches users by first name and last name.
+     *
+     * @param firstName the first name to search for
+     * @param lastName  the last name to search for
+     * @return future completed with users matching the first and last name
+     * @see UserProvider#searchUsersByName(String, String)
+     */
+    CompletableFuture<List<User>> searchUsersByName(String firstName, String lastName);
+
+    /**
+     * Searches users older than the specified age.
+     *
+     * @param minAge the minimum age (exclusive)
+     * @return future completed with users older than the specified age
+     * @see UserProvider#searchUsersByAgeGreaterThan(int)
+     */
+    CompletableFuture<List<User>> searchUsersByAgeGreaterThan(int minAge);
+
+}
@@ -0,0 +1,20 @@
+package pl.wsb.fitnesstracker.user.api;
+
+import pl.wsb.fitnesstracker.exception.api.ConflictException;
+
+/**
+ * Exception indicating that another {@link User} already uses the email.
+ */
+@SuppressWarnings("squid:S110")
+public class DuplicateEmailException extends ConflictException {
+
+    /**
+     * Creates a DuplicateEmailException for the given email.
+     *
+     * @param email the email which is already in use
+     */
+    public DuplicateEmailException(String email) {
+        super("User with email=%s already exists".formatted(email));
+    }
+
+}
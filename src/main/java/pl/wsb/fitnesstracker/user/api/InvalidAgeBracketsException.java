@@ -0,0 +1,15 @@
+package pl.wsb.fitnesstracker.user.api;
+
+import pl.wsb.fitnesstracker.exception.api.BusinessException;
+
+/**
+ * Exception indicating that the requested age brackets are not valid.
+ */
+@SuppressWarnings("squid:S110")
+public class InvalidAgeBracketsException extends BusinessException {
+
+    public InvalidAgeBracketsException(String message) {
+        super(message);
+    }
+
+}
@@ -7,16 +7,28 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+import pl.wsb.fitnesstracker.database.api.ChangeCountingListener;
+import pl.wsb.fitnesstracker.database.api.ChangeLoggingListener;
+import pl.wsb.fitnesstracker.database.api.OwnedEntity;
 
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "users")
+@EntityListeners({ChangeCountingListener.class, ChangeLoggingListener.class})
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"))
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString
-public class User {
+public class User implements OwnedEntity {
+
+    /**
+     * Name of the unique constraint on the email, the source of truth for duplicate emails.
+     */
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -32,9 +44,23 @@ public class User {
     @Column(name = "birthdate", nullable = false)
     private LocalDate birthdate;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String email;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "version", nullable = false)
+    @Nullable
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
+    @UpdateTimestamp
+    @ColumnDefault("CURRENT_TIMESTAMP")
+    @Column(name = "updated_at", nullable = false)
+    @Nullable
+    @Setter(AccessLevel.NONE)
+    private Instant updatedAt;
+
     public User(
             final String firstName,
             final String lastName,
@@ -47,5 +73,10 @@ public class User {
         this.email = email;
     }
 
-}
+    @Override
+    @Nullable
+    public Long getOwnerId() {
+        return id;
+    }
 
+}
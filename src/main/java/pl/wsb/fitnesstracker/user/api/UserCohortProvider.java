@@ -0,0 +1,43 @@
+package pl.wsb.fitnesstracker.user.api;
+
+import jakarta.annotation.Nullable;
+
+import java.util.List;
+
+/**
+ * Interface (API) for the cohort analytics of the users by age, answered from an in-memory index of the birthdates
+ * without querying the users.
+ */
+public interface UserCohortProvider {
+
+    /**
+     * Counts the users aged within the given range.
+     *
+     * @param minAge the lowest age (inclusive)
+     * @param maxAge the highest age (inclusive), {@code null} for no upper limit
+     * @return the number of users in the range
+     * @throws InvalidAgeBracketsException if the range is empty or the ages are negative
+     */
+    AgeBracketDto countUsersAgedBetween(int minAge, @Nullable Integer maxAge);
+
+    /**
+     * Counts the users in each of the age brackets starting at the given bounds, e.g. bounds {@code 18, 30, 65} give
+     * the brackets 18-29, 30-64 and 65+.
+     *
+     * @param bounds the lowest ages of the brackets, in ascending order
+     * @return the number of users in each bracket, in the order of the bounds
+     * @throws InvalidAgeBracketsException if the bounds are empty, negative or not ascending
+     */
+    List<AgeBracketDto> countUsersByAgeBracket(List<Integer> bounds);
+
+    /**
+     * Counts the users in each of the age brackets starting at the given bounds practising each activity type, i.e.
+     * having at least one training of the type.
+     *
+     * @param bounds the lowest ages of the brackets, in ascending order
+     * @return the number of users for each bracket (in the order of the bounds) and activity type
+     * @throws InvalidAgeBracketsException if the bounds are empty, negative or not ascending
+     */
+    List<AgeBracketActivityDto> countUsersByAgeBracketAndActivityType(List<Integer> bounds);
+
+}
@@ -0,0 +1,18 @@
+package pl.wsb.fitnesstracker.user.api;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exception indicating that a background deletion of a user could not be queued, because too many deletions are
+ * already pending.
+ * Will resolve to the {@link HttpStatus#SERVICE_UNAVAILABLE} if handled by the Spring's exception handler.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class UserDeletionRejectedException extends RuntimeException {
+
+    public UserDeletionRejectedException(Long userId, Throwable cause) {
+        super("Too many pending deletions to delete User with ID: %s, try again later".formatted(userId), cause);
+    }
+
+}
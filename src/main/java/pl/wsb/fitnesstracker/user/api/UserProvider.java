@@ -38,6 +38,25 @@ public interface UserProvider {
      */
     List<User> findAllUsers();
 
+    /**
+     * Retrieves a page of users with IDs greater than the given one (keyset pagination).
+     *
+     * @param afterId ID of the last user of the previous page ({@code 0} for the first page)
+     * @param limit   maximum number of users to return
+     * @return list of users ordered by ID
+     */
+    List<User> findUsersAfter(Long afterId, int limit);
+
+    /**
+     * Retrieves a page of IDs of the users with IDs greater than the given one (keyset pagination), without loading
+     * the users.
+     *
+     * @param afterId ID of the last user of the previous page ({@code 0} for the first page)
+     * @param limit   maximum number of IDs to return
+     * @return list of IDs in ascending order
+     */
+    List<Long> findUserIdsAfter(Long afterId, int limit);
+
     /**
      * Searches users by email fragment (case-insensitive, partial match).
      *
@@ -63,4 +82,33 @@ public interface UserProvider {
      */
     List<User> searchUsersByAgeGreaterThan(int minAge);
 
+    /**
+     * Suggests users, as the query is being typed, by the beginning of their first name, last name, full name
+     * or email, ignoring case and accents. Served from memory, without querying the database.
+     *
+     * @param query the typed prefix
+     * @param limit maximum number of suggestions
+     * @return the suggestions ordered by the matched name or email
+     */
+    List<UserSuggestionDto> suggestUsers(String query, int limit);
+
+    /**
+     * Searches users by their names and emails, tolerating misspellings and partial words, ignoring case and
+     * accents. Served from memory, without querying the database.
+     *
+     * @param query the searched words
+     * @param limit maximum number of users
+     * @return the users ordered by relevance, most relevant first
+     */
+    List<UserSearchHitDto> searchUsers(String query, int limit);
+
+    /**
+     * Maps a user to the DTO the user endpoints return, so the modules returning users as a part of their own
+     * responses map them the same way.
+     *
+     * @param user the user to map
+     * @return UserDto containing all user information
+     */
+    UserDto toDto(User user);
+
 }
@@ -0,0 +1,19 @@
+package pl.wsb.fitnesstracker.user.api;
+
+/**
+ * Data Transfer Object representing a user found by the full-text search.
+ *
+ * @param id        The unique identifier of the user
+ * @param firstName The first name of the user
+ * @param lastName  The last name of the user
+ * @param email     The email address of the user
+ * @param score     Relevance of the user to the query, between 0 and 1
+ */
+public record UserSearchHitDto(
+        Long id,
+        String firstName,
+        String lastName,
+        String email,
+        double score
+) {
+}
@@ -1,5 +1,9 @@
 package pl.wsb.fitnesstracker.user.api;
 
+import jakarta.annotation.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Interface (API) for modifying operations on {@link User} entities through the API.
  * Implementing classes are responsible for executing changes within a database transaction, whether by continuing an existing transaction or creating a new one if required.
@@ -15,21 +19,55 @@ public interface UserService {
     User createUser(User user);
 
     /**
-     * Updates an existing user.
+     * Updates an existing user, rejecting the update if the user was modified concurrently.
      *
-     * @param userId The ID of the user to be updated
-     * @param user   The user entity with updated fields
+     * @param userId          The ID of the user to be updated
+     * @param user            The user entity with updated fields
+     * @param expectedVersion The version the update is based on, or {@code null} to only guard against
+     *                        modifications made while the update runs
      * @return The updated user
-     * @throws pl.wsb.fitnesstracker.user.api.UserNotFoundException if user with given ID is not found
+     * @throws pl.wsb.fitnesstracker.user.api.UserNotFoundException        if user with given ID is not found
+     * @throws pl.wsb.fitnesstracker.user.api.UserVersionConflictException if the user's version does not match
+     */
+    User updateUser(Long userId, User user, @Nullable Long expectedVersion);
+
+    /**
+     * Updates the non-null fields of an existing user with a single statement, without loading the user.
+     *
+     * @param userId          The ID of the user to be updated
+     * @param changes         The user entity with the fields to update, {@code null} fields are left unchanged
+     * @param expectedVersion The version the update is based on, or {@code null} to update any version
+     * @throws pl.wsb.fitnesstracker.user.api.UserNotFoundException        if user with given ID is not found
+     * @throws pl.wsb.fitnesstracker.user.api.UserVersionConflictException if the user's version does not match
      */
-    User updateUser(Long userId, User user);
+    void patchUser(Long userId, User changes, @Nullable Long expectedVersion);
 
     /**
-     * Deletes a user by ID.
+     * Deletes a user by ID, together with its trainings, workout sessions, event sign-ups, health metrics and
+     * statistics, in a single transaction.
      *
      * @param userId The ID of the user to be deleted
      * @throws pl.wsb.fitnesstracker.user.api.UserNotFoundException if user with given ID is not found
      */
     void deleteUser(Long userId);
 
+    /**
+     * Deletes a user by ID like {@link #deleteUser(Long)}, but in the background and in chunks of short
+     * transactions, for users with a history too large to be deleted at once. The deletion is fire-and-forget:
+     * it is only kept in memory, and a deletion which fails or is still pending when the application stops has to
+     * be requested again.
+     *
+     * @param userId The ID of the user to be deleted
+     * @return future completed once the user is deleted
+     * @throws pl.wsb.fitnesstracker.user.api.UserNotFoundException if user with given ID is not found
+     * @throws pl.wsb.fitnesstracker.user.api.UserDeletionRejectedException if too many deletions are pending
+     */
+    CompletableFuture<Void> deleteUserInBackground(Long userId);
+
+    /**
+     * Rebuilds the in-memory indexes of the users and the email filter from the database, once users were written
+     * in bulk bypassing this service (data import, synthetic data).
+     */
+    void refreshIndexes();
+
 }
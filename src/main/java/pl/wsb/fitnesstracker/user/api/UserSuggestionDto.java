@@ -0,0 +1,17 @@
+package pl.wsb.fitnesstracker.user.api;
+
+/**
+ * Data Transfer Object representing a search-as-you-type suggestion of a user.
+ *
+ * @param id        The unique identifier of the user
+ * @param firstName The first name of the user
+ * @param lastName  The last name of the user
+ * @param email     The email address of the user
+ */
+public record UserSuggestionDto(
+        Long id,
+        String firstName,
+        String lastName,
+        String email
+) {
+}
@@ -0,0 +1,21 @@
+package pl.wsb.fitnesstracker.user.api;
+
+import pl.wsb.fitnesstracker.exception.api.ConflictException;
+
+/**
+ * Exception indicating that the {@link User} was modified concurrently, so the update based on an outdated version
+ * was rejected.
+ */
+@SuppressWarnings("squid:S110")
+public class UserVersionConflictException extends ConflictException {
+
+    /**
+     * Creates a UserVersionConflictException for a user with the given ID.
+     *
+     * @param id the ID of the user that was modified concurrently
+     */
+    public UserVersionConflictException(Long id) {
+        super("User with ID=%s was modified concurrently, reload it and try again".formatted(id));
+    }
+
+}
@@ -0,0 +1,94 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import pl.wsb.fitnesstracker.async.api.AsyncQueryExecutor;
+import pl.wsb.fitnesstracker.user.api.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST controller serving the user queries asynchronously, without blocking the request threads
+ * while the queries run or while slow clients download large results.
+ * All endpoints are prefixed with /v1/async/users.
+ */
+@RestController
+@RequestMapping("/v1/async/users")
+@RequiredArgsConstructor
+class AsyncUserController {
+
+    private final AsyncUserProvider asyncUserProvider;
+
+    private final UserProvider userProvider;
+
+    private final AsyncQueryExecutor asyncQueryExecutor;
+
+    private final UserMapper userMapper;
+
+    /**
+     * Retrieves detailed information about a user by ID.
+     *
+     * @param id the ID of the user to retrieve
+     * @return future completed with UserDto containing full user details
+     * @throws UserNotFoundException if user with given ID is not found
+     */
+    @GetMapping("/{id}")
+    public CompletableFuture<UserDto> getUserById(@PathVariable Long id) {
+        return asyncUserProvider.getUser(id)
+                .thenApply(user -> user
+                        .map(userMapper::toDto)
+                        .orElseThrow(() -> new UserNotFoundException(id)));
+    }
+
+    /**
+     * Searches users by email fragment (case-insensitive, partial match).
+     * Returns only ID and email of matching users.
+     *
+     * @param emailFragment the email fragment to search for
+     * @return future completed with list of UserSearchResultDto containing ID and email
+     */
+    @GetMapping("/search/email")
+    public CompletableFuture<List<UserSearchResultDto>> searchUsersByEmailFragment(@RequestParam String emailFragment) {
+        return asyncUserProvider.searchUsersByEmail(emailFragment)
+                .thenApply(users -> users.stream()
+                        .map(userMapper::toSearchResultDto)
+                        .toList());
+    }
+
+    /**
+     * Searches users older than the specified age.
+     *
+     * @param ageMin the minimum age (exclusive)
+     * @return future completed with list of UserDto containing full user details
+     */
+    @GetMapping("/search/age")
+    public CompletableFuture<List<UserDto>> searchUsersByAge(@RequestParam int ageMin) {
+        return asyncUserProvider.searchUsersByAgeGreaterThan(ageMin)
+                .thenApply(users -> users.stream()
+                        .map(userMapper::toDto)
+                        .toList());
+    }
+
+    /**
+     * Streams all users as server-sent {@code user} events, ordered by ID.
+     * An interrupted stream can be resumed by passing the ID of the last received event.
+     *
+     * @param lastEventId ID of the last user received before the stream was interrupted
+     * @return emitter of the events
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUsers(@RequestHeader(name = "Last-Event-ID", required = false) @Nullable Long lastEventId) {
+        return asyncQueryExecutor.stream("user",
+                lastEventId != null ? lastEventId : 0L,
+                (afterId, limit) -> userProvider.findUsersAfter(afterId, limit)
+                        .stream()
+                        .map(userMapper::toDto)
+                        .toList(),
+                UserDto::id);
+    }
+
+}
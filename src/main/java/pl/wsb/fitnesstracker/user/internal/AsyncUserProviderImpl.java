@@ -0,0 +1,56 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import pl.wsb.fitnesstracker.async.api.AsyncQueryExecutor;
+import pl.wsb.fitnesstracker.user.api.AsyncUserProvider;
+import pl.wsb.fitnesstracker.user.api.User;
+import pl.wsb.fitnesstracker.user.api.UserProvider;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementation of the {@link AsyncUserProvider} running the {@link UserProvider} queries on the
+ * {@link AsyncQueryExecutor}.
+ */
+@Service
+@RequiredArgsConstructor
+class AsyncUserProviderImpl implements AsyncUserProvider {
+
+    private final UserProvider userProvider;
+
+    private final AsyncQueryExecutor asyncQueryExecutor;
+
+    @Override
+    public CompletableFuture<Optional<User>> getUser(final Long userId) {
+        return asyncQueryExecutor.submit(() -> userProvider.getUser(userId));
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> getUserByEmail(final String email) {
+        return asyncQueryExecutor.submit(() -> userProvider.getUserByEmail(email));
+    }
+
+    @Override
+    public CompletableFuture<List<User>> findAllUsers() {
+        return asyncQueryExecutor.submit(userProvider::findAllUsers);
+    }
+
+    @Override
+    public CompletableFuture<List<User>> searchUsersByEmail(final String emailFragment) {
+        return asyncQueryExecutor.submit(() -> userProvider.searchUsersByEmail(emailFragment));
+    }
+
+    @Override
+    public CompletableFuture<List<User>> searchUsersByName(final String firstName, final String lastName) {
+        return asyncQueryExecutor.submit(() -> userProvider.searchUsersByName(firstName, lastName));
+    }
+
+    @Override
+    public CompletableFuture<List<User>> searchUsersByAgeGreaterThan(final int minAge) {
+        return asyncQueryExecutor.submit(() -> userProvider.searchUsersByAgeGreaterThan(minAge));
+    }
+
+}
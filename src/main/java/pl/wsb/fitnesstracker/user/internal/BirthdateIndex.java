@@ -0,0 +1,206 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of the birthdates of the users, counting the users born within a range of dates with two prefix
+ * sums over the numbers of users born on each day, instead of computing the age of every user.
+ * <p>
+ * The numbers are kept in a Fenwick tree, so changes made through the user service update them right away in
+ * logarithmic time. The index is rebuilt by the {@link UserIndexRebuilder}; the changes committed while rebuilding are
+ * carried over to the rebuilt index.
+ */
+@Component
+@Slf4j
+class BirthdateIndex implements UserIndex {
+
+    private volatile Map<Long, Long> epochDaysByUser = new ConcurrentHashMap<>();
+
+    private DayCounts dayCounts = new DayCounts();
+
+    /**
+     * IDs of the users changed while the index is being rebuilt, {@code null} when it is not.
+     */
+    @Nullable
+    private Set<Long> changedDuringRebuild;
+
+    /**
+     * Counts the users born after the first date and on or before the second one.
+     *
+     * @param after      the exclusive lower bound of the birthdate, {@code null} for no lower bound
+     * @param onOrBefore the inclusive upper bound of the birthdate
+     * @return the number of users born within the range
+     */
+    synchronized long countBornBetween(@Nullable LocalDate after, LocalDate onOrBefore) {
+        long count = dayCounts.countUpTo(onOrBefore.toEpochDay());
+        return after != null ? Math.max(0, count - dayCounts.countUpTo(after.toEpochDay())) : count;
+    }
+
+    @Override
+    public synchronized void put(IndexedUser user) {
+        move(epochDaysByUser, dayCounts, user.id(), user.birthdate().toEpochDay());
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(user.id());
+        }
+    }
+
+    @Override
+    public synchronized void delete(Long userId) {
+        move(epochDaysByUser, dayCounts, userId, null);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(userId);
+        }
+    }
+
+    @Override
+    public Rebuild startRebuild() {
+        synchronized (this) {
+            changedDuringRebuild = new HashSet<>();
+        }
+        Map<Long, Long> fresh = new ConcurrentHashMap<>();
+        return new Rebuild() {
+
+            @Override
+            public void add(IndexedUser user) {
+                fresh.put(user.id(), user.birthdate().toEpochDay());
+            }
+
+            @Override
+            public void finish() {
+                DayCounts freshCounts = DayCounts.of(fresh.values());
+                synchronized (BirthdateIndex.this) {
+                    for (Long userId : changedDuringRebuild) {
+                        move(fresh, freshCounts, userId, epochDaysByUser.get(userId));
+                    }
+                    epochDaysByUser = fresh;
+                    dayCounts = freshCounts;
+                    changedDuringRebuild = null;
+                }
+                log.info("Built birthdate index of {} users", fresh.size());
+            }
+
+            @Override
+            public void abandon() {
+                synchronized (BirthdateIndex.this) {
+                    changedDuringRebuild = null;
+                }
+            }
+
+        };
+    }
+
+    /**
+     * Sets the birthdate of the user in the given map, or removes it when {@code null}, and moves the user between the
+     * counts of the days accordingly.
+     */
+    private static void move(Map<Long, Long> epochDays, DayCounts counts, Long userId, @Nullable Long epochDay) {
+        Long previous = epochDay != null ? epochDays.put(userId, epochDay) : epochDays.remove(userId);
+        if (previous != null) {
+            counts.add(previous, -1);
+        }
+        if (epochDay != null) {
+            counts.add(epochDay, 1);
+        }
+    }
+
+    /**
+     * Numbers of users born on each day of a range of epoch days, as a Fenwick tree answering how many users were born
+     * up to a day in logarithmic time. The range grows, at least doubling, when a day outside of it is added.
+     */
+    private static final class DayCounts {
+
+        private long firstDay;
+
+        /**
+         * The tree, 1-based: entry {@code i} holds the sum of the counts of the {@code i & -i} days ending with day
+         * {@code firstDay + i - 1}.
+         */
+        private long[] tree = new long[1];
+
+        private static DayCounts of(Collection<Long> epochDays) {
+            DayCounts counts = new DayCounts();
+            if (!epochDays.isEmpty()) {
+                long first = epochDays.stream().mapToLong(Long::longValue).min().orElseThrow();
+                long last = epochDays.stream().mapToLong(Long::longValue).max().orElseThrow();
+                long[] perDay = new long[Math.toIntExact(last - first + 1)];
+                epochDays.forEach(day -> perDay[(int) (day - first)]++);
+                counts.fill(first, perDay);
+            }
+            return counts;
+        }
+
+        private void add(long day, long delta) {
+            coverDay(day);
+            for (int i = (int) (day - firstDay) + 1; i < tree.length; i += i & -i) {
+                tree[i] += delta;
+            }
+        }
+
+        private long countUpTo(long day) {
+            if (day < firstDay) {
+                return 0;
+            }
+            return prefixSum((int) Math.min(day - firstDay + 1, tree.length - 1));
+        }
+
+        private long prefixSum(int days) {
+            long sum = 0;
+            for (int i = days; i > 0; i -= i & -i) {
+                sum += tree[i];
+            }
+            return sum;
+        }
+
+        private void coverDay(long day) {
+            int days = tree.length - 1;
+            long lastDay = firstDay + days - 1;
+            if (days > 0 && day >= firstDay && day <= lastDay) {
+                return;
+            }
+            long newFirstDay;
+            long newLastDay;
+            if (days == 0) {
+                newFirstDay = day;
+                newLastDay = day;
+            } else if (day < firstDay) {
+                newFirstDay = Math.min(day, firstDay - days);
+                newLastDay = lastDay;
+            } else {
+                newFirstDay = firstDay;
+                newLastDay = Math.max(day, lastDay + days);
+            }
+            long[] perDay = new long[Math.toIntExact(newLastDay - newFirstDay + 1)];
+            int offset = (int) (firstDay - newFirstDay);
+            for (int i = 1; i <= days; i++) {
+                perDay[offset + i - 1] = prefixSum(i) - prefixSum(i - 1);
+            }
+            fill(newFirstDay, perDay);
+        }
+
+        /**
+         * Builds the tree from the counts of the days starting with the given one, in linear time.
+         */
+        private void fill(long first, long[] perDay) {
+            firstDay = first;
+            tree = new long[perDay.length + 1];
+            System.arraycopy(perDay, 0, tree, 1, perDay.length);
+            for (int i = 1; i < tree.length; i++) {
+                int parent = i + (i & -i);
+                if (parent < tree.length) {
+                    tree[parent] += tree[i];
+                }
+            }
+        }
+
+    }
+
+}
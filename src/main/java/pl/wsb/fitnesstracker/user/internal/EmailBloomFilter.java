@@ -0,0 +1,178 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * In-memory pre-check of the emails in use, so that signups with new emails (the vast majority) skip the
+ * duplicate check query. The filter only ever answers "definitely unused" or "possibly used", the latter has to be
+ * confirmed with the database, and the unique constraint on the email stays the source of truth.
+ * <p>
+ * The filter is built once the application is ready and rebuilt in the background when it fills up or when too many
+ * of its entries belong to deleted or updated users. Until it is built, every email is reported as possibly used.
+ */
+@Component
+@Slf4j
+class EmailBloomFilter {
+
+    private final UserRepository userRepository;
+
+    private final EmailFilterProperties properties;
+
+    private final AsyncTaskExecutor taskExecutor;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final Counter absentCounter;
+
+    private final Counter possiblyPresentCounter;
+
+    private final AtomicLong entries = new AtomicLong();
+
+    private final AtomicLong staleEntries = new AtomicLong();
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private volatile BloomFilter filter;
+
+    private volatile BloomFilter rebuilding;
+
+    private volatile long capacity;
+
+    EmailBloomFilter(UserRepository userRepository,
+                     EmailFilterProperties properties,
+                     AsyncTaskExecutor taskExecutor,
+                     PlatformTransactionManager transactionManager,
+                     MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+        this.taskExecutor = taskExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.absentCounter = meterRegistry.counter("user.email.filter", "result", "absent");
+        this.possiblyPresentCounter = meterRegistry.counter("user.email.filter", "result", "possibly-present");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * Rebuilds the filter, unless it is disabled, so that it contains the emails stored bypassing the user service.
+     */
+    void refresh() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Checks whether the email may be in use.
+     *
+     * @param email the email to check
+     * @return {@code false} if the email is definitely not in use, {@code true} if it has to be checked
+     */
+    boolean mightContain(String email) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(email)) {
+            absentCounter.increment();
+            return false;
+        }
+        possiblyPresentCounter.increment();
+        return true;
+    }
+
+    /**
+     * Adds an email which is about to be stored. It is added before the insert, so that the email is never
+     * reported as unused while the insert commits.
+     *
+     * @param email the email to add
+     */
+    void add(String email) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return;
+        }
+        current.add(email);
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.add(email);
+        }
+        // a rebuilt filter published since the current one was read may have missed the email
+        BloomFilter published = filter;
+        if (published != current) {
+            published.add(email);
+        }
+        entries.incrementAndGet();
+        rebuildIfDegraded();
+    }
+
+    /**
+     * Records that an email in the filter is no longer in use, as the user was deleted or changed the email.
+     */
+    void markStale() {
+        if (filter == null) {
+            return;
+        }
+        staleEntries.incrementAndGet();
+        rebuildIfDegraded();
+    }
+
+    /**
+     * Rebuilds the filter from the emails stored in the database.
+     */
+    synchronized void rebuild() {
+        long storedEmails = userRepository.count();
+        long expectedEmails = Math.max(properties.getExpectedEmails(), storedEmails * 2);
+        BloomFilter fresh = new BloomFilter(expectedEmails, properties.getFalsePositiveRate());
+        rebuilding = fresh;
+        AtomicLong loaded = new AtomicLong();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<String> emails = userRepository.streamAllEmails()) {
+                    emails.forEach(email -> {
+                        fresh.add(email);
+                        loaded.incrementAndGet();
+                    });
+                }
+            });
+            capacity = expectedEmails;
+            entries.set(loaded.get());
+            staleEntries.set(0);
+            // published before the rebuilding one is dropped, so that concurrent additions always reach it
+            filter = fresh;
+        } finally {
+            rebuilding = null;
+        }
+        log.info("Built email filter of {} emails sized for {}", loaded.get(), expectedEmails);
+    }
+
+    private void rebuildIfDegraded() {
+        boolean full = entries.get() > capacity;
+        boolean stale = staleEntries.get() > properties.getMaxStaleRatio() * capacity;
+        if ((full || stale) && rebuildScheduled.compareAndSet(false, true)) {
+            taskExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    log.warn("Rebuilding of the email filter failed, keeping the current one", e);
+                } finally {
+                    rebuildScheduled.set(false);
+                }
+            });
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the {@link EmailBloomFilter}.
+ */
+@ConfigurationProperties(prefix = "user.email-filter")
+@Getter
+class EmailFilterProperties {
+
+    /**
+     * Whether new emails are checked against the filter before being inserted. When disabled, every email is
+     * checked with a database query.
+     */
+    private final boolean enabled;
+
+    /**
+     * Minimum number of emails the filter is sized for; it is sized for twice the number of stored emails when
+     * that is more.
+     */
+    private final int expectedEmails;
+
+    /**
+     * Targeted probability of the filter reporting an unused email as possibly used.
+     */
+    private final double falsePositiveRate;
+
+    /**
+     * Share of the filter's capacity taken by stale entries (emails of deleted or updated users) after which
+     * the filter is rebuilt.
+     */
+    private final double maxStaleRatio;
+
+    EmailFilterProperties(@DefaultValue("true") boolean enabled,
+                          @DefaultValue("100000") int expectedEmails,
+                          @DefaultValue("0.01") double falsePositiveRate,
+                          @DefaultValue("0.2") double maxStaleRatio) {
+        this.enabled = enabled;
+        this.expectedEmails = expectedEmails;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxStaleRatio = maxStaleRatio;
+    }
+
+}
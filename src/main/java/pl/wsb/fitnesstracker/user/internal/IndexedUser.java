@@ -0,0 +1,25 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import jakarta.annotation.Nullable;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.LocalDate;
+
+/**
+ * Snapshot of the indexed fields of a user, as stored by the in-memory {@link UserIndex indexes}.
+ *
+ * @param id        ID of the user
+ * @param firstName first name of the user
+ * @param lastName  last name of the user
+ * @param email     email of the user
+ * @param birthdate birthdate of the user
+ */
+record IndexedUser(Long id, @Nullable String firstName, @Nullable String lastName, String email,
+                   LocalDate birthdate) {
+
+    static IndexedUser of(User user) {
+        return new IndexedUser(user.getId(), user.getFirstName(), user.getLastName(), user.getEmail(),
+                user.getBirthdate());
+    }
+
+}
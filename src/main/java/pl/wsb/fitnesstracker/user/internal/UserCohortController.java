@@ -0,0 +1,65 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import pl.wsb.fitnesstracker.user.api.AgeBracketActivityDto;
+import pl.wsb.fitnesstracker.user.api.AgeBracketDto;
+import pl.wsb.fitnesstracker.user.api.UserCohortProvider;
+
+import java.util.List;
+
+/**
+ * REST controller for the cohort analytics of the users by age.
+ * All endpoints are prefixed with /v1/users/cohorts.
+ */
+@RestController
+@RequestMapping("/v1/users/cohorts")
+@RequiredArgsConstructor
+class UserCohortController {
+
+    private static final String DEFAULT_BOUNDS = "0,18,25,35,45,55,65";
+
+    private final UserCohortProvider userCohortProvider;
+
+    /**
+     * Counts the users aged within the given range.
+     *
+     * @param minAge the lowest age (inclusive)
+     * @param maxAge the highest age (inclusive), no upper limit if not given
+     * @return AgeBracketDto with the number of users in the range
+     */
+    @GetMapping("/count")
+    public AgeBracketDto countUsersAgedBetween(@RequestParam(defaultValue = "0") int minAge,
+                                               @RequestParam(required = false) @Nullable Integer maxAge) {
+        return userCohortProvider.countUsersAgedBetween(minAge, maxAge);
+    }
+
+    /**
+     * Counts the users in each age bracket.
+     *
+     * @param bounds the lowest ages of the brackets, in ascending order
+     * @return list of AgeBracketDto with the number of users in each bracket
+     */
+    @GetMapping("/age-brackets")
+    public List<AgeBracketDto> countUsersByAgeBracket(@RequestParam(defaultValue = DEFAULT_BOUNDS)
+                                                      List<Integer> bounds) {
+        return userCohortProvider.countUsersByAgeBracket(bounds);
+    }
+
+    /**
+     * Counts the users in each age bracket practising each activity type.
+     *
+     * @param bounds the lowest ages of the brackets, in ascending order
+     * @return list of AgeBracketActivityDto with the number of users for each bracket and activity type
+     */
+    @GetMapping("/age-brackets/activity-types")
+    public List<AgeBracketActivityDto> countUsersByAgeBracketAndActivityType(
+            @RequestParam(defaultValue = DEFAULT_BOUNDS) List<Integer> bounds) {
+        return userCohortProvider.countUsersByAgeBracketAndActivityType(bounds);
+    }
+
+}
@@ -0,0 +1,126 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import jakarta.annotation.Nullable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import pl.wsb.fitnesstracker.training.api.BirthdateActivityCount;
+import pl.wsb.fitnesstracker.training.api.TrainingRepository;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+import pl.wsb.fitnesstracker.user.api.AgeBracketActivityDto;
+import pl.wsb.fitnesstracker.user.api.AgeBracketDto;
+import pl.wsb.fitnesstracker.user.api.InvalidAgeBracketsException;
+import pl.wsb.fitnesstracker.user.api.UserCohortProvider;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service implementation of the cohort analytics, converting the age brackets to ranges of birthdates once per query
+ * and counting them with the {@link BirthdateIndex}. The users practising each activity type are counted by the
+ * database per birthdate, and the counts are summed per age bracket.
+ */
+@Service
+@RequiredArgsConstructor
+class UserCohortServiceImpl implements UserCohortProvider {
+
+    private final BirthdateIndex birthdateIndex;
+
+    private final TrainingRepository trainingRepository;
+
+    @Override
+    public AgeBracketDto countUsersAgedBetween(final int minAge, @Nullable final Integer maxAge) {
+        if (minAge < 0 || maxAge != null && maxAge < minAge) {
+            throw new InvalidAgeBracketsException("Invalid age range " + minAge + "-" + maxAge);
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate bornAfter = maxAge != null ? today.minusYears(maxAge + 1L) : null;
+        return new AgeBracketDto(minAge, maxAge, birthdateIndex.countBornBetween(bornAfter, today.minusYears(minAge)));
+    }
+
+    @Override
+    public List<AgeBracketDto> countUsersByAgeBracket(final List<Integer> bounds) {
+        Brackets brackets = Brackets.of(bounds, LocalDate.now());
+        List<AgeBracketDto> counts = new ArrayList<>(bounds.size());
+        for (int i = 0; i < bounds.size(); i++) {
+            LocalDate bornAfter = i + 1 < bounds.size() ? brackets.latestBirthdate(i + 1) : null;
+            counts.add(new AgeBracketDto(bounds.get(i), brackets.maxAge(i),
+                    birthdateIndex.countBornBetween(bornAfter, brackets.latestBirthdate(i))));
+        }
+        return counts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AgeBracketActivityDto> countUsersByAgeBracketAndActivityType(final List<Integer> bounds) {
+        Brackets brackets = Brackets.of(bounds, LocalDate.now());
+        ActivityType[] activityTypes = ActivityType.values();
+        long[][] users = new long[bounds.size()][activityTypes.length];
+        for (BirthdateActivityCount count : trainingRepository.countUsersByBirthdateAndActivityType()) {
+            int bracket = brackets.indexOf(count.birthdate().toEpochDay());
+            if (bracket >= 0) {
+                users[bracket][count.activityType().ordinal()] += count.users();
+            }
+        }
+        List<AgeBracketActivityDto> counts = new ArrayList<>(bounds.size() * activityTypes.length);
+        for (int i = 0; i < bounds.size(); i++) {
+            for (ActivityType activityType : activityTypes) {
+                counts.add(new AgeBracketActivityDto(bounds.get(i), brackets.maxAge(i), activityType,
+                        users[i][activityType.ordinal()]));
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Age brackets starting at ascending bounds, with the latest birthdate of each bracket computed once.
+     */
+    private record Brackets(List<Integer> bounds, long[] latestEpochDays) {
+
+        private static Brackets of(List<Integer> bounds, LocalDate today) {
+            if (bounds.isEmpty() || bounds.get(0) < 0) {
+                throw new InvalidAgeBracketsException("Age brackets must start at non-negative ages: " + bounds);
+            }
+            long[] latestEpochDays = new long[bounds.size()];
+            for (int i = 0; i < bounds.size(); i++) {
+                if (i > 0 && bounds.get(i) <= bounds.get(i - 1)) {
+                    throw new InvalidAgeBracketsException("Age brackets must be in ascending order: " + bounds);
+                }
+                latestEpochDays[i] = today.minusYears(bounds.get(i)).toEpochDay();
+            }
+            return new Brackets(bounds, latestEpochDays);
+        }
+
+        private LocalDate latestBirthdate(int bracket) {
+            return LocalDate.ofEpochDay(latestEpochDays[bracket]);
+        }
+
+        @Nullable
+        private Integer maxAge(int bracket) {
+            return bracket + 1 < bounds.size() ? bounds.get(bracket + 1) - 1 : null;
+        }
+
+        /**
+         * Returns the bracket of the birthdate, found by binary search over the descending latest birthdates.
+         *
+         * @return index of the bracket, {@code -1} if younger than the first bracket
+         */
+        private int indexOf(long epochDay) {
+            int low = 0;
+            int high = latestEpochDays.length;
+            // the brackets whose latest birthdate is on or after the birthdate form a prefix
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (latestEpochDays[middle] >= epochDay) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low - 1;
+        }
+
+    }
+
+}
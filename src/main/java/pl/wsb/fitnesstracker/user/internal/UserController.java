@@ -1,18 +1,30 @@
 package pl.wsb.fitnesstracker.user.internal;
 
+import jakarta.annotation.Nullable;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import pl.wsb.fitnesstracker.database.api.ChangeCounter;
+import pl.wsb.fitnesstracker.database.api.CollectionVersion;
+import pl.wsb.fitnesstracker.exception.api.BusinessException;
 import pl.wsb.fitnesstracker.user.api.*;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * REST controller for user management operations.
  * Provides CRUD endpoints and search functionality for users.
  * All endpoints are prefixed with /v1/users.
+ * Single users are tagged with their version and user collections with the {@link ChangeCounter}, so
+ * conditional requests of unchanged resources are answered with 304 Not Modified. The tag of a user collection is
+ * read by the service together with the collection, so a lagging read replica never tags an older collection with a
+ * newer state.
+ * User lists are selected as {@link UserRows} and written by the {@link UserRowsMessageConverter}, without creating
+ * the entities and the DTOs.
  */
 @RestController
 @RequestMapping("/v1/users")
@@ -26,42 +38,42 @@ class UserController {
     /**
      * Retrieves a list of all users with full information.
      *
-     * @return list of UserDto containing full user information
+     * @return rows written as a list of UserDto containing full user information, tagged with the state of the users
      */
     @GetMapping
-    public List<UserDto> getAllUsers() {
-        return userService.findAllUsers()
-                .stream()
-                .map(userMapper::toDto)
-                .toList();
+    public ResponseEntity<UserRows> getAllUsers() {
+        return toTaggedResponse(userService.findAllUserRows());
     }
 
     /**
      * Retrieves a list of all users with basic information (ID, firstName,
      * lastName).
      *
-     * @return list of UserBasicDto containing basic user information
+     * @return rows written as a list of UserBasicDto containing basic user information, tagged with the state of the
+     *         users
      */
     @GetMapping("/simple")
-    public List<UserBasicDto> getAllUsersSimple() {
-        return userService.findAllUsers()
-                .stream()
-                .map(userMapper::toBasicDto)
-                .toList();
+    public ResponseEntity<UserRows> getAllUsersSimple() {
+        return toTaggedResponse(userService.findAllUserBasicRows());
     }
 
     /**
      * Retrieves detailed information about a user by ID.
      *
      * @param id the ID of the user to retrieve
-     * @return UserDto containing full user details
+     * @return UserDto containing full user details, tagged with the version of the user
      * @throws UserNotFoundException if user with given ID is not found
      */
     @GetMapping("/{id}")
-    public UserDto getUserById(@PathVariable Long id) {
-        return userService.getUser(id)
-                .map(userMapper::toDto)
+    public ResponseEntity<UserDto> getUserById(@PathVariable Long id) {
+        User user = userService.getUser(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(String.valueOf(user.getVersion()));
+        if (user.getUpdatedAt() != null) {
+            response.lastModified(user.getUpdatedAt());
+        }
+        return response.body(userMapper.toDto(user));
     }
 
     /**
@@ -82,14 +94,11 @@ class UserController {
      * Searches users by email address. Returns only ID and email.
      *
      * @param email the email address to search for
-     * @return list of UserSearchResultDto containing ID and email
+     * @return rows written as a list of UserSearchResultDto containing ID and email, tagged with the state of the users
      */
     @GetMapping("/email")
-    public List<UserSearchResultDto> searchUsersByEmail(@RequestParam String email) {
-        return userService.searchUsersByEmail(email)
-                .stream()
-                .map(userMapper::toSearchResultDto)
-                .toList();
+    public ResponseEntity<UserRows> searchUsersByEmail(@RequestParam String email) {
+        return toTaggedResponse(userService.searchUserRowsByEmail(email));
     }
 
     /**
@@ -116,44 +125,63 @@ class UserController {
      * Returns only ID and email of matching users.
      *
      * @param emailFragment the email fragment to search for
-     * @return list of UserSearchResultDto containing ID and email
+     * @return rows written as a list of UserSearchResultDto containing ID and email, tagged with the state of the users
      */
     @GetMapping("/search/email")
-    public List<UserSearchResultDto> searchUsersByEmail(@RequestParam String emailFragment) {
-        return userService.searchUsersByEmail(emailFragment)
-                .stream()
-                .map(userMapper::toSearchResultDto)
-                .toList();
+    public ResponseEntity<UserRows> searchUsersByEmailFragment(@RequestParam String emailFragment) {
+        return toTaggedResponse(userService.searchUserRowsByEmail(emailFragment));
+    }
+
+    /**
+     * Suggests users for search-as-you-type, by the beginning of their first name, last name, full name or email,
+     * ignoring case and accents.
+     *
+     * @param query the typed prefix
+     * @param limit maximum number of suggestions
+     * @return list of UserSuggestionDto ordered by the matched name or email
+     */
+    @GetMapping("/typeahead")
+    public List<UserSuggestionDto> suggestUsers(@RequestParam String query,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        return userService.suggestUsers(query, limit);
+    }
+
+    /**
+     * Searches users by their names and emails, tolerating misspellings and partial words, ignoring case and
+     * accents.
+     *
+     * @param query the searched words
+     * @param limit maximum number of users
+     * @return list of UserSearchHitDto ordered by relevance, most relevant first
+     */
+    @GetMapping("/search")
+    public List<UserSearchHitDto> searchUsers(@RequestParam String query,
+                                              @RequestParam(defaultValue = "10") int limit) {
+        return userService.searchUsers(query, limit);
     }
 
     /**
      * Searches users older than the specified age.
      *
      * @param ageMin the minimum age (exclusive)
-     * @return list of UserDto containing full user details
+     * @return rows written as a list of UserDto containing full user details
      */
     @GetMapping("/search/age")
-    public List<UserDto> searchUsersByAge(@RequestParam int ageMin) {
-        return userService.searchUsersByAgeGreaterThan(ageMin)
-                .stream()
-                .map(userMapper::toDto)
-                .toList();
+    public UserRows searchUsersByAge(@RequestParam int ageMin) {
+        return userService.searchUserRowsByAgeGreaterThan(ageMin);
     }
 
     /**
      * Searches users older than the specified date.
      *
      * @param time the date to compare against (users born before this date)
-     * @return list of UserDto containing full user details
+     * @return rows written as a list of UserDto containing full user details
      */
     @GetMapping("/older/{time}")
-    public List<UserDto> getUsersOlderThan(@PathVariable java.time.LocalDate time) {
+    public UserRows getUsersOlderThan(@PathVariable java.time.LocalDate time) {
         long yearsBetween = java.time.temporal.ChronoUnit.YEARS.between(time, java.time.LocalDate.now());
         int ageMin = (int) yearsBetween;
-        return userService.searchUsersByAgeGreaterThan(ageMin)
-                .stream()
-                .map(userMapper::toDto)
-                .toList();
+        return userService.searchUserRowsByAgeGreaterThan(ageMin);
     }
 
     /**
@@ -173,29 +201,113 @@ class UserController {
     /**
      * Updates an existing user.
      * Only provided fields will be updated; null fields remain unchanged.
+     * Passing the ETag of the user in the {@code If-Match} header rejects the update if the user was modified since.
      *
      * @param id      the ID of the user to update
+     * @param ifMatch the ETag of the version the update is based on (optional)
      * @param request the update user request containing fields to update
-     * @return UserDto containing updated user details
-     * @throws UserNotFoundException if user with given ID is not found
+     * @return UserDto containing updated user details, tagged with the new version of the user
+     * @throws UserNotFoundException        if user with given ID is not found
+     * @throws UserVersionConflictException if the user was modified concurrently
      */
     @PutMapping("/{id}")
-    public UserDto updateUser(@PathVariable Long id, @Valid @RequestBody UpdateUserRequest request) {
+    public ResponseEntity<UserDto> updateUser(@PathVariable Long id,
+                                              @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+                                              @Nullable String ifMatch,
+                                              @Valid @RequestBody UpdateUserRequest request) {
         User updatedUser = userMapper.toEntity(request);
-        User savedUser = userService.updateUser(id, updatedUser);
-        return userMapper.toDto(savedUser);
+        User savedUser = userService.updateUser(id, updatedUser, expectedVersion(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(savedUser.getVersion()))
+                .body(userMapper.toDto(savedUser));
+    }
+
+    /**
+     * Partially updates an existing user with a single statement, without loading it first.
+     * Only provided fields will be updated; null fields remain unchanged.
+     * Passing the ETag of the user in the {@code If-Match} header rejects the update if the user was modified since.
+     *
+     * @param id      the ID of the user to update
+     * @param ifMatch the ETag of the version the update is based on (optional)
+     * @param request the update user request containing fields to update
+     * @return ResponseEntity with HTTP 204 No Content status, tagged with the new version if {@code If-Match} was passed
+     * @throws UserNotFoundException        if user with given ID is not found
+     * @throws UserVersionConflictException if the user was modified concurrently
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchUser(@PathVariable Long id,
+                                          @RequestHeader(name = HttpHeaders.IF_MATCH, required = false)
+                                          @Nullable String ifMatch,
+                                          @Valid @RequestBody UpdateUserRequest request) {
+        Long expectedVersion = expectedVersion(ifMatch);
+        userService.patchUser(id, userMapper.toEntity(request), expectedVersion);
+        ResponseEntity.HeadersBuilder<?> response = ResponseEntity.noContent();
+        if (expectedVersion != null) {
+            response.eTag(String.valueOf(expectedVersion + 1));
+        }
+        return response.build();
     }
 
     /**
-     * Deletes a user by ID.
+     * Deletes a user by ID, together with its whole history.
+     * Users with a very large history can be deleted in the background, in which case the deletion is only
+     * accepted and completes later. The background deletion is fire-and-forget, there is no status resource:
+     * the deletion is complete once getting the user answers 404 Not Found, and one which failed or was interrupted
+     * by a restart leaves the user in place, to be deleted again.
      *
-     * @param id the ID of the user to delete
-     * @return ResponseEntity with HTTP 204 No Content status
+     * @param id         the ID of the user to delete
+     * @param background whether to delete the user in the background
+     * @return ResponseEntity with HTTP 204 No Content status, or HTTP 202 Accepted for a background deletion
      * @throws UserNotFoundException if user with given ID is not found
+     * @throws UserDeletionRejectedException if too many background deletions are pending
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteUser(@PathVariable Long id,
+                                           @RequestParam(defaultValue = "false") boolean background) {
+        if (background) {
+            userService.deleteUserInBackground(id);
+            return ResponseEntity.accepted().build();
+        }
         userService.deleteUser(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Tags the response with the state of the users collection the rows were selected at, so conditional requests
+     * are answered with 304 Not Modified. Age based searches are not tagged, as their results also change with the
+     * current date.
+     *
+     * @param users the tagged rows
+     * @return the response with the rows
+     */
+    private static ResponseEntity<UserRows> toTaggedResponse(UserRows users) {
+        CollectionVersion version = Objects.requireNonNull(users.version());
+        return ResponseEntity.ok()
+                .eTag(version.eTag())
+                .lastModified(version.lastModified())
+                .body(users);
+    }
+
+    /**
+     * Extracts the expected version of the user from the {@code If-Match} header.
+     *
+     * @param ifMatch value of the header, may be {@code null}
+     * @return the expected version, or {@code null} if any version is accepted
+     * @throws BusinessException if the header is not an ETag issued for a user
+     */
+    @Nullable
+    private static Long expectedVersion(@Nullable String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.startsWith("W/")) {
+            eTag = eTag.substring(2);
+        }
+        try {
+            return Long.valueOf(eTag.replace("\"", ""));
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Invalid If-Match header: " + ifMatch);
+        }
+    }
 }
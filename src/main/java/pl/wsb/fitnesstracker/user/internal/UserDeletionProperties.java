@@ -0,0 +1,37 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the background deletion of users, see {@link UserGraphDeleter}.
+ */
+@ConfigurationProperties(prefix = "user.deletion")
+@Getter
+class UserDeletionProperties {
+
+    /**
+     * Maximum number of rows deleted in one transaction by a background deletion.
+     */
+    private final int chunkSize;
+
+    /**
+     * Number of threads running the background deletions.
+     */
+    private final int threads;
+
+    /**
+     * Maximum number of background deletions waiting for a thread, further ones are rejected.
+     */
+    private final int queueCapacity;
+
+    UserDeletionProperties(@DefaultValue("1000") int chunkSize,
+                           @DefaultValue("2") int threads,
+                           @DefaultValue("100") int queueCapacity) {
+        this.chunkSize = chunkSize;
+        this.threads = threads;
+        this.queueCapacity = queueCapacity;
+    }
+
+}
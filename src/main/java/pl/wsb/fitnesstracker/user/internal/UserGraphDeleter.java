@@ -0,0 +1,203 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.wsb.fitnesstracker.database.api.ChangeCounter;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.user.api.UserDeletionRejectedException;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Deletes users together with everything referencing them: workout sessions and trainings (archived ones
+ * included), event sign-ups, health metrics and statistics. The rows are removed with set-based bulk deletes in dependency order, so none of the
+ * child entities is loaded and the entity listeners are bypassed; the callers record the changes themselves.
+ * <p>
+ * Users with a very large history can be deleted in chunks instead, each in a short transaction of its own, so
+ * the deletion never holds locks on many rows for long. Chunked deletions can run in the background, on an executor
+ * of their own limited by {@code user.deletion.threads}, so that they never occupy the application task executor
+ * shared by the asynchronous queries.
+ */
+@Component
+@Slf4j
+class UserGraphDeleter {
+
+    /**
+     * Queries selecting IDs of the rows referencing the user, children before their parents.
+     * Every entry is paired with the bulk delete of the selected IDs at the same position in {@link #CHUNK_DELETES}.
+     */
+    private static final List<String> CHUNK_SELECTS = List.of(
+            "SELECT ws.id FROM WorkoutSession ws WHERE ws.training.user.id = :userId ORDER BY ws.id",
+            "SELECT t.id FROM Training t WHERE t.user.id = :userId ORDER BY t.id",
+            "SELECT ws.id FROM ArchivedWorkoutSession ws WHERE ws.training.user.id = :userId ORDER BY ws.id",
+            "SELECT t.id FROM ArchivedTraining t WHERE t.user.id = :userId ORDER BY t.id",
+            "SELECT ue.id FROM UserEvent ue WHERE ue.user.id = :userId ORDER BY ue.id",
+            "SELECT hm.id FROM HealthMetrics hm WHERE hm.user.id = :userId ORDER BY hm.id");
+
+    private static final List<String> CHUNK_DELETES = List.of(
+            "DELETE FROM WorkoutSession ws WHERE ws.id IN :ids",
+            "DELETE FROM Training t WHERE t.id IN :ids",
+            "DELETE FROM ArchivedWorkoutSession ws WHERE ws.id IN :ids",
+            "DELETE FROM ArchivedTraining t WHERE t.id IN :ids",
+            "DELETE FROM UserEvent ue WHERE ue.id IN :ids",
+            "DELETE FROM HealthMetrics hm WHERE hm.id IN :ids");
+
+    /**
+     * Positions of the bulk deletes removing trainings (archived ones included), which change the training
+     * collection counted by the {@link ChangeCounter}.
+     */
+    private static final Set<Integer> TRAINING_DELETES = Set.of(1, 3);
+
+    private final UserDeletionProperties properties;
+
+    private final TransactionTemplate transaction;
+
+    private final ChangeCounter changeCounter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ThreadPoolTaskExecutor deletionExecutor;
+
+    UserGraphDeleter(UserDeletionProperties properties,
+                     PlatformTransactionManager transactionManager,
+                     ChangeCounter changeCounter) {
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.changeCounter = changeCounter;
+        this.deletionExecutor = new ThreadPoolTaskExecutor();
+        this.deletionExecutor.setThreadNamePrefix("user-deletion-");
+        this.deletionExecutor.setCorePoolSize(properties.getThreads());
+        this.deletionExecutor.setMaxPoolSize(properties.getThreads());
+        this.deletionExecutor.setQueueCapacity(properties.getQueueCapacity());
+        this.deletionExecutor.setAllowCoreThreadTimeOut(true);
+        this.deletionExecutor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        deletionExecutor.shutdown();
+    }
+
+    /**
+     * Deletes the user and all rows referencing it within the current transaction.
+     *
+     * @param userId ID of the user to delete
+     * @return {@code true} if the user was deleted, {@code false} if it does not exist
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    boolean delete(Long userId) {
+        // pending changes are written before the bulk deletes, and nothing deleted stays managed afterwards
+        entityManager.flush();
+        int sessions = entityManager.createQuery("DELETE FROM WorkoutSession ws WHERE ws.training IN "
+                        + "(SELECT t FROM Training t WHERE t.user.id = :userId)")
+                .setParameter("userId", userId)
+                .executeUpdate();
+        int trainings = deleteByUser("Training", userId);
+        sessions += entityManager.createQuery("DELETE FROM ArchivedWorkoutSession ws WHERE ws.training IN "
+                        + "(SELECT t FROM ArchivedTraining t WHERE t.user.id = :userId)")
+                .setParameter("userId", userId)
+                .executeUpdate();
+        trainings += deleteByUser("ArchivedTraining", userId);
+        int events = deleteByUser("UserEvent", userId);
+        int metrics = deleteByUser("HealthMetrics", userId);
+        deleteByUser("Statistics", userId);
+        int users = entityManager.createQuery("DELETE FROM User u WHERE u.id = :userId")
+                .setParameter("userId", userId)
+                .executeUpdate();
+        entityManager.clear();
+        log.info("Deleted User with ID: {} with {} trainings, {} workout sessions, {} events and {} health metrics",
+                userId, trainings, sessions, events, metrics);
+        return users > 0;
+    }
+
+    /**
+     * Deletes the user and all rows referencing it in chunks of {@code user.deletion.chunk-size} rows, each chunk
+     * in a transaction of its own. The chunks deleting trainings record the change of the training collection
+     * themselves, as they become visible as soon as they commit. The user itself, its statistics and whatever was
+     * added in the meantime are deleted in a final transaction.
+     *
+     * @param userId        ID of the user to delete
+     * @param afterDeletion run in the final transaction once the user is deleted, to record the deletion atomically
+     *                      with it
+     * @return {@code true} if the user was deleted, {@code false} if it does not exist
+     */
+    boolean deleteInChunks(Long userId, Runnable afterDeletion) {
+        long deletedRows = 0;
+        int chunk;
+        do {
+            chunk = transaction.execute(status -> deleteChunk(userId));
+            deletedRows += chunk;
+        } while (chunk > 0);
+        log.info("Deleted {} rows referencing User with ID: {} in chunks", deletedRows, userId);
+        return Boolean.TRUE.equals(transaction.execute(status -> {
+            boolean deleted = delete(userId);
+            if (deleted) {
+                afterDeletion.run();
+            }
+            return deleted;
+        }));
+    }
+
+    /**
+     * Queues a {@link #deleteInChunks(Long, Runnable) chunked deletion} of the user on the deletion executor.
+     * The deletion is not persisted: a deletion failing or still queued when the application stops leaves the user
+     * (and possibly a part of its history) in place, and has to be requested again.
+     *
+     * @param userId        ID of the user to delete
+     * @param afterDeletion run in the final transaction once the user is deleted
+     * @return future completed once the user is deleted
+     * @throws UserDeletionRejectedException if too many deletions are already queued
+     */
+    CompletableFuture<Void> deleteInBackground(Long userId, Runnable afterDeletion) {
+        try {
+            return deletionExecutor.submitCompletable(() -> {
+                try {
+                    deleteInChunks(userId, afterDeletion);
+                    return null;
+                } catch (RuntimeException e) {
+                    log.error("Background deletion of User with ID: {} failed", userId, e);
+                    throw e;
+                }
+            });
+        } catch (TaskRejectedException e) {
+            throw new UserDeletionRejectedException(userId, e);
+        }
+    }
+
+    private int deleteChunk(Long userId) {
+        for (int step = 0; step < CHUNK_SELECTS.size(); step++) {
+            List<Long> ids = entityManager.createQuery(CHUNK_SELECTS.get(step), Long.class)
+                    .setParameter("userId", userId)
+                    .setMaxResults(properties.getChunkSize())
+                    .getResultList();
+            if (!ids.isEmpty()) {
+                if (TRAINING_DELETES.contains(step)) {
+                    changeCounter.recordChange(Training.class);
+                }
+                return entityManager.createQuery(CHUNK_DELETES.get(step))
+                        .setParameter("ids", ids)
+                        .executeUpdate();
+            }
+        }
+        return 0;
+    }
+
+    private int deleteByUser(String entityName, Long userId) {
+        return entityManager.createQuery("DELETE FROM " + entityName + " e WHERE e.user.id = :userId")
+                .setParameter("userId", userId)
+                .executeUpdate();
+    }
+
+}
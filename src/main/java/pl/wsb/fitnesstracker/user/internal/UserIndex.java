@@ -0,0 +1,57 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+/**
+ * In-memory index of the users. The user service applies its changes to every index once they are committed;
+ * users written in bulk, bypassing the service, are picked up by a rebuild of all indexes at once, requested by the
+ * bulk writer or periodic (see {@link UserIndexRebuilder}).
+ */
+interface UserIndex {
+
+    /**
+     * Adds the user to the index, or replaces its previous entries.
+     *
+     * @param user the stored user
+     */
+    void put(IndexedUser user);
+
+    /**
+     * Removes the user from the index.
+     *
+     * @param userId ID of the deleted user
+     */
+    void delete(Long userId);
+
+    /**
+     * Starts rebuilding the index into a fresh one, while the current index keeps serving reads and writes. The
+     * writes applied until the rebuild finishes are recorded and carried over to the fresh index.
+     *
+     * @return the rebuild, to be fed with every stored user
+     */
+    Rebuild startRebuild();
+
+    /**
+     * A rebuild of an index in progress.
+     */
+    interface Rebuild {
+
+        /**
+         * Adds a stored user to the fresh index. Different users may be added from several threads at once.
+         *
+         * @param user the stored user
+         */
+        void add(IndexedUser user);
+
+        /**
+         * Carries the writes recorded since the start over to the fresh index and replaces the current index with
+         * it.
+         */
+        void finish();
+
+        /**
+         * Stops recording the writes and drops the fresh index, keeping the current one.
+         */
+        void abandon();
+
+    }
+
+}
@@ -0,0 +1,33 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the rebuilds of the in-memory user indexes, see {@link UserIndexRebuilder}.
+ */
+@ConfigurationProperties(prefix = "user.index")
+@Getter
+class UserIndexProperties {
+
+    /**
+     * How often the indexes are rebuilt from the database, picking up users written in bulk (data import, synthetic
+     * data) rather than through the user service.
+     */
+    private final Duration refreshInterval;
+
+    /**
+     * Number of ranges of user IDs read in parallel when rebuilding the indexes.
+     */
+    private final int rebuildParallelism;
+
+    UserIndexProperties(@DefaultValue("10m") Duration refreshInterval,
+                        @DefaultValue("4") int rebuildParallelism) {
+        this.refreshInterval = refreshInterval;
+        this.rebuildParallelism = rebuildParallelism;
+    }
+
+}
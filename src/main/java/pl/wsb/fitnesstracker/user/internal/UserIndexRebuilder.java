@@ -0,0 +1,118 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+/**
+ * Rebuilds every {@link UserIndex} from the database in a single scan of the users, when the application is ready,
+ * periodically and on request of the bulk writers.
+ * <p>
+ * The range of user IDs is split among parallel readers running on an executor of their own, limited by
+ * {@code user.index.rebuild-parallelism}, so that a rebuild never occupies the application task executor shared by
+ * the asynchronous queries. Each read user is fed to the rebuilds of all indexes.
+ */
+@Component
+@Slf4j
+class UserIndexRebuilder {
+
+    private final UserRepository userRepository;
+
+    private final List<UserIndex> userIndexes;
+
+    private final UserIndexProperties properties;
+
+    private final TaskScheduler taskScheduler;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final ThreadPoolTaskExecutor rebuildExecutor;
+
+    UserIndexRebuilder(UserRepository userRepository,
+                       List<UserIndex> userIndexes,
+                       UserIndexProperties properties,
+                       TaskScheduler taskScheduler,
+                       PlatformTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.userIndexes = userIndexes;
+        this.properties = properties;
+        this.taskScheduler = taskScheduler;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        int parallelism = Math.max(1, properties.getRebuildParallelism());
+        this.rebuildExecutor = new ThreadPoolTaskExecutor();
+        this.rebuildExecutor.setThreadNamePrefix("user-index-rebuild-");
+        this.rebuildExecutor.setCorePoolSize(parallelism);
+        this.rebuildExecutor.setMaxPoolSize(parallelism);
+        this.rebuildExecutor.setQueueCapacity(parallelism);
+        this.rebuildExecutor.setAllowCoreThreadTimeOut(true);
+        this.rebuildExecutor.initialize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdown();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void onApplicationReady() {
+        rebuild();
+        taskScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.warn("Rebuilding of the user indexes failed, keeping the current ones", e);
+            }
+        }, Instant.now().plus(properties.getRefreshInterval()), properties.getRefreshInterval());
+    }
+
+    /**
+     * Rebuilds all user indexes from the users stored in the database. The current indexes serve the reads and
+     * writes meanwhile; if reading the users fails, they are kept.
+     */
+    synchronized void rebuild() {
+        List<UserIndex.Rebuild> rebuilds = userIndexes.stream()
+                .map(UserIndex::startRebuild)
+                .toList();
+        try {
+            Long minId = userRepository.findMinId();
+            Long maxId = userRepository.findMaxId();
+            if (minId != null && maxId != null) {
+                int parallelism = Math.max(1, properties.getRebuildParallelism());
+                long rangeSize = (maxId - minId) / parallelism + 1;
+                List<CompletableFuture<Void>> ranges = new ArrayList<>();
+                for (long from = minId; from <= maxId; from += rangeSize) {
+                    long to = Math.min(from + rangeSize - 1, maxId);
+                    long rangeStart = from;
+                    ranges.add(rebuildExecutor.submitCompletable(() -> readRange(rebuilds, rangeStart, to)));
+                }
+                CompletableFuture.allOf(ranges.toArray(CompletableFuture[]::new)).join();
+            }
+        } catch (RuntimeException e) {
+            rebuilds.forEach(UserIndex.Rebuild::abandon);
+            throw e;
+        }
+        rebuilds.forEach(UserIndex.Rebuild::finish);
+    }
+
+    private void readRange(List<UserIndex.Rebuild> rebuilds, long fromId, long toId) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<IndexedUser> users = userRepository.streamIndexedUsersByIdBetween(fromId, toId)) {
+                users.forEach(user -> rebuilds.forEach(rebuild -> rebuild.add(user)));
+            }
+        });
+    }
+
+}
@@ -29,6 +29,20 @@ class UserMapper {
                 user.getEmail());
     }
 
+    /**
+     * Converts the indexed fields of a user to a full UserDto.
+     *
+     * @param user the indexed fields of the user
+     * @return UserDto containing all user information
+     */
+    UserDto toDto(IndexedUser user) {
+        return new UserDto(user.id(),
+                user.firstName(),
+                user.lastName(),
+                user.birthdate(),
+                user.email());
+    }
+
     /**
      * Converts a User entity to a UserBasicDto (ID, firstName, lastName only).
      *
@@ -1,12 +1,21 @@
 package pl.wsb.fitnesstracker.user.internal;
 
+import jakarta.annotation.Nullable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import pl.wsb.fitnesstracker.user.api.User;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for {@link User} entity operations.
@@ -15,30 +24,146 @@ import java.util.Optional;
 interface UserRepository extends JpaRepository<User, Long> {
 
     /**
-     * Query searching users by email address. It matches by exact match.
+     * Retrieves users with IDs greater than the given one, ordered by ID.
+     *
+     * @param id    the ID to compare against (exclusive)
+     * @param limit maximum number of users to return
+     * @return list of users ordered by ID
+     */
+    List<User> findByIdGreaterThanOrderById(Long id, Limit limit);
+
+    /**
+     * Retrieves IDs of the users with IDs greater than the given one, without loading the users.
+     *
+     * @param id    the ID to compare against (exclusive)
+     * @param limit maximum number of IDs to return
+     * @return list of IDs in ascending order
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id > :id ORDER BY u.id")
+    List<Long> findIdsGreaterThan(@Param("id") Long id, Limit limit);
+
+    /**
+     * Selects the indexed fields of the user, without loading the entity.
+     *
+     * @param id ID of the user
+     * @return the indexed fields, or empty if the user does not exist
+     */
+    @Query("""
+            SELECT new pl.wsb.fitnesstracker.user.internal.IndexedUser(u.id, u.firstName, u.lastName, u.email, u.birthdate)
+            FROM User u
+            WHERE u.id = :id
+            """)
+    Optional<IndexedUser> findIndexedUser(@Param("id") Long id);
+
+    /**
+     * Updates the non-null fields of the user with a single statement and increments its version.
+     *
+     * @param id              ID of the user
+     * @param firstName       new first name, or {@code null} to keep the current one
+     * @param lastName        new last name, or {@code null} to keep the current one
+     * @param birthdate       new birthdate, or {@code null} to keep the current one
+     * @param email           new email, or {@code null} to keep the current one
+     * @param expectedVersion version the user must have, or {@code null} to update any version
+     * @param now             the modification time
+     * @return number of updated users, {@code 0} if the user does not exist or has a different version
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE User u SET
+                u.firstName = COALESCE(:firstName, u.firstName),
+                u.lastName = COALESCE(:lastName, u.lastName),
+                u.birthdate = COALESCE(:birthdate, u.birthdate),
+                u.email = COALESCE(:email, u.email),
+                u.version = u.version + 1,
+                u.updatedAt = :now
+            WHERE u.id = :id AND (:expectedVersion IS NULL OR u.version = :expectedVersion)
+            """)
+    int updateNonNullFields(@Param("id") Long id,
+                            @Param("firstName") String firstName,
+                            @Param("lastName") String lastName,
+                            @Param("birthdate") LocalDate birthdate,
+                            @Param("email") String email,
+                            @Param("expectedVersion") Long expectedVersion,
+                            @Param("now") Instant now);
+
+    /**
+     * Checks whether any user uses the email. The query is served by the unique index on the email.
+     *
+     * @param email the email to check
+     * @return {@code true} if a user with the email exists
+     */
+    boolean existsByEmail(String email);
+
+    /**
+     * Checks whether any user other than the given one uses the email.
+     *
+     * @param email  the email to check
+     * @param userId ID of the user to skip
+     * @return {@code true} if another user with the email exists
+     */
+    boolean existsByEmailAndIdNot(String email, Long userId);
+
+    /**
+     * Streams the emails of all users, without loading the user entities. The stream has to be consumed
+     * within a transaction and closed.
+     *
+     * @return emails of all users
+     */
+    @Query("SELECT u.email FROM User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<String> streamAllEmails();
+
+    /**
+     * Streams the indexed fields of the users with IDs in the given range, without loading the user entities. The
+     * stream has to be consumed within a transaction and closed.
+     *
+     * @param fromId the lowest ID (inclusive)
+     * @param toId   the highest ID (inclusive)
+     * @return indexed fields of the users with IDs in the range
+     */
+    @Query("""
+            SELECT new pl.wsb.fitnesstracker.user.internal.IndexedUser(u.id, u.firstName, u.lastName, u.email, u.birthdate)
+            FROM User u
+            WHERE u.id BETWEEN :fromId AND :toId
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<IndexedUser> streamIndexedUsersByIdBetween(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    /**
+     * Returns the lowest ID of the users.
+     *
+     * @return the lowest ID, or {@code null} if there are no users
+     */
+    @Query("SELECT MIN(u.id) FROM User u")
+    @Nullable
+    Long findMinId();
+
+    /**
+     * Returns the highest ID of the users.
+     *
+     * @return the highest ID, or {@code null} if there are no users
+     */
+    @Query("SELECT MAX(u.id) FROM User u")
+    @Nullable
+    Long findMaxId();
+
+    /**
+     * Query searching users by email address. It matches by exact match, served by the unique index on the email.
      *
      * @param email email of the user to search
      * @return {@link Optional} containing found user or {@link Optional#empty()} if
      *         none matched
      */
-    default Optional<User> findByEmail(String email) {
-        return findAll().stream()
-                .filter(user -> Objects.equals(user.getEmail(), email))
-                .findFirst();
-    }
+    Optional<User> findByEmail(String email);
 
     /**
      * Searches users by email fragment (case-insensitive, partial match).
+     * For misspelled or partial words use the {@link UserSearchIndex} instead.
      *
      * @param emailFragment the email fragment to search for
      * @return list of users matching the email fragment
      */
-    default List<User> findByEmailContainingIgnoreCase(String emailFragment) {
-        return findAll().stream()
-                .filter(user -> user.getEmail() != null
-                        && user.getEmail().toLowerCase().contains(emailFragment.toLowerCase()))
-                .toList();
-    }
+    List<User> findByEmailContainingIgnoreCase(String emailFragment);
 
     /**
      * Searches users by first name and last name (exact match, case-sensitive).
@@ -47,12 +172,15 @@ interface UserRepository extends JpaRepository<User, Long> {
      * @param lastName  the last name to search for
      * @return list of users matching the first and last name
      */
-    default List<User> findByFirstNameAndLastName(String firstName, String lastName) {
-        return findAll().stream()
-                .filter(user -> Objects.equals(user.getFirstName(), firstName)
-                        && Objects.equals(user.getLastName(), lastName))
-                .toList();
-    }
+    List<User> findByFirstNameAndLastName(String firstName, String lastName);
+
+    /**
+     * Searches users born before the given date. The query is served by the index on the birthdate.
+     *
+     * @param birthdate the date to compare against (exclusive)
+     * @return list of users born before the date
+     */
+    List<User> findByBirthdateBefore(LocalDate birthdate);
 
     /**
      * Searches users older than the specified age.
@@ -61,11 +189,70 @@ interface UserRepository extends JpaRepository<User, Long> {
      * @return list of users older than the specified age
      */
     default List<User> findByAgeGreaterThan(int minAge) {
-        LocalDate maxBirthdate = LocalDate.now().minusYears(minAge + 1);
-        return findAll().stream()
-                .filter(user -> user.getBirthdate() != null
-                        && user.getBirthdate().isBefore(maxBirthdate))
-                .toList();
+        return findByBirthdateBefore(LocalDate.now().minusYears(minAge + 1));
+    }
+
+    /**
+     * Streams the columns of {@link UserRowLayout#FULL} of all users, without loading the user entities. The stream
+     * has to be consumed within a transaction and closed.
+     *
+     * @return rows of all users ordered by ID
+     */
+    @Query("SELECT u.id, u.firstName, u.lastName, u.birthdate, u.email FROM User u ORDER BY u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamAllFullRows();
+
+    /**
+     * Streams the columns of {@link UserRowLayout#BASIC} of all users, without loading the user entities. The stream
+     * has to be consumed within a transaction and closed.
+     *
+     * @return rows of all users ordered by ID
+     */
+    @Query("SELECT u.id, u.firstName, u.lastName FROM User u ORDER BY u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamAllBasicRows();
+
+    /**
+     * Streams the columns of {@link UserRowLayout#FULL} of the users born before the given date, without loading
+     * the user entities. The query is served by the index on the birthdate. The stream has to be consumed within a
+     * transaction and closed.
+     *
+     * @param birthdate the date to compare against (exclusive)
+     * @return rows of the users born before the date, ordered by ID
+     */
+    @Query("""
+            SELECT u.id, u.firstName, u.lastName, u.birthdate, u.email FROM User u
+            WHERE u.birthdate < :birthdate
+            ORDER BY u.id
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamFullRowsByBirthdateBefore(@Param("birthdate") LocalDate birthdate);
+
+    /**
+     * Streams the columns of {@link UserRowLayout#FULL} of the users older than the specified age. The stream has to
+     * be consumed within a transaction and closed.
+     *
+     * @param minAge the minimum age (exclusive)
+     * @return rows of the users older than the age, ordered by ID
+     */
+    default Stream<Object[]> streamFullRowsByAgeGreaterThan(int minAge) {
+        return streamFullRowsByBirthdateBefore(LocalDate.now().minusYears(minAge + 1));
     }
 
+    /**
+     * Streams the columns of {@link UserRowLayout#SEARCH_RESULT} of the users with emails containing the fragment
+     * (case-insensitive), without loading the user entities. The stream has to be consumed within a transaction and
+     * closed.
+     *
+     * @param emailFragment the email fragment to search for, wildcards in it are matched literally
+     * @return rows of the matching users ordered by ID
+     */
+    @Query("""
+            SELECT u.id, u.email FROM User u
+            WHERE UPPER(u.email) LIKE UPPER(CONCAT('%', :#{escape(#emailFragment)}, '%')) ESCAPE :#{escapeCharacter()}
+            ORDER BY u.id
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<Object[]> streamSearchResultRowsByEmailContaining(@Param("emailFragment") String emailFragment);
+
 }
@@ -0,0 +1,48 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import com.fasterxml.jackson.core.io.SerializedString;
+import pl.wsb.fitnesstracker.user.api.UserBasicDto;
+import pl.wsb.fitnesstracker.user.api.UserDto;
+import pl.wsb.fitnesstracker.user.api.UserSearchResultDto;
+
+import java.util.Arrays;
+
+/**
+ * Columns selected by the user list queries, named after the fields of the DTO the rows are written as.
+ */
+enum UserRowLayout {
+
+    /**
+     * Columns of {@link UserDto}.
+     */
+    FULL("id", "firstName", "lastName", "birthdate", "email"),
+
+    /**
+     * Columns of {@link UserBasicDto}.
+     */
+    BASIC("id", "firstName", "lastName"),
+
+    /**
+     * Columns of {@link UserSearchResultDto}.
+     */
+    SEARCH_RESULT("id", "email");
+
+    private final SerializedString[] fieldNames;
+
+    UserRowLayout(String... fieldNames) {
+        this.fieldNames = Arrays.stream(fieldNames)
+                .map(SerializedString::new)
+                .toArray(SerializedString[]::new);
+    }
+
+    /**
+     * Returns the JSON field name of the column, with its encoded form precomputed.
+     *
+     * @param column index of the column
+     * @return the field name
+     */
+    SerializedString fieldName(int column) {
+        return fieldNames[column];
+    }
+
+}
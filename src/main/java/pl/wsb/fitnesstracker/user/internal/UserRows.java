@@ -0,0 +1,51 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import jakarta.annotation.Nullable;
+import pl.wsb.fitnesstracker.database.api.CollectionVersion;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Rows of a user list query, written to the response by the {@link UserRowsMessageConverter} as the DTOs of the
+ * layout, without creating the entities and the DTOs.
+ * The rows are selected only when written, and written one by one as they are fetched from the database.
+ *
+ * @param layout  the selected columns
+ * @param version state of the user collection the rows are tagged with, {@code null} if the rows are not tagged;
+ *                the selected rows are never older than this state
+ * @param source  selects the rows
+ */
+record UserRows(UserRowLayout layout, @Nullable CollectionVersion version, RowSource source) {
+
+    /**
+     * Selects the rows of the query.
+     */
+    @FunctionalInterface
+    interface RowSource {
+
+        /**
+         * Selects the rows and passes them to the consumer while the query is open.
+         *
+         * @param consumer consumer of the rows
+         * @throws IOException if the consumer fails to write the rows
+         */
+        void select(RowConsumer consumer) throws IOException;
+    }
+
+    /**
+     * Consumes the rows of the query while it is open.
+     */
+    @FunctionalInterface
+    interface RowConsumer {
+
+        /**
+         * Consumes the rows.
+         *
+         * @param rows values of the columns, one array per user, fetched while iterated
+         * @throws IOException if writing the rows fails
+         */
+        void accept(Iterator<Object[]> rows) throws IOException;
+    }
+
+}
@@ -0,0 +1,52 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import pl.wsb.fitnesstracker.serialization.api.StreamingMessageConverter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Iterator;
+
+/**
+ * Writes {@link UserRows} as a JSON array of the DTOs of their layout, the same as serializing the DTOs.
+ * Each row is written as soon as it is fetched from the database.
+ */
+@Component
+class UserRowsMessageConverter extends StreamingMessageConverter<UserRows> {
+
+    UserRowsMessageConverter(ObjectMapper objectMapper) {
+        super(UserRows.class, objectMapper);
+    }
+
+    @Override
+    protected void write(UserRows users, JsonGenerator generator, char[] buffer) throws IOException {
+        users.source().select(rows -> write(users.layout(), rows, generator, buffer));
+    }
+
+    private static void write(UserRowLayout layout, Iterator<Object[]> rows, JsonGenerator generator, char[] buffer)
+            throws IOException {
+        generator.writeStartArray();
+        while (rows.hasNext()) {
+            Object[] row = rows.next();
+            generator.writeStartObject();
+            for (int column = 0; column < row.length; column++) {
+                generator.writeFieldName(layout.fieldName(column));
+                Object value = row[column];
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Long number) {
+                    generator.writeNumber(number);
+                } else if (value instanceof LocalDate date) {
+                    writeDate(generator, date, buffer);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+}
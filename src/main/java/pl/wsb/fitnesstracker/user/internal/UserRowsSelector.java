@@ -0,0 +1,97 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import jakarta.annotation.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import pl.wsb.fitnesstracker.database.api.ChangeCounter;
+import pl.wsb.fitnesstracker.database.api.CollectionVersion;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Prepares the {@link UserRows} of the user list queries.
+ * The rows are streamed within a transaction of their own while the response is written, so a list of all users is
+ * never held in memory. Tagged rows are tagged with the state of the user collection when the query is prepared,
+ * which lets conditional requests be answered with 304 Not Modified without selecting the rows. The rows are then
+ * selected in a read-only transaction, which first checks that the collection is still in that state: if it is
+ * not, e.g. because the read replica serving it has not replayed that state yet, the rows are selected from the
+ * primary database instead, so older rows are never tagged with a newer state.
+ */
+@Component
+class UserRowsSelector {
+
+    private final ChangeCounter changeCounter;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final TransactionTemplate primaryTransaction;
+
+    UserRowsSelector(ChangeCounter changeCounter, PlatformTransactionManager transactionManager) {
+        this.changeCounter = changeCounter;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Prepares rows tagged with the state of the user collection.
+     *
+     * @param layout the columns selected by the query
+     * @param query  streams the rows, called within the transaction of the rows
+     * @return the rows, selected when written
+     */
+    UserRows selectTagged(UserRowLayout layout, Supplier<Stream<Object[]>> query) {
+        CollectionVersion version = changeCounter.getVersion(User.class);
+        return new UserRows(layout, version, consumer -> {
+            if (!stream(readOnlyTransaction, version, query, consumer)) {
+                stream(primaryTransaction, null, query, consumer);
+            }
+        });
+    }
+
+    /**
+     * Prepares rows which are not tagged, as their results also change with the current date.
+     *
+     * @param layout the columns selected by the query
+     * @param query  streams the rows, called within the transaction of the rows
+     * @return the rows, selected when written
+     */
+    UserRows select(UserRowLayout layout, Supplier<Stream<Object[]>> query) {
+        return new UserRows(layout, null, consumer -> stream(readOnlyTransaction, null, query, consumer));
+    }
+
+    /**
+     * Streams the rows to the consumer within a transaction.
+     *
+     * @param transaction     the transaction to stream the rows in
+     * @param expectedVersion state the user collection has to be in, {@code null} to stream the rows in any state
+     * @param query           streams the rows
+     * @param consumer        consumer of the rows
+     * @return {@code false} if the collection was in another state and no row was streamed
+     * @throws IOException if the consumer fails to write the rows
+     */
+    private boolean stream(TransactionTemplate transaction, @Nullable CollectionVersion expectedVersion,
+                           Supplier<Stream<Object[]>> query, UserRows.RowConsumer consumer) throws IOException {
+        try {
+            return Boolean.TRUE.equals(transaction.execute(status -> {
+                if (expectedVersion != null && !expectedVersion.equals(changeCounter.getVersion(User.class))) {
+                    return false;
+                }
+                try (Stream<Object[]> rows = query.get()) {
+                    consumer.accept(rows.iterator());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+}
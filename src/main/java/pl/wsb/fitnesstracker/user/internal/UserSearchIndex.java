@@ -0,0 +1,345 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import jakarta.annotation.Nullable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import pl.wsb.fitnesstracker.user.api.UserSearchHitDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory full-text index of the users, finding them by misspelled names and partial emails.
+ * <p>
+ * The names and the email of every user are split into normalized words (see {@link UserText}), indexed by their
+ * trigrams in an inverted index. A query finds the users sharing enough trigrams with each of its words, and ranks
+ * them by how similar their words are to the words of the query: exact words first, then words starting with or
+ * containing the query word, then misspelled words, by the better of their trigram similarity (as in
+ * {@code pg_trgm}) and edit distance. Names weigh more than emails. Trigrams of a large share of the users, like
+ * the ones of common email domains, are not used to find the users, as they would make almost every user a
+ * candidate to score.
+ * <p>
+ * Changes made through the user service are searchable as soon as their transaction commits. The index is rebuilt
+ * by the {@link UserIndexRebuilder}; the changes committed while rebuilding are carried over to the rebuilt index.
+ */
+@Component
+@Slf4j
+class UserSearchIndex implements UserIndex {
+
+    private static final double NAME_WEIGHT = 1.0;
+
+    private static final double EMAIL_WEIGHT = 0.8;
+
+    private static final double PREFIX_SIMILARITY = 0.9;
+
+    private static final double INFIX_SIMILARITY = 0.7;
+
+    private final UserSearchProperties properties;
+
+    private volatile Segment segment = new Segment();
+
+    /**
+     * IDs of the users changed while the index is being rebuilt, {@code null} when it is not.
+     */
+    @Nullable
+    private Set<Long> changedDuringRebuild;
+
+    UserSearchIndex(UserSearchProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Searches the users matching every word of the query.
+     *
+     * @param query the searched words
+     * @param limit maximum number of users, capped by the configured maximum
+     * @return the users ordered by relevance, most relevant first
+     */
+    List<UserSearchHitDto> search(String query, int limit) {
+        List<Term> queryTerms = UserText.words(query).stream()
+                .distinct()
+                .map(word -> Term.of(word, 1.0))
+                .toList();
+        int maxResults = Math.min(limit, properties.getMaxResults());
+        if (queryTerms.isEmpty() || maxResults <= 0) {
+            return List.of();
+        }
+        Segment current = segment;
+        Set<Long> candidates = null;
+        for (Term queryTerm : queryTerms) {
+            Set<Long> matching = current.candidates(queryTerm, properties.getMinTrigramOverlap(),
+                    properties.getMaxTrigramShare());
+            if (candidates == null) {
+                candidates = matching;
+            } else {
+                candidates.retainAll(matching);
+            }
+        }
+        List<UserSearchHitDto> hits = new ArrayList<>();
+        for (Long userId : candidates) {
+            Document document = current.documents.get(userId);
+            if (document == null) {
+                continue;
+            }
+            double score = document.score(queryTerms, properties.getMinSimilarity());
+            if (score > 0) {
+                IndexedUser user = document.user();
+                hits.add(new UserSearchHitDto(user.id(), user.firstName(), user.lastName(), user.email(), score));
+            }
+        }
+        hits.sort(Comparator.comparingDouble(UserSearchHitDto::score).reversed()
+                .thenComparing(UserSearchHitDto::id));
+        return hits.size() > maxResults ? List.copyOf(hits.subList(0, maxResults)) : hits;
+    }
+
+    @Override
+    public synchronized void put(IndexedUser user) {
+        segment.put(Document.of(user));
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(user.id());
+        }
+    }
+
+    @Override
+    public synchronized void delete(Long userId) {
+        segment.delete(userId);
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(userId);
+        }
+    }
+
+    @Override
+    public Rebuild startRebuild() {
+        synchronized (this) {
+            changedDuringRebuild = new HashSet<>();
+        }
+        Segment fresh = new Segment();
+        return new Rebuild() {
+
+            @Override
+            public void add(IndexedUser user) {
+                fresh.put(Document.of(user));
+            }
+
+            @Override
+            public void finish() {
+                synchronized (UserSearchIndex.this) {
+                    for (Long userId : changedDuringRebuild) {
+                        Document document = segment.documents.get(userId);
+                        if (document != null) {
+                            fresh.put(document);
+                        } else {
+                            fresh.delete(userId);
+                        }
+                    }
+                    segment = fresh;
+                    changedDuringRebuild = null;
+                }
+                log.info("Built user search index of {} users", fresh.documents.size());
+            }
+
+            @Override
+            public void abandon() {
+                synchronized (UserSearchIndex.this) {
+                    changedDuringRebuild = null;
+                }
+            }
+
+        };
+    }
+
+    /**
+     * Documents of the users and the inverted index from trigrams to the users having a word with the trigram.
+     * Documents of different users can be put concurrently.
+     */
+    private static final class Segment {
+
+        private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+        private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+        private void put(Document document) {
+            Long userId = document.user().id();
+            Document previous = documents.put(userId, document);
+            if (previous != null) {
+                removePostings(userId, previous);
+            }
+            for (Term term : document.terms()) {
+                for (String trigram : term.trigrams()) {
+                    postings.compute(trigram, (key, userIds) -> {
+                        Set<Long> updated = userIds != null ? userIds : ConcurrentHashMap.newKeySet();
+                        updated.add(userId);
+                        return updated;
+                    });
+                }
+            }
+        }
+
+        /**
+         * Finds the users sharing at least the given share of the trigrams of the query word. The trigrams of more
+         * than the given share of the users are skipped and do not count, unless all trigrams of the word which any
+         * user has are such.
+         *
+         * @param queryTerm  the query word
+         * @param minOverlap minimum share of the counted trigrams of the word a user has to have
+         * @param maxShare   maximum share of the users having a trigram for the trigram to be counted
+         * @return IDs of the users to score
+         */
+        private Set<Long> candidates(Term queryTerm, double minOverlap, double maxShare) {
+            long maxUsers = (long) (maxShare * documents.size());
+            List<Set<Long>> rare = new ArrayList<>();
+            List<Set<Long>> common = new ArrayList<>();
+            for (String trigram : queryTerm.trigrams()) {
+                Set<Long> userIds = postings.get(trigram);
+                if (userIds != null) {
+                    (userIds.size() > maxUsers ? common : rare).add(userIds);
+                }
+            }
+            int counted = queryTerm.trigrams().size();
+            if (rare.isEmpty()) {
+                rare = common;
+            } else {
+                counted -= common.size();
+            }
+            int minShared = Math.max(1, (int) Math.ceil(minOverlap * counted));
+            Map<Long, Integer> shared = new HashMap<>();
+            for (Set<Long> userIds : rare) {
+                for (Long userId : userIds) {
+                    shared.merge(userId, 1, Integer::sum);
+                }
+            }
+            Set<Long> candidates = new HashSet<>();
+            shared.forEach((userId, count) -> {
+                if (count >= minShared) {
+                    candidates.add(userId);
+                }
+            });
+            return candidates;
+        }
+
+        private void delete(Long userId) {
+            Document previous = documents.remove(userId);
+            if (previous != null) {
+                removePostings(userId, previous);
+            }
+        }
+
+        private void removePostings(Long userId, Document document) {
+            for (Term term : document.terms()) {
+                for (String trigram : term.trigrams()) {
+                    postings.computeIfPresent(trigram, (key, userIds) -> {
+                        userIds.remove(userId);
+                        return userIds.isEmpty() ? null : userIds;
+                    });
+                }
+            }
+        }
+
+    }
+
+    private record Document(IndexedUser user, List<Term> terms) {
+
+        private static Document of(IndexedUser user) {
+            List<Term> terms = new ArrayList<>();
+            Stream.concat(UserText.words(user.firstName()).stream(), UserText.words(user.lastName()).stream())
+                    .distinct()
+                    .forEach(word -> terms.add(Term.of(word, NAME_WEIGHT)));
+            UserText.words(user.email()).stream()
+                    .distinct()
+                    .forEach(word -> terms.add(Term.of(word, EMAIL_WEIGHT)));
+            return new Document(user, List.copyOf(terms));
+        }
+
+        /**
+         * Scores the document as the average similarity of the query words to their most similar word of the
+         * document.
+         *
+         * @return the score, {@code 0} if any query word has no word of the document similar enough
+         */
+        private double score(List<Term> queryTerms, double minSimilarity) {
+            double total = 0;
+            for (Term queryTerm : queryTerms) {
+                double best = 0;
+                for (Term term : terms) {
+                    best = Math.max(best, term.weight() * term.similarity(queryTerm));
+                }
+                if (best < minSimilarity) {
+                    return 0;
+                }
+                total += best;
+            }
+            return total / queryTerms.size();
+        }
+
+    }
+
+    private record Term(String word, double weight, Set<String> trigrams) {
+
+        private static Term of(String word, double weight) {
+            // padded, so that the beginning and the end of the word have trigrams of their own, like in pg_trgm
+            String padded = "$$" + word + "$";
+            Set<String> trigrams = new HashSet<>();
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+            return new Term(word, weight, Set.copyOf(trigrams));
+        }
+
+        private double similarity(Term queryTerm) {
+            String query = queryTerm.word();
+            if (word.equals(query)) {
+                return 1.0;
+            }
+            if (word.startsWith(query)) {
+                return PREFIX_SIMILARITY;
+            }
+            int shared = 0;
+            for (String trigram : queryTerm.trigrams()) {
+                if (trigrams.contains(trigram)) {
+                    shared++;
+                }
+            }
+            double trigramSimilarity = (double) shared / (trigrams.size() + queryTerm.trigrams().size() - shared);
+            double editSimilarity = 1.0 - (double) editDistance(word, query) / Math.max(word.length(), query.length());
+            double similarity = Math.max(trigramSimilarity, editSimilarity);
+            return query.length() >= 3 && word.contains(query) ? Math.max(INFIX_SIMILARITY, similarity) : similarity;
+        }
+
+        /**
+         * Number of inserted, deleted, substituted or transposed (adjacent) characters turning one word into the
+         * other.
+         */
+        private static int editDistance(String a, String b) {
+            int[] beforePrevious = new int[b.length() + 1];
+            int[] previous = new int[b.length() + 1];
+            int[] current = new int[b.length() + 1];
+            for (int j = 0; j <= b.length(); j++) {
+                previous[j] = j;
+            }
+            for (int i = 1; i <= a.length(); i++) {
+                current[0] = i;
+                for (int j = 1; j <= b.length(); j++) {
+                    int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                    current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                    if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                        current[j] = Math.min(current[j], beforePrevious[j - 2] + 1);
+                    }
+                }
+                int[] recycled = beforePrevious;
+                beforePrevious = previous;
+                previous = current;
+                current = recycled;
+            }
+            return previous[b.length()];
+        }
+
+    }
+
+}
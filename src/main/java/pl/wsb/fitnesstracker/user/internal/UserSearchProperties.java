@@ -0,0 +1,46 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the {@link UserSearchIndex}.
+ */
+@ConfigurationProperties(prefix = "user.search")
+@Getter
+class UserSearchProperties {
+
+    /**
+     * Maximum number of users returned for a query.
+     */
+    private final int maxResults;
+
+    /**
+     * Minimum similarity (between 0 and 1) of a word of the user to a word of the query for the user to match.
+     */
+    private final double minSimilarity;
+
+    /**
+     * Minimum share (between 0 and 1) of the trigrams of a word of the query a user has to have for the user to be
+     * scored. Lower values find more misspelled words, at the cost of scoring more users.
+     */
+    private final double minTrigramOverlap;
+
+    /**
+     * Maximum share (between 0 and 1) of the users having a trigram for the trigram to be used to find the users
+     * matching a word of the query. More common trigrams are skipped, unless the word has no other trigrams.
+     */
+    private final double maxTrigramShare;
+
+    UserSearchProperties(@DefaultValue("50") int maxResults,
+                         @DefaultValue("0.5") double minSimilarity,
+                         @DefaultValue("0.25") double minTrigramOverlap,
+                         @DefaultValue("0.1") double maxTrigramShare) {
+        this.maxResults = maxResults;
+        this.minSimilarity = minSimilarity;
+        this.minTrigramOverlap = minTrigramOverlap;
+        this.maxTrigramShare = maxTrigramShare;
+    }
+
+}
@@ -1,16 +1,38 @@
 package pl.wsb.fitnesstracker.user.internal;
 
+import jakarta.annotation.Nullable;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import pl.wsb.fitnesstracker.database.api.ChangeCounter;
+import pl.wsb.fitnesstracker.database.api.ChangeLog;
+import pl.wsb.fitnesstracker.database.api.ChangeOperation;
+import pl.wsb.fitnesstracker.outbox.api.Outbox;
+import pl.wsb.fitnesstracker.outbox.api.OutboxMessageType;
+import pl.wsb.fitnesstracker.statistics.api.Statistics;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.user.api.DuplicateEmailException;
 import pl.wsb.fitnesstracker.user.api.User;
+import pl.wsb.fitnesstracker.user.api.UserDto;
 import pl.wsb.fitnesstracker.user.api.UserNotFoundException;
 import pl.wsb.fitnesstracker.user.api.UserProvider;
+import pl.wsb.fitnesstracker.user.api.UserSearchHitDto;
 import pl.wsb.fitnesstracker.user.api.UserService;
+import pl.wsb.fitnesstracker.user.api.UserSuggestionDto;
+import pl.wsb.fitnesstracker.user.api.UserVersionConflictException;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service implementation for user operations.
@@ -23,6 +45,28 @@ class UserServiceImpl implements UserService, UserProvider {
 
     private final UserRepository userRepository;
 
+    private final ChangeCounter changeCounter;
+
+    private final ChangeLog changeLog;
+
+    private final Outbox outbox;
+
+    private final UserMapper userMapper;
+
+    private final EmailBloomFilter emailFilter;
+
+    private final UserTypeaheadIndex typeaheadIndex;
+
+    private final UserSearchIndex searchIndex;
+
+    private final List<UserIndex> userIndexes;
+
+    private final UserIndexRebuilder userIndexRebuilder;
+
+    private final UserGraphDeleter userGraphDeleter;
+
+    private final UserRowsSelector rowsSelector;
+
     @Override
     @Transactional
     public User createUser(final User user) {
@@ -30,15 +74,30 @@ class UserServiceImpl implements UserService, UserProvider {
         if (user.getId() != null) {
             throw new IllegalArgumentException("User has already DB ID, update is not permitted!");
         }
-        return userRepository.save(user);
+        if (emailFilter.mightContain(user.getEmail()) && userRepository.existsByEmail(user.getEmail())) {
+            throw new DuplicateEmailException(user.getEmail());
+        }
+        emailFilter.add(user.getEmail());
+        try {
+            User savedUser = userRepository.saveAndFlush(user);
+            indexAfterCommit(savedUser);
+            appendToOutbox(OutboxMessageType.USER_CREATED, savedUser);
+            return savedUser;
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateEmail(e, user.getEmail());
+        }
     }
 
     @Override
     @Transactional
-    public User updateUser(final Long userId, final User updatedUser) {
+    public User updateUser(final Long userId, final User updatedUser, @Nullable final Long expectedVersion) {
         log.info("Updating User with ID: {}", userId);
         User existingUser = userRepository.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(userId));
+        if (expectedVersion != null && !expectedVersion.equals(existingUser.getVersion())) {
+            throw new UserVersionConflictException(userId);
+        }
+        Long previousVersion = existingUser.getVersion();
 
         if (updatedUser.getFirstName() != null) {
             existingUser.setFirstName(updatedUser.getFirstName());
@@ -49,54 +108,271 @@ class UserServiceImpl implements UserService, UserProvider {
         if (updatedUser.getBirthdate() != null) {
             existingUser.setBirthdate(updatedUser.getBirthdate());
         }
-        if (updatedUser.getEmail() != null) {
-            existingUser.setEmail(updatedUser.getEmail());
+        String email = updatedUser.getEmail();
+        boolean emailChanged = email != null && !email.equals(existingUser.getEmail());
+        if (emailChanged) {
+            checkEmailUnused(email, userId);
+            existingUser.setEmail(email);
         }
 
-        return userRepository.save(existingUser);
+        // flushed right away, so a concurrent modification is reported as a conflict rather than a failed commit
+        try {
+            User savedUser = userRepository.saveAndFlush(existingUser);
+            if (emailChanged) {
+                emailFilter.markStale();
+            }
+            indexAfterCommit(savedUser);
+            // an update changing nothing is not written, and is not published either
+            if (!Objects.equals(previousVersion, savedUser.getVersion())) {
+                appendToOutbox(OutboxMessageType.USER_UPDATED, savedUser);
+            }
+            return savedUser;
+        } catch (OptimisticLockingFailureException e) {
+            throw new UserVersionConflictException(userId);
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateEmail(e, email);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void patchUser(final Long userId, final User changes, @Nullable final Long expectedVersion) {
+        log.info("Patching User with ID: {}", userId);
+        if (changes.getEmail() != null) {
+            checkEmailUnused(changes.getEmail(), userId);
+        }
+        int updated;
+        try {
+            updated = userRepository.updateNonNullFields(userId,
+                    changes.getFirstName(),
+                    changes.getLastName(),
+                    changes.getBirthdate(),
+                    changes.getEmail(),
+                    expectedVersion,
+                    Instant.now());
+        } catch (DataIntegrityViolationException e) {
+            throw translateDuplicateEmail(e, changes.getEmail());
+        }
+        if (updated == 0) {
+            if (!userRepository.existsById(userId)) {
+                throw new UserNotFoundException(userId);
+            }
+            throw new UserVersionConflictException(userId);
+        }
+        if (changes.getEmail() != null) {
+            // the previous email is not known without loading the user, it may as well have been the same one
+            emailFilter.markStale();
+        }
+        changeCounter.recordChange(User.class);
+        changeLog.recordChange(User.class, userId, userId, ChangeOperation.UPSERT);
+        // the indexed fields are all the fields of the message, so the entity is not loaded again
+        userRepository.findIndexedUser(userId).ifPresent(user -> {
+            afterCommit(() -> userIndexes.forEach(index -> index.put(user)));
+            outbox.append(userId, OutboxMessageType.USER_UPDATED, userId, userMapper.toDto(user));
+        });
     }
 
     @Override
     @Transactional
     public void deleteUser(final Long userId) {
         log.info("Deleting User with ID: {}", userId);
+        if (!userGraphDeleter.delete(userId)) {
+            throw new UserNotFoundException(userId);
+        }
+        recordDeletion(userId);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteUserInBackground(final Long userId) {
+        log.info("Deleting User with ID: {} in the background", userId);
         if (!userRepository.existsById(userId)) {
             throw new UserNotFoundException(userId);
         }
-        userRepository.deleteById(userId);
+        return userGraphDeleter.deleteInBackground(userId, () -> recordDeletion(userId));
     }
 
     @Override
+    public void refreshIndexes() {
+        log.info("Refreshing user indexes after a bulk write");
+        emailFilter.refresh();
+        userIndexRebuilder.rebuild();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<User> getUser(final Long userId) {
         return userRepository.findById(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<User> getUserByEmail(final String email) {
         return userRepository.findByEmail(email);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> findAllUsers() {
         return userRepository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public List<User> findUsersAfter(final Long afterId, final int limit) {
+        return userRepository.findByIdGreaterThanOrderById(afterId, Limit.of(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findUserIdsAfter(final Long afterId, final int limit) {
+        return userRepository.findIdsGreaterThan(afterId, Limit.of(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<User> searchUsersByEmail(final String emailFragment) {
         log.info("Searching users by email fragment: {}", emailFragment);
         return userRepository.findByEmailContainingIgnoreCase(emailFragment);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> searchUsersByName(final String firstName, final String lastName) {
         log.info("Searching users by name: {} {}", firstName, lastName);
         return userRepository.findByFirstNameAndLastName(firstName, lastName);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<User> searchUsersByAgeGreaterThan(final int minAge) {
         log.info("Searching users older than: {}", minAge);
         return userRepository.findByAgeGreaterThan(minAge);
     }
 
+    /**
+     * Selects all users as {@link UserRowLayout#FULL} rows, written to the response without loading the entities.
+     *
+     * @return rows of all users ordered by ID, tagged with the state of the user collection
+     */
+    @Transactional(readOnly = true)
+    public UserRows findAllUserRows() {
+        return rowsSelector.selectTagged(UserRowLayout.FULL, userRepository::streamAllFullRows);
+    }
+
+    /**
+     * Selects all users as {@link UserRowLayout#BASIC} rows, written to the response without loading the entities.
+     *
+     * @return rows of all users ordered by ID, tagged with the state of the user collection
+     */
+    @Transactional(readOnly = true)
+    public UserRows findAllUserBasicRows() {
+        return rowsSelector.selectTagged(UserRowLayout.BASIC, userRepository::streamAllBasicRows);
+    }
+
+    /**
+     * Searches users by email fragment (case-insensitive, partial match) as {@link UserRowLayout#SEARCH_RESULT} rows.
+     *
+     * @param emailFragment the email fragment to search for
+     * @return rows of the matching users ordered by ID, tagged with the state of the user collection
+     */
+    @Transactional(readOnly = true)
+    public UserRows searchUserRowsByEmail(final String emailFragment) {
+        log.info("Searching users by email fragment: {}", emailFragment);
+        return rowsSelector.selectTagged(UserRowLayout.SEARCH_RESULT,
+                () -> userRepository.streamSearchResultRowsByEmailContaining(emailFragment));
+    }
+
+    /**
+     * Searches users older than the specified age as {@link UserRowLayout#FULL} rows.
+     *
+     * @param minAge the minimum age (exclusive)
+     * @return rows of the users older than the age, ordered by ID
+     */
+    public UserRows searchUserRowsByAgeGreaterThan(final int minAge) {
+        log.info("Searching users older than: {}", minAge);
+        return rowsSelector.select(UserRowLayout.FULL,
+                () -> userRepository.streamFullRowsByAgeGreaterThan(minAge));
+    }
+
+    @Override
+    public List<UserSuggestionDto> suggestUsers(final String query, final int limit) {
+        return typeaheadIndex.suggest(query, limit);
+    }
+
+    @Override
+    public List<UserSearchHitDto> searchUsers(final String query, final int limit) {
+        return searchIndex.search(query, limit);
+    }
+
+    @Override
+    public UserDto toDto(final User user) {
+        return userMapper.toDto(user);
+    }
+
+    /**
+     * Applies the stored state of the user to the in-memory indexes once the transaction commits.
+     */
+    private void indexAfterCommit(final User user) {
+        IndexedUser indexedUser = IndexedUser.of(user);
+        afterCommit(() -> userIndexes.forEach(index -> index.put(indexedUser)));
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Records the bulk deletion of a user and its history, which bypasses the entity listeners, within the
+     * transaction of the deletion.
+     */
+    private void recordDeletion(final Long userId) {
+        emailFilter.markStale();
+        afterCommit(() -> userIndexes.forEach(index -> index.delete(userId)));
+        changeCounter.recordChange(User.class);
+        changeCounter.recordChange(Training.class);
+        changeCounter.recordChange(Statistics.class);
+        changeLog.recordOwnerDeletion(User.class, userId);
+        outbox.append(userId, OutboxMessageType.USER_DELETED, userId, null);
+    }
+
+    /**
+     * Appends the change of the user to the outbox. Called once the change is written, so it is already recorded
+     * in the change log, which keeps the messages of the user in order.
+     */
+    private void appendToOutbox(final OutboxMessageType type, final User user) {
+        outbox.append(user.getId(), type, user.getId(), userMapper.toDto(user));
+    }
+
+    /**
+     * Rejects the email if another user uses it already. The email filter spares the query for unused emails.
+     */
+    private void checkEmailUnused(final String email, final Long userId) {
+        if (emailFilter.mightContain(email) && userRepository.existsByEmailAndIdNot(email, userId)) {
+            throw new DuplicateEmailException(email);
+        }
+        emailFilter.add(email);
+    }
+
+    /**
+     * Translates a violation of the unique constraint on the email, caused by a concurrent signup with the same
+     * email, to a conflict.
+     */
+    private static RuntimeException translateDuplicateEmail(final DataIntegrityViolationException e,
+                                                            @Nullable final String email) {
+        String message = e.getMostSpecificCause().getMessage();
+        if (email != null && message != null && message.toLowerCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT)) {
+            return new DuplicateEmailException(email);
+        }
+        return e;
+    }
+
 }
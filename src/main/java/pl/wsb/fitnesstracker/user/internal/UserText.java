@@ -0,0 +1,61 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import jakarta.annotation.Nullable;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Normalization of the names and emails of the users, and of the queries searching them, so that they match
+ * regardless of case, accents and punctuation.
+ */
+final class UserText {
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}@.]+");
+
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[ @.]+");
+
+    private UserText() {
+    }
+
+    /**
+     * Normalizes a name, email or query: lower case, accents stripped (including the letters which do not decompose,
+     * like "ł"), and any run of characters other than letters, digits, "@" and "." replaced with a single space.
+     *
+     * @param text the text to normalize, may be {@code null}
+     * @return the normalized text, empty for {@code null}
+     */
+    static String normalize(@Nullable String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        String folded = COMBINING_MARKS.matcher(decomposed).replaceAll("")
+                .replace("ł", "l")
+                .replace("đ", "d")
+                .replace("ø", "o")
+                .replace("ß", "ss")
+                .replace("æ", "ae")
+                .replace("œ", "oe")
+                .replace("ı", "i");
+        return SEPARATORS.matcher(folded).replaceAll(" ").strip();
+    }
+
+    /**
+     * Splits the text into normalized words, emails at "@" and ".".
+     *
+     * @param text the text to split, may be {@code null}
+     * @return the words, empty for {@code null}
+     */
+    static List<String> words(@Nullable String text) {
+        return Arrays.stream(WORD_SEPARATORS.split(normalize(text)))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+}
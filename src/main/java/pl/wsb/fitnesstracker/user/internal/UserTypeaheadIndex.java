@@ -0,0 +1,183 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import pl.wsb.fitnesstracker.user.api.UserSuggestionDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory search-as-you-type index of the users by first name, last name, full name (in both orders) and email.
+ * <p>
+ * The keys are normalized (lower case, without accents and punctuation), so "mikolaj swiety" finds
+ * "Mikołaj Święty", and kept sorted, so the matches of a prefix are a contiguous range of the index read without
+ * touching the database. Changes made through the user service are applied once their transaction commits. The
+ * index is rebuilt by the {@link UserIndexRebuilder} into fresh maps without blocking the writes, which are
+ * replayed onto the fresh maps before they are swapped in.
+ */
+@Component
+@Slf4j
+class UserTypeaheadIndex implements UserIndex {
+
+    /**
+     * Separates the key from the user ID, sorting before any character of a key.
+     */
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final UserTypeaheadProperties properties;
+
+    private volatile NavigableMap<String, UserSuggestionDto> entries = new ConcurrentSkipListMap<>();
+
+    private volatile Map<Long, List<String>> keysByUser = new ConcurrentHashMap<>();
+
+    /**
+     * Guards the writes to the index; a rebuild holds it only to start recording and to swap the maps.
+     */
+    private final Object writeLock = new Object();
+
+    /**
+     * Writes applied while a rebuild reads the database, replayed onto its maps; null when no rebuild runs.
+     */
+    private List<Change> changesDuringRebuild;
+
+    UserTypeaheadIndex(UserTypeaheadProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Finds the users with a first name, last name, full name or email starting with the query, ignoring case and
+     * accents. The suggestions are ordered by the matched key.
+     *
+     * @param query the typed prefix
+     * @param limit maximum number of suggestions, capped by the configured maximum
+     * @return the suggestions, each user at most once
+     */
+    List<UserSuggestionDto> suggest(String query, int limit) {
+        String prefix = UserText.normalize(query);
+        int maxResults = Math.min(limit, properties.getMaxResults());
+        if (prefix.isEmpty() || maxResults <= 0) {
+            return List.of();
+        }
+        Map<Long, UserSuggestionDto> suggestions = new HashMap<>();
+        List<UserSuggestionDto> ordered = new ArrayList<>(maxResults);
+        NavigableMap<String, UserSuggestionDto> matches =
+                entries.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        for (UserSuggestionDto suggestion : matches.values()) {
+            if (suggestions.putIfAbsent(suggestion.id(), suggestion) == null) {
+                ordered.add(suggestion);
+                if (ordered.size() == maxResults) {
+                    break;
+                }
+            }
+        }
+        return ordered;
+    }
+
+    @Override
+    public Rebuild startRebuild() {
+        synchronized (writeLock) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+        NavigableMap<String, UserSuggestionDto> freshEntries = new ConcurrentSkipListMap<>();
+        Map<Long, List<String>> freshKeys = new ConcurrentHashMap<>();
+        return new Rebuild() {
+
+            @Override
+            public void add(IndexedUser user) {
+                apply(freshEntries, freshKeys, user.id(), toSuggestion(user));
+            }
+
+            @Override
+            public void finish() {
+                synchronized (writeLock) {
+                    changesDuringRebuild.forEach(change ->
+                            apply(freshEntries, freshKeys, change.userId(), change.suggestion()));
+                    entries = freshEntries;
+                    keysByUser = freshKeys;
+                    changesDuringRebuild = null;
+                }
+                log.info("Built user typeahead index of {} users", freshKeys.size());
+            }
+
+            @Override
+            public void abandon() {
+                synchronized (writeLock) {
+                    changesDuringRebuild = null;
+                }
+            }
+
+        };
+    }
+
+    @Override
+    public void put(IndexedUser user) {
+        write(user.id(), toSuggestion(user));
+    }
+
+    @Override
+    public void delete(Long userId) {
+        write(userId, null);
+    }
+
+    private void write(Long userId, UserSuggestionDto suggestion) {
+        synchronized (writeLock) {
+            apply(entries, keysByUser, userId, suggestion);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(new Change(userId, suggestion));
+            }
+        }
+    }
+
+    /**
+     * Replaces the keys of the user in the given maps with the keys of the suggestion, or removes them when the
+     * suggestion is null.
+     */
+    private static void apply(NavigableMap<String, UserSuggestionDto> entries,
+                              Map<Long, List<String>> keysByUser,
+                              Long userId,
+                              UserSuggestionDto suggestion) {
+        List<String> oldKeys = keysByUser.remove(userId);
+        if (oldKeys != null) {
+            oldKeys.forEach(entries::remove);
+        }
+        if (suggestion != null) {
+            List<String> keys = keys(suggestion);
+            keys.forEach(key -> entries.put(key, suggestion));
+            keysByUser.put(userId, keys);
+        }
+    }
+
+    private static UserSuggestionDto toSuggestion(IndexedUser user) {
+        return new UserSuggestionDto(user.id(), user.firstName(), user.lastName(), user.email());
+    }
+
+    private static List<String> keys(UserSuggestionDto suggestion) {
+        String firstName = UserText.normalize(suggestion.firstName());
+        String lastName = UserText.normalize(suggestion.lastName());
+        Set<String> terms = new LinkedHashSet<>();
+        terms.add(firstName);
+        terms.add(lastName);
+        terms.add((firstName + " " + lastName).strip());
+        terms.add((lastName + " " + firstName).strip());
+        terms.add(UserText.normalize(suggestion.email()));
+        terms.remove("");
+        return terms.stream()
+                .map(term -> term + ID_SEPARATOR + suggestion.id())
+                .toList();
+    }
+
+    /**
+     * A write to the index: the new suggestion of the user, or null when the user was deleted.
+     */
+    private record Change(Long userId, UserSuggestionDto suggestion) {
+    }
+
+}
@@ -0,0 +1,23 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import lombok.Getter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the {@link UserTypeaheadIndex}.
+ */
+@ConfigurationProperties(prefix = "user.typeahead")
+@Getter
+class UserTypeaheadProperties {
+
+    /**
+     * Maximum number of suggestions returned for a query.
+     */
+    private final int maxResults;
+
+    UserTypeaheadProperties(@DefaultValue("50") int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+}
@@ -4,15 +4,18 @@ import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import pl.wsb.fitnesstracker.database.api.ChangeLoggingListener;
+import pl.wsb.fitnesstracker.database.api.OwnedEntity;
 import pl.wsb.fitnesstracker.training.api.Training;
 
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(ChangeLoggingListener.class)
 @Table(name = "workout_session")
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-public class WorkoutSession {
+public class WorkoutSession implements OwnedEntity {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -40,4 +43,9 @@ public class WorkoutSession {
     @Column(name = "altitude")
     private Double altitude;
 
+    @Override
+    public Long getOwnerId() {
+        return training.getUser().getId();
+    }
+
 }
@@ -0,0 +1,30 @@
+package pl.wsb.fitnesstracker.workoutsession;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.annotation.Nullable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object representing a workout session recorded during a training.
+ *
+ * @param id             The unique identifier of the session
+ * @param trainingId     The unique identifier of the training the session belongs to
+ * @param timestamp      The time the session was recorded
+ * @param startLatitude  The latitude the session started at
+ * @param startLongitude The longitude the session started at
+ * @param endLatitude    The latitude the session ended at
+ * @param endLongitude   The longitude the session ended at
+ * @param altitude       The altitude of the session
+ */
+public record WorkoutSessionDto(
+        Long id,
+        Long trainingId,
+        @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") LocalDateTime timestamp,
+        double startLatitude,
+        double startLongitude,
+        @Nullable Double endLatitude,
+        @Nullable Double endLongitude,
+        @Nullable Double altitude
+) {
+}
@@ -0,0 +1,117 @@
+-- Baseline schema. H2 has no declarative partitioning, so the tables partitioned on PostgreSQL are plain tables.
+
+CREATE TABLE users
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    birthdate  DATE                                                  NOT NULL,
+    email      VARCHAR(255)                                          NOT NULL,
+    version    BIGINT                      DEFAULT 0                 NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE event
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    description TEXT,
+    start_time  TIMESTAMP(6) NOT NULL,
+    end_time    TIMESTAMP(6) NOT NULL,
+    country     VARCHAR(255),
+    city        VARCHAR(255)
+);
+
+CREATE TABLE user_event
+(
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id  BIGINT NOT NULL REFERENCES users (id),
+    event_id BIGINT NOT NULL REFERENCES event (id),
+    status   VARCHAR(255),
+    UNIQUE (user_id, event_id)
+);
+
+CREATE TABLE health_metrics
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT NOT NULL REFERENCES users (id),
+    date       DATE   NOT NULL,
+    weight     FLOAT(53),
+    height     FLOAT(53),
+    heart_rate INTEGER
+);
+
+CREATE INDEX idx_health_metrics_user_date ON health_metrics (user_id, date);
+
+CREATE TABLE statistics
+(
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id               BIGINT UNIQUE REFERENCES users (id),
+    total_trainings       INTEGER                                               NOT NULL,
+    total_distance        FLOAT(53),
+    total_calories_burned INTEGER,
+    version               BIGINT                      DEFAULT 0                 NOT NULL,
+    updated_at            TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE TABLE trainings
+(
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id       BIGINT REFERENCES users (id),
+    start_time    TIMESTAMP(6)                                          NOT NULL,
+    end_time      TIMESTAMP(6)                                          NOT NULL,
+    activity_type TINYINT                                               NOT NULL CHECK (activity_type BETWEEN 0 AND 4),
+    distance      FLOAT(53),
+    average_speed FLOAT(53),
+    version       BIGINT                      DEFAULT 0                 NOT NULL,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_trainings_user_start_time ON trainings (user_id, start_time);
+CREATE INDEX idx_trainings_start_time ON trainings (start_time);
+CREATE INDEX idx_trainings_end_time ON trainings (end_time);
+
+CREATE TABLE workout_session
+(
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    training_id     BIGINT       NOT NULL REFERENCES trainings (id),
+    timestamp       TIMESTAMP(6) NOT NULL,
+    start_latitude  FLOAT(53)    NOT NULL,
+    start_longitude FLOAT(53)    NOT NULL,
+    end_latitude    FLOAT(53),
+    end_longitude   FLOAT(53),
+    altitude        FLOAT(53)
+);
+
+CREATE INDEX idx_workout_session_training ON workout_session (training_id);
+
+CREATE TABLE trainings_archive
+(
+    id            BIGINT                      NOT NULL PRIMARY KEY,
+    user_id       BIGINT                      NOT NULL REFERENCES users (id),
+    start_time    TIMESTAMP(6)                NOT NULL,
+    end_time      TIMESTAMP(6)                NOT NULL,
+    activity_type TINYINT                     NOT NULL CHECK (activity_type BETWEEN 0 AND 4),
+    distance      FLOAT(53),
+    average_speed FLOAT(53),
+    version       BIGINT                      NOT NULL,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    archived_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_trainings_archive_user_start_time ON trainings_archive (user_id, start_time);
+
+CREATE TABLE workout_session_archive
+(
+    id              BIGINT       NOT NULL PRIMARY KEY,
+    training_id     BIGINT       NOT NULL REFERENCES trainings_archive (id),
+    timestamp       TIMESTAMP(6) NOT NULL,
+    start_latitude  FLOAT(53)    NOT NULL,
+    start_longitude FLOAT(53)    NOT NULL,
+    end_latitude    FLOAT(53),
+    end_longitude   FLOAT(53),
+    altitude        FLOAT(53)
+);
+
+CREATE INDEX idx_workout_session_archive_training ON workout_session_archive (training_id);
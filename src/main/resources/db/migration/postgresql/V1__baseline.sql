@@ -0,0 +1,128 @@
+-- Baseline schema. The trainings and the workout sessions are partitioned by month of their start time and
+-- timestamp respectively, so range scans only touch the matching partitions and old months can be dropped as a
+-- whole. The monthly partitions are created ahead of time by the application (PartitionMaintainer); rows outside
+-- of them land in the default partitions. Primary keys of partitioned tables have to include the partition key, so
+-- the workout sessions cannot reference the trainings with a foreign key; the application deletes the sessions
+-- together with their trainings.
+
+CREATE TABLE users
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(255),
+    last_name  VARCHAR(255),
+    birthdate  DATE                                                  NOT NULL,
+    email      VARCHAR(255)                                          NOT NULL,
+    version    BIGINT                      DEFAULT 0                 NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE event
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name        VARCHAR(255) NOT NULL,
+    description TEXT,
+    start_time  TIMESTAMP(6) NOT NULL,
+    end_time    TIMESTAMP(6) NOT NULL,
+    country     VARCHAR(255),
+    city        VARCHAR(255)
+);
+
+CREATE TABLE user_event
+(
+    id       BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id  BIGINT NOT NULL REFERENCES users (id),
+    event_id BIGINT NOT NULL REFERENCES event (id),
+    status   VARCHAR(255),
+    UNIQUE (user_id, event_id)
+);
+
+CREATE TABLE health_metrics
+(
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT NOT NULL REFERENCES users (id),
+    date       DATE   NOT NULL,
+    weight     DOUBLE PRECISION,
+    height     DOUBLE PRECISION,
+    heart_rate INTEGER
+);
+
+CREATE INDEX idx_health_metrics_user_date ON health_metrics (user_id, date);
+
+CREATE TABLE statistics
+(
+    id                    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id               BIGINT UNIQUE REFERENCES users (id),
+    total_trainings       INTEGER                                               NOT NULL,
+    total_distance        DOUBLE PRECISION,
+    total_calories_burned INTEGER,
+    version               BIGINT                      DEFAULT 0                 NOT NULL,
+    updated_at            TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL
+);
+
+CREATE TABLE trainings
+(
+    id            BIGSERIAL                                             NOT NULL,
+    user_id       BIGINT REFERENCES users (id),
+    start_time    TIMESTAMP(6)                                          NOT NULL,
+    end_time      TIMESTAMP(6)                                          NOT NULL,
+    activity_type SMALLINT                                              NOT NULL CHECK (activity_type BETWEEN 0 AND 4),
+    distance      DOUBLE PRECISION,
+    average_speed DOUBLE PRECISION,
+    version       BIGINT                      DEFAULT 0                 NOT NULL,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE DEFAULT CURRENT_TIMESTAMP NOT NULL,
+    PRIMARY KEY (id, start_time)
+) PARTITION BY RANGE (start_time);
+
+CREATE TABLE trainings_default PARTITION OF trainings DEFAULT;
+
+CREATE INDEX idx_trainings_user_start_time ON trainings (user_id, start_time);
+CREATE INDEX idx_trainings_start_time ON trainings (start_time);
+CREATE INDEX idx_trainings_end_time ON trainings (end_time);
+
+CREATE TABLE workout_session
+(
+    id              BIGSERIAL        NOT NULL,
+    training_id     BIGINT           NOT NULL,
+    timestamp       TIMESTAMP(6)     NOT NULL,
+    start_latitude  DOUBLE PRECISION NOT NULL,
+    start_longitude DOUBLE PRECISION NOT NULL,
+    end_latitude    DOUBLE PRECISION,
+    end_longitude   DOUBLE PRECISION,
+    altitude        DOUBLE PRECISION,
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE TABLE workout_session_default PARTITION OF workout_session DEFAULT;
+
+CREATE INDEX idx_workout_session_training ON workout_session (training_id);
+
+CREATE TABLE trainings_archive
+(
+    id            BIGINT                      NOT NULL PRIMARY KEY,
+    user_id       BIGINT                      NOT NULL REFERENCES users (id),
+    start_time    TIMESTAMP(6)                NOT NULL,
+    end_time      TIMESTAMP(6)                NOT NULL,
+    activity_type SMALLINT                    NOT NULL CHECK (activity_type BETWEEN 0 AND 4),
+    distance      DOUBLE PRECISION,
+    average_speed DOUBLE PRECISION,
+    version       BIGINT                      NOT NULL,
+    updated_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    archived_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_trainings_archive_user_start_time ON trainings_archive (user_id, start_time);
+
+CREATE TABLE workout_session_archive
+(
+    id              BIGINT           NOT NULL PRIMARY KEY,
+    training_id     BIGINT           NOT NULL REFERENCES trainings_archive (id),
+    timestamp       TIMESTAMP(6)     NOT NULL,
+    start_latitude  DOUBLE PRECISION NOT NULL,
+    start_longitude DOUBLE PRECISION NOT NULL,
+    end_latitude    DOUBLE PRECISION,
+    end_longitude   DOUBLE PRECISION,
+    altitude        DOUBLE PRECISION
+);
+
+CREATE INDEX idx_workout_session_archive_training ON workout_session_archive (training_id);
@@ -0,0 +1,26 @@
+-- Log of the changes synced by the mobile clients. Every change of an entity owned by a user is numbered with the
+-- next sequence number of the user, kept in change_sequence; the row lock taken when advancing it serializes the
+-- writers of the same user, so the changes commit in the order of their sequence numbers and a client asking for
+-- the changes after its last sequence number never skips one. The primary key serves the sync queries. The log
+-- outlives the deleted users on purpose: their tombstones still have to reach the clients.
+
+CREATE TABLE change_sequence
+(
+    user_id       BIGINT PRIMARY KEY,
+    last_sequence BIGINT NOT NULL
+);
+
+CREATE TABLE change_log
+(
+    user_id         BIGINT                      NOT NULL,
+    sequence_number BIGINT                      NOT NULL,
+    entity_type     VARCHAR(32)                 NOT NULL,
+    entity_id       BIGINT                      NOT NULL,
+    operation       VARCHAR(8)                  NOT NULL,
+    changed_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (user_id, sequence_number)
+);
+
+INSERT INTO change_sequence (user_id, last_sequence)
+SELECT id, 0
+FROM users;
@@ -0,0 +1,14 @@
+-- Transactional outbox: messages for the downstream consumers, inserted in the transactions of the changes they
+-- describe and deleted by the relay (OutboxRelay) once published. The messages of a user are appended after the
+-- change is recorded in the change log, whose lock on change_sequence serializes the writers of the user, so they
+-- commit in the order of their IDs and the relay, publishing in the order of the IDs, keeps them in order.
+
+CREATE TABLE outbox_message
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id      BIGINT                      NOT NULL,
+    message_type VARCHAR(32)                 NOT NULL,
+    entity_id    BIGINT                      NOT NULL,
+    payload      TEXT,
+    created_at   TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
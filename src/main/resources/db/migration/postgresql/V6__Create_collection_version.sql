@@ -0,0 +1,10 @@
+-- Versions of the entity collections, validating the cached collections of conditional requests. The version of
+-- an entity type is advanced in every transaction changing its entities, so all instances of the application see
+-- the new version exactly when they see the change.
+
+CREATE TABLE collection_version
+(
+    entity_type VARCHAR(32)                 PRIMARY KEY,
+    version     BIGINT                      NOT NULL,
+    changed_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
@@ -128,6 +128,56 @@ class DatabaseSchemaTest {
         }
     }
 
+    @Test
+    void changeLogTableHasExpectedColumns() throws Exception {
+        try (Connection conn = dataSource.getConnection()) {
+            Set<String> cols = tableColumns(conn, "change_log");
+            assertThat(cols).contains("user_id", "sequence_number", "entity_type", "entity_id", "operation", "changed_at");
+            assertThat(tableColumns(conn, "change_sequence")).contains("user_id", "last_sequence");
+        }
+    }
+
+    @Test
+    void collectionVersionTableHasExpectedColumns() throws Exception {
+        try (Connection conn = dataSource.getConnection()) {
+            assertThat(tableColumns(conn, "collection_version")).contains("entity_type", "version", "changed_at");
+        }
+    }
+
+    @Test
+    void shouldApplyAllMigrationsSuccessfully() throws Exception {
+        try (Connection conn = dataSource.getConnection();
+             ResultSet rs = conn.createStatement().executeQuery(
+                     "SELECT \"version\", \"success\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL")) {
+            Set<String> versions = new HashSet<>();
+            while (rs.next()) {
+                assertThat(rs.getBoolean("success")).as("migration %s", rs.getString("version")).isTrue();
+                versions.add(rs.getString("version"));
+            }
+            assertThat(versions).contains("1", "2", "3", "4", "5", "6");
+        }
+    }
+
+    @Test
+    void trainingsTableHasIndexesOfHotQueries() throws Exception {
+        try (Connection conn = dataSource.getConnection()) {
+            assertThat(tableIndexes(conn, "trainings")).contains("idx_trainings_user_start_time",
+                    "idx_trainings_start_time", "idx_trainings_end_time", "idx_trainings_user_id",
+                    "idx_trainings_user_activity_type");
+        }
+    }
+
+    @Test
+    void referencingTablesHaveIndexesOfHotQueries() throws Exception {
+        try (Connection conn = dataSource.getConnection()) {
+            assertThat(tableIndexes(conn, "workout_session")).contains("idx_workout_session_training");
+            assertThat(tableIndexes(conn, "health_metrics")).contains("idx_health_metrics_user_date");
+            assertThat(tableIndexes(conn, "user_event")).contains("idx_user_event_event");
+            assertThat(tableIndexes(conn, "users")).contains("idx_users_birthdate");
+            assertThat(uniqueColumns(conn, "users")).contains("email");
+        }
+    }
+
     private boolean tableExists(Connection conn, String expectedName) throws SQLException {
         DatabaseMetaData meta = conn.getMetaData();
         try (ResultSet rs = meta.getTables(conn.getCatalog(), null, "%", new String[]{"TABLE"})) {
@@ -162,4 +212,32 @@ class DatabaseSchemaTest {
         }
         return cols;
     }
+
+    private Set<String> tableIndexes(Connection conn, String tableName) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        Set<String> indexes = new HashSet<>();
+        try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), "PUBLIC", tableName.toUpperCase(), false, false)) {
+            while (rs.next()) {
+                String index = rs.getString("INDEX_NAME");
+                if (index != null) {
+                    indexes.add(index.toLowerCase());
+                }
+            }
+        }
+        return indexes;
+    }
+
+    private Set<String> uniqueColumns(Connection conn, String tableName) throws SQLException {
+        DatabaseMetaData meta = conn.getMetaData();
+        Set<String> cols = new HashSet<>();
+        try (ResultSet rs = meta.getIndexInfo(conn.getCatalog(), "PUBLIC", tableName.toUpperCase(), true, false)) {
+            while (rs.next()) {
+                String col = rs.getString("COLUMN_NAME");
+                if (col != null) {
+                    cols.add(col.toLowerCase());
+                }
+            }
+        }
+        return cols;
+    }
 }
@@ -27,7 +27,7 @@ public abstract class IntegrationTestBase {
 
     }
 
-    private void cleanDatabase() {
+    protected void cleanDatabase() {
         trainingRepository.deleteAll();
         userRepository.deleteAll();
     }
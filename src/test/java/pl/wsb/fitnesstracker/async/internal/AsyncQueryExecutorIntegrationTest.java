@@ -0,0 +1,61 @@
+package pl.wsb.fitnesstracker.async.internal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.async.api.AsyncQueryExecutor;
+import pl.wsb.fitnesstracker.async.api.AsyncQueryRejectedException;
+import pl.wsb.fitnesstracker.async.api.KeysetPageLoader;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+@IntegrationTest
+@TestPropertySource(properties = "async-query.max-streams=2")
+class AsyncQueryExecutorIntegrationTest extends IntegrationTestBase {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final CountDownLatch started = new CountDownLatch(2);
+
+    @Autowired
+    private AsyncQueryExecutor asyncQueryExecutor;
+
+    @AfterEach
+    void releaseStreams() {
+        release.countDown();
+    }
+
+    @Test
+    void shouldRejectStreamsOverLimit_whileQueriesKeepRunning() throws Exception {
+        KeysetPageLoader<Long> blockingLoader = (afterKey, limit) -> {
+            started.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return List.of();
+        };
+        asyncQueryExecutor.stream("record", 0, blockingLoader, Long::longValue);
+        asyncQueryExecutor.stream("record", 0, blockingLoader, Long::longValue);
+        assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> asyncQueryExecutor.stream("record", 0, blockingLoader, Long::longValue))
+                .isInstanceOf(AsyncQueryRejectedException.class);
+        assertThat(asyncQueryExecutor.submit(() -> 42).get(10, TimeUnit.SECONDS)).isEqualTo(42);
+
+        release.countDown();
+        await().atMost(10, TimeUnit.SECONDS).untilAsserted(() ->
+                asyncQueryExecutor.stream("record", 0, (afterKey, limit) -> List.<Long>of(), Long::longValue));
+    }
+
+}
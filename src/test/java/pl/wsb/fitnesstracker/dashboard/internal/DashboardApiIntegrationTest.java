@@ -0,0 +1,96 @@
+package pl.wsb.fitnesstracker.dashboard.internal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.event.api.UserEventRepo;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = {
+        "dashboard.recent-trainings=3",
+        "dashboard.part-timeouts.upcoming-events=100ms"
+})
+class DashboardApiIntegrationTest extends IntegrationTestBase {
+
+    private final CountDownLatch upcomingEventsRelease = new CountDownLatch(1);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private UserEventRepo userEventRepo;
+
+    @AfterEach
+    void releaseUpcomingEvents() {
+        upcomingEventsRelease.countDown();
+    }
+
+    @Test
+    void shouldReturnDashboard_withRecentTrainingsAndTimedOutPartsMarkedUnavailable() throws Exception {
+        // the upcoming events never load within the timeout of their part
+        when(userEventRepo.findUpcomingUserEvents(anyLong(), any(), anyInt())).thenAnswer(invocation -> {
+            upcomingEventsRelease.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 19), "emma@domain.com"));
+        IntStream.rangeClosed(1, 5).forEach(day -> persistTraining(new Training(user,
+                LocalDateTime.of(2024, 1, day, 8, 0), LocalDateTime.of(2024, 1, day, 9, 0),
+                ActivityType.RUNNING, day, 10.0)));
+
+        MvcResult result = mockMvc.perform(get("/v1/dashboard/{userId}", user.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.email").value("emma@domain.com"))
+                .andExpect(jsonPath("$.statistics").doesNotExist())
+                .andExpect(jsonPath("$.recentTrainings[*].distance").value(contains(5.0, 4.0, 3.0)))
+                .andExpect(jsonPath("$.upcomingEvents", hasSize(0)))
+                .andExpect(jsonPath("$.unavailableParts").value(contains("UPCOMING_EVENTS")));
+    }
+
+    @Test
+    void shouldReturnNotFound_whenUserDoesNotExist() throws Exception {
+        MvcResult result = mockMvc.perform(get("/v1/dashboard/{userId}", 42L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(log())
+                .andExpect(status().isNotFound());
+    }
+
+}
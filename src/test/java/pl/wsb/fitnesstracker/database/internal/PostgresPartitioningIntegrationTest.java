@@ -0,0 +1,101 @@
+package pl.wsb.fitnesstracker.database.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+import pl.wsb.fitnesstracker.transfer.api.DataTransferService;
+import pl.wsb.fitnesstracker.transfer.api.InvalidTransferDataException;
+import pl.wsb.fitnesstracker.transfer.api.TransferDataset;
+import pl.wsb.fitnesstracker.transfer.api.TransferFormat;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks the partitioning of the PostgreSQL schema, which H2 does not have. Needs Docker, skipped without it.
+ */
+@IntegrationTest
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresPartitioningIntegrationTest extends IntegrationTestBase {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataTransferService dataTransferService;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.driver-class-name", POSTGRES::getDriverClassName);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+    }
+
+    @Test
+    void shouldMoveRowsOfDefaultPartition_whenCreatingPartitionOfTheirMonth() {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 19), "emma@domain.com"));
+        // beyond the months created in advance by default
+        YearMonth month = YearMonth.now().plusMonths(12);
+        Training training = persistTraining(new Training(user, month.atDay(1).atTime(8, 0),
+                month.atDay(1).atTime(9, 0), ActivityType.RUNNING, 10.0, 8.0));
+        assertThat(partitionOf(training)).isEqualTo("trainings_default");
+
+        new PartitionMaintainer(dataSource, new PartitioningProperties(24, 12, 0)).maintainPartitions();
+
+        String monthPartition = "trainings_" + month.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+        assertThat(partitionOf(training)).isEqualTo(monthPartition);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM trainings_default", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM trainings WHERE id = ?", Long.class,
+                training.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectImport_whenTrainingIdIsTakenInAnotherPartition() {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 19), "emma@domain.com"));
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        Training training = persistTraining(new Training(user, now, now.plusHours(1), ActivityType.RUNNING, 10.0, 8.0));
+        // the primary key includes the start time, so only the import itself can notice the taken ID
+        String records = """
+                id,user_id,start_time,end_time,activity_type,distance,average_speed
+                %d,%d,2020-01-10T08:00:00,2020-01-10T09:00:00,CYCLING,20.0,15.0
+                """.formatted(training.getId(), user.getId());
+
+        assertThatThrownBy(() -> dataTransferService.importData(TransferDataset.TRAININGS, TransferFormat.CSV,
+                new ByteArrayInputStream(records.getBytes(UTF_8))))
+                .isInstanceOf(InvalidTransferDataException.class)
+                .hasMessageContaining("duplicate IDs");
+
+        assertThat(getAllTrainings()).extracting(Training::getId).containsExactly(training.getId());
+    }
+
+    private String partitionOf(Training training) {
+        return jdbcTemplate.queryForObject("SELECT tableoid::regclass::text FROM trainings WHERE id = ?",
+                String.class, training.getId());
+    }
+
+}
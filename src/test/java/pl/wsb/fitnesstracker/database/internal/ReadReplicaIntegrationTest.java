@@ -0,0 +1,81 @@
+package pl.wsb.fitnesstracker.database.internal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = {
+        "datasource.replicas.enabled=true",
+        "datasource.replicas.instances[0].url=jdbc:h2:mem:testdb",
+        "datasource.replicas.instances[1].url=jdbc:h2:mem:testdb",
+        "datasource.replicas.lag-check-interval=1h"
+})
+class ReadReplicaIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void shouldReadFromReplicasRoundRobin_whenGettingUsers() throws Exception {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 19), "emma@domain.com"));
+        long replica0 = acquisitions("replica-0");
+        long replica1 = acquisitions("replica-1");
+
+        for (int i = 0; i < 4; i++) {
+            mockMvc.perform(get("/v1/users/{id}", user.getId()))
+                    .andDo(log())
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.email").value(user.getEmail()));
+        }
+
+        // other read-only work of the application may take its turns in between
+        assertThat(acquisitions("replica-0") - replica0).isGreaterThanOrEqualTo(2);
+        assertThat(acquisitions("replica-1") - replica1).isGreaterThanOrEqualTo(2);
+        assertThat(meterRegistry.counter("datasource.replica.fallbacks").count()).isZero();
+    }
+
+    @Test
+    void shouldWriteToPrimary_whenCreatingUser() throws Exception {
+        long replicas = acquisitions("replica-0") + acquisitions("replica-1");
+
+        mockMvc.perform(post("/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"firstName": "Olivia", "lastName": "Smith", "birthdate": "1994-06-02",
+                                 "email": "olivia@domain.com"}
+                                """))
+                .andDo(log())
+                .andExpect(status().isCreated());
+
+        assertThat(acquisitions("replica-0") + acquisitions("replica-1")).isEqualTo(replicas);
+        assertThat(getAllUsers()).extracting(User::getEmail).containsExactly("olivia@domain.com");
+    }
+
+    private long acquisitions(String pool) {
+        Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+        return timer != null ? timer.count() : 0;
+    }
+
+}
@@ -0,0 +1,91 @@
+package pl.wsb.fitnesstracker.loader;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+@TestPropertySource(properties = {
+        "generator.users=30",
+        "generator.trainings-per-user=3",
+        "generator.sessions-per-training=2",
+        "generator.health-metrics-per-user=2",
+        "generator.events=4",
+        "generator.events-per-user=2",
+        "generator.threads=3",
+        // small batches, so full batches of the child tables have to flush their parents first
+        "generator.batch-size=7"
+})
+class SyntheticDataGeneratorIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    protected void cleanDatabase() {
+        jdbcTemplate.update("DELETE FROM user_event");
+        jdbcTemplate.update("DELETE FROM event");
+        jdbcTemplate.update("DELETE FROM health_metrics");
+        jdbcTemplate.update("DELETE FROM workout_session");
+        super.cleanDatabase();
+    }
+
+    @Test
+    void shouldGenerateConfiguredAmountOfData_withSampleUsersAndTrainingsFirst() {
+        generator.generate();
+
+        assertThat(countRows("users")).isEqualTo(30);
+        assertThat(countRows("trainings")).isEqualTo(10 + 30 * 3);
+        assertThat(countRows("workout_session")).isEqualTo(30 * 3 * 2);
+        assertThat(countRows("health_metrics")).isEqualTo(30 * 2);
+        assertThat(countRows("event")).isEqualTo(4);
+        assertThat(countRows("user_event")).isEqualTo(30 * 2);
+        assertThat(jdbcTemplate.queryForList("SELECT email FROM users ORDER BY id", String.class))
+                .startsWith("Emma.Johnson@domain.com", "Ethan.Taylor@domain.com");
+        assertThat(jdbcTemplate.queryForList("SELECT distance FROM trainings ORDER BY id FETCH FIRST 2 ROWS ONLY",
+                Double.class)).containsExactly(10.5, 25.0);
+    }
+
+    @Test
+    void shouldGenerateSameData_whenSeedIsTheSame() {
+        generator.generate();
+        List<String> first = snapshot();
+
+        cleanDatabase();
+        generator.generate();
+
+        assertThat(snapshot()).isEqualTo(first);
+    }
+
+    /**
+     * Values of the generated rows which do not depend on the current time.
+     */
+    private List<String> snapshot() {
+        return jdbcTemplate.queryForList("""
+                SELECT u.email || ':' || t.activity_type || ':' || t.distance || ':' || t.average_speed
+                FROM users u JOIN trainings t ON t.user_id = u.id
+                UNION ALL
+                SELECT u.email || ':' || m.weight || ':' || m.height || ':' || m.heart_rate
+                FROM users u JOIN health_metrics m ON m.user_id = u.id
+                UNION ALL
+                SELECT u.email || ':' || e.name || ':' || ue.status
+                FROM users u JOIN user_event ue ON ue.user_id = u.id JOIN event e ON e.id = ue.event_id
+                ORDER BY 1
+                """, String.class);
+    }
+
+    private int countRows(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+}
@@ -0,0 +1,25 @@
+package pl.wsb.fitnesstracker.loadtest;
+
+/**
+ * Latency and throughput measured for a single load test scenario.
+ *
+ * @param scenario      name of the scenario
+ * @param requests      number of measured requests
+ * @param errors        number of requests answered with an unexpected status (or failed)
+ * @param p50Millis     median latency
+ * @param p95Millis     95th percentile latency
+ * @param p99Millis     99th percentile latency
+ * @param maxMillis     maximum latency
+ * @param throughputRps requests completed per second
+ */
+public record LatencyReport(
+        String scenario,
+        int requests,
+        int errors,
+        double p50Millis,
+        double p95Millis,
+        double p99Millis,
+        double maxMillis,
+        double throughputRps
+) {
+}
@@ -0,0 +1,96 @@
+package pl.wsb.fitnesstracker.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Drives {@link LoadScenario}s with a fixed number of concurrent clients and measures their latency.
+ * Each scenario is warmed up first; only the subsequent requests are measured.
+ */
+public class LoadGenerator {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    private final int concurrency;
+
+    private final int requests;
+
+    private final int warmupRequests;
+
+    public LoadGenerator(int concurrency, int requests, int warmupRequests) {
+        this.concurrency = concurrency;
+        this.requests = requests;
+        this.warmupRequests = warmupRequests;
+    }
+
+    public LatencyReport run(LoadScenario scenario) throws InterruptedException {
+        execute(scenario, 0, warmupRequests, new long[warmupRequests]);
+
+        long[] latencies = new long[requests];
+        long startedAt = System.nanoTime();
+        int errors = execute(scenario, warmupRequests, requests, latencies);
+        long elapsed = System.nanoTime() - startedAt;
+
+        Arrays.sort(latencies);
+        return new LatencyReport(scenario.name(),
+                requests,
+                errors,
+                percentile(latencies, 50),
+                percentile(latencies, 95),
+                percentile(latencies, 99),
+                toMillis(latencies[latencies.length - 1]),
+                requests / (elapsed / 1e9));
+    }
+
+    private int execute(LoadScenario scenario, int firstSequence, int count, long[] latencies)
+            throws InterruptedException {
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int client = 0; client < concurrency; client++) {
+            clients.execute(() -> {
+                int index;
+                while ((index = next.getAndIncrement()) < count) {
+                    long startedAt = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = httpClient.send(scenario.request().apply(firstSequence + index),
+                                HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() != scenario.expectedStatus()) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        errors.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    latencies[index] = System.nanoTime() - startedAt;
+                }
+            });
+        }
+        clients.shutdown();
+        if (!clients.awaitTermination(10, TimeUnit.MINUTES)) {
+            clients.shutdownNow();
+            throw new IllegalStateException("Scenario " + scenario.name() + " did not finish in time");
+        }
+        return errors.get();
+    }
+
+    private static double percentile(long[] sortedLatencies, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+        return toMillis(sortedLatencies[Math.max(index, 0)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1e6;
+    }
+
+}
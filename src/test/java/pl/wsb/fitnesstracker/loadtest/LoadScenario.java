@@ -0,0 +1,18 @@
+package pl.wsb.fitnesstracker.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.IntFunction;
+
+/**
+ * A load test scenario - requests of a single endpoint.
+ *
+ * @param name           name of the scenario, used as the key of its SLOs
+ * @param expectedStatus HTTP status each response should have
+ * @param request        factory of the request with the given sequence number
+ */
+public record LoadScenario(
+        String name,
+        int expectedStatus,
+        IntFunction<HttpRequest> request
+) {
+}
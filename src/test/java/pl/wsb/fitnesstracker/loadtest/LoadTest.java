@@ -0,0 +1,18 @@
+package pl.wsb.fitnesstracker.loadtest;
+
+import org.junit.jupiter.api.Tag;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks load tests, which are excluded from the regular build and run with {@code mvn -Pload-test verify}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Tag("LoadTest")
+public @interface LoadTest {
+
+}
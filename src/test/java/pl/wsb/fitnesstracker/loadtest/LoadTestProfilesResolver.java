@@ -0,0 +1,26 @@
+package pl.wsb.fitnesstracker.loadtest;
+
+import org.springframework.test.context.ActiveProfilesResolver;
+
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+/**
+ * Activates the {@code loadInitialData} profile, so the dataset is generated, along with the comma separated
+ * profiles from the {@code loadtest.profiles} system property. This allows comparing configurations, e.g.
+ * platform and virtual threads with {@code -Dloadtest.profiles=virtual-threads}.
+ */
+public class LoadTestProfilesResolver implements ActiveProfilesResolver {
+
+    public static String additionalProfiles() {
+        return System.getProperty("loadtest.profiles", "");
+    }
+
+    @Override
+    public String[] resolve(Class<?> testClass) {
+        return Stream.concat(Stream.of("loadInitialData"),
+                        Arrays.stream(additionalProfiles().split(",")).map(String::trim).filter(profile -> !profile.isEmpty()))
+                .toArray(String[]::new);
+    }
+
+}
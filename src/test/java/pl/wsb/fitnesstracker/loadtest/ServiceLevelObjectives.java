@@ -0,0 +1,52 @@
+package pl.wsb.fitnesstracker.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Latency and error SLOs of the load test scenarios, loaded from a properties file on the test classpath.
+ * Each limit is looked up as {@code <scenario>.<limit>} and falls back to {@code default.<limit>}; supported limits
+ * are {@code p95}, {@code p99} (milliseconds), {@code min-throughput} (requests per second) and {@code max-errors}.
+ */
+public class ServiceLevelObjectives {
+
+    private final Properties limits = new Properties();
+
+    public ServiceLevelObjectives(String resource) throws IOException {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                throw new IllegalArgumentException("SLO file " + resource + " not found on the classpath");
+            }
+            limits.load(input);
+        }
+    }
+
+    /**
+     * Returns a description of every SLO the report breaches, empty if all are met.
+     */
+    public List<String> breaches(LatencyReport report) {
+        List<String> breaches = new ArrayList<>();
+        check(breaches, report, "p95", report.p95Millis(), true);
+        check(breaches, report, "p99", report.p99Millis(), true);
+        check(breaches, report, "min-throughput", report.throughputRps(), false);
+        check(breaches, report, "max-errors", report.errors(), true);
+        return breaches;
+    }
+
+    private void check(List<String> breaches, LatencyReport report, String limitName, double value, boolean isMaximum) {
+        String limit = limits.getProperty(report.scenario() + "." + limitName,
+                limits.getProperty("default." + limitName));
+        if (limit == null) {
+            return;
+        }
+        double threshold = Double.parseDouble(limit);
+        if (isMaximum ? value > threshold : value < threshold) {
+            breaches.add("%s: %s = %.2f, SLO %s %s".formatted(report.scenario(), limitName, value,
+                    isMaximum ? "<=" : ">=", limit));
+        }
+    }
+
+}
@@ -0,0 +1,152 @@
+package pl.wsb.fitnesstracker.outbox.internal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.outbox.api.OutboxSink;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.api.TrainingRepository;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class OutboxIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxProperties properties;
+
+    @Autowired
+    private TrainingRepository trainingRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void drainOutbox() throws Exception {
+        outboxRelay.relay();
+        Files.deleteIfExists(properties.getFilePath());
+    }
+
+    @Test
+    void shouldPublishChangesOfUserInOrder() throws Exception {
+        String created = mockMvc.perform(post("/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"firstName": "Emma", "lastName": "Johnson", "birthdate": "1996-01-09",
+                                 "email": "emma@domain.com"}"""))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long userId = objectMapper.readTree(created).get("id").asLong();
+        User user = getAllUsers().get(0);
+
+        mockMvc.perform(put("/v1/users/{id}", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lastName\": \"Smith\"}"))
+                .andExpect(status().isOk());
+        // changes nothing, so publishes nothing
+        mockMvc.perform(put("/v1/users/{id}", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lastName\": \"Smith\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/v1/users/{id}", userId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Emily\"}"))
+                .andExpect(status().isNoContent());
+        Training training = persistTraining(new Training(user, LocalDateTime.of(2024, 3, 1, 7, 0),
+                LocalDateTime.of(2024, 3, 1, 8, 0), ActivityType.RUNNING, 10.5, 10.0));
+        trainingRepository.deleteById(training.getId());
+        mockMvc.perform(delete("/v1/users/{id}", userId))
+                .andExpect(status().isNoContent());
+
+        double publishedBefore = meterRegistry.counter("outbox.messages.published").count();
+        assertThat(outboxRelay.relay()).isEqualTo(6);
+        assertThat(meterRegistry.counter("outbox.messages.published").count()).isEqualTo(publishedBefore + 6);
+        assertThat(outboxRelay.relay()).isZero();
+
+        List<JsonNode> messages = readPublishedMessages();
+        assertThat(messages).extracting(message -> message.get("type").asText()).containsExactly(
+                "USER_CREATED", "USER_UPDATED", "USER_UPDATED", "TRAINING_CREATED", "TRAINING_DELETED",
+                "USER_DELETED");
+        assertThat(messages).allSatisfy(message -> assertThat(message.get("userId").asLong()).isEqualTo(userId));
+        assertThat(messages).extracting(message -> message.get("id").asLong()).isSorted();
+        assertThat(messages.get(0).get("payload").get("email").asText()).isEqualTo("emma@domain.com");
+        assertThat(messages.get(1).get("payload").get("lastName").asText()).isEqualTo("Smith");
+        assertThat(messages.get(2).get("payload").get("firstName").asText()).isEqualTo("Emily");
+        assertThat(messages.get(3).get("entityId").asLong()).isEqualTo(training.getId());
+        assertThat(messages.get(3).get("payload").get("activityType").asText()).isEqualTo("RUNNING");
+        assertThat(messages.get(4).get("payload").isNull()).isTrue();
+        assertThat(messages.get(5).get("payload").isNull()).isTrue();
+    }
+
+    @Test
+    void shouldKeepMessagesInOutbox_whenPublishingFails() throws Exception {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 9), "emma@domain.com"));
+        persistTraining(new Training(user, LocalDateTime.of(2024, 3, 1, 7, 0), LocalDateTime.of(2024, 3, 1, 8, 0),
+                ActivityType.RUNNING, 10.5, 10.0));
+        OutboxSink failingSink = messages -> {
+            throw new IllegalStateException("Broker unavailable");
+        };
+        SimpleMeterRegistry failingMeters = new SimpleMeterRegistry();
+        OutboxRelay failingRelay = new OutboxRelay(dataSource, transactionManager, failingSink, properties,
+                failingMeters);
+
+        assertThat(failingRelay.relay()).isZero();
+        assertThat(failingMeters.counter("outbox.publish.failures").count()).isEqualTo(1);
+        assertThat(new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM outbox_message", Long.class))
+                .isEqualTo(1);
+
+        assertThat(outboxRelay.relay()).isEqualTo(1);
+        assertThat(readPublishedMessages()).extracting(message -> message.get("type").asText())
+                .containsExactly("TRAINING_CREATED");
+    }
+
+    private List<JsonNode> readPublishedMessages() throws Exception {
+        List<JsonNode> messages = new ArrayList<>();
+        for (String line : Files.readAllLines(properties.getFilePath())) {
+            messages.add(objectMapper.readTree(line));
+        }
+        return messages;
+    }
+
+}
@@ -0,0 +1,112 @@
+package pl.wsb.fitnesstracker.serialization.internal;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.serialization.api.StreamingMessageConverter;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class WireFormatIntegrationTest extends IntegrationTestBase {
+
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    private final SmileMapper smileMapper = new SmileMapper();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void shouldEncodeResponsesAsCborOrSmile_whenAccepted() throws Exception {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 19), "emma@domain.com"));
+        persistTraining(new Training(user, LocalDateTime.of(2024, 1, 1, 8, 0), LocalDateTime.of(2024, 1, 1, 9, 0),
+                ActivityType.RUNNING, 10.5, 10.0));
+
+        assertSameAsJson(get("/v1/users"));
+        assertSameAsJson(get("/v1/users/{id}", user.getId()));
+        assertSameAsJson(get("/v1/users/search/email").param("emailFragment", "emma"));
+        assertSameAsJson(get("/v1/async/trainings/user/{userId}", user.getId())
+                .param("from", "2024-01-01T00:00:00")
+                .param("to", "2024-01-02T00:00:00"));
+        assertSameAsJson(get("/v1/dashboard/{userId}", user.getId()));
+    }
+
+    @Test
+    void shouldDecodeCborRequests() throws Exception {
+        byte[] request = cborMapper.writeValueAsBytes(Map.of(
+                "firstName", "Olivia",
+                "lastName", "Smith",
+                "birthdate", "1994-06-02",
+                "email", "olivia@domain.com"));
+
+        byte[] response = mockMvc.perform(post("/v1/users")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(request))
+                .andDo(log())
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode created = cborMapper.readTree(response);
+        assertThat(created.get("email").asText()).isEqualTo("olivia@domain.com");
+        assertThat(created.get("birthdate").asText()).isEqualTo("1994-06-02");
+    }
+
+    /**
+     * Requests the resource as JSON, CBOR and Smile, and checks they all encode the same tree.
+     */
+    private void assertSameAsJson(MockHttpServletRequestBuilder request) throws Exception {
+        byte[] json = perform(request.accept(MediaType.APPLICATION_JSON), MediaType.APPLICATION_JSON);
+        byte[] cbor = perform(request.accept(MediaType.APPLICATION_CBOR), MediaType.APPLICATION_CBOR);
+        byte[] smile = perform(request.accept(StreamingMessageConverter.APPLICATION_SMILE),
+                StreamingMessageConverter.APPLICATION_SMILE);
+
+        JsonNode expected = objectMapper.readTree(json);
+        assertThat(cborMapper.readTree(cbor)).isEqualTo(expected);
+        assertThat(smileMapper.readTree(smile)).isEqualTo(expected);
+        assertThat(cbor.length).isLessThan(json.length);
+        assertThat(smile.length).isLessThan(json.length);
+    }
+
+    private byte[] perform(MockHttpServletRequestBuilder request, MediaType expectedType) throws Exception {
+        MvcResult result = mockMvc.perform(request).andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        assertThat(result.getResponse().getStatus()).isEqualTo(200);
+        assertThat(MediaType.parseMediaType(result.getResponse().getContentType()).isCompatibleWith(expectedType))
+                .as(result.getResponse().getContentType())
+                .isTrue();
+        return result.getResponse().getContentAsByteArray();
+    }
+
+}
@@ -0,0 +1,150 @@
+package pl.wsb.fitnesstracker.statistics.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.healthmetrics.HealthMetrics;
+import pl.wsb.fitnesstracker.healthmetrics.HealthMetricsRepository;
+import pl.wsb.fitnesstracker.statistics.api.HealthIndicators;
+import pl.wsb.fitnesstracker.statistics.api.HealthIndicatorsProvider;
+import pl.wsb.fitnesstracker.statistics.api.Statistics;
+import pl.wsb.fitnesstracker.statistics.api.StatisticsRepository;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.api.TrainingRepository;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.closeTo;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "health-indicators.backfill-batch-size=1")
+class HealthIndicatorApiIntegrationTest extends IntegrationTestBase {
+
+    private static final LocalDateTime MORNING = LocalDateTime.of(2024, 3, 1, 7, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TrainingRepository trainingRepository;
+
+    @Autowired
+    private HealthMetricsRepository healthMetricsRepository;
+
+    @Autowired
+    private StatisticsRepository statisticsRepository;
+
+    @Autowired
+    private HealthIndicatorsProvider healthIndicatorsProvider;
+
+    @Override
+    protected void cleanDatabase() {
+        statisticsRepository.deleteAll();
+        healthMetricsRepository.deleteAll();
+        super.cleanDatabase();
+    }
+
+    @Test
+    void shouldReflectNewAndDeletedTrainingsInIndicators() throws Exception {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 9), "emma@domain.com"));
+        healthMetricsRepository.save(new HealthMetrics(user, MORNING.toLocalDate().minusDays(1), 64.0, 1.60, 58));
+        Training first = existingTraining(user, MORNING, 10.0);
+
+        mockMvc.perform(get("/v1/statistics/users/{userId}/health-indicators", user.getId()))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.latestBmi").value(closeTo(25.0, 0.001)))
+                .andExpect(jsonPath("$.totalTrainings").value(1))
+                .andExpect(jsonPath("$.totalDistance").value(10.0));
+
+        existingTraining(user, MORNING.plusDays(1), 5.0);
+        mockMvc.perform(get("/v1/statistics/users/{userId}/health-indicators", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(2))
+                .andExpect(jsonPath("$.totalDistance").value(15.0));
+
+        trainingRepository.delete(first);
+        mockMvc.perform(get("/v1/statistics/users/{userId}/health-indicators", user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalTrainings").value(1))
+                .andExpect(jsonPath("$.totalDistance").value(5.0));
+        assertThat(statisticsRepository.findByUserId(user.getId()))
+                .get()
+                .extracting(Statistics::getTotalTrainings, Statistics::getTotalDistance)
+                .containsExactly(1, 5.0);
+    }
+
+    @Test
+    void shouldBackfillStatisticsOfAllUsersInBatches() throws Exception {
+        User emma = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 9), "emma@domain.com"));
+        User olivia = existingUser(new User("Olivia", "Smith", LocalDate.of(1994, 6, 2), "olivia@domain.com"));
+        existingTraining(emma, MORNING, 10.0);
+        existingTraining(olivia, MORNING, 3.0);
+        existingTraining(olivia, MORNING.plusDays(1), 4.0);
+
+        mockMvc.perform(post("/v1/statistics/health-indicators/backfill"))
+                .andDo(log())
+                .andExpect(status().isAccepted());
+
+        await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> {
+            assertThat(statisticsRepository.findByUserId(emma.getId()))
+                    .get()
+                    .extracting(Statistics::getTotalTrainings)
+                    .isEqualTo(1);
+            assertThat(statisticsRepository.findByUserId(olivia.getId()))
+                    .get()
+                    .extracting(Statistics::getTotalTrainings, Statistics::getTotalDistance)
+                    .containsExactly(2, 7.0);
+        });
+    }
+
+    @Test
+    void shouldStoreSingleStatistics_whenFirstComputationsOfUserRunConcurrently() {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 9), "emma@domain.com"));
+        existingTraining(user, MORNING, 10.0);
+
+        List<CompletableFuture<HealthIndicators>> computations = IntStream.range(0, 8)
+                .mapToObj(i -> CompletableFuture.supplyAsync(
+                        () -> healthIndicatorsProvider.getHealthIndicators(user.getId())))
+                .toList();
+
+        assertThat(computations).allSatisfy(computation -> assertThat(computation.join().totalTrainings())
+                .isEqualTo(1));
+        assertThat(statisticsRepository.findByUserId(user.getId()))
+                .get()
+                .extracting(Statistics::getTotalTrainings)
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownUser() throws Exception {
+        mockMvc.perform(get("/v1/statistics/users/{userId}/health-indicators", Long.MAX_VALUE))
+                .andDo(log())
+                .andExpect(status().isNotFound());
+    }
+
+    private Training existingTraining(User user, LocalDateTime startTime, double distance) {
+        return persistTraining(new Training(user, startTime, startTime.plusHours(1), ActivityType.RUNNING,
+                distance, 10.0));
+    }
+
+}
@@ -0,0 +1,147 @@
+package pl.wsb.fitnesstracker.sync.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.IllegalTransactionStateException;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.database.api.ChangeLog;
+import pl.wsb.fitnesstracker.healthmetrics.HealthMetrics;
+import pl.wsb.fitnesstracker.healthmetrics.HealthMetricsRepository;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.api.TrainingRepository;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class SyncApiIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TrainingRepository trainingRepository;
+
+    @Autowired
+    private HealthMetricsRepository healthMetricsRepository;
+
+    @Autowired
+    private ChangeLog changeLog;
+
+    @Override
+    protected void cleanDatabase() {
+        healthMetricsRepository.deleteAll();
+        super.cleanDatabase();
+    }
+
+    @Test
+    void shouldReturnChangesSinceLastSync() throws Exception {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 9), "emma@domain.com"));
+
+        mockMvc.perform(get("/v1/sync/users/{userId}", user.getId()))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(0)))
+                .andExpect(jsonPath("$.nextSince").value(1));
+
+        Training running = persistTraining(new Training(user, LocalDateTime.of(2024, 3, 1, 7, 0),
+                LocalDateTime.of(2024, 3, 1, 8, 0), ActivityType.RUNNING, 10.5, 10.0));
+        Training cycling = persistTraining(new Training(user, LocalDateTime.of(2024, 3, 2, 7, 0),
+                LocalDateTime.of(2024, 3, 2, 8, 0), ActivityType.CYCLING, 30, 24.0));
+        HealthMetrics metrics = healthMetricsRepository.save(
+                new HealthMetrics(user, LocalDate.of(2024, 3, 1), 61.5, 170.0, 58));
+        trainingRepository.deleteById(cycling.getId());
+        mockMvc.perform(patch("/v1/users/{id}", user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\": \"Emily\"}"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/v1/sync/users/{userId}", user.getId()).param("since", "1"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(4)))
+                .andExpect(jsonPath("$.changes[0].sequence").value(2))
+                .andExpect(jsonPath("$.changes[0].entityType").value("Training"))
+                .andExpect(jsonPath("$.changes[0].entityId").value(running.getId()))
+                .andExpect(jsonPath("$.changes[0].operation").value("UPSERT"))
+                .andExpect(jsonPath("$.changes[0].data.activityType").value("RUNNING"))
+                .andExpect(jsonPath("$.changes[1].entityType").value("HealthMetrics"))
+                .andExpect(jsonPath("$.changes[1].entityId").value(metrics.getId()))
+                .andExpect(jsonPath("$.changes[1].data.weight").value(61.5))
+                // the creation of the deleted training is superseded by its tombstone
+                .andExpect(jsonPath("$.changes[2].entityType").value("Training"))
+                .andExpect(jsonPath("$.changes[2].entityId").value(cycling.getId()))
+                .andExpect(jsonPath("$.changes[2].operation").value("DELETE"))
+                .andExpect(jsonPath("$.changes[2].data").value(nullValue()))
+                .andExpect(jsonPath("$.changes[3].entityType").value("User"))
+                .andExpect(jsonPath("$.changes[3].data.firstName").value("Emily"))
+                .andExpect(jsonPath("$.nextSince").value(6))
+                .andExpect(jsonPath("$.hasMore").value(false));
+
+        mockMvc.perform(get("/v1/sync/users/{userId}", user.getId()).param("since", "1").param("limit", "3"))
+                .andExpect(status().isOk())
+                // the creation of the deleted training is skipped, its tombstone comes with the next page
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[1].entityType").value("HealthMetrics"))
+                .andExpect(jsonPath("$.nextSince").value(4))
+                .andExpect(jsonPath("$.hasMore").value(true));
+
+        mockMvc.perform(get("/v1/sync/users/{userId}", user.getId()).param("since", "6"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(0)))
+                .andExpect(jsonPath("$.nextSince").value(6))
+                .andExpect(jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    void shouldReturnTombstoneOfDeletedUser() throws Exception {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 9), "emma@domain.com"));
+        persistTraining(new Training(user, LocalDateTime.of(2024, 3, 1, 7, 0), LocalDateTime.of(2024, 3, 1, 8, 0),
+                ActivityType.RUNNING, 10.5, 10.0));
+
+        mockMvc.perform(delete("/v1/users/{id}", user.getId()))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/v1/sync/users/{userId}", user.getId()).param("since", "0"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes", hasSize(1)))
+                .andExpect(jsonPath("$.changes[0].sequence").value(3))
+                .andExpect(jsonPath("$.changes[0].entityType").value("User"))
+                .andExpect(jsonPath("$.changes[0].entityId").value(user.getId()))
+                .andExpect(jsonPath("$.changes[0].operation").value("DELETE"))
+                .andExpect(jsonPath("$.nextSince").value(3));
+    }
+
+    @Test
+    void shouldRejectOwnerDeletion_outsideTransactionOfDeletion() {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 9), "emma@domain.com"));
+        long lastSequence = changeLog.getLastSequence(user.getId());
+
+        // discarding the log in a transaction of its own would lose it even if the deletion rolled back
+        assertThatThrownBy(() -> changeLog.recordOwnerDeletion(User.class, user.getId()))
+                .isInstanceOf(IllegalTransactionStateException.class);
+
+        assertThat(changeLog.getLastSequence(user.getId())).isEqualTo(lastSequence);
+        assertThat(changeLog.findChanges(user.getId(), 0, 10)).isNotEmpty();
+    }
+
+}
@@ -0,0 +1,128 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = {
+        "training.archive.batch-size=1",
+        "training.archive.cron=-"
+})
+class TrainingArchiveIntegrationTest extends IntegrationTestBase {
+
+    private static final LocalDateTime LONG_AGO = LocalDateTime.now().minusYears(2);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TrainingArchiver trainingArchiver;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldArchiveOnlyTrainingsOfInactiveUsers_andReturnThemOnlyWhenRequested() throws Exception {
+        User inactiveUser = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 19), "emma@domain.com"));
+        Training first = existingTraining(inactiveUser, LONG_AGO, 5.0);
+        existingTraining(inactiveUser, LONG_AGO.plusDays(1), 7.0);
+        jdbcTemplate.update("INSERT INTO workout_session (training_id, timestamp, start_latitude, start_longitude) "
+                + "VALUES (?, ?, 52.2, 21.0)", first.getId(), LONG_AGO);
+        User activeUser = existingUser(new User("Olivia", "Smith", LocalDate.of(1994, 6, 2), "olivia@domain.com"));
+        existingTraining(activeUser, LONG_AGO, 3.0);
+        existingTraining(activeUser, LocalDateTime.now().minusDays(1), 4.0);
+
+        assertThat(trainingArchiver.archiveInactiveUsersTrainings()).isEqualTo(2);
+
+        assertThat(getAllTrainings()).extracting(Training::getDistance).containsExactlyInAnyOrder(3.0, 4.0);
+        assertThat(countRows("workout_session")).isZero();
+        assertThat(countRows("workout_session_archive")).isOne();
+        performAsync(userTrainings(inactiveUser, false))
+                .andExpect(jsonPath("$", hasSize(0)));
+        performAsync(userTrainings(inactiveUser, true))
+                .andExpect(jsonPath("$[*].distance").value(contains(5.0, 7.0)));
+        performAsync(get("/v1/async/trainings/{id}", first.getId()).param("includeArchived", "true"))
+                .andExpect(jsonPath("$.userId").value(inactiveUser.getId()));
+    }
+
+    @Test
+    void shouldReturnNotModified_whenGettingUnchangedTrainings_andFullResponseAfterArchiving() throws Exception {
+        User inactiveUser = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 19), "emma@domain.com"));
+        existingTraining(inactiveUser, LONG_AGO, 5.0);
+        String eTag = performAsync(userTrainings(inactiveUser, false))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+
+        MvcResult unchanged = mockMvc.perform(userTrainings(inactiveUser, false)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(unchanged))
+                .andExpect(status().isNotModified());
+
+        trainingArchiver.archiveInactiveUsersTrainings();
+
+        performAsync(userTrainings(inactiveUser, false).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Override
+    protected void cleanDatabase() {
+        jdbcTemplate.update("DELETE FROM workout_session_archive");
+        jdbcTemplate.update("DELETE FROM trainings_archive");
+        jdbcTemplate.update("DELETE FROM workout_session");
+        super.cleanDatabase();
+    }
+
+    private Training existingTraining(User user, LocalDateTime startTime, double distance) {
+        return persistTraining(new Training(user, startTime, startTime.plusHours(1), ActivityType.RUNNING,
+                distance, 10.0));
+    }
+
+    private static MockHttpServletRequestBuilder userTrainings(User user, boolean includeArchived) {
+        return get("/v1/async/trainings/user/{userId}", user.getId())
+                .param("from", LONG_AGO.minusDays(1).toString())
+                .param("to", LocalDateTime.now().toString())
+                .param("includeArchived", String.valueOf(includeArchived));
+    }
+
+    private ResultActions performAsync(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(result))
+                .andDo(log())
+                .andExpect(status().isOk());
+    }
+
+    private int countRows(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+}
@@ -0,0 +1,79 @@
+package pl.wsb.fitnesstracker.training.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.api.TrainingProvider;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@IntegrationTest
+class TrainingRangeQueryIntegrationTest extends IntegrationTestBase {
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    private static final LocalDateTime TO = LocalDateTime.of(2024, 4, 1, 0, 0);
+
+    @Autowired
+    private TrainingProvider trainingProvider;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldReturnTrainingsStartedWithinHalfOpenRange() {
+        User emma = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 9), "emma@domain.com"));
+        User olivia = existingUser(new User("Olivia", "Smith", LocalDate.of(1994, 6, 2), "olivia@domain.com"));
+        existingTraining(emma, FROM.minusNanos(1000), 1.0);
+        existingTraining(emma, TO.minusNanos(1000), 3.0);
+        existingTraining(emma, FROM, 2.0);
+        existingTraining(emma, TO, 4.0);
+        existingTraining(olivia, FROM.plusDays(1), 5.0);
+
+        assertThat(trainingProvider.findTrainingsStartedBetween(FROM, TO))
+                .extracting(Training::getDistance)
+                .containsExactly(2.0, 5.0, 3.0);
+        assertThat(trainingProvider.findUserTrainingsStartedBetween(emma.getId(), FROM, TO))
+                .extracting(Training::getDistance)
+                .containsExactly(2.0, 3.0);
+        assertThat(trainingProvider.findUserTrainingsStartedBetween(emma.getId(), FROM, FROM)).isEmpty();
+    }
+
+    @Test
+    void shouldReturnTrainingsFinishedStrictlyAfterTime() {
+        User emma = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 9), "emma@domain.com"));
+        existingTraining(emma, FROM.minusHours(1), 1.0);
+        existingTraining(emma, FROM, 2.0);
+        existingTraining(emma, FROM.minusHours(1).plusMinutes(30), 3.0);
+
+        assertThat(trainingProvider.findTrainingsFinishedAfter(FROM))
+                .extracting(Training::getDistance)
+                .containsExactly(3.0, 2.0);
+    }
+
+    @Test
+    void shouldServeRangeQueriesFromIndexes() {
+        assertThat(explain("SELECT * FROM trainings WHERE user_id = 1 AND start_time >= ? AND start_time < ?", FROM, TO))
+                .containsIgnoringCase("idx_trainings_user_start_time");
+        assertThat(explain("SELECT * FROM trainings WHERE start_time >= ? AND start_time < ?", FROM, TO))
+                .containsIgnoringCase("idx_trainings_start_time");
+        assertThat(explain("SELECT * FROM trainings WHERE end_time > ?", FROM))
+                .containsIgnoringCase("idx_trainings_end_time");
+    }
+
+    private void existingTraining(User user, LocalDateTime startTime, double distance) {
+        persistTraining(new Training(user, startTime, startTime.plusHours(1), ActivityType.RUNNING, distance, 10.0));
+    }
+
+    private String explain(String query, Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + query, String.class, parameters);
+    }
+
+}
@@ -0,0 +1,111 @@
+package pl.wsb.fitnesstracker.transfer.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "transfer.chunk-size=1")
+class DataTransferApiIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldRestoreUsersAndTrainings_whenImportingExportedData() throws Exception {
+        User user1 = existingUser(new User("Mikołaj", "Święty, \"Santa\"", LocalDate.of(1974, 12, 6), "santa@domain.com"));
+        User user2 = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 19), "emma@domain.com"));
+        persistTraining(new Training(user2, LocalDateTime.of(2024, 1, 19, 8, 0), LocalDateTime.of(2024, 1, 19, 9, 30),
+                ActivityType.RUNNING, 10.5, 8.2));
+
+        String users = mockMvc.perform(get("/v1/transfer/users").param("format", "csv"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andReturn().getResponse().getContentAsString();
+        String trainings = mockMvc.perform(get("/v1/transfer/trainings").param("format", "ndjson"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("\"activity_type\":\"RUNNING\"")))
+                .andReturn().getResponse().getContentAsString();
+
+        cleanDatabase();
+
+        mockMvc.perform(post("/v1/transfer/users").param("format", "csv").content(users))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.records").value(2));
+        mockMvc.perform(post("/v1/transfer/trainings").param("format", "ndjson").content(trainings))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.records").value(1));
+
+        List<User> allUsers = getAllUsers();
+        assertThat(allUsers).extracting(User::getId).containsExactlyInAnyOrder(user1.getId(), user2.getId());
+        assertThat(allUsers).extracting(User::getLastName).contains(user1.getLastName());
+        List<Training> allTrainings = getAllTrainings();
+        assertThat(allTrainings).hasSize(1);
+        assertThat(allTrainings.get(0).getStartTime()).isEqualTo(LocalDateTime.of(2024, 1, 19, 8, 0));
+
+        User newUser = existingUser(new User("Liam", "Jones", LocalDate.of(2001, 5, 5), "liam@domain.com"));
+        assertThat(newUser.getId()).isGreaterThan(user2.getId());
+
+        mockMvc.perform(get("/v1/users/typeahead").param("query", "swiety"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(user1.getId()));
+        mockMvc.perform(get("/v1/users/search").param("query", "emma"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(user2.getId()));
+    }
+
+    @Test
+    void shouldKeepCommittedChunks_whenLaterRecordViolatesConstraints() throws Exception {
+        mockMvc.perform(post("/v1/transfer/users").param("format", "csv").contentType(MediaType.TEXT_PLAIN)
+                        .content("""
+                                id,first_name,last_name,birthdate,email
+                                1,Emma,Johnson,1996-01-19,emma@domain.com
+                                2,Olivia,Smith,1994-06-02,olivia@domain.com
+                                3,Emma,Jones,1998-03-04,emma@domain.com
+                                """))
+                .andDo(log())
+                .andExpect(status().isBadRequest());
+
+        assertThat(getAllUsers()).extracting(User::getEmail)
+                .containsExactlyInAnyOrder("emma@domain.com", "olivia@domain.com");
+    }
+
+    @Test
+    void shouldRejectImport_whenRecordIsMalformed() throws Exception {
+        mockMvc.perform(post("/v1/transfer/users").param("format", "csv").contentType(MediaType.TEXT_PLAIN)
+                        .content("id,first_name,last_name,birthdate,email\nx,Emma,Johnson,not-a-date,emma@domain.com\n"))
+                .andDo(log())
+                .andExpect(status().isBadRequest());
+
+        assertThat(getAllUsers()).isEmpty();
+    }
+
+}
@@ -0,0 +1,93 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static pl.wsb.fitnesstracker.user.internal.UserApiIntegrationTest.generateUser;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "async-query.stream-page-size=2")
+class AsyncUserApiIntegrationTest extends IntegrationTestBase {
+
+    private static final Pattern USER_EVENT = Pattern.compile("id:(\\d+)\\nevent:user\\n");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldReturnUser_whenGettingUserByIdAsynchronously() throws Exception {
+        User user = existingUser(generateUser());
+
+        MvcResult result = mockMvc.perform(get("/v1/async/users/{id}", user.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(user.getId()))
+                .andExpect(jsonPath("$.email").value(user.getEmail()));
+    }
+
+    @Test
+    void shouldReturnNotFound_whenGettingMissingUserAsynchronously() throws Exception {
+        MvcResult result = mockMvc.perform(get("/v1/async/users/{id}", 42L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(log())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void shouldStreamAllUsersInPages_andResumeAfterLastEventId() throws Exception {
+        List<User> users = List.of(existingUser(generateUser()), existingUser(generateUser()),
+                existingUser(generateUser()), existingUser(generateUser()), existingUser(generateUser()));
+
+        String fullStream = stream(null);
+        assertThat(eventIds(fullStream)).containsExactlyElementsOf(users.stream().map(User::getId).toList());
+        assertThat(fullStream).contains(users.get(4).getEmail()).endsWith("event:complete\ndata:\n\n");
+
+        String resumedStream = stream(users.get(2).getId());
+        assertThat(eventIds(resumedStream)).containsExactly(users.get(3).getId(), users.get(4).getId());
+    }
+
+    private String stream(Long lastEventId) throws Exception {
+        var requestBuilder = get("/v1/async/users/stream").accept(MediaType.TEXT_EVENT_STREAM);
+        if (lastEventId != null) {
+            requestBuilder.header("Last-Event-ID", lastEventId);
+        }
+        MvcResult result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult(5_000);
+        return result.getResponse().getContentAsString();
+    }
+
+    private static List<Long> eventIds(String stream) {
+        Matcher matcher = USER_EVENT.matcher(stream);
+        return matcher.results().map(match -> Long.parseLong(match.group(1))).toList();
+    }
+
+}
@@ -0,0 +1,45 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+    @Test
+    void shouldReportEveryAddedValue_whenValuesAreAddedConcurrently() {
+        BloomFilter filter = new BloomFilter(80_000, 0.01);
+
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int writer = 0; writer < 8; writer++) {
+            int first = writer * 10_000;
+            writers.add(CompletableFuture.runAsync(() -> IntStream.range(first, first + 10_000)
+                    .forEach(i -> filter.add(email(i)))));
+        }
+        writers.forEach(CompletableFuture::join);
+
+        assertThat(IntStream.range(0, 80_000).filter(i -> !filter.mightContain(email(i)))).isEmpty();
+    }
+
+    @Test
+    void shouldKeepFalsePositiveRateNearConfiguredRate_whenFilledToExpectedEntries() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.add(email(i)));
+
+        long falsePositives = IntStream.range(10_000, 110_000)
+                .filter(i -> filter.mightContain(email(i)))
+                .count();
+
+        assertThat(falsePositives / 100_000.0).isLessThan(0.015);
+    }
+
+    private static String email(int i) {
+        return "user" + i + "@domain.com";
+    }
+
+}
@@ -0,0 +1,110 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailBloomFilterTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    private final List<Runnable> scheduledRebuilds = new ArrayList<>();
+
+    @Test
+    void shouldReportEveryAddedEmail_whenEmailsAreAddedDuringRebuilds() {
+        // the emails are added to the filter before they are stored, as the user service does
+        Queue<String> storedEmails = new ConcurrentLinkedQueue<>();
+        IntStream.range(0, 1_000).forEach(i -> storedEmails.add("stored" + i + "@domain.com"));
+        when(userRepository.count()).thenAnswer(invocation -> (long) storedEmails.size());
+        when(userRepository.streamAllEmails()).thenAnswer(invocation -> storedEmails.stream());
+        EmailBloomFilter filter = emailFilter(1_000_000, 0.2);
+        filter.rebuild();
+
+        List<CompletableFuture<Void>> writers = IntStream.range(0, 4)
+                .mapToObj(writer -> CompletableFuture.runAsync(() -> IntStream.range(0, 50_000).forEach(i -> {
+                    filter.add(newEmail(writer * 50_000 + i));
+                    storedEmails.add(newEmail(writer * 50_000 + i));
+                })))
+                .toList();
+        int rebuilds = 0;
+        while (writers.stream().anyMatch(writer -> !writer.isDone())) {
+            filter.rebuild();
+            rebuilds++;
+        }
+        writers.forEach(CompletableFuture::join);
+
+        assertThat(rebuilds).isPositive();
+        assertThat(IntStream.range(0, 200_000).filter(i -> !filter.mightContain(newEmail(i)))).isEmpty();
+    }
+
+    @Test
+    void shouldScheduleSingleRebuild_whenFilterIsFull() {
+        EmailBloomFilter filter = emailFilter(10, 0.2);
+        filter.rebuild();
+
+        IntStream.range(0, 10).forEach(i -> filter.add(newEmail(i)));
+        assertThat(scheduledRebuilds).isEmpty();
+
+        IntStream.range(10, 20).forEach(i -> filter.add(newEmail(i)));
+        assertThat(scheduledRebuilds).hasSize(1);
+
+        scheduledRebuilds.get(0).run();
+        verify(userRepository, times(2)).streamAllEmails();
+    }
+
+    @Test
+    void shouldScheduleRebuild_whenTooManyEntriesAreStale() {
+        EmailBloomFilter filter = emailFilter(10, 0.2);
+        filter.rebuild();
+
+        filter.markStale();
+        filter.markStale();
+        assertThat(scheduledRebuilds).isEmpty();
+
+        filter.markStale();
+        assertThat(scheduledRebuilds).hasSize(1);
+    }
+
+    @Test
+    void shouldReportEveryEmailAsPossiblyUsed_whenFilterIsNotBuiltYet() {
+        EmailBloomFilter filter = emailFilter(10, 0.2);
+
+        filter.add(newEmail(0));
+
+        assertThat(filter.mightContain(newEmail(1))).isTrue();
+        assertThat(scheduledRebuilds).isEmpty();
+    }
+
+    private EmailBloomFilter emailFilter(int expectedEmails, double maxStaleRatio) {
+        SimpleAsyncTaskExecutor rebuildExecutor = new SimpleAsyncTaskExecutor() {
+            @Override
+            public void execute(Runnable task) {
+                scheduledRebuilds.add(task);
+            }
+        };
+        return new EmailBloomFilter(userRepository,
+                new EmailFilterProperties(true, expectedEmails, 0.01, maxStaleRatio),
+                rebuildExecutor,
+                mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry());
+    }
+
+    private static String newEmail(int i) {
+        return "new" + i + "@domain.com";
+    }
+
+}
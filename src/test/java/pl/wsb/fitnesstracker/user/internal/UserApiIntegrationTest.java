@@ -1,14 +1,19 @@
 package pl.wsb.fitnesstracker.user.internal;
 
+import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import pl.wsb.fitnesstracker.IntegrationTest;
 import pl.wsb.fitnesstracker.IntegrationTestBase;
 import pl.wsb.fitnesstracker.user.api.User;
+import pl.wsb.fitnesstracker.user.api.UserService;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -17,8 +22,11 @@ import static java.time.format.DateTimeFormatter.ISO_DATE;
 import static java.util.UUID.randomUUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -30,6 +38,12 @@ class UserApiIntegrationTest extends IntegrationTestBase {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     public static User generateUser() {
         return new User(randomUUID().toString(), randomUUID().toString(), LocalDate.now(), randomUUID().toString());
     }
@@ -91,6 +105,64 @@ class UserApiIntegrationTest extends IntegrationTestBase {
 
     }
 
+    @Test
+    void shouldReturnNotModified_whenGettingUnchangedUserById() throws Exception {
+        User user1 = existingUser(generateUser());
+
+        String eTag = mockMvc.perform(get("/v1/users/{id}", user1.getId()))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/v1/users/{id}", user1.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(log())
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    // the version of the collection is advanced when the change commits
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void shouldReturnNotModified_whenGettingUnchangedUsers_andFullResponseAfterChange() throws Exception {
+        existingUser(generateUser());
+
+        String eTag = mockMvc.perform(get("/v1/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.ETAG, Matchers.<String>iterableWithSize(1)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(eTag).isNotNull();
+
+        mockMvc.perform(get("/v1/users").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(log())
+                .andExpect(status().isNotModified());
+
+        existingUser(generateUser());
+
+        mockMvc.perform(get("/v1/users").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void shouldReturnFullResponse_whenUsersChangedByAnotherInstance() throws Exception {
+        existingUser(generateUser());
+
+        String eTag = mockMvc.perform(get("/v1/users"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // a change committed by another instance of the application only advances the version in the database
+        jdbcTemplate.update("UPDATE collection_version SET version = version + 1 WHERE entity_type = 'User'");
+
+        mockMvc.perform(get("/v1/users").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(eTag)));
+    }
+
     @Test
     void shouldReturnDetailsAboutUser_whenGettingUserByEmail() throws Exception {
         User user1 = existingUser(generateUser());
@@ -174,6 +246,28 @@ class UserApiIntegrationTest extends IntegrationTestBase {
 
     }
 
+    @Test
+    void shouldReturnConflict_whenCreatingUserWithTakenEmail() throws Exception {
+        User user1 = existingUser(new User("Michael", "Scott", LocalDate.now(), "michael.scott@domain.com"));
+        // stored past the service, so the indexes are refreshed the way the bulk loaders do
+        userService.refreshIndexes();
+
+        String creationRequest = """
+                {
+                "firstName": "Mike",
+                "lastName": "Scott",
+                "birthdate": "1999-09-29",
+                "email": "%s"
+                }
+                """.formatted(user1.getEmail());
+
+        mockMvc.perform(post("/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(creationRequest))
+                .andDo(log())
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void shouldUpdateUser_whenUpdatingUser() throws Exception {
         User user1 = existingUser(generateUser());
@@ -0,0 +1,145 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import pl.wsb.fitnesstracker.loadtest.LatencyReport;
+import pl.wsb.fitnesstracker.loadtest.LoadGenerator;
+import pl.wsb.fitnesstracker.loadtest.LoadScenario;
+import pl.wsb.fitnesstracker.loadtest.LoadTest;
+import pl.wsb.fitnesstracker.loadtest.LoadTestProfilesResolver;
+import pl.wsb.fitnesstracker.loadtest.ServiceLevelObjectives;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test of every {@link UserController} endpoint against an embedded server with a generated dataset.
+ * Sizes are configured with system properties: {@code loadtest.users} (dataset size), {@code loadtest.concurrency},
+ * {@code loadtest.requests} and {@code loadtest.warmup-requests} (per endpoint), e.g.
+ * {@code mvn -Pload-test verify -Dloadtest.users=100000}. Additional profiles can be activated with
+ * {@code loadtest.profiles}, e.g. {@code -Dloadtest.profiles=virtual-threads -Dloadtest.concurrency=500} to compare
+ * platform and virtual threads. SLOs are defined in {@code load-test-slo.properties}, the measured latencies are
+ * written to {@code target/load-test-report[-<profiles>].json}.
+ */
+@LoadTest
+@ActiveProfiles(resolver = LoadTestProfilesResolver.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.format_sql=false",
+        "logging.level.root=WARN",
+        "logging.level.pl.wsb.fitnesstracker.user.internal.UserApiLoadTest=INFO",
+        "generator.users=${loadtest.users:2000}",
+        "generator.trainings-per-user=0"
+})
+@Slf4j
+class UserApiLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 2000);
+
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 16);
+
+    private static final int REQUESTS = Integer.getInteger("loadtest.requests", 200);
+
+    private static final int WARMUP_REQUESTS = Integer.getInteger("loadtest.warmup-requests", 50);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void shouldMeetServiceLevelObjectives_whenUserApiIsUnderLoad() throws Exception {
+        List<User> sampleUsers = userRepository.findAll(PageRequest.of(0, 100)).getContent();
+        // the users with the highest IDs are reserved for the delete scenario, so reads never miss
+        int readableUsers = USERS - REQUESTS - WARMUP_REQUESTS;
+        assertThat(readableUsers).as("dataset must be larger than the number of deleted users").isPositive();
+
+        LoadGenerator loadGenerator = new LoadGenerator(CONCURRENCY, REQUESTS, WARMUP_REQUESTS);
+        ServiceLevelObjectives objectives = new ServiceLevelObjectives("load-test-slo.properties");
+        List<LatencyReport> reports = new ArrayList<>();
+        for (LoadScenario scenario : scenarios(sampleUsers, readableUsers)) {
+            reports.add(loadGenerator.run(scenario));
+        }
+
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(Path.of("target", reportFileName()).toFile(), reports);
+        reports.forEach(report -> log.info("{}", "%-32s p50=%8.2fms p95=%8.2fms p99=%8.2fms %8.1f req/s %d errors"
+                .formatted(report.scenario(), report.p50Millis(), report.p95Millis(), report.p99Millis(),
+                        report.throughputRps(), report.errors())));
+        assertThat(reports.stream().flatMap(report -> objectives.breaches(report).stream()).toList())
+                .as("SLO breaches")
+                .isEmpty();
+    }
+
+    private List<LoadScenario> scenarios(List<User> sampleUsers, int readableUsers) {
+        return List.of(
+                new LoadScenario("get-all-users", 200, i -> get("/v1/users")),
+                new LoadScenario("get-all-users-simple", 200, i -> get("/v1/users/simple")),
+                new LoadScenario("get-user-by-id", 200, i -> get("/v1/users/" + (1 + i % readableUsers))),
+                new LoadScenario("get-user-by-email", 200, i -> get("/v1/users/search/by-email?email="
+                        + encode(sample(sampleUsers, i).getEmail()))),
+                new LoadScenario("search-users-by-email", 200, i -> get("/v1/users/email?email="
+                        + encode(sample(sampleUsers, i).getEmail()))),
+                new LoadScenario("get-user-by-name", 200, i -> get("/v1/users/search/by-name?firstName="
+                        + encode(sample(sampleUsers, i).getFirstName())
+                        + "&lastName=" + encode(sample(sampleUsers, i).getLastName()))),
+                new LoadScenario("search-users-by-email-fragment", 200, i -> get("/v1/users/search/email?emailFragment="
+                        + encode(sample(sampleUsers, i).getLastName().toLowerCase()))),
+                new LoadScenario("search-users-by-age", 200, i -> get("/v1/users/search/age?ageMin=" + (18 + i % 60))),
+                new LoadScenario("get-users-older-than", 200, i -> get("/v1/users/older/"
+                        + LocalDate.now().minusYears(18 + i % 60))),
+                new LoadScenario("create-user", 201, i -> send("POST", "/v1/users", """
+                        {"firstName": "Load", "lastName": "Test", "birthdate": "1990-01-01", "email": "load.test.%d@domain.com"}
+                        """.formatted(i))),
+                new LoadScenario("update-user", 200, i -> send("PUT", "/v1/users/" + (1 + i % readableUsers), """
+                        {"firstName": "Updated%d"}
+                        """.formatted(i))),
+                new LoadScenario("delete-user", 204, i -> send("DELETE", "/v1/users/" + (USERS - i), null)));
+    }
+
+    private static String reportFileName() {
+        String profiles = LoadTestProfilesResolver.additionalProfiles();
+        return profiles.isBlank() ? "load-test-report.json" : "load-test-report-%s.json".formatted(profiles.replace(',', '-'));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, String body) {
+        return HttpRequest.newBuilder(uri(path))
+                .header("Content-Type", "application/json")
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static User sample(List<User> sampleUsers, int sequence) {
+        return sampleUsers.get(sequence % sampleUsers.size());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, UTF_8);
+    }
+
+}
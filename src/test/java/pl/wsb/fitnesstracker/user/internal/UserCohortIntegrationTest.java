@@ -0,0 +1,92 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class UserCohortIntegrationTest extends IntegrationTestBase {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserIndexRebuilder userIndexRebuilder;
+
+    @Test
+    void shouldCountUsersPerAgeBracket() throws Exception {
+        existingUserAged(10, "child@domain.com");
+        existingUserAged(17, "teen@domain.com");
+        existingUserAged(18, "adult@domain.com");
+        existingUserAged(70, "senior@domain.com");
+        userIndexRebuilder.rebuild();
+
+        mockMvc.perform(get("/v1/users/cohorts/age-brackets").param("bounds", "0,18,65"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].minAge").value(contains(0, 18, 65)))
+                .andExpect(jsonPath("$[*].maxAge").value(contains(17, 64, null)))
+                .andExpect(jsonPath("$[*].users").value(contains(2, 1, 1)));
+        mockMvc.perform(get("/v1/users/cohorts/count").param("minAge", "17").param("maxAge", "18"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.users").value(2));
+        mockMvc.perform(get("/v1/users/cohorts/count").param("minAge", "18"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.maxAge").value(nullValue()))
+                .andExpect(jsonPath("$.users").value(2));
+    }
+
+    @Test
+    void shouldCountUsersPerAgeBracketAndActivityType() throws Exception {
+        User teen = existingUserAged(16, "teen@domain.com");
+        User adult = existingUserAged(30, "adult@domain.com");
+        existingTraining(teen, ActivityType.RUNNING);
+        existingTraining(teen, ActivityType.RUNNING);
+        existingTraining(adult, ActivityType.RUNNING);
+        existingTraining(adult, ActivityType.SWIMMING);
+        userIndexRebuilder.rebuild();
+
+        mockMvc.perform(get("/v1/users/cohorts/age-brackets/activity-types").param("bounds", "0,18"))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.activityType == 'RUNNING')].users").value(contains(1, 1)))
+                .andExpect(jsonPath("$[?(@.activityType == 'SWIMMING')].users").value(contains(0, 1)))
+                .andExpect(jsonPath("$[?(@.activityType == 'CYCLING')].users").value(contains(0, 0)));
+    }
+
+    @Test
+    void shouldReturnBadRequest_whenAgeBracketsAreNotAscending() throws Exception {
+        mockMvc.perform(get("/v1/users/cohorts/age-brackets").param("bounds", "18,18"))
+                .andDo(log())
+                .andExpect(status().isBadRequest());
+    }
+
+    private User existingUserAged(int age, String email) {
+        return existingUser(new User("Emma", "Johnson", TODAY.minusYears(age).minusDays(1), email));
+    }
+
+    private void existingTraining(User user, ActivityType activityType) {
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        persistTraining(new Training(user, start, start.plusHours(1), activityType, 5.0, 10.0));
+    }
+
+}
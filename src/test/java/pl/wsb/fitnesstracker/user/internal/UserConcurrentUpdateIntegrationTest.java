@@ -0,0 +1,158 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.user.api.User;
+import pl.wsb.fitnesstracker.user.api.UserProvider;
+import pl.wsb.fitnesstracker.user.api.UserService;
+import pl.wsb.fitnesstracker.user.api.UserVersionConflictException;
+
+import java.time.LocalDate;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class UserConcurrentUpdateIntegrationTest extends IntegrationTestBase {
+
+    private static final int WRITERS = 8;
+
+    private static final int UPDATES_PER_WRITER = 5;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserProvider userProvider;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void shouldNotLoseUpdates_whenUpdatingConcurrently() {
+        User user = existingUser(new User("Emma", "", LocalDate.of(1996, 1, 19), "emma@domain.com"));
+
+        int conflicts = appendConcurrently(user.getId(), (current, expectedVersion) ->
+                userService.updateUser(user.getId(), changedLastName(current), expectedVersion));
+
+        User updated = userProvider.getUser(user.getId()).orElseThrow();
+        assertThat(updated.getLastName()).hasSize(WRITERS * UPDATES_PER_WRITER);
+        assertThat(updated.getVersion()).isEqualTo(WRITERS * UPDATES_PER_WRITER);
+        assertThat(conflicts).isGreaterThanOrEqualTo(WRITERS - 1);
+    }
+
+    @Test
+    void shouldNotLoseUpdates_whenPatchingConcurrently() {
+        User user = existingUser(new User("Emma", "", LocalDate.of(1996, 1, 19), "emma@domain.com"));
+
+        int conflicts = appendConcurrently(user.getId(), (current, expectedVersion) ->
+                userService.patchUser(user.getId(), changedLastName(current), expectedVersion));
+
+        User updated = userProvider.getUser(user.getId()).orElseThrow();
+        assertThat(updated.getLastName()).hasSize(WRITERS * UPDATES_PER_WRITER);
+        assertThat(updated.getFirstName()).isEqualTo("Emma");
+        assertThat(updated.getVersion()).isEqualTo(WRITERS * UPDATES_PER_WRITER);
+        assertThat(conflicts).isGreaterThanOrEqualTo(WRITERS - 1);
+    }
+
+    @Test
+    void shouldReturnConflict_whenUpdatingOutdatedVersion() throws Exception {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 19), "emma@domain.com"));
+        String body = "{\"lastName\": \"Smith\"}";
+
+        mockMvc.perform(patch("/v1/users/{id}", user.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andDo(log())
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""));
+
+        mockMvc.perform(put("/v1/users/{id}", user.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andDo(log())
+                .andExpect(status().isConflict());
+        mockMvc.perform(patch("/v1/users/{id}", user.getId()).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andDo(log())
+                .andExpect(status().isConflict());
+    }
+
+    /**
+     * Lets the writers append a character to the user's last name concurrently, each retrying its read-modify-write
+     * cycle on conflicts. All writers read the initial version before the first of them writes, so all but one of
+     * the first writes conflict.
+     *
+     * @return total number of conflicts
+     */
+    private int appendConcurrently(Long userId, VersionedUpdate update) {
+        AtomicInteger conflicts = new AtomicInteger();
+        CyclicBarrier initialVersionRead = new CyclicBarrier(WRITERS);
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            CompletableFuture.allOf(IntStream.range(0, WRITERS)
+                            .mapToObj(writer -> CompletableFuture.runAsync(() -> {
+                                for (int i = 0; i < UPDATES_PER_WRITER; i++) {
+                                    while (true) {
+                                        User current = userProvider.getUser(userId).orElseThrow();
+                                        if (i == 0 && current.getVersion() == 0) {
+                                            await(initialVersionRead);
+                                        }
+                                        try {
+                                            update.apply(current, current.getVersion());
+                                            break;
+                                        } catch (UserVersionConflictException e) {
+                                            conflicts.incrementAndGet();
+                                        }
+                                    }
+                                }
+                            }, executor))
+                            .toArray(CompletableFuture[]::new))
+                    .join();
+        } finally {
+            executor.shutdown();
+        }
+        return conflicts.get();
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (BrokenBarrierException | TimeoutException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static User changedLastName(User current) {
+        return new User(null, current.getLastName() + "x", null, null);
+    }
+
+    @FunctionalInterface
+    private interface VersionedUpdate {
+
+        void apply(User current, Long expectedVersion);
+
+    }
+
+}
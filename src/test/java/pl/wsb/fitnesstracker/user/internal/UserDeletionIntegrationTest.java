@@ -0,0 +1,114 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "user.deletion.chunk-size=2")
+class UserDeletionIntegrationTest extends IntegrationTestBase {
+
+    private static final List<String> USER_TABLES =
+            List.of("workout_session", "trainings", "user_event", "health_metrics", "statistics", "users");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void shouldDeleteUserWithWholeHistory_whenDeletingUser() throws Exception {
+        User user = existingUserWithHistory("emma@domain.com");
+        User otherUser = existingUserWithHistory("olivia@domain.com");
+
+        mockMvc.perform(delete("/v1/users/{userId}", user.getId()))
+                .andDo(log())
+                .andExpect(status().isNoContent());
+
+        // only the history of the other user is left
+        USER_TABLES.forEach(table -> assertThat(countRows(table)).as(table).isEqualTo(historyRows(table)));
+        assertThat(getAllUsers()).extracting(User::getId).containsExactly(otherUser.getId());
+    }
+
+    @Test
+    void shouldDeleteUserWithWholeHistoryInChunks_whenDeletingUserInBackground() throws Exception {
+        User user = existingUserWithHistory("emma@domain.com");
+
+        mockMvc.perform(delete("/v1/users/{userId}", user.getId()).param("background", "true"))
+                .andDo(log())
+                .andExpect(status().isAccepted());
+
+        await().atMost(Duration.ofSeconds(10))
+                .untilAsserted(() -> USER_TABLES.forEach(table -> assertThat(countRows(table)).as(table).isZero()));
+    }
+
+    @Test
+    void shouldReturnNotFound_whenDeletingMissingUserInBackground() throws Exception {
+        mockMvc.perform(delete("/v1/users/{userId}", 42L).param("background", "true"))
+                .andDo(log())
+                .andExpect(status().isNotFound());
+    }
+
+    private User existingUserWithHistory(String email) {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 19), email));
+        for (int day = 1; day <= 3; day++) {
+            Training training = persistTraining(new Training(user, LocalDateTime.of(2024, 1, day, 8, 0),
+                    LocalDateTime.of(2024, 1, day, 9, 0), ActivityType.RUNNING, day, 10.0));
+            for (int minute = 0; minute < 2; minute++) {
+                jdbcTemplate.update("INSERT INTO workout_session (training_id, timestamp, start_latitude, "
+                                + "start_longitude) VALUES (?, ?, 52.2, 21.0)",
+                        training.getId(), LocalDateTime.of(2024, 1, day, 8, minute));
+            }
+            jdbcTemplate.update("INSERT INTO health_metrics (user_id, date, weight) VALUES (?, ?, 60.0)",
+                    user.getId(), LocalDate.of(2024, 1, day));
+        }
+        jdbcTemplate.update("INSERT INTO event (name, start_time, end_time) VALUES ('Marathon', ?, ?)",
+                LocalDateTime.of(2030, 5, 1, 9, 0), LocalDateTime.of(2030, 5, 1, 15, 0));
+        Long eventId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM event", Long.class);
+        jdbcTemplate.update("INSERT INTO user_event (user_id, event_id, status) VALUES (?, ?, 'REGISTERED')",
+                user.getId(), eventId);
+        jdbcTemplate.update("INSERT INTO statistics (user_id, total_trainings, total_distance, "
+                + "total_calories_burned) VALUES (?, 3, 6.0, 900)", user.getId());
+        return user;
+    }
+
+    @Override
+    protected void cleanDatabase() {
+        USER_TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+        jdbcTemplate.update("DELETE FROM event");
+    }
+
+    private static int historyRows(String table) {
+        return switch (table) {
+            case "workout_session" -> 6;
+            case "trainings", "health_metrics" -> 3;
+            default -> 1;
+        };
+    }
+
+    private int countRows(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class);
+    }
+
+}
@@ -0,0 +1,72 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import pl.wsb.fitnesstracker.database.api.ChangeCounter;
+import pl.wsb.fitnesstracker.database.api.CollectionVersion;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserRowsSelectorTest {
+
+    private static final CollectionVersion VERSION = new CollectionVersion("1", Instant.EPOCH);
+
+    private static final CollectionVersion NEWER_VERSION = new CollectionVersion("2", Instant.EPOCH.plusSeconds(1));
+
+    private final ChangeCounter changeCounter = mock(ChangeCounter.class);
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+
+    private final UserRowsSelector selector = new UserRowsSelector(changeCounter, transactionManager);
+
+    @Test
+    void shouldSelectRowsInReadOnlyTransaction_whenUsersAreInTaggedState() throws Exception {
+        when(changeCounter.getVersion(User.class)).thenReturn(VERSION);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        UserRows users = selector.selectTagged(UserRowLayout.BASIC, () -> Stream.<Object[]>of(new Object[]{1L}));
+
+        assertThat(users.version()).isEqualTo(VERSION);
+        assertThat(select(users)).containsExactly(1L);
+        assertThat(transactions()).extracting(TransactionDefinition::isReadOnly).containsExactly(true);
+    }
+
+    @Test
+    void shouldSelectRowsFromPrimary_whenReplicaIsNotInTaggedState() throws Exception {
+        when(changeCounter.getVersion(User.class)).thenReturn(NEWER_VERSION, VERSION);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        UserRows users = selector.selectTagged(UserRowLayout.BASIC, () -> Stream.<Object[]>of(new Object[]{1L}));
+
+        assertThat(users.version()).isEqualTo(NEWER_VERSION);
+        assertThat(select(users)).containsExactly(1L);
+        assertThat(transactions()).extracting(TransactionDefinition::isReadOnly).containsExactly(true, false);
+    }
+
+    private static List<Object> select(UserRows users) throws Exception {
+        List<Object> ids = new ArrayList<>();
+        users.source().select(rows -> rows.forEachRemaining(row -> ids.add(row[0])));
+        return ids;
+    }
+
+    private List<TransactionDefinition> transactions() {
+        ArgumentCaptor<TransactionDefinition> definitions = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definitions.capture());
+        return definitions.getAllValues();
+    }
+
+}
@@ -0,0 +1,93 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.training.api.Training;
+import pl.wsb.fitnesstracker.training.api.TrainingDto;
+import pl.wsb.fitnesstracker.training.internal.ActivityType;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class UserRowsSerializationIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserMapper userMapper;
+
+    @Test
+    void shouldWriteUserRowsAsSerializedDtos() throws Exception {
+        User emma = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 9), "emma@domain.com"));
+        User zofia = existingUser(new User("Zofia", "Święta \"Zosia\"", LocalDate.of(1950, 12, 31),
+                "zofia_100%@domain.com"));
+        User ancient = existingUser(new User("Old", "Timer", LocalDate.of(812, 3, 4), "old@domain.com"));
+        List<User> users = List.of(emma, zofia, ancient);
+
+        expectJson(get("/v1/users"), users.stream().map(userMapper::toDto).toList());
+        expectJson(get("/v1/users/simple"), users.stream().map(userMapper::toBasicDto).toList());
+        expectJson(get("/v1/users/search/email").param("emailFragment", "DOMAIN"),
+                users.stream().map(userMapper::toSearchResultDto).toList());
+        // wildcards in the fragment are matched literally
+        expectJson(get("/v1/users/email").param("email", "_100%"), List.of(userMapper.toSearchResultDto(zofia)));
+        expectJson(get("/v1/users/search/age").param("ageMin", "60"),
+                List.of(userMapper.toDto(zofia), userMapper.toDto(ancient)));
+    }
+
+    @Test
+    void shouldWriteTrainingRowsAsSerializedDtos() throws Exception {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 9), "emma@domain.com"));
+        Training morning = persistTraining(new Training(user, LocalDateTime.of(2024, 3, 1, 7, 5, 9, 123_000_000),
+                LocalDateTime.of(2024, 3, 1, 8, 0), ActivityType.RUNNING, 10.5, 10.0));
+        Training evening = persistTraining(new Training(user, LocalDateTime.of(2024, 3, 1, 19, 30),
+                LocalDateTime.of(2024, 3, 1, 20, 45, 59), ActivityType.CYCLING, 30, 24.25));
+
+        MvcResult result = mockMvc.perform(get("/v1/async/trainings/user/{userId}", user.getId())
+                        .param("from", "2024-03-01T00:00:00")
+                        .param("to", "2024-03-02T00:00:00"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(objectMapper.writeValueAsBytes(List.of(
+                        toDto(morning, user), toDto(evening, user)))));
+    }
+
+    private void expectJson(MockHttpServletRequestBuilder request, List<?> expectedDtos) throws Exception {
+        byte[] expected = objectMapper.writeValueAsBytes(expectedDtos);
+        mockMvc.perform(request)
+                .andDo(log())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/json"))
+                .andExpect(content().bytes(expected));
+    }
+
+    private static TrainingDto toDto(Training training, User user) {
+        return new TrainingDto(training.getId(), user.getId(), training.getStartTime(), training.getEndTime(),
+                training.getActivityType(), training.getDistance(), training.getAverageSpeed());
+    }
+
+}
@@ -0,0 +1,38 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import pl.wsb.fitnesstracker.user.api.UserSearchHitDto;
+
+import java.time.LocalDate;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserSearchIndexTest {
+
+    private final UserSearchIndex index = new UserSearchIndex(new UserSearchProperties(50, 0.5, 0.25, 0.1));
+
+    @BeforeEach
+    void setUp() {
+        // every user shares the trigrams of the email domain, which are skipped when finding the users
+        LongStream.range(0, 100).forEach(id -> index.put(new IndexedUser(id, "Anna", "Nowak" + id,
+                "anna" + id + "@domain.com", LocalDate.of(1990, 1, 1))));
+        index.put(new IndexedUser(100L, "Jan", "Kowalski", "jan@domain.com", LocalDate.of(1990, 1, 1)));
+        index.put(new IndexedUser(101L, "Jana", "Kowalska", "jana@domain.com", LocalDate.of(1990, 1, 1)));
+    }
+
+    @Test
+    void shouldFindUsersByRareWords_whenQueryAlsoHasCommonWords() {
+        assertThat(index.search("kowalsky domain", 10))
+                .extracting(UserSearchHitDto::id)
+                .containsExactly(100L, 101L);
+    }
+
+    @Test
+    void shouldFindUsersByCommonTrigrams_whenWordHasNoOtherTrigrams() {
+        assertThat(index.search("domain", 100)).hasSize(50);
+        assertThat(index.search("anna", 100)).hasSize(50);
+    }
+
+}
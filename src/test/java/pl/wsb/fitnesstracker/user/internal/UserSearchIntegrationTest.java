@@ -0,0 +1,76 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = "user.index.rebuild-parallelism=2")
+class UserSearchIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserIndexRebuilder userIndexRebuilder;
+
+    @Test
+    void shouldFindUsersByMisspelledNamesAndPartialEmails_rankedByRelevance() throws Exception {
+        User johnson = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 19), "emma.j@domain.com"));
+        User johnston = existingUser(new User("Ethan", "Johnston", LocalDate.of(1990, 5, 2), "ethan@domain.com"));
+        User mikolaj = existingUser(new User("Mikołaj", "Święty", LocalDate.of(1990, 12, 6), "saint@north.pl"));
+        existingUser(new User("Olivia", "Smith", LocalDate.of(1994, 6, 2), "olivia@domain.com"));
+        userIndexRebuilder.rebuild();
+
+        search("jonson")
+                .andExpect(jsonPath("$[*].id").value(contains(johnson.getId().intValue(),
+                        johnston.getId().intValue())));
+        search("mikolai swiety")
+                .andExpect(jsonPath("$[*].id").value(contains(mikolaj.getId().intValue())));
+        search("north")
+                .andExpect(jsonPath("$[*].email").value(contains("saint@north.pl")));
+        search("emma johnsen")
+                .andExpect(jsonPath("$[*].id").value(contains(johnson.getId().intValue())));
+        search("xavier").andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void shouldFindCreatedUser_rightAfterCreation() throws Exception {
+        userIndexRebuilder.rebuild();
+
+        mockMvc.perform(post("/v1/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"firstName": "Zofia", "lastName": "Wróblewska", "birthdate": "1994-06-02",
+                                 "email": "zofia@domain.com"}
+                                """))
+                .andExpect(status().isCreated());
+
+        search("wroblewsk").andExpect(jsonPath("$[0].lastName").value("Wróblewska"));
+    }
+
+    private ResultActions search(String query) throws Exception {
+        return mockMvc.perform(get("/v1/users/search").param("query", query))
+                .andDo(log())
+                .andExpect(status().isOk());
+    }
+
+}
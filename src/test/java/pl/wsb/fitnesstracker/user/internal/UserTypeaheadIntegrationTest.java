@@ -0,0 +1,78 @@
+package pl.wsb.fitnesstracker.user.internal;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import pl.wsb.fitnesstracker.IntegrationTest;
+import pl.wsb.fitnesstracker.IntegrationTestBase;
+import pl.wsb.fitnesstracker.user.api.User;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.log;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+class UserTypeaheadIntegrationTest extends IntegrationTestBase {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserIndexRebuilder userIndexRebuilder;
+
+    @Test
+    void shouldSuggestUsersByPrefixIgnoringCaseAndAccents() throws Exception {
+        User mikolaj = existingUser(new User("Mikołaj", "Święty", LocalDate.of(1990, 12, 6), "mikolaj@domain.com"));
+        User mikolajczyk = existingUser(new User("Anna", "Mikołajczyk", LocalDate.of(1992, 3, 8), "anna@domain.com"));
+        existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 19), "emma@domain.com"));
+        userIndexRebuilder.rebuild();
+
+        suggest("mikolaj swiety")
+                .andExpect(jsonPath("$[*].id").value(contains(mikolaj.getId().intValue())));
+        suggest("ŚWIĘTY M")
+                .andExpect(jsonPath("$[*].id").value(contains(mikolaj.getId().intValue())));
+        suggest("Mikol")
+                .andExpect(jsonPath("$[*].id").value(contains(mikolaj.getId().intValue(),
+                        mikolajczyk.getId().intValue())));
+        suggest("anna@dom")
+                .andExpect(jsonPath("$[*].email").value(contains("anna@domain.com")));
+    }
+
+    @Test
+    void shouldKeepSuggestionsInSync_whenUsersAreChangedAndDeleted() throws Exception {
+        User user = existingUser(new User("Emma", "Johnson", LocalDate.of(1996, 1, 19), "emma@domain.com"));
+        userIndexRebuilder.rebuild();
+
+        mockMvc.perform(patch("/v1/users/{id}", user.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"lastName\": \"Żółkiewska\"}"))
+                .andDo(log())
+                .andExpect(status().is2xxSuccessful());
+
+        suggest("johnson").andExpect(jsonPath("$", hasSize(0)));
+        suggest("emma zolk").andExpect(jsonPath("$[0].lastName").value("Żółkiewska"));
+
+        mockMvc.perform(delete("/v1/users/{id}", user.getId()))
+                .andExpect(status().isNoContent());
+
+        suggest("emma").andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    private ResultActions suggest(String query) throws Exception {
+        return mockMvc.perform(get("/v1/users/typeahead").param("query", query))
+                .andDo(log())
+                .andExpect(status().isOk());
+    }
+
+}